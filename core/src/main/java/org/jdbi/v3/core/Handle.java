@@ -14,6 +14,8 @@
 package org.jdbi.v3.core;
 
 import java.io.Closeable;
+import java.io.Reader;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
 import org.jdbi.v3.core.config.ConfigRegistry;
@@ -21,17 +23,20 @@ import org.jdbi.v3.core.config.Configurable;
 import org.jdbi.v3.core.extension.ExtensionMethod;
 import org.jdbi.v3.core.extension.Extensions;
 import org.jdbi.v3.core.extension.NoSuchExtensionException;
+import org.jdbi.v3.core.internal.JdbiFlightRecorder;
 import org.jdbi.v3.core.statement.Batch;
 import org.jdbi.v3.core.statement.Call;
 import org.jdbi.v3.core.statement.PreparedBatch;
 import org.jdbi.v3.core.statement.Query;
 import org.jdbi.v3.core.statement.Script;
 import org.jdbi.v3.core.statement.StatementBuilder;
+import org.jdbi.v3.core.statement.StreamingScript;
 import org.jdbi.v3.core.statement.Update;
 import org.jdbi.v3.core.transaction.TransactionException;
 import org.jdbi.v3.core.transaction.TransactionHandler;
 import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
 import org.jdbi.v3.core.transaction.UnableToManipulateTransactionIsolationLevelException;
+import org.jdbi.v3.meta.Beta;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,8 +54,11 @@ public class Handle implements Closeable, Configurable<Handle> {
     private final Connection connection;
     private final boolean forceEndTransactions;
 
-    private ThreadLocal<ConfigRegistry> config;
-    private ThreadLocal<ExtensionMethod> extensionMethod;
+    // plain fields, unless a handle supplier shares its thread locals with this handle
+    private ConfigRegistry config;
+    private ExtensionMethod extensionMethod;
+    private ThreadLocal<ConfigRegistry> configThreadLocal;
+    private ThreadLocal<ExtensionMethod> extensionMethodThreadLocal;
     private StatementBuilder statementBuilder;
 
     private boolean closed = false;
@@ -59,26 +67,29 @@ public class Handle implements Closeable, Configurable<Handle> {
            TransactionHandler transactions,
            StatementBuilder statementBuilder,
            Connection connection) {
-        this.transactions = transactions;
+        this.transactions = transactions.specialize(this);
         this.connection = connection;
 
-        this.config = ThreadLocal.withInitial(() -> config);
-        this.extensionMethod = new ThreadLocal<>();
+        this.config = config;
         this.statementBuilder = statementBuilder;
         this.forceEndTransactions = !transactions.isInTransaction(this);
     }
 
     @Override
     public ConfigRegistry getConfig() {
-        return config.get();
+        return configThreadLocal == null ? config : configThreadLocal.get();
     }
 
     void setConfig(ConfigRegistry config) {
-        this.config.set(config);
+        if (configThreadLocal == null) {
+            this.config = config;
+        } else {
+            configThreadLocal.set(config);
+        }
     }
 
     void setConfigThreadLocal(ThreadLocal<ConfigRegistry> config) {
-        this.config = config;
+        this.configThreadLocal = requireNonNull(config);
     }
 
     /**
@@ -120,12 +131,17 @@ public class Handle implements Closeable, Configurable<Handle> {
             return;
         }
 
+        final JdbiFlightRecorder.FlightEvent event = JdbiFlightRecorder.beginHandle();
         boolean wasInTransaction = isInTransaction()
             && forceEndTransactions
-            && config.get().get(Handles.class).isForceEndTransactions();
+            && getConfig().get(Handles.class).isForceEndTransactions();
 
-        extensionMethod.remove();
-        config.remove();
+        if (extensionMethodThreadLocal != null) {
+            extensionMethodThreadLocal.remove();
+        }
+        if (configThreadLocal != null) {
+            configThreadLocal.remove();
+        }
 
         if (wasInTransaction) {
             rollback();
@@ -161,6 +177,7 @@ public class Handle implements Closeable, Configurable<Handle> {
         } finally {
             LOG.trace("Handle [{}] released", this);
             closed = true;
+            JdbiFlightRecorder.handleClosed(event);
         }
     }
 
@@ -255,6 +272,30 @@ public class Handle implements Closeable, Configurable<Handle> {
         return new Script(this, sql);
     }
 
+    /**
+     * Creates a StreamingScript which reads the SQL script from the given reader as it executes.
+     *
+     * @param reader the SQL script, which is not closed by the script
+     *
+     * @return the created StreamingScript
+     */
+    @Beta
+    public StreamingScript createScript(Reader reader) {
+        return new StreamingScript(this, reader);
+    }
+
+    /**
+     * Creates a StreamingScript which reads the SQL script from the given UTF-8 encoded file as it executes.
+     *
+     * @param path the SQL script file
+     *
+     * @return the created StreamingScript
+     */
+    @Beta
+    public StreamingScript createScript(Path path) {
+        return new StreamingScript(this, path);
+    }
+
     /**
      * Create an Insert or Update statement which returns the number of rows modified.
      *
@@ -280,7 +321,9 @@ public class Handle implements Closeable, Configurable<Handle> {
      * @return the same handle
      */
     public Handle begin() {
+        final JdbiFlightRecorder.FlightEvent event = JdbiFlightRecorder.beginTransaction();
         transactions.begin(this);
+        JdbiFlightRecorder.transaction(event, "begin");
         LOG.trace("Handle [{}] begin transaction", this);
         return this;
     }
@@ -291,8 +334,10 @@ public class Handle implements Closeable, Configurable<Handle> {
      * @return the same handle
      */
     public Handle commit() {
+        final JdbiFlightRecorder.FlightEvent event = JdbiFlightRecorder.beginTransaction();
         final long start = System.nanoTime();
         transactions.commit(this);
+        JdbiFlightRecorder.transaction(event, "commit");
         LOG.trace("Handle [{}] commit transaction in {}ms", this, (System.nanoTime() - start) / 1000000L);
         return this;
     }
@@ -303,8 +348,10 @@ public class Handle implements Closeable, Configurable<Handle> {
      * @return the same handle
      */
     public Handle rollback() {
+        final JdbiFlightRecorder.FlightEvent event = JdbiFlightRecorder.beginTransaction();
         final long start = System.nanoTime();
         transactions.rollback(this);
+        JdbiFlightRecorder.transaction(event, "rollback");
         LOG.trace("Handle [{}] rollback transaction in {}ms", this, (System.nanoTime() - start) / 1000000L);
         return this;
     }
@@ -509,15 +556,19 @@ public class Handle implements Closeable, Configurable<Handle> {
      * @return the extension method currently bound to the handle's context
      */
     public ExtensionMethod getExtensionMethod() {
-        return extensionMethod.get();
+        return extensionMethodThreadLocal == null ? extensionMethod : extensionMethodThreadLocal.get();
     }
 
     void setExtensionMethod(ExtensionMethod extensionMethod) {
-        this.extensionMethod.set(extensionMethod);
+        if (extensionMethodThreadLocal == null) {
+            this.extensionMethod = extensionMethod;
+        } else {
+            extensionMethodThreadLocal.set(extensionMethod);
+        }
     }
 
     void setExtensionMethodThreadLocal(ThreadLocal<ExtensionMethod> extensionMethod) {
-        this.extensionMethod = requireNonNull(extensionMethod);
+        this.extensionMethodThreadLocal = requireNonNull(extensionMethod);
     }
 
     private class TransactionResetter implements Closeable {
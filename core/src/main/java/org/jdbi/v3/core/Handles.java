@@ -13,18 +13,22 @@
  */
 package org.jdbi.v3.core;
 
+import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.config.JdbiConfig;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * Configuration class for handles.
  */
 public class Handles implements JdbiConfig<Handles> {
     private boolean forceEndTransactions = true;
+    private boolean lazyConfigCopy = false;
 
     public Handles() {}
 
     private Handles(Handles that) {
         this.forceEndTransactions = that.forceEndTransactions;
+        this.lazyConfigCopy = that.lazyConfigCopy;
     }
 
     /**
@@ -54,6 +58,33 @@ public class Handles implements JdbiConfig<Handles> {
         this.forceEndTransactions = forceEndTransactions;
     }
 
+    /**
+     * Returns whether handles copy the configuration of their {@link Jdbi} lazily. Disabled by default.
+     *
+     * @return whether handles copy the configuration of their {@link Jdbi} lazily.
+     * @see #setLazyConfigCopy(boolean)
+     */
+    @Beta
+    public boolean isLazyConfigCopy() {
+        return lazyConfigCopy;
+    }
+
+    /**
+     * Sets whether handles copy the configuration of their {@link Jdbi} lazily. By default, every new {@link Handle}
+     * copies every config object of its {@code Jdbi} when it is opened. If enabled, a handle reads the config objects
+     * of its {@code Jdbi} and copies each one when it is first modified, or, for config objects that use their
+     * registry like the mappers, when it is first used, so opening a handle costs less. As a consequence, changes
+     * made to the {@code Jdbi} configuration after a handle is opened are visible to the handle until it copies the
+     * changed config object. Statements still copy the configuration of their handle when they are created.
+     *
+     * @param lazyConfigCopy whether handles copy the configuration of their {@code Jdbi} lazily.
+     * @see ConfigRegistry#createLazyCopy()
+     */
+    @Beta
+    public void setLazyConfigCopy(boolean lazyConfigCopy) {
+        this.lazyConfigCopy = lazyConfigCopy;
+    }
+
     @Override
     public Handles createCopy() {
         return new Handles(this);
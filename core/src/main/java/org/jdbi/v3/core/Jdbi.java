@@ -16,6 +16,10 @@ package org.jdbi.v3.core;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.ServiceLoader;
@@ -31,6 +35,7 @@ import org.jdbi.v3.core.extension.ExtensionConsumer;
 import org.jdbi.v3.core.extension.ExtensionFactory;
 import org.jdbi.v3.core.extension.Extensions;
 import org.jdbi.v3.core.extension.NoSuchExtensionException;
+import org.jdbi.v3.core.internal.JdbiFlightRecorder;
 import org.jdbi.v3.core.spi.JdbiPlugin;
 import org.jdbi.v3.core.statement.DefaultStatementBuilder;
 import org.jdbi.v3.core.statement.StatementBuilder;
@@ -38,6 +43,7 @@ import org.jdbi.v3.core.statement.StatementBuilderFactory;
 import org.jdbi.v3.core.transaction.LocalTransactionHandler;
 import org.jdbi.v3.core.transaction.TransactionHandler;
 import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
+import org.jdbi.v3.meta.Beta;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +62,9 @@ public class Jdbi implements Configurable<Jdbi> {
     private final AtomicReference<StatementBuilderFactory> statementBuilderFactory = new AtomicReference<>(DefaultStatementBuilder.FACTORY);
 
     private final CopyOnWriteArrayList<JdbiPlugin> plugins = new CopyOnWriteArrayList<>();
+    // plugins which override customizeConnection or customizeHandle; the rest are skipped when opening a handle
+    private final CopyOnWriteArrayList<JdbiPlugin> connectionPlugins = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<JdbiPlugin> handlePlugins = new CopyOnWriteArrayList<>();
 
     private Jdbi(ConnectionFactory connectionFactory) {
         Objects.requireNonNull(connectionFactory, "null connectionFactory");
@@ -214,9 +223,23 @@ public class Jdbi implements Configurable<Jdbi> {
     public Jdbi installPlugin(JdbiPlugin plugin) {
         plugin.customizeJdbi(this);
         plugins.add(plugin);
+        if (overrides(plugin, "customizeConnection", Connection.class)) {
+            connectionPlugins.add(plugin);
+        }
+        if (overrides(plugin, "customizeHandle", Handle.class)) {
+            handlePlugins.add(plugin);
+        }
         return this;
     }
 
+    private static boolean overrides(JdbiPlugin plugin, String methodName, Class<?> parameterType) {
+        try {
+            return plugin.getClass().getMethod(methodName, parameterType).getDeclaringClass() != JdbiPlugin.class;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return true;
+        }
+    }
+
     /**
      * Allows customization of how prepared statements are created. When a Handle is created
      * against this Jdbi instance the factory will be used to create a StatementBuilder for
@@ -280,20 +303,25 @@ public class Jdbi implements Configurable<Jdbi> {
      */
     public Handle open() {
         try {
+            final JdbiFlightRecorder.FlightEvent event = JdbiFlightRecorder.beginHandle();
             final long start = System.nanoTime();
             @SuppressWarnings("PMD.CloseResource")
             Connection conn = connectionFactory.openConnection();
             final long stop = System.nanoTime();
 
-            for (JdbiPlugin p : plugins) {
+            for (JdbiPlugin p : connectionPlugins) {
                 conn = p.customizeConnection(conn);
             }
 
             StatementBuilder cache = statementBuilderFactory.get().createStatementBuilder(conn);
-            Handle h = new Handle(config.createCopy(), transactionhandler.get(), cache, conn);
-            for (JdbiPlugin p : plugins) {
+            ConfigRegistry handleConfig = config.get(Handles.class).isLazyConfigCopy()
+                ? config.createLazyCopy()
+                : config.createCopy();
+            Handle h = new Handle(handleConfig, transactionhandler.get(), cache, conn);
+            for (JdbiPlugin p : handlePlugins) {
                 h = p.customizeHandle(h);
             }
+            JdbiFlightRecorder.handleOpened(event, stop - start);
             LOG.trace("Jdbi [{}] obtain handle [{}] in {}ms", this, h, (stop - start) / 1000000L);
             return h;
         } catch (SQLException e) {
@@ -476,4 +504,54 @@ public class Jdbi implements Configurable<Jdbi> {
 
         return OnDemandExtensions.create(this, extensionType);
     }
+
+    /**
+     * Eagerly performs the reflection and lookups extension factories otherwise perform when an extension of each of
+     * the given types is first used, e.g. to keep that work out of the first requests served by an application.
+     * Equivalent to {@code warmUp(false, extensionTypes)}; does not open a handle.
+     * <p>
+     * Extension factories keep what they build, like the handlers of a SQL Object, so call this once this Jdbi is
+     * fully configured: work done before plugins, handlers or handler decorators are registered is wasted when it
+     * has to be done again, or may not apply to the warmed up types.
+     * </p>
+     *
+     * @param extensionTypes the extension types to warm up
+     * @return how long each type took to warm up, in the given order
+     * @throws NoSuchExtensionException if no {@link ExtensionFactory} is registered which supports one of the types.
+     */
+    @Beta
+    public Map<Class<?>, Duration> warmUp(Class<?>... extensionTypes) throws NoSuchExtensionException {
+        return warmUp(false, extensionTypes);
+    }
+
+    /**
+     * Eagerly performs the reflection and lookups extension factories otherwise perform when an extension of each of
+     * the given types is first used. When {@code prepareStatements} is true, a handle is opened and the extensions'
+     * statements are prepared against it once, which validates them against the database and populates a caching
+     * {@link StatementBuilder}.
+     *
+     * @param prepareStatements whether to prepare the extensions' statements
+     * @param extensionTypes    the extension types to warm up
+     * @return how long each type took to warm up, in the given order
+     * @throws NoSuchExtensionException if no {@link ExtensionFactory} is registered which supports one of the types.
+     */
+    @Beta
+    public Map<Class<?>, Duration> warmUp(boolean prepareStatements, Class<?>... extensionTypes) throws NoSuchExtensionException {
+        Extensions extensions = getConfig(Extensions.class);
+        Map<Class<?>, Duration> timings = new LinkedHashMap<>();
+        try (LazyHandleSupplier handle = new LazyHandleSupplier(this, config)) {
+            for (Class<?> extensionType : extensionTypes) {
+                ExtensionFactory factory = extensions.findFactoryFor(extensionType)
+                        .orElseThrow(() -> new NoSuchExtensionException("Extension not found: " + extensionType));
+
+                long start = System.nanoTime();
+                factory.warmUp(extensionType, handle, prepareStatements);
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                LOG.debug("Warmed up {} in {} ms", extensionType.getName(), elapsed.toMillis());
+                timings.put(extensionType, elapsed);
+            }
+        }
+        return Collections.unmodifiableMap(timings);
+    }
 }
@@ -14,6 +14,7 @@
 package org.jdbi.v3.core;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.extension.ExtensionMethod;
@@ -29,6 +30,7 @@ class LazyHandleSupplier implements HandleSupplier, AutoCloseable {
 
     private volatile Handle handle;
     private volatile boolean closed = false;
+    private int retained = 0;
 
     LazyHandleSupplier(Jdbi db, ConfigRegistry config) {
         this.db = db;
@@ -51,7 +53,7 @@ class LazyHandleSupplier implements HandleSupplier, AutoCloseable {
     private void initHandle() {
         synchronized (lock) {
             if (handle == null) {
-                if (closed) {
+                if (closed && retained == 0) {
                     throw new IllegalStateException("Handle is closed");
                 }
 
@@ -72,17 +74,44 @@ class LazyHandleSupplier implements HandleSupplier, AutoCloseable {
                 () -> JdbiThreadLocals.invokeInContext(this.config, config, task));
     }
 
+    @Override
+    public RetainedHandle retainHandle() {
+        synchronized (lock) {
+            if (closed && retained == 0) {
+                throw new IllegalStateException("Handle is closed");
+            }
+            retained++;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                synchronized (lock) {
+                    retained--;
+                    if (closed && retained == 0) {
+                        closeHandle();
+                    }
+                }
+            }
+        };
+    }
+
     @Override
     public void close() {
         synchronized (lock) {
             closed = true;
-            // once created, the handle owns cleanup of the threadlocals
-            if (handle == null) {
-                config.remove();
-                extensionMethod.remove();
-            } else {
-                handle.close();
+            if (retained == 0) {
+                closeHandle();
             }
         }
     }
+
+    private void closeHandle() {
+        // once created, the handle owns cleanup of the threadlocals
+        if (handle == null) {
+            config.remove();
+            extensionMethod.remove();
+        } else {
+            handle.close();
+        }
+    }
 }
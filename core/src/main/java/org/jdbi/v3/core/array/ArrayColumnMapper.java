@@ -18,7 +18,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.jdbi.v3.core.statement.StatementContext;
@@ -26,6 +30,9 @@ import org.jdbi.v3.core.mapper.ColumnMapper;
 
 class ArrayColumnMapper implements ColumnMapper<Object> {
     private static final CopyOnWriteArraySet<Integer> UNSUPPORTED_TYPES = new CopyOnWriteArraySet<>();
+    // element types whose driver values are used as they are
+    private static final Set<Class<?>> COPYABLE_TYPES = new HashSet<>(Arrays.asList(
+        Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, UUID.class));
 
     private final ColumnMapper<?> elementMapper;
     private final Class<?> componentType;
@@ -58,14 +65,76 @@ class ArrayColumnMapper implements ColumnMapper<Object> {
                 if (componentType.equals(ary.getClass().getComponentType())) {
                     return ary;
                 }
-            } catch (SQLFeatureNotSupportedException ignore) {}
+                Object converted = convertArray(ary);
+                if (converted != null) {
+                    return converted;
+                }
+            } catch (SQLFeatureNotSupportedException e) {
+                UNSUPPORTED_TYPES.add(array.getBaseType());
+            }
         }
 
-        UNSUPPORTED_TYPES.add(array.getBaseType());
-
+        // the driver does not return arrays of this type, or returned elements the element mapper has to convert
         return buildFromResultSet(array, ctx);
     }
 
+    /**
+     * Copies an array returned by the driver, e.g. an {@code Integer[]} or {@code Object[]}, into an array of the
+     * component type without going through the element mapper, if the component type is a primitive, a primitive
+     * wrapper or {@code UUID}, and every element is of the component type, or its wrapper type for primitives.
+     * Other types, e.g. {@code String}, may have user registered element mappers, so they are always mapped.
+     *
+     * @return the converted array, or null if the array is primitive, or an element is null or of another type
+     */
+    private Object convertArray(Object array) {
+        if (!(array instanceof Object[])) {
+            return null;
+        }
+        Object[] ary = (Object[]) array;
+        int length = ary.length;
+        if (componentType == int.class) {
+            int[] ints = new int[length];
+            for (int i = 0; i < length; i++) {
+                if (!(ary[i] instanceof Integer)) {
+                    return null;
+                }
+                ints[i] = (Integer) ary[i];
+            }
+            return ints;
+        }
+        if (componentType == long.class) {
+            long[] longs = new long[length];
+            for (int i = 0; i < length; i++) {
+                if (!(ary[i] instanceof Long)) {
+                    return null;
+                }
+                longs[i] = (Long) ary[i];
+            }
+            return longs;
+        }
+        if (componentType == double.class) {
+            double[] doubles = new double[length];
+            for (int i = 0; i < length; i++) {
+                if (!(ary[i] instanceof Double)) {
+                    return null;
+                }
+                doubles[i] = (Double) ary[i];
+            }
+            return doubles;
+        }
+        if (!COPYABLE_TYPES.contains(componentType)) {
+            return null;
+        }
+        for (Object element : ary) {
+            if (element != null && !componentType.isInstance(element)) {
+                return null;
+            }
+        }
+        Object copy = Array.newInstance(componentType, length);
+        System.arraycopy(ary, 0, copy, 0, length);
+        return copy;
+    }
+
     private Object buildFromResultSet(java.sql.Array array, StatementContext ctx) throws SQLException {
         List<Object> list = new ArrayList<>();
         try (ResultSet rs = array.getResultSet()) {
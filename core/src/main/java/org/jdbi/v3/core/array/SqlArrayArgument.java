@@ -34,11 +34,14 @@ class SqlArrayArgument<T> implements Argument {
     SqlArrayArgument(SqlArrayType<T> arrayType, Object newArray) {
         this.typeName = arrayType.getTypeName();
 
-        List<Object> elements = new ArrayList<>(
-                newArray.getClass().isArray() ? Array.getLength(newArray) : 10);
-        IterableLike.of(newArray).forEachRemaining(
-                e -> elements.add(arrayType.convertArrayElement((T) e)));
-        array = elements.toArray();
+        if (newArray.getClass().isArray()) {
+            array = convertArray(arrayType, newArray);
+        } else {
+            List<Object> elements = new ArrayList<>();
+            IterableLike.of(newArray).forEachRemaining(
+                    e -> elements.add(arrayType.convertArrayElement((T) e)));
+            array = elements.toArray();
+        }
     }
 
     SqlArrayArgument(SqlArrayType<T> arrayType, Collection<T> list) {
@@ -46,6 +49,39 @@ class SqlArrayArgument<T> implements Argument {
         this.array = list.stream().map(arrayType::convertArrayElement).toArray();
     }
 
+    // converts into a new array in one pass, without iterators; primitives are boxed, since JDBC takes an Object[]
+    @SuppressWarnings("unchecked")
+    private static <T> Object[] convertArray(SqlArrayType<T> arrayType, Object newArray) {
+        int length = Array.getLength(newArray);
+        Object[] converted = new Object[length];
+        if (newArray instanceof Object[]) {
+            Object[] objects = (Object[]) newArray;
+            for (int i = 0; i < length; i++) {
+                converted[i] = arrayType.convertArrayElement((T) objects[i]);
+            }
+        } else if (newArray instanceof int[]) {
+            int[] ints = (int[]) newArray;
+            for (int i = 0; i < length; i++) {
+                converted[i] = arrayType.convertArrayElement((T) Integer.valueOf(ints[i]));
+            }
+        } else if (newArray instanceof long[]) {
+            long[] longs = (long[]) newArray;
+            for (int i = 0; i < length; i++) {
+                converted[i] = arrayType.convertArrayElement((T) Long.valueOf(longs[i]));
+            }
+        } else if (newArray instanceof double[]) {
+            double[] doubles = (double[]) newArray;
+            for (int i = 0; i < length; i++) {
+                converted[i] = arrayType.convertArrayElement((T) Double.valueOf(doubles[i]));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                converted[i] = arrayType.convertArrayElement((T) Array.get(newArray, i));
+            }
+        }
+        return converted;
+    }
+
     @Override
     public void apply(int position, PreparedStatement statement, StatementContext ctx) throws SQLException {
         SqlArrayArgumentStrategy argumentStyle = ctx.getSqlArrayArgumentStrategy();
@@ -0,0 +1,433 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jdbi.v3.core.result.ResultSetSnapshot;
+import org.jdbi.v3.meta.Beta;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A size bounded, least recently used cache of query results, keyed by rendered SQL and bound parameter values.
+ * Entries expire after a fixed time to live, and can be invalidated by tag; tags are matched case insensitively.
+ * <p>
+ * Results are cached as {@link ResultSetSnapshot row snapshots}, and mapped anew for every cache hit, so cached
+ * results are never shared between callers.
+ * </p>
+ * <p>
+ * Lookups never wait for other threads: a hit refreshes the recency of its result only if no other thread is
+ * updating the cache at the time, so eviction is least recently used on a best effort basis under contention.
+ * </p>
+ *
+ * @see QueryCachePlugin
+ */
+@Beta
+public final class QueryCache {
+    private static final Pattern COMMENT_OR_LITERAL = Pattern.compile("--[^\\n]*|/\\*.*?\\*/|'(?:[^']|'')*'", Pattern.DOTALL);
+    // "update" is not a modification in "for update of t", "for no key update" or "on duplicate key update"
+    private static final Pattern MODIFIED_TABLE = Pattern.compile(
+        "\\b(?:insert\\s+(?:ignore\\s+)?into|(?<!\\b(?:for|key)\\s{1,16})update|delete\\s+from|merge\\s+into"
+            + "|upsert\\s+into|replace\\s+into"
+            + "|truncate(?:\\s+table)?|(?:alter|drop)\\s+table(?:\\s+if\\s+exists)?)\\s+(?:only\\s+)?([\\w.\"`\\[\\]]+)",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern READ_ONLY = Pattern.compile(
+        "^[\\s(]*(?:(?:select|with|values|table|show|explain|describe|desc|create|set)\\b|$)",
+        Pattern.CASE_INSENSITIVE);
+    private static final String[] READ_ONLY_KEYWORDS = {"select", "values", "table", "show", "describe", "desc"};
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    // access ordered, guarded by the lock; lookups read the concurrent map instead
+    private final LinkedHashMap<Key, Entry> entries;
+    private final Map<Key, Entry> lookup = new ConcurrentHashMap<>();
+    private final Map<String, Set<Key>> keysByTag = new HashMap<>();
+    private final Map<String, Long> generationByTag = new HashMap<>();
+    private long generation;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * @param maxEntries the maximum number of cached results
+     * @param ttl        how long results are cached
+     */
+    public QueryCache(int maxEntries, Duration ttl) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached result of the given query, if any.
+     *
+     * @param sql        the rendered SQL
+     * @param parameters the bound parameter values
+     * @return the cached result, or null
+     */
+    public ResultSetSnapshot get(String sql, List<?> parameters) {
+        Key key = new Key(sql, parameters);
+        Entry entry = lookup.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+            lock.lock();
+            try {
+                if (lookup.get(key) == entry) {
+                    remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (lock.tryLock()) {
+            try {
+                // refreshes the access order
+                entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+        hits.increment();
+        return entry.result;
+    }
+
+    /**
+     * Caches the result of the given query.
+     *
+     * @param sql        the rendered SQL
+     * @param parameters the bound parameter values
+     * @param tags       the tags invalidating the result
+     * @param result     the result
+     */
+    public void put(String sql, List<?> parameters, Collection<String> tags, ResultSetSnapshot result) {
+        lock.lock();
+        try {
+            doPut(sql, parameters, tags, result);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches the result of the given query, unless any of its tags were invalidated since the given generation was
+     * read. Read the generation before executing the query, so results read before a concurrent invalidation are
+     * not cached after it.
+     *
+     * @param sql        the rendered SQL
+     * @param parameters the bound parameter values
+     * @param tags       the tags invalidating the result
+     * @param result     the result
+     * @param generation the {@link #getGeneration(Collection) generation} of the tags before the query was executed
+     * @return whether the result was cached
+     */
+    public boolean put(String sql, List<?> parameters, Collection<String> tags, ResultSetSnapshot result, long generation) {
+        lock.lock();
+        try {
+            if (generation != getGeneration(tags)) {
+                return false;
+            }
+            doPut(sql, parameters, tags, result);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the generation of the given tags, which changes whenever any of them is invalidated.
+     *
+     * @param tags the tags
+     * @return the generation of the tags
+     */
+    public long getGeneration(Collection<String> tags) {
+        lock.lock();
+        try {
+            long sum = generation;
+            for (String tag : tags) {
+                sum += generationByTag.getOrDefault(normalize(tag), 0L);
+            }
+            return sum;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void doPut(String sql, List<?> parameters, Collection<String> tags, ResultSetSnapshot result) {
+        Key key = new Key(sql, parameters);
+        remove(key);
+
+        Set<String> normalized = new HashSet<>();
+        tags.forEach(tag -> normalized.add(normalize(tag)));
+        Entry entry = new Entry(requireNonNull(result), normalized, System.nanoTime() + ttlNanos);
+        entries.put(key, entry);
+        lookup.put(key, entry);
+        normalized.forEach(tag -> keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key));
+
+        if (entries.size() > maxEntries) {
+            remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Removes all results tagged with any of the given tags.
+     *
+     * @param tags the tags to invalidate
+     */
+    public void invalidate(String... tags) {
+        lock.lock();
+        try {
+            for (String tag : tags) {
+                String normalized = normalize(tag);
+                generationByTag.merge(normalized, 1L, Long::sum);
+                Set<Key> keys = keysByTag.remove(normalized);
+                if (keys != null) {
+                    keys.forEach(this::remove);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all results.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            lookup.clear();
+            keysByTag.clear();
+            // keeps every generation sum increasing, while dropping the tags
+            generation += 1;
+            for (long tagGeneration : generationByTag.values()) {
+                generation += tagGeneration;
+            }
+            generationByTag.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidates the results tagged with the tables the given statement modifies. The statement is searched for
+     * inserts into, updates of, deletes from, merges into, truncations, alterations and drops of tables, anywhere in
+     * the statement, so common table expressions and multiple statements are covered. Schema qualified names
+     * invalidate both the qualified and the unqualified name. Statements modifying no table invalidate nothing if
+     * they start with a query or a {@code create} or {@code set} command; any other statement, such as a procedure
+     * call, invalidates all results. Statements starting with a {@code select}, {@code values}, {@code table},
+     * {@code show} or {@code describe} command are taken as queries without being searched.
+     *
+     * @param sql the statement
+     */
+    public void invalidateModifiedBy(String sql) {
+        if (startsReadOnly(sql)) {
+            return;
+        }
+        String statement = sql.indexOf('\'') < 0 && !sql.contains("--") && !sql.contains("/*")
+            ? sql
+            : COMMENT_OR_LITERAL.matcher(sql).replaceAll(" ");
+        List<String> tables = new ArrayList<>();
+        Matcher matcher = MODIFIED_TABLE.matcher(statement);
+        while (matcher.find()) {
+            String table = matcher.group(1).replaceAll("[\"`\\[\\]]", "");
+            tables.add(table);
+            int dot = table.lastIndexOf('.');
+            if (dot >= 0) {
+                tables.add(table.substring(dot + 1));
+            }
+        }
+        if (tables.isEmpty()) {
+            if (!READ_ONLY.matcher(statement).find()) {
+                invalidateAll();
+            }
+            return;
+        }
+        invalidate(tables.toArray(new String[0]));
+    }
+
+    private static boolean startsReadOnly(String sql) {
+        int start = 0;
+        while (start < sql.length()) {
+            char c = sql.charAt(start);
+            if (Character.isWhitespace(c) || c == '(') {
+                start++;
+            } else if (sql.startsWith("--", start)) {
+                int end = sql.indexOf('\n', start);
+                start = end < 0 ? sql.length() : end + 1;
+            } else if (sql.startsWith("/*", start)) {
+                int end = sql.indexOf("*/", start + 2);
+                if (end < 0) {
+                    return false;
+                }
+                start = end + 2;
+            } else {
+                break;
+            }
+        }
+        if (start == sql.length()) {
+            return true;
+        }
+        for (String keyword : READ_ONLY_KEYWORDS) {
+            int end = start + keyword.length();
+            if (sql.regionMatches(true, start, keyword, 0, keyword.length())
+                && (end == sql.length() || !Character.isJavaIdentifierPart(sql.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param tag a tag
+     * @return whether any cached result is tagged with the given tag
+     */
+    public boolean isTagged(String tag) {
+        lock.lock();
+        try {
+            return keysByTag.containsKey(normalize(tag));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of cached results, including expired results not yet evicted
+     */
+    public int size() {
+        return lookup.size();
+    }
+
+    /**
+     * @return the number of lookups which found a cached result
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups which did not find a cached result
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Removes expired results.
+     */
+    public void evictExpired() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            Set<Key> expired = new HashSet<>();
+            entries.forEach((key, entry) -> {
+                if (entry.expiresAt - now <= 0) {
+                    expired.add(key);
+                }
+            });
+            expired.forEach(this::remove);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        lookup.remove(key);
+        for (String tag : entry.tags) {
+            Set<Key> keys = keysByTag.get(tag);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    static String normalize(String tag) {
+        return tag.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final List<?> parameters;
+        private final int hash;
+
+        Key(String sql, List<?> parameters) {
+            this.sql = requireNonNull(sql);
+            this.parameters = new ArrayList<>(parameters);
+            this.hash = Objects.hash(sql, parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hash == that.hash && sql.equals(that.sql) && parameters.equals(that.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        private final ResultSetSnapshot result;
+        private final Set<String> tags;
+        private final long expiresAt;
+
+        Entry(ResultSetSnapshot result, Set<String> tags, long expiresAt) {
+            this.result = result;
+            this.tags = tags;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.cache;
+
+import java.time.Duration;
+
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.spi.JdbiPlugin;
+import org.jdbi.v3.meta.Beta;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Installs a {@link QueryCache}, which caches the results of queries marked with
+ * {@link org.jdbi.v3.core.statement.Query#cacheResults(String...)}.
+ * <p>
+ * Whenever a statement, batch or script modifying a table is executed through the {@code Jdbi}, cached results
+ * tagged with the table's name are invalidated, as described by {@link QueryCache#invalidateModifiedBy(String)}.
+ * Results are invalidated when the statement is executed, not when its transaction commits: a query executed
+ * concurrently before the commit may cache stale results until they expire.
+ * </p>
+ */
+@Beta
+public class QueryCachePlugin implements JdbiPlugin {
+    private final QueryCache cache;
+
+    /**
+     * Caches up to 1000 results for one minute.
+     */
+    public QueryCachePlugin() {
+        this(new QueryCache(1000, Duration.ofMinutes(1)));
+    }
+
+    /**
+     * @param cache the cache to install
+     */
+    public QueryCachePlugin(QueryCache cache) {
+        this.cache = requireNonNull(cache, "null cache");
+    }
+
+    /**
+     * @return the installed cache
+     */
+    public QueryCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public void customizeJdbi(Jdbi jdbi) {
+        jdbi.getConfig(QueryCaching.class).setCache(cache);
+    }
+}
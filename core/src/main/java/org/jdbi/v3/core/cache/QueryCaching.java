@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.cache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jdbi.v3.core.config.JdbiConfig;
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * Configures the {@link QueryCache} used by queries, and whether, and with which tags, a query's results are cached.
+ * Queries are not cached unless {@link #setCached(String...)} is called, usually through
+ * {@link org.jdbi.v3.core.statement.Query#cacheResults(String...)}, and a cache is set, usually by the
+ * {@link QueryCachePlugin}.
+ */
+@Beta
+public class QueryCaching implements JdbiConfig<QueryCaching> {
+    private QueryCache cache;
+    private boolean cached;
+    private Set<String> tags;
+
+    public QueryCaching() {
+        cache = null;
+        cached = false;
+        tags = Collections.emptySet();
+    }
+
+    private QueryCaching(QueryCaching that) {
+        this.cache = that.cache;
+        this.cached = that.cached;
+        this.tags = that.tags;
+    }
+
+    /**
+     * @return the query cache, or null if there is none
+     */
+    public QueryCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the query cache. Statements executed while a cache is set invalidate the cached results of the tables
+     * they modify.
+     *
+     * @param cache the query cache, or null to disable caching
+     * @return this
+     */
+    public QueryCaching setCache(QueryCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * @return whether results are cached
+     */
+    public boolean isCached() {
+        return cached && cache != null;
+    }
+
+    /**
+     * @return the tags cached results are invalidated by
+     */
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Caches the results of queries, with the given tags. Tags are typically the names of the tables a query reads,
+     * so that updates to those tables invalidate its results.
+     *
+     * @param tags the tags cached results are invalidated by
+     * @return this
+     */
+    public QueryCaching setCached(String... tags) {
+        this.cached = true;
+        this.tags = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(tags)));
+        return this;
+    }
+
+    /**
+     * Stops caching the results of queries.
+     *
+     * @return this
+     */
+    public QueryCaching setUncached() {
+        this.cached = false;
+        this.tags = Collections.emptySet();
+        return this;
+    }
+
+    @Override
+    public QueryCaching createCopy() {
+        return new QueryCaching(this);
+    }
+}
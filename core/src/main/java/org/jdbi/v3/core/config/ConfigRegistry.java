@@ -13,9 +13,12 @@
  */
 package org.jdbi.v3.core.config;
 
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.WeakHashMap;
 
+import org.jdbi.v3.meta.Beta;
+
 import static java.util.Collections.synchronizedMap;
 
 /**
@@ -24,24 +27,45 @@ import static java.util.Collections.synchronizedMap;
  * @see Configurable
  */
 public class ConfigRegistry {
+    // whether config objects of a class look up other config objects through their registry, in which case a lazy
+    // copy can't share them with the registry it was copied from, or they would not see the copy's configuration
+    private static final ClassValue<Boolean> REGISTRY_AWARE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("setRegistry", ConfigRegistry.class).getDeclaringClass() != JdbiConfig.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
     private final Map<Class<? extends JdbiConfig<?>>, JdbiConfig<?>> cache = synchronizedMap(new WeakHashMap<>());
+    // the registry a lazy copy reads through to, for config objects it has no copy of
+    private final ConfigRegistry parent;
 
     /**
      * Creates a new config registry.
      */
-    public ConfigRegistry() {}
+    public ConfigRegistry() {
+        this.parent = null;
+    }
+
+    private ConfigRegistry(ConfigRegistry parent) {
+        this.parent = parent;
+    }
 
-    private ConfigRegistry(ConfigRegistry that) {
-        that.cache.forEach((type, config) -> {
-            JdbiConfig<?> copy = config.createCopy();
-            copy.setRegistry(this);
-            cache.put(type, copy);
-        });
+    private ConfigRegistry copyConfigsFrom(ConfigRegistry that) {
+        that.cache.forEach((type, config) -> cache.put(type, config.createCopy()));
+        // only once all are copied, so config objects which look up others in setRegistry find the copies
+        new ArrayList<>(cache.values()).forEach(copy -> copy.setRegistry(this));
+        return this;
     }
 
     /**
      * Returns this registry's instance of the given config class. Creates an instance on-demand if this registry does
-     * not have one of the given type yet.
+     * not have one of the given type yet. A {@link #createLazyCopy() lazy copy} copies the config object from the
+     * registry it was copied from at this point, so use this method to obtain config objects to modify.
      *
      * @param configClass the config class type.
      * @param <C>         the config class type.
@@ -49,17 +73,56 @@ public class ConfigRegistry {
      */
     public <C extends JdbiConfig<C>> C get(Class<C> configClass) {
         return configClass.cast(cache.computeIfAbsent(configClass, type -> {
-            try {
-                C config = configClass.getDeclaredConstructor().newInstance();
-                config.setRegistry(this);
-                return config;
-            } catch (ReflectiveOperationException e) {
-                throw new IllegalStateException("Unable to instantiate config class " + configClass
-                    + ". Is there a public no-arg constructor?", e);
+            JdbiConfig<?> inherited = parent == null ? null : parent.find(configClass);
+            if (inherited != null) {
+                C copy = configClass.cast(inherited).createCopy();
+                copy.setRegistry(this);
+                return copy;
             }
+            return create(configClass);
         }));
     }
 
+    private <C extends JdbiConfig<C>> C create(Class<C> configClass) {
+        try {
+            C config = configClass.getDeclaredConstructor().newInstance();
+            config.setRegistry(this);
+            return config;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to instantiate config class " + configClass
+                + ". Is there a public no-arg constructor?", e);
+        }
+    }
+
+    /**
+     * Returns the instance of the given config class to read configuration from, which must not be modified. A
+     * {@link #createLazyCopy() lazy copy} which has no instance of its own yet returns the instance of the registry
+     * it was copied from, so reading does not copy anything, unless the config class {@link JdbiConfig#setRegistry
+     * uses its registry}: such instances always belong to the registry they are read from. Otherwise, and once the
+     * config object was requested through {@link #get(Class)}, this is the same as {@code get}.
+     *
+     * @param configClass the config class type.
+     * @param <C>         the config class type.
+     * @return the given config class instance to read from
+     */
+    @Beta
+    public <C extends JdbiConfig<C>> C read(Class<C> configClass) {
+        JdbiConfig<?> config = cache.get(configClass);
+        if (config == null && parent != null && !REGISTRY_AWARE.get(configClass)) {
+            config = parent.find(configClass);
+        }
+        return config == null ? get(configClass) : configClass.cast(config);
+    }
+
+    // the config object this registry would copy, without creating one
+    private JdbiConfig<?> find(Class<?> configClass) {
+        JdbiConfig<?> config = cache.get(configClass);
+        if (config == null && parent != null) {
+            return parent.find(configClass);
+        }
+        return config;
+    }
+
     /**
      * Returns a copy of this config registry.
      *
@@ -68,6 +131,21 @@ public class ConfigRegistry {
      * config objects from this registry.
      */
     public ConfigRegistry createCopy() {
+        return new ConfigRegistry(parent).copyConfigsFrom(this);
+    }
+
+    /**
+     * Returns a copy of this config registry, which copies nothing up front: each config class is copied on write,
+     * i.e. until a config object is first requested through {@link #get(Class)}, e.g. to be modified, the copy
+     * {@link #read(Class) reads} the config object of this registry, and only then copies it. Config objects which use
+     * their registry are copied when first read. Modifications made to this registry are visible in the copy until
+     * the copy copies the modified config object; modifications made to the copy are never visible in this registry.
+     *
+     * @return a lazy copy of this config registry
+     * @see #createCopy()
+     */
+    @Beta
+    public ConfigRegistry createLazyCopy() {
         return new ConfigRegistry(this);
     }
 }
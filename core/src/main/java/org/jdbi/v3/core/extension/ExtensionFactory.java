@@ -13,6 +13,8 @@
  */
 package org.jdbi.v3.core.extension;
 
+import org.jdbi.v3.meta.Beta;
+
 /**
  * Factory interface used to produce Jdbi extension objects.
  */
@@ -36,4 +38,19 @@ public interface ExtensionFactory {
      * @see org.jdbi.v3.core.Jdbi#onDemand(Class)
      */
     <E> E attach(Class<E> extensionType, HandleSupplier handle);
+
+    /**
+     * Eagerly performs the work this factory would otherwise do lazily, when an extension of the given type is first
+     * attached or its methods first invoked, e.g. reflecting over the type and locating its SQL. Does nothing by
+     * default.
+     *
+     * @param extensionType     the extension type
+     * @param handle            Supplies the database handle. Implementors should only fetch the handle when
+     *                          preparing statements.
+     * @param prepareStatements whether to also prepare the extension's statements once against the database
+     * @throws IllegalArgumentException if the extension type is not supported by this factory.
+     * @see org.jdbi.v3.core.Jdbi#warmUp(boolean, Class[])
+     */
+    @Beta
+    default void warmUp(Class<?> extensionType, HandleSupplier handle, boolean prepareStatements) {}
 }
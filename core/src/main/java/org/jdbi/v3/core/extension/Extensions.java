@@ -18,6 +18,7 @@ import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.jdbi.v3.core.config.JdbiConfig;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * Configuration class for defining {@code Jdbi} extensions via {@link ExtensionFactory}
@@ -70,7 +71,13 @@ public class Extensions implements JdbiConfig<Extensions> {
                 .map(factory -> factory.attach(extensionType, handle));
     }
 
-    private Optional<ExtensionFactory> findFactoryFor(Class<?> extensionType) {
+    /**
+     * Find the first registered factory which accepts the given extension type, if any
+     * @param extensionType the extension type
+     * @return the factory for the extension type, if any
+     */
+    @Beta
+    public Optional<ExtensionFactory> findFactoryFor(Class<?> extensionType) {
         return factories.stream()
                 .filter(factory -> factory.accepts(extensionType))
                 .findFirst();
@@ -18,6 +18,7 @@ import java.util.concurrent.Callable;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.config.Configurable;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * A handle supplier for extension implementors.
@@ -35,7 +36,12 @@ public interface HandleSupplier extends Configurable<HandleSupplier> {
      * Bind an extension method and configuration registry to the Handle,
      * invoke the given task, then reset the Handle's extension state.
      *
-     * Note that the binding is done by a thread local, so the binding
+     * Note that the binding is made on the Handle itself: while the task runs,
+     * every thread using the Handle sees the bound extension method and
+     * configuration, so a Handle shared by several threads sees those of the
+     * task which started last. Handles supplied to
+     * {@link org.jdbi.v3.core.Jdbi#onDemand(Class) on-demand} extensions are
+     * bound by a thread local instead, so the binding is per thread, and
      * will not propagate to other threads you may call out to.
      *
      * @param <V> the result type of the task
@@ -46,4 +52,30 @@ public interface HandleSupplier extends Configurable<HandleSupplier> {
      * @throws Exception if any exception is thrown
      */
     <V> V invokeInContext(ExtensionMethod extensionMethod, ConfigRegistry config, Callable<V> task) throws Exception;
+
+    /**
+     * Keeps the handle open past the end of the extension call, until it is released, e.g. so an
+     * extension method can finish its work on another thread. Handles supplied for a single extension call, e.g. by
+     * {@link org.jdbi.v3.core.Jdbi#onDemand(Class) on-demand} extensions, are closed once the call returns and every
+     * retained handle is released; other handles are unaffected. The handle must be released once the work is done;
+     * releasing it again has no effect.
+     *
+     * @return the retained handle, to release
+     */
+    @Beta
+    default RetainedHandle retainHandle() {
+        return () -> {};
+    }
+
+    /**
+     * A handle kept open by {@link #retainHandle()}.
+     */
+    @Beta
+    @FunctionalInterface
+    interface RetainedHandle {
+        /**
+         * Allows the handle to be closed.
+         */
+        void release();
+    }
 }
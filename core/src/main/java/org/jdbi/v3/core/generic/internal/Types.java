@@ -52,7 +52,7 @@ public class Types {
 
     private static final Function<Type, String> TYPE_NAME = JavaVersion.CURRENT::typeName;
 
-    static Type newArrayType(Type componentType) {
+    public static Type newArrayType(Type componentType) {
         if (componentType instanceof WildcardType) {
             WildcardType wildcard = (WildcardType) componentType;
             Type[] lowerBounds = wildcard.getLowerBounds();
@@ -78,7 +78,7 @@ public class Types {
         return new ParameterizedTypeImpl(ownerType, rawType, arguments);
     }
 
-    static ParameterizedType newParameterizedType(Class<?> rawType, Type... arguments) {
+    public static ParameterizedType newParameterizedType(Class<?> rawType, Type... arguments) {
         return new ParameterizedTypeImpl(
                 ClassOwnership.JVM_BEHAVIOR.getOwnerType(rawType), rawType, arguments);
     }
@@ -142,11 +142,11 @@ public class Types {
         return newTypeVariableImpl(declaration, name, (bounds.length == 0) ? new Type[] {Object.class} : bounds);
     }
 
-    static WildcardType subtypeOf(Type upperBound) {
+    public static WildcardType subtypeOf(Type upperBound) {
         return new WildcardTypeImpl(new Type[0], new Type[]{upperBound});
     }
 
-    static WildcardType supertypeOf(Type lowerBound) {
+    public static WildcardType supertypeOf(Type lowerBound) {
         return new WildcardTypeImpl(new Type[]{lowerBound}, new Type[]{Object.class});
     }
 
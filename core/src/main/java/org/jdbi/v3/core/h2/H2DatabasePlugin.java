@@ -28,5 +28,7 @@ public class H2DatabasePlugin implements JdbiPlugin {
         db.setSqlArrayArgumentStrategy(SqlArrayArgumentStrategy.OBJECT_ARRAY);
         db.registerArrayType(UUID.class, "uuid");
         db.registerArrayType(int.class, "integer");
+        db.registerArrayType(long.class, "bigint");
+        db.registerArrayType(double.class, "double");
     }
 }
@@ -0,0 +1,328 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * The JDK Flight Recorder events of Jdbi. Only used through {@link JdbiFlightRecorder}, once it has checked that the
+ * {@code jdk.jfr} API is available. The events are defined through {@code jdk.jfr.EventFactory} by reflection, so core
+ * compiles on JDKs which don't have the {@code jdk.jfr} API, like the Oracle JDK 8. Events are begun when the recorded
+ * operation starts, so their duration is the operation's; their fields are only filled in if the event is committed.
+ */
+final class JdbiEvents {
+    private static final String NANOSECONDS = "NANOSECONDS";
+
+    // the field indexes of each event type, in definition order
+    private static final int STATEMENT_SQL = 0;
+    private static final int STATEMENT_BIND_COUNT = 1;
+    private static final int STATEMENT_PREPARE_DURATION = 2;
+    private static final int STATEMENT_EXECUTE_DURATION = 3;
+    private static final int STATEMENT_FAILED = 4;
+    private static final int RESULT_SET_SQL = 0;
+    private static final int RESULT_SET_ROWS = 1;
+    private static final int HANDLE_ACTION = 0;
+    private static final int HANDLE_CONNECTION_DURATION = 1;
+    private static final int TRANSACTION_ACTION = 0;
+    private static final int TRANSACTION_RETRY_ATTEMPT = 0;
+    private static final int TRANSACTION_RETRY_SQL_STATE = 1;
+    private static final int TRANSACTION_RETRY_BACKOFF = 2;
+
+    private static final MethodHandle BEGIN;
+    private static final MethodHandle END;
+    private static final MethodHandle SHOULD_COMMIT;
+    private static final MethodHandle SET;
+    private static final MethodHandle COMMIT;
+
+    private static final EventType STATEMENT;
+    private static final EventType RESULT_SET;
+    private static final EventType HANDLE;
+    private static final EventType TRANSACTION;
+    private static final EventType TRANSACTION_RETRY;
+
+    static {
+        try {
+            Class<?> event = Class.forName("jdk.jfr.Event");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            BEGIN = lookup.findVirtual(event, "begin", methodType(void.class))
+                .asType(methodType(void.class, Object.class));
+            END = lookup.findVirtual(event, "end", methodType(void.class))
+                .asType(methodType(void.class, Object.class));
+            SHOULD_COMMIT = lookup.findVirtual(event, "shouldCommit", methodType(boolean.class))
+                .asType(methodType(boolean.class, Object.class));
+            SET = lookup.findVirtual(event, "set", methodType(void.class, int.class, Object.class))
+                .asType(methodType(void.class, Object.class, int.class, Object.class));
+            COMMIT = lookup.findVirtual(event, "commit", methodType(void.class))
+                .asType(methodType(void.class, Object.class));
+
+            EventDefiner definer = new EventDefiner(lookup, event);
+            STATEMENT = definer.define("org.jdbi.Statement", "Statement Execution",
+                "A statement executed by Jdbi", false,
+                definer.field(String.class, "sql", "SQL", "The parsed SQL, with parameters replaced by placeholders", false),
+                definer.field(int.class, "bindCount", "Bind Count", null, false),
+                definer.field(long.class, "prepareDuration", "Prepare Duration", null, true),
+                definer.field(long.class, "executeDuration", "Execute Duration", null, true),
+                definer.field(boolean.class, "failed", "Failed", null, false));
+            RESULT_SET = definer.define("org.jdbi.ResultSet", "Result Set Read",
+                "The rows of a query read and mapped by Jdbi, from the first row until the results were closed", false,
+                definer.field(String.class, "sql", "SQL", null, false),
+                definer.field(long.class, "rows", "Rows", null, false));
+            HANDLE = definer.define("org.jdbi.Handle", "Handle",
+                "A Jdbi handle opened or closed", false,
+                definer.field(String.class, "action", "Action", null, false),
+                definer.field(long.class, "connectionDuration", "Connection Duration", "Time spent opening the connection", true));
+            TRANSACTION = definer.define("org.jdbi.Transaction", "Transaction",
+                "A transaction begun, committed or rolled back by a Jdbi handle", false,
+                definer.field(String.class, "action", "Action", null, false));
+            TRANSACTION_RETRY = definer.define("org.jdbi.TransactionRetry", "Transaction Retry",
+                "A serializable transaction retried after a serialization failure, lasting for the backoff", true,
+                definer.field(int.class, "attempt", "Attempt", null, false),
+                definer.field(String.class, "sqlState", "SQL State", null, false),
+                definer.field(long.class, "backoff", "Backoff", null, true));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private JdbiEvents() {
+        throw new UnsupportedOperationException("utility class");
+    }
+
+    static boolean isStatementEnabled() {
+        return STATEMENT.isEnabled();
+    }
+
+    static JdbiFlightRecorder.FlightEvent beginStatement() {
+        return STATEMENT.begin();
+    }
+
+    static void statementPrepared(JdbiFlightRecorder.FlightEvent flightEvent, long prepareNanos) {
+        set(flightEvent, STATEMENT_PREPARE_DURATION, prepareNanos);
+    }
+
+    static void statement(JdbiFlightRecorder.FlightEvent flightEvent, String sql, int bindCount, long executeNanos, boolean failed) {
+        if (end(flightEvent)) {
+            set(flightEvent, STATEMENT_SQL, sql);
+            set(flightEvent, STATEMENT_BIND_COUNT, bindCount);
+            set(flightEvent, STATEMENT_EXECUTE_DURATION, executeNanos);
+            set(flightEvent, STATEMENT_FAILED, failed);
+            commit(flightEvent);
+        }
+    }
+
+    static boolean isResultSetEnabled() {
+        return RESULT_SET.isEnabled();
+    }
+
+    static JdbiFlightRecorder.FlightEvent beginResultSet() {
+        return RESULT_SET.begin();
+    }
+
+    static void resultSet(JdbiFlightRecorder.FlightEvent flightEvent, String sql, long rows) {
+        if (end(flightEvent)) {
+            set(flightEvent, RESULT_SET_SQL, sql);
+            set(flightEvent, RESULT_SET_ROWS, rows);
+            commit(flightEvent);
+        }
+    }
+
+    static boolean isHandleEnabled() {
+        return HANDLE.isEnabled();
+    }
+
+    static JdbiFlightRecorder.FlightEvent beginHandle() {
+        return HANDLE.begin();
+    }
+
+    static void handle(JdbiFlightRecorder.FlightEvent flightEvent, String action, long connectionNanos) {
+        if (end(flightEvent)) {
+            set(flightEvent, HANDLE_ACTION, action);
+            set(flightEvent, HANDLE_CONNECTION_DURATION, connectionNanos);
+            commit(flightEvent);
+        }
+    }
+
+    static boolean isTransactionEnabled() {
+        return TRANSACTION.isEnabled();
+    }
+
+    static JdbiFlightRecorder.FlightEvent beginTransaction() {
+        return TRANSACTION.begin();
+    }
+
+    static void transaction(JdbiFlightRecorder.FlightEvent flightEvent, String action) {
+        if (end(flightEvent)) {
+            set(flightEvent, TRANSACTION_ACTION, action);
+            commit(flightEvent);
+        }
+    }
+
+    static boolean isTransactionRetryEnabled() {
+        return TRANSACTION_RETRY.isEnabled();
+    }
+
+    static JdbiFlightRecorder.FlightEvent beginTransactionRetry() {
+        return TRANSACTION_RETRY.begin();
+    }
+
+    static void transactionRetry(JdbiFlightRecorder.FlightEvent flightEvent, int attempt, String sqlState, long backoffNanos) {
+        if (end(flightEvent)) {
+            set(flightEvent, TRANSACTION_RETRY_ATTEMPT, attempt);
+            set(flightEvent, TRANSACTION_RETRY_SQL_STATE, sqlState);
+            set(flightEvent, TRANSACTION_RETRY_BACKOFF, backoffNanos);
+            commit(flightEvent);
+        }
+    }
+
+    // ends the event, and returns whether it should be committed
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static boolean end(JdbiFlightRecorder.FlightEvent flightEvent) {
+        Object event = ((Recorded) flightEvent).event;
+        try {
+            END.invokeExact(event);
+            return (boolean) SHOULD_COMMIT.invokeExact(event);
+        } catch (Throwable t) {
+            throw Throwables.throwOnlyUnchecked(t);
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static void set(JdbiFlightRecorder.FlightEvent flightEvent, int index, Object value) {
+        try {
+            SET.invokeExact(((Recorded) flightEvent).event, index, value);
+        } catch (Throwable t) {
+            throw Throwables.throwOnlyUnchecked(t);
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static void commit(JdbiFlightRecorder.FlightEvent flightEvent) {
+        try {
+            COMMIT.invokeExact(((Recorded) flightEvent).event);
+        } catch (Throwable t) {
+            throw Throwables.throwOnlyUnchecked(t);
+        }
+    }
+
+    /**
+     * An event type defined through {@code jdk.jfr.EventFactory}.
+     */
+    private static final class EventType {
+        // () -> jdk.jfr.Event
+        private final MethodHandle newEvent;
+        // () -> boolean
+        private final MethodHandle isEnabled;
+
+        EventType(MethodHandle newEvent, MethodHandle isEnabled) {
+            this.newEvent = newEvent;
+            this.isEnabled = isEnabled;
+        }
+
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        boolean isEnabled() {
+            try {
+                return (boolean) isEnabled.invokeExact();
+            } catch (Throwable t) {
+                throw Throwables.throwOnlyUnchecked(t);
+            }
+        }
+
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        Recorded begin() {
+            try {
+                Object event = newEvent.invokeExact();
+                BEGIN.invokeExact(event);
+                return new Recorded(event);
+            } catch (Throwable t) {
+                throw Throwables.throwOnlyUnchecked(t);
+            }
+        }
+    }
+
+    /**
+     * Defines event types from the {@code jdk.jfr} annotations and value descriptors, looked up by name.
+     */
+    private static final class EventDefiner {
+        private final MethodHandles.Lookup lookup;
+        private final Class<?> event;
+        private final Constructor<?> annotationElement;
+        private final Constructor<?> valueDescriptor;
+        private final Method createFactory;
+        private final Class<?> factory;
+        private final Class<?> eventType;
+
+        EventDefiner(MethodHandles.Lookup lookup, Class<?> event) throws ReflectiveOperationException {
+            this.lookup = lookup;
+            this.event = event;
+            this.annotationElement = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+            this.valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+            this.factory = Class.forName("jdk.jfr.EventFactory");
+            this.createFactory = factory.getMethod("create", List.class, List.class);
+            this.eventType = Class.forName("jdk.jfr.EventType");
+        }
+
+        EventType define(String name, String label, String description, boolean stackTrace, Object... fields)
+                throws ReflectiveOperationException {
+            List<Object> annotations = Arrays.asList(
+                annotation("Name", name),
+                annotation("Label", label),
+                annotation("Description", description),
+                annotation("Category", new String[] {"Jdbi"}),
+                annotation("StackTrace", stackTrace));
+            Object eventFactory = createFactory.invoke(null, annotations, Arrays.asList(fields));
+            Object type = factory.getMethod("getEventType").invoke(eventFactory);
+            return new EventType(
+                lookup.findVirtual(factory, "newEvent", methodType(event)).bindTo(eventFactory)
+                    .asType(methodType(Object.class)),
+                lookup.findVirtual(eventType, "isEnabled", methodType(boolean.class)).bindTo(type));
+        }
+
+        Object field(Class<?> type, String name, String label, String description, boolean nanos)
+                throws ReflectiveOperationException {
+            List<Object> annotations = new ArrayList<>();
+            annotations.add(annotation("Label", label));
+            if (description != null) {
+                annotations.add(annotation("Description", description));
+            }
+            if (nanos) {
+                annotations.add(annotation("Timespan", NANOSECONDS));
+            }
+            return valueDescriptor.newInstance(type, name, Collections.unmodifiableList(annotations));
+        }
+
+        private Object annotation(String type, Object value) throws ReflectiveOperationException {
+            return annotationElement.newInstance(Class.forName("jdk.jfr." + type), value);
+        }
+    }
+
+    /**
+     * A begun event.
+     */
+    private static final class Recorded implements JdbiFlightRecorder.FlightEvent {
+        private final Object event;
+
+        Recorded(Object event) {
+            this.event = event;
+        }
+    }
+}
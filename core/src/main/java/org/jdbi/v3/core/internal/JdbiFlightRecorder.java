@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.internal;
+
+import org.jdbi.v3.core.statement.ParsedSql;
+import org.jdbi.v3.core.statement.StatementContext;
+
+/**
+ * Emits JDK Flight Recorder events, if the running JVM has the {@code jdk.jfr} API, and the event is enabled in a
+ * running recording. Neither this class nor the event definitions depend on {@code jdk.jfr} at compile time, so core
+ * builds and runs on any JDK 8; the events are only defined if the API is there at runtime. Events are
+ * begun when the recorded operation starts, and committed when it ends; the {@code begin} methods return null if the
+ * event is disabled, so disabled events cost a flag check, and nothing is measured for them.
+ */
+public final class JdbiFlightRecorder {
+    private static final boolean AVAILABLE = isJfrAvailable();
+
+    private JdbiFlightRecorder() {
+        throw new UnsupportedOperationException("utility class");
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.EventFactory");
+            // defines the event types
+            Class.forName(JdbiEvents.class.getName());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public static boolean isStatementEnabled() {
+        return AVAILABLE && JdbiEvents.isStatementEnabled();
+    }
+
+    public static FlightEvent beginStatement() {
+        return isStatementEnabled() ? JdbiEvents.beginStatement() : null;
+    }
+
+    public static void statementPrepared(FlightEvent event, long prepareNanos) {
+        if (event != null) {
+            JdbiEvents.statementPrepared(event, prepareNanos);
+        }
+    }
+
+    public static void statementExecuted(FlightEvent event, StatementContext ctx, boolean failed) {
+        if (event != null) {
+            ParsedSql parsed = ctx.getParsedSql();
+            JdbiEvents.statement(event,
+                parsed == null ? ctx.getRenderedSql() : parsed.getSql(),
+                parsed == null ? 0 : parsed.getParameters().getParameterCount(),
+                ctx.getElapsedNanos(),
+                failed);
+        }
+    }
+
+    public static FlightEvent beginResultSet() {
+        return AVAILABLE && JdbiEvents.isResultSetEnabled() ? JdbiEvents.beginResultSet() : null;
+    }
+
+    public static void resultSetRead(FlightEvent event, StatementContext ctx, long rows) {
+        if (event != null) {
+            ParsedSql parsed = ctx.getParsedSql();
+            JdbiEvents.resultSet(event, parsed == null ? ctx.getRenderedSql() : parsed.getSql(), rows);
+        }
+    }
+
+    public static FlightEvent beginHandle() {
+        return AVAILABLE && JdbiEvents.isHandleEnabled() ? JdbiEvents.beginHandle() : null;
+    }
+
+    public static void handleOpened(FlightEvent event, long connectionNanos) {
+        if (event != null) {
+            JdbiEvents.handle(event, "open", connectionNanos);
+        }
+    }
+
+    public static void handleClosed(FlightEvent event) {
+        if (event != null) {
+            JdbiEvents.handle(event, "close", 0);
+        }
+    }
+
+    public static FlightEvent beginTransaction() {
+        return AVAILABLE && JdbiEvents.isTransactionEnabled() ? JdbiEvents.beginTransaction() : null;
+    }
+
+    public static void transaction(FlightEvent event, String action) {
+        if (event != null) {
+            JdbiEvents.transaction(event, action);
+        }
+    }
+
+    public static FlightEvent beginTransactionRetry() {
+        return AVAILABLE && JdbiEvents.isTransactionRetryEnabled() ? JdbiEvents.beginTransactionRetry() : null;
+    }
+
+    public static void transactionRetry(FlightEvent event, int attempt, String sqlState, long backoffNanos) {
+        if (event != null) {
+            JdbiEvents.transactionRetry(event, attempt, sqlState, backoffNanos);
+        }
+    }
+
+    /**
+     * A begun flight recorder event, committed by the {@link JdbiFlightRecorder} method matching the {@code begin}
+     * method which returned it.
+     */
+    public interface FlightEvent {}
+}
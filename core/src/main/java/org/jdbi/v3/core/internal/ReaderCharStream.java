@@ -0,0 +1,231 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.antlr.runtime.CharStream;
+
+/**
+ * A character stream which reads from a {@link Reader} on demand, and only keeps the characters after
+ * {@link #discard(int) discarded} ones, so lexing a large input does not read all of it into memory.
+ *
+ * <p>Indexes are absolute positions in the input. Characters before the discarded index can't be
+ * looked at, or rewound to, any more.</p>
+ */
+public class ReaderCharStream implements CharStream {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Reader reader;
+    private char[] data = new char[CHUNK_SIZE];
+    // the index of data[0]
+    private int offset;
+    // the number of characters in data
+    private int n;
+    private int discarded;
+    private boolean endOfInput;
+
+    private int p;
+    private int line = 1;
+    private int charPositionInLine;
+
+    private final List<int[]> markers = new ArrayList<>();
+    private int markDepth;
+    private int lastMarker;
+
+    public ReaderCharStream(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Allows the characters before the given index to be dropped. Characters after the current position,
+     * or after a mark, are always kept.
+     *
+     * @param index the index of the first character that may still be used
+     */
+    public void discard(int index) {
+        discarded = Math.max(discarded, index);
+    }
+
+    @Override
+    public void consume() {
+        if (LA(1) == EOF) {
+            return;
+        }
+        charPositionInLine++;
+        if (data[p - offset] == '\n') {
+            line++;
+            charPositionInLine = 0;
+        }
+        p++;
+    }
+
+    @Override
+    public int LA(int i) {
+        if (i == 0) {
+            return 0; // undefined
+        }
+        int index = i < 0 ? p + i : p + i - 1;
+        if (index < 0) {
+            return EOF;
+        }
+        checkAvailable(index);
+        if (!fill(index)) {
+            return EOF;
+        }
+        return data[index - offset];
+    }
+
+    @Override
+    public int LT(int i) {
+        return LA(i);
+    }
+
+    @Override
+    public String substring(int start, int stop) {
+        checkAvailable(start);
+        fill(stop);
+        return new String(data, start - offset, Math.min(stop + 1, offset + n) - start);
+    }
+
+    @Override
+    public int mark() {
+        markDepth++;
+        int[] state = {p, line, charPositionInLine};
+        if (markDepth > markers.size()) {
+            markers.add(state);
+        } else {
+            markers.set(markDepth - 1, state);
+        }
+        lastMarker = markDepth;
+        return markDepth;
+    }
+
+    @Override
+    public int index() {
+        return p;
+    }
+
+    @Override
+    public void rewind(int marker) {
+        int[] state = markers.get(marker - 1);
+        seek(state[0]);
+        line = state[1];
+        charPositionInLine = state[2];
+        release(marker);
+    }
+
+    @Override
+    public void rewind() {
+        rewind(lastMarker);
+    }
+
+    @Override
+    public void release(int marker) {
+        markDepth = marker - 1;
+    }
+
+    @Override
+    public void seek(int index) {
+        if (index <= p) {
+            checkAvailable(index);
+            p = index;
+            return;
+        }
+        while (p < index && LA(1) != EOF) {
+            consume();
+        }
+    }
+
+    /**
+     * @return the number of characters read so far
+     */
+    @Override
+    public int size() {
+        return offset + n;
+    }
+
+    @Override
+    public String getSourceName() {
+        return null;
+    }
+
+    @Override
+    public int getLine() {
+        return line;
+    }
+
+    @Override
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    @Override
+    public int getCharPositionInLine() {
+        return charPositionInLine;
+    }
+
+    @Override
+    public void setCharPositionInLine(int pos) {
+        this.charPositionInLine = pos;
+    }
+
+    private void checkAvailable(int index) {
+        if (index < offset) {
+            throw new IllegalStateException("Character " + index + " was already discarded");
+        }
+    }
+
+    private boolean fill(int index) {
+        while (index >= offset + n) {
+            if (endOfInput) {
+                return false;
+            }
+            if (n == data.length) {
+                makeRoom();
+            }
+            try {
+                int read = reader.read(data, n, data.length - n);
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    n += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read script", e);
+            }
+        }
+        return true;
+    }
+
+    private void makeRoom() {
+        int keep = Math.min(discarded, p);
+        for (int i = 0; i < markDepth; i++) {
+            keep = Math.min(keep, markers.get(i)[0]);
+        }
+        int drop = keep - offset;
+        if (drop > data.length / 2) {
+            System.arraycopy(data, drop, data, 0, n - drop);
+            n -= drop;
+            offset = keep;
+        } else {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+    }
+}
@@ -60,6 +60,9 @@ public class SqlScriptParser {
                 default:
                     throw new IllegalArgumentException("Unrecognizable token " + t);
             }
+            if (charStream instanceof ReaderCharStream) {
+                ((ReaderCharStream) charStream).discard(charStream.index());
+            }
         }
         return sb.toString();
     }
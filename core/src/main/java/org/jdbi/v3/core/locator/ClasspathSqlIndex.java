@@ -0,0 +1,104 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.locator;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * An index of SQL located on the classpath like {@link ClasspathSqlLocator} does, which never expires: each resource
+ * is read and parsed once, and kept until {@link #clear()} is called. Unlike the cache of
+ * {@link ClasspathSqlLocator}, an index is not global; it holds on to the class loaders of its resources for as long
+ * as it is referenced itself, typically by the configuration of one {@code Jdbi}.
+ */
+@Beta
+public final class ClasspathSqlIndex {
+    private final Map<Entry<ClassLoader, String>, String> index = new ConcurrentHashMap<>();
+    private final AtomicLong sqlLength = new AtomicLong();
+
+    /**
+     * Locates SQL for the given type and name like {@link ClasspathSqlLocator#findSqlOnClasspath(Class, String)},
+     * and adds it to this index.
+     *
+     * @param type the type that "owns" the given SQL. Dictates the directory path to the SQL resource file on the
+     *             classpath.
+     * @param methodName the SQL statement name (usually a method or field name from the type).
+     * @return the located SQL.
+     */
+    public String findSqlOnClasspath(Class<?> type, String methodName) {
+        return getResourceOnClasspath(type.getClassLoader(), ClasspathSqlLocator.sqlPath(type, methodName));
+    }
+
+    /**
+     * Returns the SQL for the given type and name if this index holds it already, without locating it otherwise.
+     *
+     * @param type the type that "owns" the given SQL.
+     * @param methodName the SQL statement name (usually a method or field name from the type).
+     * @return the indexed SQL, if any.
+     */
+    public Optional<String> findIndexedSql(Class<?> type, String methodName) {
+        return Optional.ofNullable(index.get(new AbstractMap.SimpleEntry<>(type.getClassLoader(),
+                ClasspathSqlLocator.sqlPath(type, methodName))));
+    }
+
+    /**
+     * Returns resource's contents like {@link ClasspathSqlLocator#getResourceOnClasspath(ClassLoader, String)}, and
+     * adds them to this index.
+     *
+     * @param classLoader the classloader which loads the resource
+     * @param path the resource path
+     * @return the resource's contents
+     */
+    public String getResourceOnClasspath(ClassLoader classLoader, String path) {
+        return index.computeIfAbsent(new AbstractMap.SimpleEntry<>(classLoader, path), key -> {
+            String sql = ClasspathSqlLocator.readResource(classLoader, path);
+            sqlLength.addAndGet(sql.length());
+            return sql;
+        });
+    }
+
+    /**
+     * @return the number of resources in this index
+     */
+    public int getResourceCount() {
+        return index.size();
+    }
+
+    /**
+     * Returns the total length of the SQL in this index. Indexed SQL has comments stripped, and takes up about two
+     * bytes per character, plus a small overhead per resource.
+     *
+     * @return the number of characters of indexed SQL
+     */
+    public long getSqlLength() {
+        return sqlLength.get();
+    }
+
+    /**
+     * Removes all resources from this index.
+     */
+    public void clear() {
+        index.keySet().forEach(key -> {
+            String sql = index.remove(key);
+            if (sql != null) {
+                sqlLength.addAndGet(-sql.length());
+            }
+        });
+    }
+}
@@ -61,13 +61,7 @@ public final class ClasspathSqlLocator {
      * @return the located SQL.
      */
     public static String findSqlOnClasspath(Class<?> type, String methodName) {
-        String path = new ClasspathBuilder()
-            .appendFullyQualifiedClassName(type)
-            .appendVerbatim(methodName)
-            .setExtension(SQL_EXTENSION)
-            .build();
-
-        return getResourceOnClasspath(type.getClassLoader(), path);
+        return getResourceOnClasspath(type.getClassLoader(), sqlPath(type, methodName));
     }
 
     /**
@@ -111,7 +105,15 @@ public final class ClasspathSqlLocator {
         return CACHE.get(new AbstractMap.SimpleEntry<>(classLoader, path));
     }
 
-    private static String readResource(ClassLoader classLoader, String path) {
+    static String sqlPath(Class<?> type, String methodName) {
+        return new ClasspathBuilder()
+            .appendFullyQualifiedClassName(type)
+            .appendVerbatim(methodName)
+            .setExtension(SQL_EXTENSION)
+            .build();
+    }
+
+    static String readResource(ClassLoader classLoader, String path) {
         try (InputStream is = openStream(classLoader, path)) {
             // strips away comments
             return SQL_SCRIPT_PARSER.parse(new ANTLRInputStream(is));
@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable row map which holds only the row's values; the ordered column names and their index are shared by all
+ * rows of a result set.
+ */
+class CompactRowMap extends AbstractMap<String, Object> {
+    private final Keys keys;
+    private final Object[] values;
+
+    CompactRowMap(Keys keys, ResultSet rs) throws SQLException {
+        this.keys = keys;
+        this.values = new Object[keys.names.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rs.getObject(i + 1);
+        }
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keys.index.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        Integer i = keys.index.get(key);
+        return i == null ? null : values[i];
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public int size() {
+                return values.length;
+            }
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < values.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = next++;
+                        return new SimpleImmutableEntry<>(keys.names[i], values[i]);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The ordered, unique column names of a result set.
+     */
+    static class Keys {
+        private final String[] names;
+        private final Map<String, Integer> index;
+
+        Keys(List<String> names) {
+            this.names = names.toArray(new String[0]);
+            this.index = new HashMap<>(names.size() * 2);
+            for (int i = 0; i < this.names.length; i++) {
+                index.put(this.names[i], i);
+            }
+        }
+    }
+}
@@ -57,7 +57,7 @@ public class JoinRowMapper implements RowMapper<JoinRow> {
             for (int i = 0; i < types.length; i++) {
                 Type type = types[i];
                 RowMapper<?> mapper = mappers[i];
-                entries.put(type, mapper.map(r, ctx));
+                entries.put(type, mapper.map(rs, context));
             }
             return new JoinRow(entries);
         };
@@ -30,6 +30,10 @@ import org.jdbi.v3.core.statement.StatementContext;
  * Yo dawg, I heard you like maps, so I made you a mapper that maps rows into {@code Map<String,Object>}. Map
  * keys are column names, while map values are the values in those columns. Map keys are converted to lowercase by
  * default.
+ * <p>
+ * When {@link MapMappers#setCompactRows(boolean) compact rows} are enabled, rows are mapped to immutable maps which
+ * share the column names of the result set and only hold an array of values each.
+ * </p>
  */
 public class MapMapper implements RowMapper<Map<String, Object>> {
     /**
@@ -42,7 +46,7 @@ public class MapMapper implements RowMapper<Map<String, Object>> {
      * Constructs a new MapMapper and delegates case control to MapMappers.
      */
     public MapMapper() {
-        caseStrategy = ctx -> ctx.getConfig(MapMappers.class).getCaseChange();
+        caseStrategy = ctx -> ctx.getConfig().read(MapMappers.class).getCaseChange();
     }
 
     /**
@@ -63,11 +67,16 @@ public class MapMapper implements RowMapper<Map<String, Object>> {
     public RowMapper<Map<String, Object>> specialize(ResultSet rs, StatementContext ctx) throws SQLException {
         final List<String> columnNames = getColumnNames(rs, caseStrategy.apply(ctx));
 
+        if (ctx.getConfig().read(MapMappers.class).isCompactRows()) {
+            final CompactRowMap.Keys keys = new CompactRowMap.Keys(columnNames);
+            return (r, c) -> new CompactRowMap(keys, r);
+        }
+
         return (r, c) -> {
             Map<String, Object> row = new LinkedHashMap<>(columnNames.size());
 
             for (int i = 0; i < columnNames.size(); i++) {
-                row.put(columnNames.get(i), rs.getObject(i + 1));
+                row.put(columnNames.get(i), r.getObject(i + 1));
             }
 
             return row;
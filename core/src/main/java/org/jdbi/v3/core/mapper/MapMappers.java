@@ -22,13 +22,16 @@ import org.jdbi.v3.meta.Beta;
 public class MapMappers implements JdbiConfig<MapMappers> {
 
     private UnaryOperator<String> caseChange;
+    private boolean compactRows;
 
     public MapMappers() {
         caseChange = CaseStrategy.LOCALE_LOWER;
+        compactRows = false;
     }
 
     private MapMappers(MapMappers that) {
         caseChange = that.caseChange;
+        compactRows = that.compactRows;
     }
 
     @Beta
@@ -42,6 +45,26 @@ public class MapMappers implements JdbiConfig<MapMappers> {
         return this;
     }
 
+    @Beta
+    public boolean isCompactRows() {
+        return compactRows;
+    }
+
+    /**
+     * Sets whether {@link MapMapper} produces compact, immutable row maps. A compact row holds only an array of its
+     * values, and shares the ordered column names and their index with the other rows of the result set, which
+     * takes far less memory than a {@link java.util.LinkedHashMap} per row. Defaults to false, which produces
+     * mutable {@code LinkedHashMap}s.
+     *
+     * @param compactRows whether to produce compact row maps
+     * @return this
+     */
+    @Beta
+    public MapMappers setCompactRows(boolean compactRows) {
+        this.compactRows = compactRows;
+        return this;
+    }
+
     @Override
     public MapMappers createCopy() {
         return new MapMappers(this);
@@ -0,0 +1,505 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.jdbi.v3.core.mapper.ColumnMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * A fully read result set, stored column by column instead of row by row. Integer, bigint and floating point
+ * columns are stored in primitive arrays, character columns are dictionary encoded, and nulls are tracked in a
+ * bitmap per column, so large numeric results take a fraction of the memory of a list of mapped objects.
+ * <p>
+ * Columns of any other type are mapped with the {@link ColumnMapper} registered for the column's
+ * {@link ResultSetMetaData#getColumnClassName(int) class}, or read with {@link ResultSet#getObject(int)} when
+ * there is none.
+ * </p>
+ * <p>
+ * Rows and columns are indexed from 0. Column labels are matched case insensitively.
+ * </p>
+ *
+ * @see ResultBearing#mapToColumns()
+ */
+@Beta
+public final class ColumnarResult {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int rowCount;
+    private final List<Column> columns;
+    private final Map<String, Column> columnsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private ColumnarResult(int rowCount, List<Column> columns) {
+        this.rowCount = rowCount;
+        this.columns = Collections.unmodifiableList(columns);
+        columns.forEach(column -> columnsByName.putIfAbsent(column.getName(), column));
+    }
+
+    static ColumnarResult read(ResultSet rs, StatementContext ctx) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columnCount = meta.getColumnCount();
+        List<Column> columns = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            columns.add(createColumn(meta, i, ctx));
+        }
+
+        int capacity = INITIAL_CAPACITY;
+        int row = 0;
+        while (rs.next()) {
+            if (row == capacity) {
+                capacity *= 2;
+                for (Column column : columns) {
+                    column.grow(capacity);
+                }
+            }
+            for (int i = 0; i < columnCount; i++) {
+                columns.get(i).read(rs, i + 1, row, ctx);
+            }
+            row++;
+        }
+
+        for (Column column : columns) {
+            column.trim(row);
+        }
+        return new ColumnarResult(row, columns);
+    }
+
+    private static Column createColumn(ResultSetMetaData meta, int index, StatementContext ctx) throws SQLException {
+        String label = meta.getColumnLabel(index);
+        String name = label == null ? meta.getColumnName(index) : label;
+        int type = meta.getColumnType(index);
+        switch (type) {
+            case Types.BIGINT:
+                return new LongColumn(name, type);
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return new IntColumn(name, type);
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                return new DoubleColumn(name, type);
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return new StringColumn(name, type);
+            default:
+                return new ObjectColumn(name, type, findColumnMapper(meta.getColumnClassName(index), ctx));
+        }
+    }
+
+    private static ColumnMapper<?> findColumnMapper(String className, StatementContext ctx) {
+        if (className == null) {
+            return null;
+        }
+        try {
+            Class<?> type = Class.forName(className);
+            return ctx.findColumnMapperFor(type).orElse(null);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the number of columns
+     */
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    /**
+     * @return the columns, in result set order
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @param index the 0-based column index
+     * @return the column
+     */
+    public Column getColumn(int index) {
+        return columns.get(index);
+    }
+
+    /**
+     * @param name the column label
+     * @return the column with the given label, if any
+     */
+    public Optional<Column> findColumn(String name) {
+        return Optional.ofNullable(columnsByName.get(name));
+    }
+
+    /**
+     * @param name the column label
+     * @return the column with the given label
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public Column getColumn(String name) {
+        return findColumn(name).orElseThrow(() -> new IllegalArgumentException("No column named '" + name + "'"));
+    }
+
+    public LongColumn getLongColumn(String name) {
+        return getColumn(name, LongColumn.class);
+    }
+
+    public IntColumn getIntColumn(String name) {
+        return getColumn(name, IntColumn.class);
+    }
+
+    public DoubleColumn getDoubleColumn(String name) {
+        return getColumn(name, DoubleColumn.class);
+    }
+
+    public StringColumn getStringColumn(String name) {
+        return getColumn(name, StringColumn.class);
+    }
+
+    public ObjectColumn getObjectColumn(String name) {
+        return getColumn(name, ObjectColumn.class);
+    }
+
+    private <C extends Column> C getColumn(String name, Class<C> columnType) {
+        Column column = getColumn(name);
+        if (!columnType.isInstance(column)) {
+            throw new IllegalArgumentException("Column '" + name + "' is a " + column.getClass().getSimpleName()
+                + ", not a " + columnType.getSimpleName());
+        }
+        return columnType.cast(column);
+    }
+
+    /**
+     * A single column of a {@link ColumnarResult}.
+     */
+    public abstract static class Column {
+        private final String name;
+        private final int jdbcType;
+        private long[] nulls = new long[1];
+
+        Column(String name, int jdbcType) {
+            this.name = name;
+            this.jdbcType = jdbcType;
+        }
+
+        /**
+         * @return the column label
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the column's SQL type from {@link Types}
+         */
+        public int getJdbcType() {
+            return jdbcType;
+        }
+
+        /**
+         * @param row the row index
+         * @return whether the column is null in the given row
+         */
+        public boolean isNull(int row) {
+            int word = row >>> 6;
+            return word < nulls.length && (nulls[word] & (1L << row)) != 0;
+        }
+
+        /**
+         * @param row the row index
+         * @return the column value in the given row, boxed, or null
+         */
+        public abstract Object getObject(int row);
+
+        void setNull(int row) {
+            int word = row >>> 6;
+            if (word >= nulls.length) {
+                nulls = Arrays.copyOf(nulls, Math.max(word + 1, nulls.length * 2));
+            }
+            nulls[word] |= 1L << row;
+        }
+
+        abstract void read(ResultSet rs, int index, int row, StatementContext ctx) throws SQLException;
+
+        abstract void grow(int capacity);
+
+        void trim(int rowCount) {
+            nulls = Arrays.copyOf(nulls, Math.max(1, (rowCount + 63) >>> 6));
+            grow(rowCount);
+        }
+    }
+
+    /**
+     * A {@code BIGINT} column.
+     */
+    public static final class LongColumn extends Column {
+        private long[] values = new long[INITIAL_CAPACITY];
+
+        LongColumn(String name, int jdbcType) {
+            super(name, jdbcType);
+        }
+
+        /**
+         * @param row the row index
+         * @return the value in the given row, or 0 if null
+         */
+        public long get(int row) {
+            return values[row];
+        }
+
+        /**
+         * @return the values of all rows; null rows are 0. The array is copied.
+         */
+        public long[] toArray() {
+            return values.clone();
+        }
+
+        @Override
+        public Object getObject(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void read(ResultSet rs, int index, int row, StatementContext ctx) throws SQLException {
+            values[row] = rs.getLong(index);
+            if (rs.wasNull()) {
+                setNull(row);
+            }
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /**
+     * An {@code INTEGER}, {@code SMALLINT} or {@code TINYINT} column.
+     */
+    public static final class IntColumn extends Column {
+        private int[] values = new int[INITIAL_CAPACITY];
+
+        IntColumn(String name, int jdbcType) {
+            super(name, jdbcType);
+        }
+
+        /**
+         * @param row the row index
+         * @return the value in the given row, or 0 if null
+         */
+        public int get(int row) {
+            return values[row];
+        }
+
+        /**
+         * @return the values of all rows; null rows are 0. The array is copied.
+         */
+        public int[] toArray() {
+            return values.clone();
+        }
+
+        @Override
+        public Object getObject(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void read(ResultSet rs, int index, int row, StatementContext ctx) throws SQLException {
+            values[row] = rs.getInt(index);
+            if (rs.wasNull()) {
+                setNull(row);
+            }
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /**
+     * A {@code DOUBLE}, {@code FLOAT} or {@code REAL} column.
+     */
+    public static final class DoubleColumn extends Column {
+        private double[] values = new double[INITIAL_CAPACITY];
+
+        DoubleColumn(String name, int jdbcType) {
+            super(name, jdbcType);
+        }
+
+        /**
+         * @param row the row index
+         * @return the value in the given row, or 0 if null
+         */
+        public double get(int row) {
+            return values[row];
+        }
+
+        /**
+         * @return the values of all rows; null rows are 0. The array is copied.
+         */
+        public double[] toArray() {
+            return values.clone();
+        }
+
+        @Override
+        public Object getObject(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void read(ResultSet rs, int index, int row, StatementContext ctx) throws SQLException {
+            values[row] = rs.getDouble(index);
+            if (rs.wasNull()) {
+                setNull(row);
+            }
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /**
+     * A character column, dictionary encoded: each distinct value is stored once, and every row stores the code
+     * of its value in the dictionary.
+     */
+    public static final class StringColumn extends Column {
+        private int[] codes = new int[INITIAL_CAPACITY];
+        private final List<String> dictionary = new ArrayList<>();
+        private Map<String, Integer> codesByValue = new HashMap<>();
+
+        StringColumn(String name, int jdbcType) {
+            super(name, jdbcType);
+        }
+
+        /**
+         * @param row the row index
+         * @return the value in the given row, or null
+         */
+        public String get(int row) {
+            return isNull(row) ? null : dictionary.get(codes[row]);
+        }
+
+        /**
+         * @param row the row index
+         * @return the dictionary code of the value in the given row, or -1 if null
+         */
+        public int getCode(int row) {
+            return isNull(row) ? -1 : codes[row];
+        }
+
+        /**
+         * @return the distinct values of the column, indexed by code
+         */
+        public List<String> getDictionary() {
+            return Collections.unmodifiableList(dictionary);
+        }
+
+        @Override
+        public Object getObject(int row) {
+            return get(row);
+        }
+
+        @Override
+        void read(ResultSet rs, int index, int row, StatementContext ctx) throws SQLException {
+            String value = rs.getString(index);
+            if (value == null) {
+                setNull(row);
+                return;
+            }
+            Integer code = codesByValue.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codesByValue.put(value, code);
+            }
+            codes[row] = code;
+        }
+
+        @Override
+        void grow(int capacity) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+
+        @Override
+        void trim(int rowCount) {
+            super.trim(rowCount);
+            codesByValue = null;
+        }
+    }
+
+    /**
+     * A column of any other type, stored as objects.
+     */
+    public static final class ObjectColumn extends Column {
+        private final ColumnMapper<?> mapper;
+        private Object[] values = new Object[INITIAL_CAPACITY];
+
+        ObjectColumn(String name, int jdbcType, ColumnMapper<?> mapper) {
+            super(name, jdbcType);
+            this.mapper = mapper;
+        }
+
+        /**
+         * @param row the row index
+         * @return the value in the given row, or null
+         */
+        public Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        public Object getObject(int row) {
+            return values[row];
+        }
+
+        @Override
+        void read(ResultSet rs, int index, int row, StatementContext ctx) throws SQLException {
+            Object value = mapper == null ? rs.getObject(index) : mapper.map(rs, index, ctx);
+            if (value == null) {
+                setNull(row);
+            }
+            values[row] = value;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+}
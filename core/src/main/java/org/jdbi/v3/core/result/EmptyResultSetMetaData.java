@@ -18,7 +18,7 @@ import java.sql.ResultSetMetaData;
 class EmptyResultSetMetaData implements ResultSetMetaData {
     static final EmptyResultSetMetaData INSTANCE = new EmptyResultSetMetaData();
 
-    private EmptyResultSetMetaData() {}
+    EmptyResultSetMetaData() {}
 
     @Override
     public int getColumnCount() {
@@ -0,0 +1,267 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.Query;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.meta.Beta;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ResultIterable} which walks a large result by keyset (a.k.a. "seek") pagination: the query is executed
+ * once per page, with the key(s) of the last row of the previous page bound as parameters. Unlike
+ * {@code OFFSET} paging, every page is an index seek, and unlike a single streaming query, no connection or server
+ * side cursor is held open between pages.
+ * <p>
+ * The SQL must restrict rows to those after the bound key(s), order by the key(s), and limit the page size, e.g.
+ * </p>
+ * <pre>
+ * KeysetPager.over(jdbi, "select * from something where id &gt; :id order by id limit :pageSize", Something.class)
+ *     .key("id", Something::getId, 0)
+ *     .pageSize(1000)
+ *     .forEach(this::process);
+ * </pre>
+ * <p>
+ * Each page is read into memory in full before its rows are returned, so at most {@link #pageSize(int) pageSize}
+ * rows are held at a time. A pager created {@link #over(Jdbi, String, Class) over a Jdbi} opens a handle for each
+ * page and closes it before the rows are returned; one created {@link #over(Handle, String, Class) over a Handle}
+ * executes every page on that handle.
+ * </p>
+ *
+ * @param <T> the mapped row type
+ */
+@Beta
+public final class KeysetPager<T> implements ResultIterable<T> {
+    private final Function<HandleCallback<List<T>, RuntimeException>, List<T>> pageExecutor;
+    private final String sql;
+    private final Function<Query, ResultIterable<T>> mapping;
+    private final List<Key<T>> keys = new ArrayList<>();
+    private final List<Consumer<Query>> customizers = new ArrayList<>();
+    private int pageSize = 100;
+    private String pageSizeName = "pageSize";
+
+    private KeysetPager(Function<HandleCallback<List<T>, RuntimeException>, List<T>> pageExecutor,
+                        String sql,
+                        Function<Query, ResultIterable<T>> mapping) {
+        this.pageExecutor = pageExecutor;
+        this.sql = requireNonNull(sql, "null sql");
+        this.mapping = mapping;
+    }
+
+    /**
+     * Creates a pager which opens a new handle for every page, and releases it before the page's rows are returned.
+     *
+     * @param jdbi the Jdbi to open handles from
+     * @param sql  the page query
+     * @param type the type to map rows to
+     * @param <T>  the mapped row type
+     * @return the pager
+     */
+    public static <T> KeysetPager<T> over(Jdbi jdbi, String sql, Class<T> type) {
+        requireNonNull(type, "null type");
+        return new KeysetPager<>(jdbi::withHandle, sql, query -> query.mapTo(type));
+    }
+
+    /**
+     * Creates a pager which opens a new handle for every page, and releases it before the page's rows are returned.
+     *
+     * @param jdbi   the Jdbi to open handles from
+     * @param sql    the page query
+     * @param mapper the row mapper
+     * @param <T>    the mapped row type
+     * @return the pager
+     */
+    public static <T> KeysetPager<T> over(Jdbi jdbi, String sql, RowMapper<T> mapper) {
+        requireNonNull(mapper, "null mapper");
+        return new KeysetPager<>(jdbi::withHandle, sql, query -> query.map(mapper));
+    }
+
+    /**
+     * Creates a pager which executes every page on the given handle.
+     *
+     * @param handle the handle to execute pages on
+     * @param sql    the page query
+     * @param type   the type to map rows to
+     * @param <T>    the mapped row type
+     * @return the pager
+     */
+    public static <T> KeysetPager<T> over(Handle handle, String sql, Class<T> type) {
+        requireNonNull(type, "null type");
+        return new KeysetPager<>(callback -> callback.withHandle(handle), sql, query -> query.mapTo(type));
+    }
+
+    /**
+     * Creates a pager which executes every page on the given handle.
+     *
+     * @param handle the handle to execute pages on
+     * @param sql    the page query
+     * @param mapper the row mapper
+     * @param <T>    the mapped row type
+     * @return the pager
+     */
+    public static <T> KeysetPager<T> over(Handle handle, String sql, RowMapper<T> mapper) {
+        requireNonNull(mapper, "null mapper");
+        return new KeysetPager<>(callback -> callback.withHandle(handle), sql, query -> query.map(mapper));
+    }
+
+    /**
+     * Adds a key column. The first page binds {@code initialValue} to the named parameter; subsequent pages bind the
+     * value extracted from the last row of the previous page. Multiple keys may be added for composite keys.
+     *
+     * @param name         the name of the parameter to bind the key to
+     * @param extractor    extracts the key value from a mapped row
+     * @param initialValue the key value bound for the first page
+     * @return this
+     */
+    public KeysetPager<T> key(String name, Function<? super T, ?> extractor, Object initialValue) {
+        keys.add(new Key<>(requireNonNull(name, "null name"), requireNonNull(extractor, "null extractor"), initialValue));
+        return this;
+    }
+
+    /**
+     * Sets the number of rows fetched per page. The page size is bound to the {@code pageSize} parameter, which the
+     * query must use to limit its results. Defaults to 100.
+     *
+     * @param pageSize the page size
+     * @return this
+     */
+    public KeysetPager<T> pageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be > 0");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Sets the name of the parameter the page size is bound to. Defaults to {@code pageSize}.
+     *
+     * @param name the parameter name
+     * @return this
+     */
+    public KeysetPager<T> pageSizeParameter(String name) {
+        this.pageSizeName = requireNonNull(name, "null name");
+        return this;
+    }
+
+    /**
+     * Registers a customizer applied to the query of every page, e.g. to bind additional parameters.
+     *
+     * @param customizer the query customizer
+     * @return this
+     */
+    public KeysetPager<T> customize(Consumer<Query> customizer) {
+        customizers.add(requireNonNull(customizer, "null customizer"));
+        return this;
+    }
+
+    @Override
+    public ResultIterator<T> iterator() {
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("Keyset pagination requires at least one key");
+        }
+        return new KeysetIterator();
+    }
+
+    private static class Key<T> {
+        private final String name;
+        private final Function<? super T, ?> extractor;
+        private final Object initialValue;
+
+        Key(String name, Function<? super T, ?> extractor, Object initialValue) {
+            this.name = name;
+            this.extractor = extractor;
+            this.initialValue = initialValue;
+        }
+    }
+
+    private class KeysetIterator implements ResultIterator<T> {
+        private StatementContext context;
+        private Iterator<T> page;
+        private boolean lastPage;
+        private T lastRow;
+        private boolean closed;
+
+        KeysetIterator() {
+            nextPage();
+        }
+
+        private void nextPage() {
+            List<T> rows = pageExecutor.apply(this::fetchPage);
+            lastPage = rows.size() < pageSize;
+            if (!rows.isEmpty()) {
+                lastRow = rows.get(rows.size() - 1);
+            }
+            page = rows.iterator();
+        }
+
+        private List<T> fetchPage(Handle handle) {
+            Query query = handle.createQuery(sql);
+            customizers.forEach(customizer -> customizer.accept(query));
+            for (Key<T> key : keys) {
+                query.bind(key.name, lastRow == null ? key.initialValue : key.extractor.apply(lastRow));
+            }
+            query.bind(pageSizeName, pageSize);
+            context = query.getContext();
+            return mapping.apply(query).list();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            if (!page.hasNext() && !lastPage) {
+                nextPage();
+            }
+            if (!page.hasNext()) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No element to advance to");
+            }
+            return page.next();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            page = Collections.emptyIterator();
+        }
+
+        @Override
+        public StatementContext getContext() {
+            return context;
+        }
+    }
+}
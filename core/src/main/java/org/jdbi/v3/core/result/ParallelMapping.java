@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jdbi.v3.core.config.JdbiConfig;
+import org.jdbi.v3.meta.Beta;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Configures parallel row mapping for {@link ResultIterable}s. When enabled, the thread iterating the results reads
+ * each row's column values into a detached snapshot, and the {@link org.jdbi.v3.core.mapper.RowMapper} is applied
+ * to the snapshots on an executor, so CPU heavy mappers no longer serialize on the thread reading the JDBC cursor.
+ * <p>
+ * The row mapper is specialized on the iterating thread as usual, then invoked concurrently: it must be thread safe,
+ * and must only read the current row (e.g. through {@code getXxx} and {@code getMetaData}) from the result set it is
+ * given. Column values are read with {@link java.sql.ResultSet#getObject(int)}, and LOBs are copied into memory.
+ * </p>
+ */
+@Beta
+public class ParallelMapping implements JdbiConfig<ParallelMapping> {
+    private boolean enabled;
+    private Executor executor;
+    private int maxRowsInFlight;
+    private boolean ordered;
+
+    public ParallelMapping() {
+        enabled = false;
+        executor = ForkJoinPool.commonPool();
+        maxRowsInFlight = 256;
+        ordered = true;
+    }
+
+    private ParallelMapping(ParallelMapping that) {
+        this.enabled = that.enabled;
+        this.executor = that.executor;
+        this.maxRowsInFlight = that.maxRowsInFlight;
+        this.ordered = that.ordered;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables parallel row mapping. Disabled by default.
+     *
+     * @param enabled whether rows are mapped in parallel
+     * @return this
+     */
+    public ParallelMapping setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor rows are mapped on. Defaults to the {@link ForkJoinPool#commonPool() common fork-join pool}.
+     *
+     * @param executor the executor
+     * @return this
+     */
+    public ParallelMapping setExecutor(Executor executor) {
+        this.executor = requireNonNull(executor, "null executor");
+        return this;
+    }
+
+    public int getMaxRowsInFlight() {
+        return maxRowsInFlight;
+    }
+
+    /**
+     * Sets the maximum number of rows read ahead of the consumer. Once this many rows are being mapped or waiting to
+     * be consumed, no more rows are read from the result set. Defaults to 256.
+     *
+     * @param maxRowsInFlight the maximum number of rows in flight
+     * @return this
+     */
+    public ParallelMapping setMaxRowsInFlight(int maxRowsInFlight) {
+        if (maxRowsInFlight <= 0) {
+            throw new IllegalArgumentException("maxRowsInFlight must be > 0");
+        }
+        this.maxRowsInFlight = maxRowsInFlight;
+        return this;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Sets whether mapped rows are returned in result set order. When false, rows are returned as soon as they are
+     * mapped, which avoids waiting on a slow row. Defaults to true.
+     *
+     * @param ordered whether to preserve result set order
+     * @return this
+     */
+    public ParallelMapping setOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    @Override
+    public ParallelMapping createCopy() {
+        return new ParallelMapping(this);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+/**
+ * Reads rows on the iterating thread and maps them on the {@link ParallelMapping} executor. At most
+ * {@link ParallelMapping#getMaxRowsInFlight()} rows are read ahead of the consumer. The statement context is not
+ * thread safe, so each row is mapped with a {@link StatementContext#createCopy() copy} of it which no other row is
+ * mapped with at the same time; the copies are reused for later rows, and closed with the iterator.
+ */
+class ParallelMappingResultIterator<T> implements ResultIterator<T> {
+    private final ResultSet results;
+    private final RowMapper<T> mapper;
+    private final StatementContext context;
+    private final RowSnapshotMetaData metaData;
+    private final Executor executor;
+    private final int maxRowsInFlight;
+    private final boolean ordered;
+
+    private final Deque<CompletableFuture<T>> inFlight = new ArrayDeque<>();
+    private final BlockingQueue<CompletableFuture<T>> completed = new LinkedBlockingQueue<>();
+    // copies of the context which are not mapping a row; guards closed
+    private final Deque<StatementContext> idleContexts = new ArrayDeque<>();
+
+    private boolean exhausted = false;
+    private boolean closed = false;
+
+    ParallelMappingResultIterator(ResultSet results,
+                                  RowMapper<T> mapper,
+                                  StatementContext context,
+                                  ParallelMapping config) throws SQLException {
+        this.results = requireNonNull(results);
+        this.context = context;
+        this.context.addCleanable(results::close);
+
+        this.mapper = mapper.specialize(results, context);
+        this.metaData = new RowSnapshotMetaData(results.getMetaData());
+        this.executor = config.getExecutor();
+        this.maxRowsInFlight = config.getMaxRowsInFlight();
+        this.ordered = config.isOrdered();
+    }
+
+    @Override
+    public void close() {
+        List<StatementContext> contexts;
+        synchronized (idleContexts) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            contexts = new ArrayList<>(idleContexts);
+            idleContexts.clear();
+        }
+        inFlight.forEach(future -> future.cancel(false));
+        inFlight.clear();
+        completed.clear();
+        try {
+            // copies still mapping a row are closed when they finish
+            contexts.forEach(StatementContext::close);
+        } finally {
+            context.close();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (isClosed()) {
+            return false;
+        }
+
+        try {
+            fill();
+        } catch (RuntimeException | Error e) {
+            close();
+            throw e;
+        }
+
+        if (inFlight.isEmpty()) {
+            close();
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (isClosed()) {
+            throw new IllegalStateException("iterator is closed");
+        }
+
+        if (!hasNext()) {
+            throw new NoSuchElementException("No element to advance to");
+        }
+
+        CompletableFuture<T> future = ordered ? inFlight.removeFirst() : takeCompleted();
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        } catch (RuntimeException | Error e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public StatementContext getContext() {
+        return context;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Deleting from a result set iterator is not yet supported");
+    }
+
+    private CompletableFuture<T> takeCompleted() {
+        try {
+            CompletableFuture<T> future = completed.take();
+            inFlight.remove(future);
+            return future;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new ResultSetException("Interrupted while waiting for a mapped row", e, context);
+        }
+    }
+
+    private void fill() {
+        while (!exhausted && inFlight.size() < maxRowsInFlight) {
+            if (!safeNext()) {
+                exhausted = true;
+                return;
+            }
+
+            RowSnapshotResultSet row = snapshot();
+            StatementContext rowContext = acquireContext();
+            CompletableFuture<T> future = new CompletableFuture<>();
+            try {
+                executor.execute(() -> map(row, rowContext, future));
+            } catch (RuntimeException e) {
+                releaseContext(rowContext);
+                throw e;
+            }
+            inFlight.addLast(future);
+            if (!ordered) {
+                future.whenComplete((value, error) -> completed.add(future));
+            }
+        }
+    }
+
+    private void map(RowSnapshotResultSet row, StatementContext rowContext, CompletableFuture<T> future) {
+        try {
+            // cancelled rows are not mapped, but their context is released all the same
+            if (!future.isDone()) {
+                future.complete(mapper.map(row, rowContext));
+            }
+        } catch (SQLException e) {
+            future.completeExceptionally(
+                new ResultSetException("Error thrown mapping result set into return type", e, rowContext));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            releaseContext(rowContext);
+        }
+    }
+
+    private boolean isClosed() {
+        synchronized (idleContexts) {
+            return closed;
+        }
+    }
+
+    private StatementContext acquireContext() {
+        StatementContext rowContext;
+        synchronized (idleContexts) {
+            rowContext = idleContexts.pollFirst();
+        }
+        return rowContext == null ? context.createCopy() : rowContext;
+    }
+
+    private void releaseContext(StatementContext rowContext) {
+        synchronized (idleContexts) {
+            if (!closed) {
+                idleContexts.addFirst(rowContext);
+                return;
+            }
+        }
+        rowContext.close();
+    }
+
+    private RowSnapshotResultSet snapshot() {
+        try {
+            return new RowSnapshotResultSet(results, metaData);
+        } catch (SQLException e) {
+            throw new ResultSetException("Unable to read row from result set", e, context);
+        }
+    }
+
+    private boolean safeNext() {
+        try {
+            return results.next();
+        } catch (SQLException e) {
+            throw new ResultSetException("Unable to advance result set", e, context);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.mapper.SingleColumnMapper;
 import org.jdbi.v3.core.mapper.reflect.BeanMapper;
 import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.meta.Beta;
 
 import java.lang.reflect.Type;
 import java.sql.ResultSet;
@@ -202,6 +203,25 @@ public interface ResultBearing {
         return reduceRows((LinkedHashMapRowReducer<K, V>) accumulator::accept);
     }
 
+    /**
+     * Reads all rows into a {@link ColumnarResult}, which stores numeric columns in primitive arrays and dictionary
+     * encodes character columns, instead of mapping each row to an object.
+     *
+     * @return the columnar result
+     */
+    @Beta
+    default ColumnarResult mapToColumns() {
+        return scanResultSet((supplier, ctx) -> {
+            try (ResultSet rs = supplier.get()) {
+                return ColumnarResult.read(rs, ctx);
+            } catch (SQLException e) {
+                throw new UnableToProduceResultException(e, ctx);
+            } finally {
+                ctx.close();
+            }
+        });
+    }
+
     /**
      * Reduce the results.  Using a {@code BiFunction<U, RowView, U>}, repeatedly
      * combine query results until only a single value remains.
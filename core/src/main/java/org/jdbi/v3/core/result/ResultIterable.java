@@ -17,6 +17,8 @@ import static java.util.Spliterators.spliteratorUnknownSize;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
@@ -29,6 +31,7 @@ import java.util.stream.StreamSupport;
 
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * An {@link Iterable} of values, usually mapped from a {@link java.sql.ResultSet}. Generally, ResultIterables may only
@@ -50,6 +53,10 @@ public interface ResultIterable<T> extends Iterable<T> {
     static <T> ResultIterable<T> of(Supplier<ResultSet> supplier, RowMapper<T> mapper, StatementContext ctx) {
         return () -> {
             try {
+                ParallelMapping parallel = ctx.getConfig().read(ParallelMapping.class);
+                if (parallel.isEnabled()) {
+                    return new ParallelMappingResultIterator<>(supplier.get(), mapper, ctx, parallel);
+                }
                 return new ResultSetResultIterator<>(supplier.get(), mapper, ctx);
             } catch (SQLException e) {
                 try {
@@ -88,6 +95,29 @@ public interface ResultIterable<T> extends Iterable<T> {
         }
     }
 
+    /**
+     * Passes the results to the consumer in chunks of up to {@code chunkSize} elements, e.g. to feed a bulk writer.
+     * The same list instance is reused for every chunk: it is cleared after the consumer returns, so the consumer must
+     * copy any elements it wants to retain. Database resources are released before this method returns.
+     *
+     * @param chunkSize the maximum number of elements per chunk
+     * @param consumer receives each chunk of elements
+     */
+    @Beta
+    default void forEachChunk(int chunkSize, Consumer<? super List<T>> consumer) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be > 0");
+        }
+        try (ResultIterator<T> iterator = iterator()) {
+            List<T> chunk = new ArrayList<>(chunkSize);
+            List<T> view = Collections.unmodifiableList(chunk);
+            while (iterator.nextChunk(chunk, chunkSize) > 0) {
+                consumer.accept(view);
+                chunk.clear();
+            }
+        }
+    }
+
     /**
      * Get the only row in the result set.
      * @throws IllegalStateException if zero or multiple rows are returned
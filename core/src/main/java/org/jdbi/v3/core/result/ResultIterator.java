@@ -14,10 +14,12 @@
 package org.jdbi.v3.core.result;
 
 import java.io.Closeable;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.function.Consumer;
 
 import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * Represents a forward-only iterator over a result set, which will lazily iterate
@@ -42,6 +44,27 @@ public interface ResultIterator<T> extends Iterator<T>, Closeable {
         }
     }
 
+    /**
+     * Moves up to {@code maxRows} of the remaining elements into the given collection. Implementations backed by a
+     * result set advance it in a single tight loop, avoiding per-element {@code hasNext()}/{@code next()} calls.
+     *
+     * @param chunk the collection to add elements to
+     * @param maxRows the maximum number of elements to add
+     * @return the number of elements added; zero once the iterator is exhausted
+     */
+    @Beta
+    default int nextChunk(Collection<? super T> chunk, int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("maxRows must be > 0");
+        }
+        int count = 0;
+        while (count < maxRows && hasNext()) {
+            chunk.add(next());
+            count++;
+        }
+        return count;
+    }
+
     /**
      * Close the underlying result set.
      */
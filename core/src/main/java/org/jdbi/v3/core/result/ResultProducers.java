@@ -68,7 +68,7 @@ public class ResultProducers implements JdbiConfig<ResultProducers> {
                 ResultSet rs = supplier.get().getResultSet();
 
                 if (rs == null) {
-                    if (ctx.getConfig(ResultProducers.class).allowNoResults) {
+                    if (ctx.getConfig().read(ResultProducers.class).allowNoResults) {
                         return new EmptyResultSet();
                     }
                     throw new NoResultsException("Statement returned no results", ctx);
@@ -17,8 +17,10 @@ import static java.util.Objects.requireNonNull;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.NoSuchElementException;
 
+import org.jdbi.v3.core.internal.JdbiFlightRecorder;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
 
@@ -27,9 +29,13 @@ class ResultSetResultIterator<T> implements ResultIterator<T> {
     private final RowMapper<T> mapper;
     private final StatementContext context;
 
-    private volatile boolean alreadyAdvanced = false;
-    private volatile boolean hasNext = false;
-    private volatile boolean closed = false;
+    private boolean alreadyAdvanced = false;
+    private boolean hasNext = false;
+    private boolean closed = false;
+
+    // null unless a flight recording of result sets runs
+    private final JdbiFlightRecorder.FlightEvent readEvent;
+    private long rows;
 
     ResultSetResultIterator(ResultSet results,
                             RowMapper<T> mapper,
@@ -37,12 +43,16 @@ class ResultSetResultIterator<T> implements ResultIterator<T> {
         this.results = requireNonNull(results);
         this.mapper = mapper.specialize(results, context);
         this.context = context;
+        this.readEvent = JdbiFlightRecorder.beginResultSet();
 
         this.context.addCleanable(results::close);
     }
 
     @Override
     public void close() {
+        if (!closed) {
+            JdbiFlightRecorder.resultSetRead(readEvent, context, rows);
+        }
         closed = true;
         context.close();
     }
@@ -80,6 +90,7 @@ class ResultSetResultIterator<T> implements ResultIterator<T> {
         }
 
         try {
+            rows++;
             return mapper.map(results, context);
         } catch (SQLException e) {
             throw new ResultSetException("Error thrown mapping result set into return type", e, context);
@@ -91,6 +102,41 @@ class ResultSetResultIterator<T> implements ResultIterator<T> {
         }
     }
 
+    @Override
+    public int nextChunk(Collection<? super T> chunk, int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("maxRows must be > 0");
+        }
+
+        if (closed) {
+            return 0;
+        }
+
+        int count = 0;
+        boolean onRow = alreadyAdvanced || safeNext();
+        alreadyAdvanced = false;
+
+        try {
+            while (onRow && count < maxRows) {
+                chunk.add(mapper.map(results, context));
+                count++;
+                onRow = safeNext();
+            }
+        } catch (SQLException e) {
+            throw new ResultSetException("Error thrown mapping result set into return type", e, context);
+        }
+
+        rows += count;
+        if (onRow) {
+            alreadyAdvanced = true;
+            hasNext = true;
+        } else {
+            close();
+        }
+
+        return count;
+    }
+
     @Override
     public StatementContext getContext() {
         return context;
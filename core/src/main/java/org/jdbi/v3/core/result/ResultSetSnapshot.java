@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * An immutable, in-memory copy of the rows of a {@link ResultSet}, which can be read any number of times, from any
+ * thread, through result sets returned by {@link #open()}. Values are copied with {@link ResultSet#getObject(int)},
+ * and LOBs are copied into memory.
+ */
+@Beta
+public final class ResultSetSnapshot {
+    private final RowSnapshotMetaData metaData;
+    private final List<Object[]> rows;
+
+    private ResultSetSnapshot(RowSnapshotMetaData metaData, List<Object[]> rows) {
+        this.metaData = metaData;
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Copies the remaining rows of the given result set. The result set is not closed.
+     *
+     * @param rs the result set to copy
+     * @return the snapshot
+     * @throws SQLException if reading the result set fails
+     */
+    public static ResultSetSnapshot of(ResultSet rs) throws SQLException {
+        RowSnapshotMetaData metaData = new RowSnapshotMetaData(rs.getMetaData());
+        List<Object[]> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(RowSnapshotResultSet.readRow(rs, metaData));
+        }
+        return new ResultSetSnapshot(metaData, rows);
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Returns a new read-only result set over the rows of this snapshot, positioned before the first row. The result
+     * set supports the getters of {@link ResultSet}, {@link ResultSet#next()} and {@link ResultSet#getMetaData()}.
+     *
+     * @return a result set over the snapshot
+     */
+    public ResultSet open() {
+        return new RowSnapshotResultSet(metaData, rows);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Copy of the commonly used parts of a {@link ResultSetMetaData}, shared by all {@link RowSnapshotResultSet}s of
+ * a result set.
+ */
+class RowSnapshotMetaData extends EmptyResultSetMetaData {
+    private final int columnCount;
+    private final String[] labels;
+    private final String[] names;
+    private final int[] types;
+    private final String[] typeNames;
+    private final String[] classNames;
+    private final String[] tableNames;
+    private final int[] precisions;
+    private final int[] scales;
+    private final int[] nullables;
+    private final Map<String, Integer> indexByLabel = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    RowSnapshotMetaData(ResultSetMetaData source) throws SQLException {
+        columnCount = source.getColumnCount();
+        labels = new String[columnCount];
+        names = new String[columnCount];
+        types = new int[columnCount];
+        typeNames = new String[columnCount];
+        classNames = new String[columnCount];
+        tableNames = new String[columnCount];
+        precisions = new int[columnCount];
+        scales = new int[columnCount];
+        nullables = new int[columnCount];
+
+        for (int i = 0; i < columnCount; i++) {
+            int column = i + 1;
+            labels[i] = source.getColumnLabel(column);
+            names[i] = source.getColumnName(column);
+            types[i] = source.getColumnType(column);
+            typeNames[i] = source.getColumnTypeName(column);
+            classNames[i] = source.getColumnClassName(column);
+            tableNames[i] = source.getTableName(column);
+            precisions[i] = source.getPrecision(column);
+            scales[i] = source.getScale(column);
+            nullables[i] = source.isNullable(column);
+            indexByLabel.putIfAbsent(labels[i], column);
+        }
+    }
+
+    int findColumn(String columnLabel) {
+        Integer column = indexByLabel.get(columnLabel);
+        if (column == null) {
+            throw new IllegalArgumentException("No column named '" + columnLabel + "' in result set");
+        }
+        return column;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    @Override
+    public String getColumnLabel(int column) {
+        return labels[column - 1];
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return names[column - 1];
+    }
+
+    @Override
+    public int getColumnType(int column) {
+        return types[column - 1];
+    }
+
+    @Override
+    public String getColumnTypeName(int column) {
+        return typeNames[column - 1];
+    }
+
+    @Override
+    public String getColumnClassName(int column) {
+        return classNames[column - 1];
+    }
+
+    @Override
+    public String getTableName(int column) {
+        return tableNames[column - 1];
+    }
+
+    @Override
+    public int getPrecision(int column) {
+        return precisions[column - 1];
+    }
+
+    @Override
+    public int getScale(int column) {
+        return scales[column - 1];
+    }
+
+    @Override
+    public int isNullable(int column) {
+        return nullables[column - 1];
+    }
+}
@@ -0,0 +1,556 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+/**
+ * A detached, read-only copy of rows of a {@link ResultSet}. Values are read with {@link ResultSet#getObject(int)}
+ * and converted on access; LOBs are copied into memory. Conversions which are not supported throw
+ * {@link IllegalArgumentException}.
+ */
+class RowSnapshotResultSet extends EmptyResultSet {
+    private final RowSnapshotMetaData metaData;
+    private final List<Object[]> rows;
+    private int cursor;
+    private Object[] values;
+    private boolean wasNull;
+
+    /**
+     * Copies the current row of the given result set, and positions the snapshot on it.
+     */
+    RowSnapshotResultSet(ResultSet rs, RowSnapshotMetaData metaData) throws SQLException {
+        this.metaData = metaData;
+        this.values = readRow(rs, metaData);
+        this.rows = Collections.singletonList(values);
+        this.cursor = 0;
+    }
+
+    /**
+     * Iterates over the given rows, starting before the first row.
+     */
+    RowSnapshotResultSet(RowSnapshotMetaData metaData, List<Object[]> rows) {
+        this.metaData = metaData;
+        this.rows = rows;
+        this.cursor = -1;
+    }
+
+    static Object[] readRow(ResultSet rs, RowSnapshotMetaData metaData) throws SQLException {
+        Object[] row = new Object[metaData.getColumnCount()];
+        for (int i = 0; i < row.length; i++) {
+            Object value = rs.getObject(i + 1);
+            if (value instanceof Blob) {
+                value = new SerialBlob((Blob) value);
+            } else if (value instanceof Clob) {
+                value = new SerialClob((Clob) value);
+            }
+            row[i] = value;
+        }
+        return row;
+    }
+
+    @Override
+    public boolean next() {
+        if (cursor < rows.size()) {
+            cursor++;
+        }
+        values = cursor < rows.size() ? rows.get(cursor) : null;
+        return values != null;
+    }
+
+    @Override
+    public boolean isBeforeFirst() {
+        return cursor < 0 && !rows.isEmpty();
+    }
+
+    @Override
+    public boolean isAfterLast() {
+        return cursor >= rows.size() && !rows.isEmpty();
+    }
+
+    @Override
+    public int getRow() {
+        return values == null ? 0 : cursor + 1;
+    }
+
+    private Object value(int columnIndex) {
+        if (values == null) {
+            throw new IllegalStateException("Not positioned on a row");
+        }
+        if (columnIndex < 1 || columnIndex > values.length) {
+            throw new IllegalArgumentException("Column index " + columnIndex + " out of range");
+        }
+        Object value = values[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private static IllegalArgumentException cannotConvert(Object value, Class<?> type) {
+        return new IllegalArgumentException("Cannot convert column value of " + value.getClass() + " to " + type);
+    }
+
+    private Number number(int columnIndex, Class<?> type) {
+        Object value = value(columnIndex);
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        if (value instanceof String) {
+            return new BigDecimal(((String) value).trim());
+        }
+        throw cannotConvert(value, type);
+    }
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        return metaData;
+    }
+
+    @Override
+    public int findColumn(String columnLabel) {
+        return metaData.findColumn(columnLabel);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    @Override
+    public Object getObject(int columnIndex) {
+        Object value = value(columnIndex);
+        return value instanceof byte[] ? ((byte[]) value).clone() : value;
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) {
+        Object value = value(columnIndex);
+        if (value instanceof byte[] && type == byte[].class) {
+            return type.cast(getBytes(columnIndex));
+        }
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        if (type == String.class) {
+            return type.cast(getString(columnIndex));
+        }
+        if (type == Integer.class) {
+            return type.cast(getInt(columnIndex));
+        }
+        if (type == Long.class) {
+            return type.cast(getLong(columnIndex));
+        }
+        if (type == Short.class) {
+            return type.cast(getShort(columnIndex));
+        }
+        if (type == Byte.class) {
+            return type.cast(getByte(columnIndex));
+        }
+        if (type == Double.class) {
+            return type.cast(getDouble(columnIndex));
+        }
+        if (type == Float.class) {
+            return type.cast(getFloat(columnIndex));
+        }
+        if (type == Boolean.class) {
+            return type.cast(getBoolean(columnIndex));
+        }
+        if (type == BigDecimal.class) {
+            return type.cast(getBigDecimal(columnIndex));
+        }
+        if (type == LocalDate.class) {
+            return type.cast(getDate(columnIndex).toLocalDate());
+        }
+        if (type == LocalTime.class) {
+            return type.cast(getTime(columnIndex).toLocalTime());
+        }
+        if (type == LocalDateTime.class) {
+            return type.cast(getTimestamp(columnIndex).toLocalDateTime());
+        }
+        if (type == Instant.class) {
+            return type.cast(getTimestamp(columnIndex).toInstant());
+        }
+        if (type == UUID.class && value instanceof String) {
+            return type.cast(UUID.fromString((String) value));
+        }
+        throw cannotConvert(value, type);
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Clob) {
+            try {
+                Clob clob = (Clob) value;
+                return clob.getSubString(1, (int) clob.length());
+            } catch (SQLException e) {
+                throw new IllegalArgumentException("Unable to read clob", e);
+            }
+        }
+        return value.toString();
+    }
+
+    @Override
+    public String getNString(int columnIndex) {
+        return getString(columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0;
+        }
+        if (value instanceof String) {
+            String s = ((String) value).trim();
+            return "1".equals(s) || Boolean.parseBoolean(s);
+        }
+        throw cannotConvert(value, boolean.class);
+    }
+
+    @Override
+    public byte getByte(int columnIndex) {
+        return number(columnIndex, byte.class).byteValue();
+    }
+
+    @Override
+    public short getShort(int columnIndex) {
+        return number(columnIndex, short.class).shortValue();
+    }
+
+    @Override
+    public int getInt(int columnIndex) {
+        return number(columnIndex, int.class).intValue();
+    }
+
+    @Override
+    public long getLong(int columnIndex) {
+        return number(columnIndex, long.class).longValue();
+    }
+
+    @Override
+    public float getFloat(int columnIndex) {
+        return number(columnIndex, float.class).floatValue();
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        return number(columnIndex, double.class).doubleValue();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+        }
+        if (value instanceof Number) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof String) {
+            return new BigDecimal(((String) value).trim());
+        }
+        throw cannotConvert(value, BigDecimal.class);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public BigDecimal getBigDecimal(int columnIndex, int scale) {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? null : value.setScale(scale, BigDecimal.ROUND_HALF_UP);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        if (value instanceof Blob) {
+            try {
+                Blob blob = (Blob) value;
+                return blob.getBytes(1, (int) blob.length());
+            } catch (SQLException e) {
+                throw new IllegalArgumentException("Unable to read blob", e);
+            }
+        }
+        throw cannotConvert(value, byte[].class);
+    }
+
+    @Override
+    public Date getDate(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof Date) {
+            return (Date) value;
+        }
+        if (value instanceof java.util.Date) {
+            return new Date(((java.util.Date) value).getTime());
+        }
+        if (value instanceof LocalDate) {
+            return Date.valueOf((LocalDate) value);
+        }
+        throw cannotConvert(value, Date.class);
+    }
+
+    @Override
+    public Time getTime(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof Time) {
+            return (Time) value;
+        }
+        if (value instanceof java.util.Date) {
+            return new Time(((java.util.Date) value).getTime());
+        }
+        if (value instanceof LocalTime) {
+            return Time.valueOf((LocalTime) value);
+        }
+        throw cannotConvert(value, Time.class);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof Timestamp) {
+            return (Timestamp) value;
+        }
+        if (value instanceof java.util.Date) {
+            return new Timestamp(((java.util.Date) value).getTime());
+        }
+        if (value instanceof LocalDateTime) {
+            return Timestamp.valueOf((LocalDateTime) value);
+        }
+        throw cannotConvert(value, Timestamp.class);
+    }
+
+    @Override
+    public InputStream getBinaryStream(int columnIndex) {
+        byte[] bytes = getBytes(columnIndex);
+        return bytes == null ? null : new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public Reader getCharacterStream(int columnIndex) {
+        String s = getString(columnIndex);
+        return s == null ? null : new StringReader(s);
+    }
+
+    @Override
+    public Array getArray(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof Array) {
+            return (Array) value;
+        }
+        throw cannotConvert(value, Array.class);
+    }
+
+    @Override
+    public Blob getBlob(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof Blob) {
+            return (Blob) value;
+        }
+        throw cannotConvert(value, Blob.class);
+    }
+
+    @Override
+    public Clob getClob(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof Clob) {
+            return (Clob) value;
+        }
+        throw cannotConvert(value, Clob.class);
+    }
+
+    @Override
+    public URL getURL(int columnIndex) {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof URL) {
+            return (URL) value;
+        }
+        try {
+            return new URL(value.toString());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Malformed URL", e);
+        }
+    }
+
+    @Override
+    public Object getObject(String columnLabel) {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) {
+        return getObject(findColumn(columnLabel), type);
+    }
+
+    @Override
+    public String getString(String columnLabel) {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public String getNString(String columnLabel) {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public byte getByte(String columnLabel) {
+        return getByte(findColumn(columnLabel));
+    }
+
+    @Override
+    public short getShort(String columnLabel) {
+        return getShort(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(String columnLabel) {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(String columnLabel) {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public float getFloat(String columnLabel) {
+        return getFloat(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(String columnLabel) {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel, int scale) {
+        return getBigDecimal(findColumn(columnLabel), scale);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(String columnLabel) {
+        return getDate(findColumn(columnLabel));
+    }
+
+    @Override
+    public Time getTime(String columnLabel) {
+        return getTime(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public InputStream getBinaryStream(String columnLabel) {
+        return getBinaryStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public Reader getCharacterStream(String columnLabel) {
+        return getCharacterStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public Array getArray(String columnLabel) {
+        return getArray(findColumn(columnLabel));
+    }
+
+    @Override
+    public Blob getBlob(String columnLabel) {
+        return getBlob(findColumn(columnLabel));
+    }
+
+    @Override
+    public Clob getClob(String columnLabel) {
+        return getClob(findColumn(columnLabel));
+    }
+
+    @Override
+    public URL getURL(String columnLabel) {
+        return getURL(findColumn(columnLabel));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.jdbi.v3.core.ConnectionFactory;
+import org.jdbi.v3.core.generic.internal.Reflection;
+import org.jdbi.v3.meta.Beta;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A connection factory which routes reads to read replicas, and everything else to a primary database.
+ * <p>
+ * The connections returned by this factory open their physical connections lazily. While a connection is
+ * {@link Connection#setReadOnly(boolean) read only} and in auto-commit mode, statements are created on a connection
+ * to a replica; otherwise, e.g. once a transaction begins, statements are created on a connection to the primary.
+ * So a {@link org.jdbi.v3.core.Handle} reads from a replica after {@code setReadOnly(true)}, and stays on the
+ * primary in transactions, including read only transactions. Each physical connection is opened at most once per
+ * connection returned, and all of them are closed together.
+ * </p>
+ * <p>
+ * Transaction control, i.e. commits, rollbacks and savepoints, always applies to the primary; the read only flag is
+ * applied to the primary connection, not the replica connection. Session settings, like the schema, catalog or
+ * isolation level, are applied to both connections, including ones opened later. Other calls, like
+ * {@link Connection#getMetaData()}, go to the primary.
+ * </p>
+ *
+ * <pre>
+ * Jdbi jdbi = Jdbi.create(new ReadReplicaConnectionFactory(primary::getConnection,
+ *     ReplicaSelection.ROUND_ROBIN, replica1::getConnection, replica2::getConnection));
+ * </pre>
+ */
+@Beta
+public final class ReadReplicaConnectionFactory implements ConnectionFactory {
+    private final ConnectionFactory primary;
+    private final List<ConnectionFactory> replicas;
+    private final ReplicaSelection selection;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicIntegerArray outstanding;
+
+    /**
+     * @param primary   opens connections to the primary database
+     * @param selection how a replica is chosen for each connection
+     * @param replicas  open connections to the read replicas
+     */
+    public ReadReplicaConnectionFactory(ConnectionFactory primary, ReplicaSelection selection, ConnectionFactory... replicas) {
+        this(primary, selection, Arrays.asList(replicas));
+    }
+
+    /**
+     * @param primary   opens connections to the primary database
+     * @param selection how a replica is chosen for each connection
+     * @param replicas  open connections to the read replicas
+     */
+    public ReadReplicaConnectionFactory(ConnectionFactory primary, ReplicaSelection selection, List<ConnectionFactory> replicas) {
+        this.primary = requireNonNull(primary, "null primary");
+        this.selection = requireNonNull(selection, "null selection");
+        List<ConnectionFactory> copy = new ArrayList<>(replicas);
+        copy.forEach(replica -> requireNonNull(replica, "null replica"));
+        if (copy.isEmpty()) {
+            throw new IllegalArgumentException("at least one replica is required");
+        }
+        this.replicas = Collections.unmodifiableList(copy);
+        this.outstanding = new AtomicIntegerArray(copy.size());
+    }
+
+    @Override
+    public Connection openConnection() {
+        return Reflection.newProxy(Connection.class, new RoutingConnection(this));
+    }
+
+    /**
+     * @param replica the index of a replica, in the order given to the constructor
+     * @return the number of connections to the replica opened through this factory and not yet closed
+     */
+    public int getOutstandingConnections(int replica) {
+        return outstanding.get(replica);
+    }
+
+    Connection openPrimary() throws SQLException {
+        return primary.openConnection();
+    }
+
+    int selectReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        int selected = start;
+        if (selection == ReplicaSelection.LEAST_OUTSTANDING) {
+            for (int i = 1; i < size; i++) {
+                int candidate = (start + i) % size;
+                if (outstanding.get(candidate) < outstanding.get(selected)) {
+                    selected = candidate;
+                }
+            }
+        }
+        return selected;
+    }
+
+    Connection openReplica(int replica) throws SQLException {
+        Connection conn = replicas.get(replica).openConnection();
+        outstanding.incrementAndGet(replica);
+        return conn;
+    }
+
+    void closed(int replica) {
+        outstanding.decrementAndGet(replica);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.routing;
+
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * How a {@link ReadReplicaConnectionFactory} chooses the replica a connection is opened to.
+ */
+@Beta
+public enum ReplicaSelection {
+    /**
+     * Each replica in turn.
+     */
+    ROUND_ROBIN,
+    /**
+     * The replica with the fewest connections opened through the factory and not yet closed; ties are broken
+     * round robin.
+     */
+    LEAST_OUTSTANDING
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.routing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Backs the connections returned by {@link ReadReplicaConnectionFactory}: opens a primary and a replica connection
+ * on demand, and forwards each call to the one the call belongs to. Session settings, like the schema, are applied
+ * to every open connection, and replayed on connections opened later. Like a connection, not thread safe.
+ */
+class RoutingConnection implements InvocationHandler {
+    private final ReadReplicaConnectionFactory factory;
+    // the latest call of each session setter, in call order
+    private final Map<String, SessionSetting> sessionSettings = new LinkedHashMap<>();
+
+    private Connection primary;
+    private Connection replica;
+    private int replicaIndex;
+    private boolean readOnly;
+    private boolean autoCommit = true;
+    private boolean closed;
+
+    RoutingConnection(ReadReplicaConnectionFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "toString":
+                return "RoutingConnection[primary=" + primary + ", replica=" + replica + "]";
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "close":
+                close();
+                return null;
+            case "isClosed":
+                return closed;
+            case "isReadOnly":
+                return readOnly;
+            case "setReadOnly":
+                readOnly = (Boolean) args[0];
+                if (primary != null) {
+                    primary.setReadOnly(readOnly);
+                }
+                return null;
+            case "getAutoCommit":
+                return autoCommit;
+            case "setAutoCommit":
+                autoCommit = (Boolean) args[0];
+                if (primary != null) {
+                    primary.setAutoCommit(autoCommit);
+                }
+                return null;
+            case "commit":
+            case "rollback":
+                if (primary == null && (args == null || args.length == 0)) {
+                    // nothing was done on the primary, so there is nothing to end
+                    return null;
+                }
+                return forward(primary(), method, args);
+            case "setSavepoint":
+            case "releaseSavepoint":
+            case "getTransactionIsolation":
+            case "getMetaData":
+                return forward(primary(), method, args);
+            case "createStatement":
+            case "prepareStatement":
+            case "prepareCall":
+            case "createArrayOf":
+            case "createStruct":
+            case "createBlob":
+            case "createClob":
+            case "createNClob":
+            case "createSQLXML":
+                // values are created by the connection the statements binding them are created on
+                return forward(readOnly && autoCommit ? replica() : primary(), method, args);
+            case "setTransactionIsolation":
+            case "setCatalog":
+            case "setSchema":
+            case "setHoldability":
+            case "setTypeMap":
+            case "setClientInfo":
+            case "setNetworkTimeout":
+                applySessionSetting(method, args);
+                return null;
+            case "abort":
+                abort(method, args);
+                return null;
+            default:
+                // getters of session settings, warnings, validity and wrapping: any open connection will do
+                return forward(primary == null && replica != null ? replica : primary(), method, args);
+        }
+    }
+
+    private void applySessionSetting(Method method, Object[] args) throws Throwable {
+        checkOpen();
+        if (primary != null) {
+            forward(primary, method, args);
+        }
+        if (replica != null) {
+            forward(replica, method, args);
+        }
+        // setClientInfo(name, value) sets one of many properties
+        String key = args.length == 2 && args[0] instanceof String ? method.getName() + ":" + args[0] : method.getName();
+        sessionSettings.remove(key);
+        sessionSettings.put(key, new SessionSetting(method, args));
+    }
+
+    private void replaySessionSettings(Connection conn) throws SQLException {
+        for (SessionSetting setting : sessionSettings.values()) {
+            try {
+                setting.method.invoke(conn, setting.args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+                throw new SQLException("Unable to apply " + setting.method.getName(), e);
+            } catch (IllegalAccessException e) {
+                throw new SQLException("Unable to apply " + setting.method.getName(), e);
+            }
+        }
+    }
+
+    private Connection primary() throws SQLException {
+        checkOpen();
+        if (primary == null) {
+            @SuppressWarnings("PMD.CloseResource")
+            Connection conn = factory.openPrimary();
+            try {
+                replaySessionSettings(conn);
+                if (readOnly) {
+                    conn.setReadOnly(true);
+                }
+                if (!autoCommit) {
+                    conn.setAutoCommit(false);
+                }
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+            primary = conn;
+        }
+        return primary;
+    }
+
+    private Connection replica() throws SQLException {
+        checkOpen();
+        if (replica == null) {
+            int index = factory.selectReplica();
+            @SuppressWarnings("PMD.CloseResource")
+            Connection conn = factory.openReplica(index);
+            try {
+                replaySessionSettings(conn);
+            } catch (SQLException e) {
+                try {
+                    conn.close();
+                } finally {
+                    factory.closed(index);
+                }
+                throw e;
+            }
+            replica = conn;
+            replicaIndex = index;
+        }
+        return replica;
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection is closed");
+        }
+    }
+
+    private void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        SQLException failure = null;
+        if (replica != null) {
+            try {
+                replica.close();
+            } catch (SQLException e) {
+                failure = e;
+            } finally {
+                factory.closed(replicaIndex);
+            }
+        }
+        if (primary != null) {
+            try {
+                primary.close();
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void abort(Method method, Object[] args) throws Throwable {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (replica != null) {
+                try {
+                    forward(replica, method, args);
+                } finally {
+                    factory.closed(replicaIndex);
+                }
+            }
+        } finally {
+            if (primary != null) {
+                forward(primary, method, args);
+            }
+        }
+    }
+
+    private static Object forward(Connection target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class SessionSetting {
+        private final Method method;
+        private final Object[] args;
+
+        SessionSetting(Method method, Object[] args) {
+            this.method = method;
+            this.args = args.clone();
+        }
+    }
+}
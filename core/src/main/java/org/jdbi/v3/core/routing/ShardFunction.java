@@ -0,0 +1,37 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.routing;
+
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * Maps shard keys to shards of a {@link ShardedJdbi}.
+ */
+@Beta
+@FunctionalInterface
+public interface ShardFunction {
+    /**
+     * @param key        the shard key, never null
+     * @param shardCount the number of shards
+     * @return the index of the key's shard, from 0 to {@code shardCount - 1}
+     */
+    int shardFor(Object key, int shardCount);
+
+    /**
+     * @return a shard function which distributes keys by their {@link Object#hashCode() hash code}
+     */
+    static ShardFunction hashing() {
+        return (key, shardCount) -> Math.floorMod(key.hashCode(), shardCount);
+    }
+}
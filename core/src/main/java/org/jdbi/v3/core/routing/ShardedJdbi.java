@@ -0,0 +1,361 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.routing;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.HandleConsumer;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.generic.internal.Reflection;
+import org.jdbi.v3.core.internal.DefaultMethods;
+import org.jdbi.v3.core.result.ResultIterable;
+import org.jdbi.v3.core.result.ResultIterator;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.meta.Beta;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A facade over several {@link Jdbi} instances, one per shard, which routes work to a shard by a shard key, and runs
+ * scatter-gather queries across all shards in parallel.
+ *
+ * <pre>
+ * ShardedJdbi sharded = new ShardedJdbi(Arrays.asList(shard0, shard1), ShardFunction.hashing());
+ * Account account = sharded.withHandle(tenantId, h -&gt; ...);
+ * AccountDao dao = sharded.onDemand(AccountDao.class); // routed by the @ShardKey parameter of each method
+ * List&lt;Account&gt; all = sharded.scatterGather(h -&gt; h.createQuery("select * from account").mapTo(Account.class)).list();
+ * </pre>
+ *
+ * Scatter-gather queries read the full result of every shard into memory, so they are meant for queries with
+ * bounded results; stream large results shard by shard with {@link #withHandle(Object, HandleCallback)} instead.
+ */
+@Beta
+public class ShardedJdbi {
+    private final List<Jdbi> shards;
+    private final ShardFunction shardFunction;
+    private final Map<Method, Integer> shardKeyIndexes = new ConcurrentHashMap<>();
+    private final Map<Method, MethodHandle> defaultMethodHandles = new ConcurrentHashMap<>();
+    private volatile Executor executor;
+
+    /**
+     * @param shards        the shards, by index
+     * @param shardFunction maps shard keys to shard indexes
+     */
+    public ShardedJdbi(List<Jdbi> shards, ShardFunction shardFunction) {
+        List<Jdbi> copy = new ArrayList<>(shards);
+        copy.forEach(shard -> requireNonNull(shard, "null shard"));
+        if (copy.isEmpty()) {
+            throw new IllegalArgumentException("at least one shard is required");
+        }
+        this.shards = Collections.unmodifiableList(copy);
+        this.shardFunction = requireNonNull(shardFunction, "null shard function");
+        this.executor = defaultExecutor(copy.size());
+    }
+
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    private static Executor defaultExecutor(int shardCount) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "jdbi-scatter-gather-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(shardCount, shardCount, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Sets the executor running scatter-gather queries. Defaults to a dedicated pool of up to one daemon thread per
+     * shard, whose idle threads exit after a minute; concurrent scatter-gather queries queue up for its threads. Set
+     * an executor of your own to size or share the pool otherwise. Since the queries block on the database, avoid the
+     * common fork-join pool.
+     *
+     * @param executor the executor
+     * @return this
+     */
+    public ShardedJdbi setExecutor(Executor executor) {
+        this.executor = requireNonNull(executor, "null executor");
+        return this;
+    }
+
+    /**
+     * @return the shards, by index
+     */
+    public List<Jdbi> getShards() {
+        return shards;
+    }
+
+    /**
+     * @param key the shard key
+     * @return the shard the key belongs to
+     */
+    public Jdbi shardFor(Object key) {
+        return shards.get(shardIndex(key));
+    }
+
+    private int shardIndex(Object key) {
+        requireNonNull(key, "null shard key");
+        int index = shardFunction.shardFor(key, shards.size());
+        if (index < 0 || index >= shards.size()) {
+            throw new IllegalStateException("Shard function returned shard " + index + " for key " + key
+                + ", but there are " + shards.size() + " shards");
+        }
+        return index;
+    }
+
+    /**
+     * Runs the callback with a handle to the shard the key belongs to.
+     *
+     * @param key      the shard key
+     * @param callback the callback
+     * @param <R>      type returned by the callback
+     * @param <X>      exception type thrown by the callback, if any
+     * @return the value returned by the callback
+     * @throws X any exception thrown by the callback
+     * @see Jdbi#withHandle(HandleCallback)
+     */
+    public <R, X extends Exception> R withHandle(Object key, HandleCallback<R, X> callback) throws X {
+        return shardFor(key).withHandle(callback);
+    }
+
+    /**
+     * Runs the callback with a handle to the shard the key belongs to.
+     *
+     * @param key      the shard key
+     * @param callback the callback
+     * @param <X>      exception type thrown by the callback, if any
+     * @throws X any exception thrown by the callback
+     * @see Jdbi#useHandle(HandleConsumer)
+     */
+    public <X extends Exception> void useHandle(Object key, HandleConsumer<X> callback) throws X {
+        shardFor(key).useHandle(callback);
+    }
+
+    /**
+     * Returns an on-demand extension of the given type, which runs each method on the shard selected by the
+     * method's {@link ShardKey} parameter. Calling a method with a null key throws
+     * {@link IllegalArgumentException}.
+     * <p>
+     * Default methods without a {@code ShardKey} parameter run on the returned extension itself, so each method they
+     * call is routed by its own shard key. Calling any other method without a {@code ShardKey} parameter, such as
+     * {@code SqlObject.getHandle()}, throws {@link UnsupportedOperationException}, since there is no shard to run it
+     * on: use {@link #withHandle(Object, HandleCallback)}, or an extension of {@link #shardFor(Object) a single
+     * shard}, instead.
+     *
+     * @param extensionType the extension type
+     * @param <E>           the extension type
+     * @return the routing extension
+     * @see Jdbi#onDemand(Class)
+     */
+    public <E> E onDemand(Class<E> extensionType) {
+        List<E> extensions = new ArrayList<>(shards.size());
+        shards.forEach(shard -> extensions.add(shard.onDemand(extensionType)));
+
+        return Reflection.newProxy(extensionType, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "Sharded" + extensionType.getSimpleName() + "@"
+                            + Integer.toHexString(System.identityHashCode(proxy));
+                }
+            }
+
+            int shardKeyIndex = shardKeyIndex(method);
+            if (shardKeyIndex < 0) {
+                if (method.isDefault()) {
+                    MethodHandle handle = defaultMethodHandles.computeIfAbsent(method, DefaultMethods::handleFor);
+                    return handle.bindTo(proxy).invokeWithArguments(args == null ? new Object[0] : args);
+                }
+                throw new UnsupportedOperationException("No @ShardKey parameter on " + method
+                    + "; use ShardedJdbi.withHandle(key, ...) or shardFor(key).onDemand(...) instead");
+            }
+
+            Object key = args[shardKeyIndex];
+            if (key == null) {
+                throw new IllegalArgumentException("Null @ShardKey argument for " + method);
+            }
+            Object extension = extensions.get(shardIndex(key));
+            try {
+                return method.invoke(extension, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private int shardKeyIndex(Method method) {
+        return shardKeyIndexes.computeIfAbsent(method, m -> {
+            Annotation[][] annotations = m.getParameterAnnotations();
+            for (int i = 0; i < annotations.length; i++) {
+                for (Annotation annotation : annotations[i]) {
+                    if (annotation instanceof ShardKey) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        });
+    }
+
+    /**
+     * Runs the callback on every shard in parallel, each with a handle of its own, and returns the results of all
+     * shards, in shard order. The full results of every shard are read into memory, and its handle closed, before
+     * this method returns, so the memory needed grows with the total result size across all shards. If the callback fails on any shard, this method waits for the other shards to finish, and
+     * throws the first failure, with the others suppressed.
+     *
+     * @param callback produces the results of one shard
+     * @param <T>      the result element type
+     * @param <X>      exception type thrown by the callback, if any
+     * @return the results of all shards
+     * @throws X any exception thrown by the callback
+     */
+    @SuppressWarnings("unchecked")
+    public <T, X extends Exception> ResultIterable<T> scatterGather(HandleCallback<ResultIterable<T>, X> callback) throws X {
+        List<Future<ShardResult<T>>> futures = new ArrayList<>(shards.size());
+        for (Jdbi shard : shards) {
+            FutureTask<ShardResult<T>> task = new FutureTask<>(() -> shard.withHandle(h -> {
+                try (ResultIterator<T> iterator = callback.withHandle(h).iterator()) {
+                    List<T> rows = new ArrayList<>();
+                    iterator.forEachRemaining(rows::add);
+                    return new ShardResult<>(rows, iterator.getContext());
+                }
+            }));
+            executor.execute(task);
+            futures.add(task);
+        }
+
+        List<ShardResult<T>> results = new ArrayList<>(futures.size());
+        Throwable failure = null;
+        for (Future<ShardResult<T>> future : futures) {
+            try {
+                results.add(getUninterruptibly(future));
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            // the callback is the only source of checked exceptions
+            throw (X) failure;
+        }
+        return () -> new MergedIterator<>(results);
+    }
+
+    private static <T> T getUninterruptibly(Future<T> future) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    // the shards' handles must be closed before returning
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class ShardResult<T> {
+        private final List<T> rows;
+        private final StatementContext context;
+
+        ShardResult(List<T> rows, StatementContext context) {
+            this.rows = rows;
+            this.context = context;
+        }
+    }
+
+    private static class MergedIterator<T> implements ResultIterator<T> {
+        private final Iterator<ShardResult<T>> shardResults;
+        private ShardResult<T> current;
+        private Iterator<T> rows = Collections.emptyIterator();
+
+        MergedIterator(List<ShardResult<T>> shardResults) {
+            this.shardResults = shardResults.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!rows.hasNext() && shardResults.hasNext()) {
+                current = shardResults.next();
+                rows = current.rows.iterator();
+            }
+            return rows.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return rows.next();
+        }
+
+        @Override
+        public void close() {
+            rows = Collections.emptyIterator();
+            while (shardResults.hasNext()) {
+                shardResults.next();
+            }
+        }
+
+        /**
+         * @return the (closed) context of the shard query the last returned row came from
+         */
+        @Override
+        public StatementContext getContext() {
+            return current == null ? null : current.context;
+        }
+    }
+}
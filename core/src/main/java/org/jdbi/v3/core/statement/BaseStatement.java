@@ -18,6 +18,8 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Collection;
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.cache.QueryCache;
+import org.jdbi.v3.core.cache.QueryCaching;
 import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.config.Configurable;
 import org.jdbi.v3.core.generic.GenericTypes;
@@ -30,8 +32,12 @@ abstract class BaseStatement<This> implements Closeable, Configurable<This> {
     private final StatementContext ctx;
 
     BaseStatement(Handle handle) {
+        this(handle, handle.getConfig());
+    }
+
+    BaseStatement(Handle handle, ConfigRegistry config) {
         this.handle = handle;
-        this.ctx = new StatementContext(handle.getConfig().createCopy(), handle.getExtensionMethod());
+        this.ctx = new StatementContext(config.createCopy(), handle.getExtensionMethod());
 
         // Prevent bogus signatures like Update extends SqlStatement<Query>
         // SqlStatement's generic parameter must be supertype of getClass()
@@ -104,8 +110,15 @@ abstract class BaseStatement<This> implements Closeable, Configurable<This> {
         }
     }
 
+    final void invalidateCachedResults(final String sql) {
+        QueryCache cache = getConfig().read(QueryCaching.class).getCache();
+        if (cache != null && sql != null) {
+            cache.invalidateModifiedBy(sql);
+        }
+    }
+
     private Collection<StatementCustomizer> getCustomizers() {
-        return this.getConfig(SqlStatements.class).getCustomizers();
+        return this.getConfig().read(SqlStatements.class).getCustomizers();
     }
 
     @Override
@@ -18,6 +18,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.config.ConfigRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +34,10 @@ public class Batch extends BaseStatement<Batch> {
         super(handle);
     }
 
+    Batch(Handle handle, ConfigRegistry config) {
+        super(handle, config);
+    }
+
     /**
      * Add a statement to the batch
      *
@@ -62,27 +67,32 @@ public class Batch extends BaseStatement<Batch> {
                 stmt = getHandle().getStatementBuilder().create(getHandle().getConnection(), getContext());
 
                 addCleanable(stmt::close);
-                getConfig(SqlStatements.class).customize(stmt);
+                getConfig().read(SqlStatements.class).customize(stmt);
             } catch (SQLException e) {
                 throw new UnableToCreateStatementException(e, getContext());
             }
 
             LOG.trace("Execute batch [");
 
+            List<String> statements = new ArrayList<>(parts.size());
             try {
                 for (String part : parts) {
-                    final String sql = getConfig(SqlStatements.class).getTemplateEngine().render(part, getContext());
+                    final String sql = getConfig().read(SqlStatements.class).getTemplateEngine().render(part, getContext());
                     LOG.trace(" {}", sql);
                     stmt.addBatch(sql);
+                    statements.add(sql);
                 }
             } catch (SQLException e) {
                 throw new UnableToExecuteStatementException("Unable to configure JDBC statement", e, getContext());
             }
 
             try {
-                return SqlLoggerUtil.wrap(stmt::executeBatch, getContext(), getConfig(SqlStatements.class).getSqlLogger());
+                return SqlLoggerUtil.wrap(stmt::executeBatch, getContext(), getConfig().read(SqlStatements.class).getSqlLogger());
             } catch (SQLException e) {
                 throw new UnableToExecuteStatementException(mungeBatchException(e), getContext());
+            } finally {
+                // part of a failed batch may have been executed
+                statements.forEach(this::invalidateCachedResults);
             }
         } finally {
             close();
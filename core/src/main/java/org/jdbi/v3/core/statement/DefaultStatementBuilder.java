@@ -24,7 +24,12 @@ import java.sql.Statement;
  * A StatementBuilder which will always create a new PreparedStatement.
  */
 public class DefaultStatementBuilder implements StatementBuilder {
-    public static final StatementBuilderFactory FACTORY = c -> new DefaultStatementBuilder();
+    private static final DefaultStatementBuilder INSTANCE = new DefaultStatementBuilder();
+
+    /**
+     * Returns one shared builder for all connections, since the builder holds no state.
+     */
+    public static final StatementBuilderFactory FACTORY = c -> INSTANCE;
 
     public DefaultStatementBuilder() {}
 
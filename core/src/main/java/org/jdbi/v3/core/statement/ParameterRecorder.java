@@ -0,0 +1,171 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.jdbi.v3.core.generic.internal.Reflection;
+
+/**
+ * Records the values a statement's arguments bind, by binding them to a fake {@link PreparedStatement}. Used to
+ * identify a query by the values of its parameters, and to bind the recorded values to the real statement
+ * afterwards, so the arguments are only applied once.
+ */
+class ParameterRecorder implements InvocationHandler {
+    private final List<Method> setters = new ArrayList<>();
+    private final List<Object[]> setterArgs = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+    private boolean comparable = true;
+    private boolean replayable = true;
+
+    private ParameterRecorder() {}
+
+    static ParameterRecorder record(ParsedParameters parameters, Binding binding, StatementContext ctx) {
+        ParameterRecorder recorder = new ParameterRecorder();
+        PreparedStatement stmt = Reflection.newProxy(PreparedStatement.class, recorder);
+        try {
+            ArgumentBinder.bind(parameters, binding, stmt, ctx);
+        } catch (RuntimeException e) {
+            recorder.replayable = false;
+        }
+        return recorder;
+    }
+
+    /**
+     * @return whether the arguments did nothing but set parameter values, so {@link #replay(PreparedStatement)} binds
+     * the same values binding the arguments would
+     */
+    boolean isReplayable() {
+        return replayable;
+    }
+
+    /**
+     * @return the recorded values, in binding order, or empty if an argument did anything but set a comparable value
+     */
+    Optional<List<Object>> getValues() {
+        return replayable && comparable ? Optional.of(Collections.unmodifiableList(values)) : Optional.empty();
+    }
+
+    /**
+     * Sets the recorded parameter values on the given statement.
+     *
+     * @param stmt the statement to bind
+     * @throws SQLException if setting a value fails
+     */
+    void replay(PreparedStatement stmt) throws SQLException {
+        for (int i = 0; i < setters.size(); i++) {
+            try {
+                setters.get(i).invoke(stmt, setterArgs.get(i));
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    throw (SQLException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(e);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        switch (name) {
+            case "toString":
+                return "ParameterRecorder";
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                break;
+        }
+
+        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+            setters.add(method);
+            setterArgs.add(args);
+            values.add(name);
+            for (int i = 1; i < args.length; i++) {
+                values.add(comparable(args[i]));
+            }
+        } else {
+            replayable = false;
+        }
+        return defaultValue(method.getReturnType());
+    }
+    private Object comparable(Object value) {
+        if (value instanceof byte[]) {
+            return ByteBuffer.wrap(((byte[]) value).clone());
+        }
+        if (value instanceof Object[]) {
+            return Arrays.asList(((Object[]) value).clone());
+        }
+        if (value instanceof InputStream || value instanceof Reader || value instanceof Blob || value instanceof Clob
+            || value instanceof Array || value instanceof Ref || value != null && value.getClass().isArray()) {
+            comparable = false;
+        }
+        return value;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
@@ -127,17 +127,16 @@ public class PreparedBatch extends SqlStatement<PreparedBatch> implements Result
             throw new IllegalStateException("No batch parts to execute");
         }
 
-        String renderedSql = getConfig(SqlStatements.class)
-                .getTemplateEngine()
-                .render(getSql(), getContext());
+        SqlStatements statements = getConfig().read(SqlStatements.class);
+        String renderedSql = statements.getTemplateEngine().render(getSql(), getContext());
         getContext().setRenderedSql(renderedSql);
 
-        ParsedSql parsedSql = getConfig(SqlStatements.class)
-                .getSqlParser()
+        ParsedSql parsedSql = statements.getSqlParser()
                 .parse(renderedSql, getContext());
         String sql = parsedSql.getSql();
         ParsedParameters parsedParameters = parsedSql.getParameters();
         getContext().setParsedSql(parsedSql);
+        statements.recordExecution(getHandle(), getContext());
 
         try {
             final PreparedStatement stmt;
@@ -148,7 +147,7 @@ public class PreparedBatch extends SqlStatement<PreparedBatch> implements Result
                 stmt = statementBuilder.create(connection, sql, getContext());
 
                 addCleanable(() -> statementBuilder.close(connection, sql, stmt));
-                getConfig(SqlStatements.class).customize(stmt);
+                statements.customize(stmt);
             } catch (SQLException e) {
                 throw new UnableToCreateStatementException(e, getContext());
             }
@@ -168,7 +167,13 @@ public class PreparedBatch extends SqlStatement<PreparedBatch> implements Result
             beforeExecution(stmt);
 
             try {
-                final int[] rs = SqlLoggerUtil.wrap(stmt::executeBatch, getContext(), getConfig(SqlStatements.class).getSqlLogger());
+                final int[] rs;
+                try {
+                    rs = SqlLoggerUtil.wrap(stmt::executeBatch, getContext(), statements.getSqlLogger());
+                } finally {
+                    // part of a failed batch may have been executed
+                    invalidateCachedResults(renderedSql);
+                }
 
                 afterExecution(stmt);
 
@@ -13,15 +13,25 @@
  */
 package org.jdbi.v3.core.statement;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.cache.QueryCache;
+import org.jdbi.v3.core.cache.QueryCaching;
 import org.jdbi.v3.core.result.ResultBearing;
 import org.jdbi.v3.core.result.ResultProducer;
 import org.jdbi.v3.core.result.ResultProducers;
+import org.jdbi.v3.core.result.ResultSetException;
 import org.jdbi.v3.core.result.ResultSetScanner;
+import org.jdbi.v3.core.result.ResultSetSnapshot;
 import org.jdbi.v3.core.result.UnableToProduceResultException;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * Statement providing convenience result handling for SQL queries.
@@ -39,8 +49,12 @@ public class Query extends SqlStatement<Query> implements ResultBearing {
      * @return value returned by the result producer.
      */
     public <R> R execute(ResultProducer<R> producer) {
+        return execute(producer, this::internalExecute);
+    }
+
+    private <R> R execute(ResultProducer<R> producer, Supplier<PreparedStatement> execution) {
         try {
-            return producer.produce(this::internalExecute, getContext());
+            return producer.produce(() -> internalExecuteQuery(execution), getContext());
         } catch (SQLException e) {
             try {
                 close();
@@ -51,11 +65,104 @@ public class Query extends SqlStatement<Query> implements ResultBearing {
         }
     }
 
+    private PreparedStatement internalExecuteQuery(Supplier<PreparedStatement> execution) {
+        Integer streamingFetchSize = getConfig().read(SqlStatements.class).getStreamingFetchSize();
+        if (streamingFetchSize == null) {
+            return execution.get();
+        }
+
+        addCustomizer(StatementCustomizers.fetchSize(streamingFetchSize));
+
+        Handle handle = getHandle();
+        if (handle.isInTransaction()) {
+            return execution.get();
+        }
+
+        handle.begin();
+        // registered ahead of the statement, so the transaction ends after the result set and statement are closed
+        addCleanable(() -> {
+            if (handle.isInTransaction()) {
+                handle.commit();
+            }
+        });
+        try {
+            return execution.get();
+        } catch (RuntimeException e) {
+            try {
+                handle.rollback();
+            } catch (RuntimeException e1) {
+                e.addSuppressed(e1);
+            }
+            throw e;
+        }
+    }
+
     @Override
     public <R> R scanResultSet(ResultSetScanner<R> mapper) {
+        if (getConfig().read(QueryCaching.class).isCached()) {
+            return ResultBearing.of(this::cachedResultSet, getContext()).scanResultSet(mapper);
+        }
         return execute(ResultProducers.returningResults()).scanResultSet(mapper);
     }
 
+    private ResultSet cachedResultSet() {
+        QueryCaching caching = getConfig().read(QueryCaching.class);
+        long prepareStart = beginStatementEvent();
+        ParsedSql parsedSql = renderAndParse();
+
+        ParameterRecorder recorder = ParameterRecorder.record(parsedSql.getParameters(), getBinding(), getContext());
+        if (!recorder.isReplayable()) {
+            return executeForResultSet(() -> internalExecute(parsedSql,
+                stmt -> ArgumentBinder.bind(parsedSql.getParameters(), getBinding(), stmt, getContext()),
+                prepareStart));
+        }
+        Supplier<PreparedStatement> execution = () -> internalExecute(parsedSql, recorder::replay, prepareStart);
+        Optional<List<Object>> parameters = recorder.getValues();
+        if (!parameters.isPresent()) {
+            return executeForResultSet(execution);
+        }
+
+        QueryCache cache = caching.getCache();
+        String renderedSql = getContext().getRenderedSql();
+        ResultSetSnapshot results = cache.get(renderedSql, parameters.get());
+        if (results == null) {
+            // read before executing, so results read before a concurrent invalidation are not cached
+            long generation = cache.getGeneration(caching.getTags());
+            try {
+                results = ResultSetSnapshot.of(executeForResultSet(execution));
+            } catch (SQLException e) {
+                throw new ResultSetException("Unable to read result set", e, getContext());
+            }
+            cache.put(renderedSql, parameters.get(), caching.getTags(), results, generation);
+        } else {
+            // nothing is executed
+            getContext().setStatementEvent(null);
+        }
+        return results.open();
+    }
+
+    private ResultSet executeForResultSet(Supplier<PreparedStatement> execution) {
+        return execute(ResultProducers.returningResults(), execution).scanResultSet((supplier, ctx) -> supplier.get());
+    }
+
+    /**
+     * Cache the results of this query in the {@link QueryCache} installed by the
+     * {@link org.jdbi.v3.core.cache.QueryCachePlugin}, keyed by the rendered SQL and the values of the bound
+     * parameters. Cached results are invalidated by the given tags, typically the names of the tables the query
+     * reads. Queries are executed as usual if no cache is installed, or if a bound argument does not set a value
+     * which can be compared, such as a stream.
+     *
+     * @param tags the tags invalidating the cached results
+     *
+     * @return the modified query
+     * @see QueryCache#invalidate(String...)
+     */
+    @Beta
+    public Query cacheResults(String... tags) {
+        getConfig(QueryCaching.class).setCached(tags);
+        return this;
+    }
+
     /**
      * Specify the fetch size for the query. This should cause the results to be
      * fetched from the underlying RDBMS in groups of rows equal to the number passed.
@@ -70,6 +177,22 @@ public class Query extends SqlStatement<Query> implements ResultBearing {
         return addCustomizer(StatementCustomizers.fetchSize(fetchSize));
     }
 
+    /**
+     * Stream the results of this query through a server side cursor, fetching the given number of rows at a time.
+     * Unless the handle is already in a transaction, a transaction is held open until the results are closed.
+     * The streaming fetch size takes precedence over {@link #setFetchSize(int)}.
+     *
+     * @param fetchSize the number of rows to fetch in a bunch
+     *
+     * @return the modified query
+     * @see SqlStatements#setStreamingFetchSize(Integer)
+     */
+    @Beta
+    public Query setStreamingFetchSize(final int fetchSize) {
+        getConfig(SqlStatements.class).setStreamingFetchSize(fetchSize);
+        return this;
+    }
+
     /**
      * Specify the maximum number of rows the query is to return. This uses the underlying JDBC
      * {@link Statement#setMaxRows(int)}}.
@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.extension.ExtensionMethod;
+import org.jdbi.v3.meta.Beta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Detects N+1 query patterns: counts how many times each statement shape executes on each {@link Handle}, and reports
+ * statements executed more often than a threshold. The shape of a statement is its {@link ParsedSql#getSql() parsed
+ * SQL}, so the same statement executed with different arguments has one shape.
+ * <p>
+ * Counts are kept per handle, so statements run by one on-demand extension call, or by one
+ * {@code withHandle} / {@code withExtension} / {@code inTransaction} callback, are counted together. A loop calling
+ * an on-demand extension opens a handle per call, and is not detected; a loop over an attached extension is.
+ * </p>
+ * <p>
+ * By default, the first execution above the threshold of each shape on a handle is reported to the
+ * {@link #setReporter(Consumer) reporter}, which logs a warning. If {@link #setThrowing(boolean) throwing}, every
+ * execution above the threshold throws {@link RepeatedStatementException} instead, before the statement is prepared.
+ * Either way, the stack trace of the exception shows the call site.
+ * </p>
+ *
+ * <pre>
+ * jdbi.getConfig(SqlStatements.class)
+ *     .setRepeatedStatementDetector(new RepeatedStatementDetector(20).setThrowing(true));
+ * </pre>
+ */
+@Beta
+public class RepeatedStatementDetector {
+    private static final Logger LOG = LoggerFactory.getLogger(RepeatedStatementDetector.class);
+
+    private final int threshold;
+    // handles are weakly referenced, so the counts of a handle go away with the handle
+    private final Map<Handle, Map<String, Integer>> counts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private volatile boolean throwing;
+    private volatile Consumer<RepeatedStatementException> reporter = e -> LOG.warn(e.getShortMessage(), e);
+
+    /**
+     * @param threshold the number of times a statement shape may execute on a handle without being reported
+     */
+    public RepeatedStatementDetector(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be > 0");
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return the number of times a statement shape may execute on a handle without being reported
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets whether statements executed more often than the threshold throw {@link RepeatedStatementException},
+     * rather than being reported. Defaults to false.
+     *
+     * @param throwing whether to throw
+     * @return this
+     */
+    public RepeatedStatementDetector setThrowing(boolean throwing) {
+        this.throwing = throwing;
+        return this;
+    }
+
+    /**
+     * @return whether statements executed more often than the threshold throw
+     */
+    public boolean isThrowing() {
+        return throwing;
+    }
+
+    /**
+     * Sets what is done with the first execution of each statement shape above the threshold on a handle, when not
+     * {@link #setThrowing(boolean) throwing}. Defaults to logging a warning with the stack trace.
+     *
+     * @param reporter receives an exception describing the repeated statement, which is not thrown
+     * @return this
+     */
+    public RepeatedStatementDetector setReporter(Consumer<RepeatedStatementException> reporter) {
+        this.reporter = requireNonNull(reporter, "null reporter");
+        return this;
+    }
+
+    /**
+     * @param handle the handle
+     * @param shape  the statement shape, i.e. its parsed SQL
+     * @return the number of times the statement shape executed on the handle
+     */
+    public int getExecutions(Handle handle, String shape) {
+        Map<String, Integer> handleCounts = counts.get(handle);
+        return handleCounts == null ? 0 : handleCounts.getOrDefault(shape, 0);
+    }
+
+    /**
+     * Forgets the statements executed on a handle, e.g. between units of work on a long lived handle.
+     *
+     * @param handle the handle
+     */
+    public void reset(Handle handle) {
+        counts.remove(handle);
+    }
+
+    void record(Handle handle, StatementContext ctx) {
+        String shape = ctx.getParsedSql().getSql();
+        int executions = counts.computeIfAbsent(handle, h -> new ConcurrentHashMap<>()).merge(shape, 1, Integer::sum);
+        if (executions <= threshold) {
+            return;
+        }
+        if (throwing) {
+            throw exception(ctx, executions);
+        }
+        if (executions == threshold + 1) {
+            reporter.accept(exception(ctx, executions));
+        }
+    }
+
+    private RepeatedStatementException exception(StatementContext ctx, int executions) {
+        ExtensionMethod extensionMethod = ctx.getExtensionMethod();
+        String by = extensionMethod == null
+            ? ""
+            : " by " + extensionMethod.getType().getSimpleName() + "." + extensionMethod.getMethod().getName();
+        return new RepeatedStatementException(String.format(
+            "Statement executed %d times on one handle%s, more than the threshold of %d; is it run once per row of another query?",
+            executions, by, threshold), ctx);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import org.jdbi.v3.meta.Beta;
+
+/**
+ * Thrown, or reported, by {@link RepeatedStatementDetector} when a statement executes more often on a handle than
+ * the threshold allows. The stack trace shows where the statement was executed.
+ */
+@Beta
+public class RepeatedStatementException extends StatementException {
+    private static final long serialVersionUID = 1L;
+
+    public RepeatedStatementException(String message, StatementContext ctx) {
+        super(message, ctx);
+    }
+}
@@ -59,7 +59,7 @@ public class Script extends SqlStatement<Script> {
      * @return the split statements
      */
     public List<String> getStatements() {
-        return splitToStatements(getConfig(SqlStatements.class).getTemplateEngine().render(sql, getContext()));
+        return splitToStatements(getConfig().read(SqlStatements.class).getTemplateEngine().render(sql, getContext()));
     }
 
     private List<String> splitToStatements(String script) {
@@ -0,0 +1,305 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jdbi.v3.meta.Beta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SqlLogger} which aggregates statement latencies into a {@link LatencyHistogram} per statement shape, keeps
+ * the slowest statements with their arguments, and logs statements slower than a threshold.
+ * <p>
+ * The shape of a statement is its {@link ParsedSql#getSql() parsed SQL}, i.e. the rendered SQL with parameters
+ * replaced by placeholders. At most {@link #setMaxShapes(int) maxShapes} histograms are kept; statements of further
+ * shapes are aggregated under {@link #OTHER_SHAPE}. Failed statements are counted in the histograms as well.
+ * </p>
+ * <p>
+ * Fast statements only update a histogram, without locking; only statements slower than the slowest kept so far,
+ * or than the threshold, format their arguments. Slow statements are logged at warn level, sampled: one in every
+ * {@link #setLogEvery(int) logEvery} slow statements is logged.
+ * </p>
+ *
+ * <pre>
+ * SlowQueryLogger slowQueries = new SlowQueryLogger(Duration.ofMillis(250));
+ * jdbi.setSqlLogger(slowQueries);
+ * </pre>
+ */
+@Beta
+public class SlowQueryLogger implements SqlLogger {
+    /**
+     * The shape statements are aggregated under once {@link #setMaxShapes(int) maxShapes} shapes are tracked.
+     */
+    public static final String OTHER_SHAPE = "<other>";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryLogger.class);
+    private static final Comparator<SlowStatement> BY_ELAPSED = Comparator.comparing(SlowStatement::getElapsed);
+
+    private final long thresholdNanos;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final AtomicLong slowCount = new AtomicLong();
+    private final Object slowestLock = new Object();
+    private final PriorityQueue<SlowStatement> slowest = new PriorityQueue<>(BY_ELAPSED);
+
+    private volatile int maxShapes = 1000;
+    private volatile int slowestSize = 10;
+    private volatile int logEvery = 1;
+    // the fastest of the slowest statements kept, once slowestSize statements are kept
+    private volatile long slowestFloorNanos = -1;
+
+    /**
+     * @param threshold statements slower than the threshold are logged
+     */
+    public SlowQueryLogger(Duration threshold) {
+        this.thresholdNanos = requireNonNull(threshold, "null threshold").toNanos();
+    }
+
+    /**
+     * Sets the maximum number of statement shapes a histogram is kept for. Defaults to 1000.
+     *
+     * @param maxShapes the maximum number of shapes
+     * @return this
+     */
+    public SlowQueryLogger setMaxShapes(int maxShapes) {
+        if (maxShapes < 1) {
+            throw new IllegalArgumentException("maxShapes must be > 0");
+        }
+        this.maxShapes = maxShapes;
+        return this;
+    }
+
+    /**
+     * Sets how many of the slowest statements are kept. Defaults to 10.
+     *
+     * @param slowestSize the number of statements kept
+     * @return this
+     */
+    public SlowQueryLogger setSlowestSize(int slowestSize) {
+        if (slowestSize < 0) {
+            throw new IllegalArgumentException("slowestSize must be >= 0");
+        }
+        synchronized (slowestLock) {
+            this.slowestSize = slowestSize;
+            while (slowest.size() > slowestSize) {
+                slowest.poll();
+            }
+            updateSlowestFloor();
+        }
+        return this;
+    }
+
+    /**
+     * Sets the sampling of slow statement logging: one in every {@code logEvery} statements slower than the
+     * threshold is logged. Defaults to 1, logging every slow statement.
+     *
+     * @param logEvery the sampling interval
+     * @return this
+     */
+    public SlowQueryLogger setLogEvery(int logEvery) {
+        if (logEvery < 1) {
+            throw new IllegalArgumentException("logEvery must be > 0");
+        }
+        this.logEvery = logEvery;
+        return this;
+    }
+
+    @Override
+    public void logAfterExecution(StatementContext context) {
+        record(context, null);
+    }
+
+    @Override
+    public void logException(StatementContext context, SQLException ex) {
+        record(context, ex);
+    }
+
+    private void record(StatementContext context, SQLException ex) {
+        long nanos = context.getElapsedNanos();
+        String shape = shapeOf(context);
+        histogramFor(shape).record(nanos);
+
+        String arguments = null;
+        if (nanos > slowestFloorNanos && slowestSize > 0) {
+            arguments = String.valueOf(context.getBinding());
+            offerSlowest(new SlowStatement(shape, context.getRenderedSql(), arguments, Duration.ofNanos(nanos),
+                context.getExecutionMoment()));
+        }
+
+        if (nanos >= thresholdNanos) {
+            long count = slowCount.incrementAndGet();
+            if (LOG.isWarnEnabled() && count % logEvery == 0) {
+                LOG.warn("Slow statement took {} ms{}: {} arguments: {}",
+                    nanos / 1_000_000,
+                    ex == null ? "" : " and failed",
+                    context.getRenderedSql(),
+                    arguments == null ? context.getBinding() : arguments);
+            }
+        }
+    }
+
+    private static String shapeOf(StatementContext context) {
+        ParsedSql parsed = context.getParsedSql();
+        if (parsed != null) {
+            return parsed.getSql();
+        }
+        String rendered = context.getRenderedSql();
+        return rendered == null ? String.valueOf(context.getRawSql()) : rendered;
+    }
+
+    private LatencyHistogram histogramFor(String shape) {
+        LatencyHistogram histogram = histograms.get(shape);
+        if (histogram != null) {
+            return histogram;
+        }
+        if (histograms.size() >= maxShapes) {
+            return histograms.computeIfAbsent(OTHER_SHAPE, s -> new LatencyHistogram());
+        }
+        return histograms.computeIfAbsent(shape, s -> new LatencyHistogram());
+    }
+
+    private void offerSlowest(SlowStatement statement) {
+        synchronized (slowestLock) {
+            slowest.add(statement);
+            while (slowest.size() > slowestSize) {
+                slowest.poll();
+            }
+            updateSlowestFloor();
+        }
+    }
+
+    private void updateSlowestFloor() {
+        slowestFloorNanos = slowest.size() < slowestSize || slowest.isEmpty() ? -1 : slowest.peek().getElapsed().toNanos();
+    }
+
+    /**
+     * @return a copy of the latency histograms, by statement shape
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(new HashMap<>(histograms));
+    }
+
+    /**
+     * @param shape the statement shape
+     * @return the latency histogram of the shape, or null if no statement of the shape was recorded
+     */
+    public LatencyHistogram getHistogram(String shape) {
+        return histograms.get(shape);
+    }
+
+    /**
+     * @return the slowest statements recorded, slowest first
+     */
+    public List<SlowStatement> getSlowest() {
+        List<SlowStatement> result;
+        synchronized (slowestLock) {
+            result = new ArrayList<>(slowest);
+        }
+        result.sort(BY_ELAPSED.reversed());
+        return result;
+    }
+
+    /**
+     * @return the number of statements slower than the threshold, whether logged or not
+     */
+    public long getSlowCount() {
+        return slowCount.get();
+    }
+
+    /**
+     * Discards all histograms, slowest statements and counts.
+     */
+    public void reset() {
+        histograms.clear();
+        slowCount.set(0);
+        synchronized (slowestLock) {
+            slowest.clear();
+            updateSlowestFloor();
+        }
+    }
+
+    /**
+     * One of the slowest statements recorded by a {@link SlowQueryLogger}.
+     */
+    @SuppressWarnings("PMD.DataClass")
+    public static final class SlowStatement {
+        private final String shape;
+        private final String sql;
+        private final String arguments;
+        private final Duration elapsed;
+        private final Instant executed;
+
+        SlowStatement(String shape, String sql, String arguments, Duration elapsed, Instant executed) {
+            this.shape = shape;
+            this.sql = sql;
+            this.arguments = arguments;
+            this.elapsed = elapsed;
+            this.executed = executed;
+        }
+
+        /**
+         * @return the statement shape
+         */
+        public String getShape() {
+            return shape;
+        }
+
+        /**
+         * @return the rendered SQL
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * @return the bound arguments, as text
+         */
+        public String getArguments() {
+            return arguments;
+        }
+
+        /**
+         * @return how long the statement took
+         */
+        public Duration getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * @return when the statement was executed
+         */
+        public Instant getExecuted() {
+            return executed;
+        }
+
+        @Override
+        public String toString() {
+            return "SlowStatement{" + elapsed.toMillis() + " ms: " + sql + " arguments: " + arguments + "}";
+        }
+    }
+}
@@ -16,25 +16,38 @@ package org.jdbi.v3.core.statement;
 import java.sql.SQLException;
 import java.time.Instant;
 
+import org.jdbi.v3.core.internal.JdbiFlightRecorder;
+
 class SqlLoggerUtil {
     private SqlLoggerUtil() {
         throw new UnsupportedOperationException("utility class");
     }
 
     static <T> T wrap(SqlLoggable<T> r, StatementContext ctx, SqlLogger logger) throws SQLException {
+        // statements begin their event before they are prepared, batches when they execute
+        JdbiFlightRecorder.FlightEvent event = ctx.getStatementEvent();
+        if (event == null) {
+            event = JdbiFlightRecorder.beginStatement();
+        }
+        ctx.setStatementEvent(null);
         try {
             ctx.setExecutionMoment(Instant.now());
             logger.logBeforeExecution(ctx);
+            ctx.setExecutionNanoTime(System.nanoTime());
 
-            T result = r.invoke();
+            final T result = r.invoke();
 
+            ctx.setEndNanoTime(System.nanoTime());
             ctx.setCompletionMoment(Instant.now());
             logger.logAfterExecution(ctx);
+            JdbiFlightRecorder.statementExecuted(event, ctx, false);
 
             return result;
         } catch (SQLException e) {
+            ctx.setEndNanoTime(System.nanoTime());
             ctx.setExceptionMoment(Instant.now());
             logger.logException(ctx, e);
+            JdbiFlightRecorder.statementExecuted(event, ctx, true);
             throw e;
         }
     }
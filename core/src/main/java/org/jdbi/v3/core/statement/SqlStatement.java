@@ -45,9 +45,12 @@ import org.jdbi.v3.core.argument.NullArgument;
 import org.jdbi.v3.core.argument.ObjectArgument;
 import org.jdbi.v3.core.argument.ObjectFieldArguments;
 import org.jdbi.v3.core.argument.ObjectMethodArguments;
+import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.generic.GenericType;
+import org.jdbi.v3.core.internal.JdbiFlightRecorder;
 import org.jdbi.v3.core.mapper.Mappers;
 import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.meta.Beta;
 
 import static java.util.stream.Collectors.joining;
 
@@ -67,7 +70,13 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
 
     SqlStatement(Handle handle,
                  String sql) {
-        super(handle);
+        this(handle, handle.getConfig(), sql);
+    }
+
+    SqlStatement(Handle handle,
+                 ConfigRegistry config,
+                 String sql) {
+        super(handle, config);
 
         this.handle = handle;
         this.sql = sql;
@@ -1037,7 +1046,7 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
     }
 
     private Argument toArgument(Type type, Object value) {
-        Argument arg = getConfig(Arguments.class).findFor(type, value)
+        Argument arg = getConfig().read(Arguments.class).findFor(type, value)
             .orElseThrow(() -> factoryNotFound(type, value));
 
         try {
@@ -1196,7 +1205,7 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
             if (i > 0) {
                 names.append(',');
             }
-            String paramName = getConfig().get(SqlStatements.class).getSqlParser().nameParameter(name, getContext());
+            String paramName = getConfig().read(SqlStatements.class).getSqlParser().nameParameter(name, getContext());
             names.append(paramName);
 
             bind(name, values.get(i));
@@ -1396,18 +1405,95 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
         return define(key, value);
     }
 
-    PreparedStatement internalExecute() {
-        String renderedSql = getConfig(SqlStatements.class)
-                .getTemplateEngine()
-                .render(sql, getContext());
+    /**
+     * Renders and parses this statement's SQL, and creates a JDBC statement for it through the handle's
+     * {@link StatementBuilder}, without binding or executing anything. The JDBC statement is returned to the statement
+     * builder straight away, so a caching statement builder keeps it prepared for later executions.
+     * <p>
+     * Statements whose template cannot be rendered with the attributes defined so far are skipped.
+     * </p>
+     *
+     * @return whether the statement was prepared
+     * @throws UnableToCreateStatementException if the statement could not be parsed or prepared
+     */
+    @Beta
+    public boolean warmUp() {
+        String renderedSql;
+        try {
+            renderedSql = getConfig().read(SqlStatements.class)
+                    .getTemplateEngine()
+                    .render(sql, getContext());
+        } catch (RuntimeException e) {
+            return false;
+        }
         getContext().setRenderedSql(renderedSql);
 
-        ParsedSql parsedSql = getConfig(SqlStatements.class)
+        ParsedSql parsedSql = getConfig().read(SqlStatements.class)
                 .getSqlParser()
                 .parse(renderedSql, getContext());
-        String sql = parsedSql.getSql();
         getContext().setParsedSql(parsedSql);
 
+        StatementBuilder builder = handle.getStatementBuilder();
+        try {
+            PreparedStatement prepared = getClass().isAssignableFrom(Call.class)
+                    ? builder.createCall(handle.getConnection(), parsedSql.getSql(), getContext())
+                    : builder.create(handle.getConnection(), parsedSql.getSql(), getContext());
+            builder.close(handle.getConnection(), this.sql, prepared);
+        } catch (SQLException e) {
+            throw new UnableToCreateStatementException(e, getContext());
+        }
+        return true;
+    }
+
+    PreparedStatement internalExecute() {
+        final long prepareStart = beginStatementEvent();
+        ParsedSql parsedSql = renderAndParse();
+        return internalExecute(parsedSql,
+            stmt -> ArgumentBinder.bind(parsedSql.getParameters(), getBinding(), stmt, getContext()),
+            prepareStart);
+    }
+
+    /**
+     * Begins the flight recorder event of the next execution, if statement events are recorded.
+     *
+     * @return the {@link System#nanoTime()} preparation starts at, or 0 if it is not recorded
+     */
+    long beginStatementEvent() {
+        JdbiFlightRecorder.FlightEvent event = JdbiFlightRecorder.beginStatement();
+        getContext().setStatementEvent(event);
+        return event == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Renders and parses this statement's SQL, and sets the rendered and parsed SQL on the statement context.
+     *
+     * @return the parsed SQL
+     */
+    ParsedSql renderAndParse() {
+        SqlStatements statements = getConfig().read(SqlStatements.class);
+        String renderedSql = statements.getTemplateEngine().render(sql, getContext());
+        getContext().setRenderedSql(renderedSql);
+
+        ParsedSql parsedSql = statements.getSqlParser()
+                .parse(renderedSql, getContext());
+        getContext().setParsedSql(parsedSql);
+        return parsedSql;
+    }
+
+    /**
+     * Executes the statement for SQL already {@link #renderAndParse() rendered and parsed}.
+     *
+     * @param parsedSql    the parsed SQL
+     * @param binder       binds the parameters to the JDBC statement
+     * @param prepareStart the {@link #beginStatementEvent() time} rendering started at, or 0 if it is not recorded
+     * @return the executed JDBC statement
+     */
+    PreparedStatement internalExecute(ParsedSql parsedSql, ParameterBinder binder, long prepareStart) {
+        final boolean recordPrepare = prepareStart != 0;
+        String sql = parsedSql.getSql();
+        SqlStatements statements = getConfig().read(SqlStatements.class);
+        statements.recordExecution(getHandle(), getContext());
+
         try {
             if (getClass().isAssignableFrom(Call.class)) {
                 stmt = handle.getStatementBuilder().createCall(handle.getConnection(), sql, getContext());
@@ -1418,21 +1504,28 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
             // The statement builder might (or might not) clean up the statement when called. E.g. the
             // caching statement builder relies on the statement *not* being closed.
             addCleanable(() -> handle.getStatementBuilder().close(handle.getConnection(), this.sql, stmt));
-            getConfig(SqlStatements.class).customize(stmt);
+            statements.customize(stmt);
         } catch (SQLException e) {
             throw new UnableToCreateStatementException(e, getContext());
         }
 
         getContext().setStatement(stmt);
+        if (recordPrepare) {
+            JdbiFlightRecorder.statementPrepared(getContext().getStatementEvent(), System.nanoTime() - prepareStart);
+        }
 
         beforeBinding(stmt);
 
-        ArgumentBinder.bind(parsedSql.getParameters(), getBinding(), stmt, getContext());
+        try {
+            binder.bind(stmt);
+        } catch (SQLException e) {
+            throw new UnableToExecuteStatementException("Exception while binding parameters", e, getContext());
+        }
 
         beforeExecution(stmt);
 
         try {
-            SqlLoggerUtil.wrap(stmt::execute, getContext(), getConfig(SqlStatements.class).getSqlLogger());
+            SqlLoggerUtil.wrap(stmt::execute, getContext(), statements.getSqlLogger());
         } catch (SQLException e) {
             try {
                 stmt.close();
@@ -1444,6 +1537,7 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
         }
 
         afterExecution(stmt);
+        invalidateCachedResults(getContext().getRenderedSql());
 
         return stmt;
     }
@@ -1459,7 +1553,15 @@ public abstract class SqlStatement<This extends SqlStatement<This>> extends Base
     }
 
     RowMapper<?> mapperForType(Type type) {
-        return getConfig(Mappers.class).findFor(type)
+        return getConfig().read(Mappers.class).findFor(type)
             .orElseThrow(() -> new UnsupportedOperationException("No mapper registered for " + type));
     }
+
+    /**
+     * Binds the parameters of a statement.
+     */
+    @FunctionalInterface
+    interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
 }
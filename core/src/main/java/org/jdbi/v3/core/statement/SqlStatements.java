@@ -22,6 +22,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.annotation.Nullable;
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.config.JdbiConfig;
 import org.jdbi.v3.meta.Beta;
 
@@ -34,7 +35,9 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
     private TemplateEngine templateEngine;
     private SqlParser sqlParser;
     private SqlLogger sqlLogger;
+    private RepeatedStatementDetector repeatedStatementDetector;
     private Integer queryTimeout;
+    private Integer streamingFetchSize;
     private boolean allowUnusedBindings;
     private final Collection<StatementCustomizer> customizers = new CopyOnWriteArrayList<>();
 
@@ -51,7 +54,9 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
         this.templateEngine = that.templateEngine;
         this.sqlParser = that.sqlParser;
         this.sqlLogger = that.sqlLogger;
+        this.repeatedStatementDetector = that.repeatedStatementDetector;
         this.queryTimeout = that.queryTimeout;
+        this.streamingFetchSize = that.streamingFetchSize;
         this.allowUnusedBindings = that.allowUnusedBindings;
         this.customizers.addAll(that.customizers);
     }
@@ -194,6 +199,23 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
         return this;
     }
 
+    @Beta
+    public RepeatedStatementDetector getRepeatedStatementDetector() {
+        return repeatedStatementDetector;
+    }
+
+    /**
+     * Sets a detector of statements executed repeatedly on one handle, i.e. N+1 query patterns. Disabled by default.
+     *
+     * @param repeatedStatementDetector the detector, or null to disable detection
+     * @return this
+     */
+    @Beta
+    public SqlStatements setRepeatedStatementDetector(@Nullable RepeatedStatementDetector repeatedStatementDetector) {
+        this.repeatedStatementDetector = repeatedStatementDetector;
+        return this;
+    }
+
     @Beta
     public Integer getQueryTimeout() {
         return queryTimeout;
@@ -213,6 +235,30 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
         return this;
     }
 
+    @Beta
+    public Integer getStreamingFetchSize() {
+        return streamingFetchSize;
+    }
+
+    /**
+     * Enables streaming of {@link Query} results through a server side cursor. Many drivers (e.g. PostgreSQL) buffer
+     * the entire result set in memory unless a fetch size is set <em>and</em> the connection is not in auto-commit mode.
+     * When streaming is enabled, queries set the given fetch size on their statement, and if the handle is not already
+     * in a transaction, one is started before the query executes and committed when the query's results are closed
+     * (e.g. when the {@link org.jdbi.v3.core.result.ResultIterator} or stream is closed or exhausted).
+     *
+     * @param fetchSize the number of rows to fetch from the cursor at a time; null to disable streaming
+     * @return this
+     */
+    @Beta
+    public SqlStatements setStreamingFetchSize(@Nullable Integer fetchSize) {
+        if (fetchSize != null && fetchSize <= 0) {
+            throw new IllegalArgumentException("streamingFetchSize must be > 0");
+        }
+        this.streamingFetchSize = fetchSize;
+        return this;
+    }
+
     public boolean isUnusedBindingAllowed() {
         return allowUnusedBindings;
     }
@@ -227,6 +273,12 @@ public final class SqlStatements implements JdbiConfig<SqlStatements> {
         return this;
     }
 
+    void recordExecution(Handle handle, StatementContext ctx) {
+        if (repeatedStatementDetector != null) {
+            repeatedStatementDetector.record(handle, ctx);
+        }
+    }
+
     void customize(Statement statement) throws SQLException {
         if (queryTimeout != null) {
             statement.setQueryTimeout(queryTimeout);
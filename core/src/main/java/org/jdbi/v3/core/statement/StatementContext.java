@@ -43,11 +43,13 @@ import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.config.JdbiConfig;
 import org.jdbi.v3.core.extension.ExtensionMethod;
 import org.jdbi.v3.core.generic.GenericType;
+import org.jdbi.v3.core.internal.JdbiFlightRecorder;
 import org.jdbi.v3.core.mapper.ColumnMapper;
 import org.jdbi.v3.core.mapper.ColumnMappers;
 import org.jdbi.v3.core.mapper.Mappers;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.mapper.RowMappers;
+import org.jdbi.v3.meta.Beta;
 
 import static java.util.Objects.requireNonNull;
 
@@ -78,6 +80,8 @@ public class StatementContext implements Closeable {
     private boolean concurrentUpdatable = false;
 
     private Instant executionMoment, completionMoment, exceptionMoment;
+    private long executionNanoTime, endNanoTime;
+    private JdbiFlightRecorder.FlightEvent statementEvent;
 
     StatementContext() {
         this(new ConfigRegistry());
@@ -116,7 +120,7 @@ public class StatementContext implements Closeable {
      * @return the defined attributes.
      */
     public Map<String, Object> getAttributes() {
-        return getConfig(SqlStatements.class).getAttributes();
+        return config.read(SqlStatements.class).getAttributes();
     }
 
     /**
@@ -126,7 +130,7 @@ public class StatementContext implements Closeable {
      * @return the value of the attribute
      */
     public Object getAttribute(String key) {
-        return getConfig(SqlStatements.class).getAttribute(key);
+        return config.read(SqlStatements.class).getAttribute(key);
     }
 
     /**
@@ -147,14 +151,14 @@ public class StatementContext implements Closeable {
      * @return an Argument for the given value.
      */
     public Optional<Argument> findArgumentFor(Type type, Object value) {
-        return getConfig(Arguments.class).findFor(type, value);
+        return config.read(Arguments.class).findFor(type, value);
     }
 
     /**
      * @return the strategy used to bind array-type arguments to SQL statements
      */
     public SqlArrayArgumentStrategy getSqlArrayArgumentStrategy() {
-        return getConfig(SqlArrayTypes.class).getArgumentStrategy();
+        return config.read(SqlArrayTypes.class).getArgumentStrategy();
     }
 
     /**
@@ -164,7 +168,7 @@ public class StatementContext implements Closeable {
      * @return an {@link SqlArrayType} for the given element type.
      */
     public Optional<SqlArrayType<?>> findSqlArrayTypeFor(Type elementType) {
-        return getConfig(SqlArrayTypes.class).findFor(elementType);
+        return config.read(SqlArrayTypes.class).findFor(elementType);
     }
 
     /**
@@ -176,7 +180,7 @@ public class StatementContext implements Closeable {
      * is registered for the given type.
      */
     public <T> Optional<RowMapper<T>> findMapperFor(Class<T> type) {
-        return getConfig(Mappers.class).findFor(type);
+        return config.read(Mappers.class).findFor(type);
     }
 
     /**
@@ -188,7 +192,7 @@ public class StatementContext implements Closeable {
      * is registered for the given type.
      */
     public <T> Optional<RowMapper<T>> findMapperFor(GenericType<T> type) {
-        return getConfig(Mappers.class).findFor(type);
+        return config.read(Mappers.class).findFor(type);
     }
 
     /**
@@ -199,7 +203,7 @@ public class StatementContext implements Closeable {
      * is registered for the given type.
      */
     public Optional<RowMapper<?>> findMapperFor(Type type) {
-        return getConfig(Mappers.class).findFor(type);
+        return config.read(Mappers.class).findFor(type);
     }
 
     /**
@@ -210,7 +214,7 @@ public class StatementContext implements Closeable {
      * @return a ColumnMapper for the given type, or empty if no column mapper is registered for the given type.
      */
     public <T> Optional<ColumnMapper<T>> findColumnMapperFor(Class<T> type) {
-        return getConfig(ColumnMappers.class).findFor(type);
+        return config.read(ColumnMappers.class).findFor(type);
     }
 
     /**
@@ -221,7 +225,7 @@ public class StatementContext implements Closeable {
      * @return a ColumnMapper for the given type, or empty if no column mapper is registered for the given type.
      */
     public <T> Optional<ColumnMapper<T>> findColumnMapperFor(GenericType<T> type) {
-        return getConfig(ColumnMappers.class).findFor(type);
+        return config.read(ColumnMappers.class).findFor(type);
     }
 
     /**
@@ -231,7 +235,7 @@ public class StatementContext implements Closeable {
      * @return a ColumnMapper for the given type, or empty if no column mapper is registered for the given type.
      */
     public Optional<ColumnMapper<?>> findColumnMapperFor(Type type) {
-        return getConfig(ColumnMappers.class).findFor(type);
+        return config.read(ColumnMappers.class).findFor(type);
     }
 
     /**
@@ -241,7 +245,7 @@ public class StatementContext implements Closeable {
      * @return a RowMapper for the given type, or empty if no row mapper is registered for the given type.
      */
     public Optional<RowMapper<?>> findRowMapperFor(Type type) {
-        return getConfig(RowMappers.class).findFor(type);
+        return config.read(RowMappers.class).findFor(type);
     }
 
     /**
@@ -252,7 +256,7 @@ public class StatementContext implements Closeable {
      * @return a RowMapper for the given type, or empty if no row mapper is registered for the given type.
      */
     public <T> Optional<RowMapper<T>> findRowMapperFor(Class<T> type) {
-        return getConfig(RowMappers.class).findFor(type);
+        return config.read(RowMappers.class).findFor(type);
     }
 
     /**
@@ -263,7 +267,7 @@ public class StatementContext implements Closeable {
      * @return a RowMapper for the given type, or empty if no row mapper is registered for the given type.
      */
     public <T> Optional<RowMapper<T>> findRowMapperFor(GenericType<T> type) {
-        return getConfig(RowMappers.class).findFor(type);
+        return config.read(RowMappers.class).findFor(type);
     }
 
     /**
@@ -273,7 +277,7 @@ public class StatementContext implements Closeable {
      * @return a Collector for the given container type, or empty null if no collector is registered for the given type.
      */
     public Optional<Collector<?, ?, ?>> findCollectorFor(Type containerType) {
-        return getConfig(JdbiCollectors.class).findFor(containerType);
+        return config.read(JdbiCollectors.class).findFor(containerType);
     }
 
     /**
@@ -283,7 +287,7 @@ public class StatementContext implements Closeable {
      * @return the element type for the given container type, if available.
      */
     public Optional<Type> findElementTypeFor(Type containerType) {
-        return getConfig(JdbiCollectors.class).findElementTypeFor(containerType);
+        return config.read(JdbiCollectors.class).findElementTypeFor(containerType);
     }
 
     StatementContext setRawSql(String rawSql) {
@@ -469,6 +473,34 @@ public class StatementContext implements Closeable {
         return unit.between(executionMoment, completionMoment == null ? exceptionMoment : completionMoment);
     }
 
+    /**
+     * Returns the time between the start of query execution and its completion or exception as appropriate, measured
+     * with {@link System#nanoTime()}: unlike {@link #getElapsedTime(ChronoUnit)}, not limited to the resolution of
+     * the system clock. Do not call before a query has executed/exploded.
+     *
+     * @return the elapsed time, in nanoseconds
+     */
+    @Beta
+    public long getElapsedNanos() {
+        return endNanoTime - executionNanoTime;
+    }
+
+    void setExecutionNanoTime(long executionNanoTime) {
+        this.executionNanoTime = executionNanoTime;
+    }
+
+    void setEndNanoTime(long endNanoTime) {
+        this.endNanoTime = endNanoTime;
+    }
+
+    JdbiFlightRecorder.FlightEvent getStatementEvent() {
+        return statementEvent;
+    }
+
+    void setStatementEvent(JdbiFlightRecorder.FlightEvent statementEvent) {
+        this.statementEvent = statementEvent;
+    }
+
     /**
      * Registers a {@code Cleanable} to be invoked when the statement context is closed. Cleanables can be registered
      * on a statement context, which will be cleaned up when
@@ -512,4 +544,31 @@ public class StatementContext implements Closeable {
     public ExtensionMethod getExtensionMethod() {
         return extensionMethod;
     }
+
+    /**
+     * Returns a copy of this context for another thread to use while this context is in use, e.g. to map rows
+     * concurrently. The copy describes the same statement, but has a copy of this context's configuration and
+     * cleanables of its own, so it must be closed separately.
+     *
+     * @return a copy of this context
+     */
+    @Beta
+    public StatementContext createCopy() {
+        StatementContext copy = new StatementContext(config.createCopy(), extensionMethod);
+        copy.rawSql = rawSql;
+        copy.renderedSql = renderedSql;
+        copy.parsedSql = parsedSql;
+        copy.statement = statement;
+        copy.connection = connection;
+        copy.binding = binding;
+        copy.returningGeneratedKeys = returningGeneratedKeys;
+        copy.generatedKeysColumnNames = generatedKeysColumnNames;
+        copy.concurrentUpdatable = concurrentUpdatable;
+        copy.executionMoment = executionMoment;
+        copy.completionMoment = completionMoment;
+        copy.exceptionMoment = exceptionMoment;
+        copy.executionNanoTime = executionNanoTime;
+        copy.endNanoTime = endNanoTime;
+        return copy;
+    }
 }
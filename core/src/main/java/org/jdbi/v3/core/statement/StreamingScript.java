@@ -0,0 +1,158 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.internal.ReaderCharStream;
+import org.jdbi.v3.core.internal.SqlScriptParser;
+import org.jdbi.v3.meta.Beta;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Script} read from a {@link Reader} or a file, which is split into statements while it is read, and
+ * executed in batches of bounded size, so large scripts neither have to fit in memory nor be read completely before
+ * the first statement executes.
+ * <p>
+ * Unlike a {@link Script}, the script as a whole is not rendered by the template engine; each batch of statements is
+ * rendered like any other {@link Batch}, with the configuration and attributes {@link #define(String, Object) defined}
+ * on this script. Since the batches execute one after another, a failing statement does not
+ * roll back the batches executed before it, unless the script is executed in a transaction.
+ * </p>
+ */
+@Beta
+public class StreamingScript extends BaseStatement<StreamingScript> {
+    private final Reader reader;
+    private final Path path;
+    private int batchSize = 1000;
+
+    /**
+     * @param handle the handle to execute the script on
+     * @param reader the script, which is not closed by this script
+     */
+    public StreamingScript(Handle handle, Reader reader) {
+        this(handle, requireNonNull(reader, "null reader"), null);
+    }
+
+    /**
+     * @param handle the handle to execute the script on
+     * @param path   the UTF-8 encoded script file
+     */
+    public StreamingScript(Handle handle, Path path) {
+        this(handle, null, requireNonNull(path, "null path"));
+    }
+
+    private StreamingScript(Handle handle, Reader reader, Path path) {
+        super(handle);
+        this.reader = reader;
+        this.path = path;
+    }
+
+    /**
+     * Sets how many statements are executed in one batch by {@link #execute()}. Defaults to 1000.
+     *
+     * @param batchSize the number of statements per batch
+     * @return this
+     */
+    public StreamingScript setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be > 0");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Execute this script in batch statements of at most {@link #setBatchSize(int) batchSize} statements each.
+     *
+     * @return the number of statements executed
+     */
+    public long execute() {
+        try {
+            List<String> batch = new ArrayList<>();
+            long count = forEachStatement(statement -> {
+                batch.add(statement);
+                if (batch.size() >= batchSize) {
+                    executeBatch(batch);
+                }
+            });
+            executeBatch(batch);
+            return count;
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Execute this script as a set of separate statements
+     *
+     * @return the number of statements executed
+     */
+    public long executeAsSeparateStatements() {
+        try {
+            return forEachStatement(statement -> new Update(getHandle(), getConfig(), statement).execute());
+        } finally {
+            close();
+        }
+    }
+
+    private void executeBatch(List<String> statements) {
+        if (statements.isEmpty()) {
+            return;
+        }
+        Batch b = new Batch(getHandle(), getConfig());
+        statements.forEach(b::add);
+        b.execute();
+        statements.clear();
+    }
+
+    private long forEachStatement(Consumer<String> action) {
+        if (path == null) {
+            return forEachStatement(reader, action);
+        }
+        try (Reader fileReader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return forEachStatement(fileReader, action);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read script " + path, e);
+        }
+    }
+
+    private static long forEachStatement(Reader reader, Consumer<String> action) {
+        AtomicLong count = new AtomicLong();
+        Consumer<String> trimmed = statement -> {
+            String trimmedStatement = statement.trim();
+            if (!trimmedStatement.isEmpty()) {
+                count.incrementAndGet();
+                action.accept(trimmedStatement);
+            }
+        };
+        String lastStatement = new SqlScriptParser((t, sb) -> {
+            trimmed.accept(sb.toString());
+            sb.setLength(0);
+        }).parse(new ReaderCharStream(reader));
+        trimmed.accept(lastStatement);
+        return count.get();
+    }
+}
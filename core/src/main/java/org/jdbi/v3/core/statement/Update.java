@@ -20,6 +20,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.result.ResultProducer;
 import org.jdbi.v3.core.result.ResultBearing;
 import org.jdbi.v3.core.result.UnableToProduceResultException;
@@ -32,6 +33,10 @@ public class Update extends SqlStatement<Update> {
         super(handle, sql);
     }
 
+    Update(Handle handle, ConfigRegistry config, String sql) {
+        super(handle, config, sql);
+    }
+
     /**
      * Executes the statement, returning the update count.
      *
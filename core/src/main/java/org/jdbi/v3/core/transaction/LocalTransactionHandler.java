@@ -27,125 +27,66 @@ import org.jdbi.v3.core.HandleCallback;
  * This <code>TransactionHandler</code> uses local JDBC transactions
  * demarcated explicitly on the handle and passed through to be handled
  * directly on the JDBC Connection instance.
+ * <p>
+ * Each handle gets its own {@link #specialize(Handle) specialized} handler, which keeps the handle's transaction
+ * state in plain fields. Used without specializing, e.g. by subclasses, the state of all handles is kept in a
+ * concurrent map.
+ * </p>
  */
 public class LocalTransactionHandler implements TransactionHandler {
-    private final ConcurrentHashMap<Handle, LocalStuff> localStuff = new ConcurrentHashMap<>();
-    private final ThreadLocal<Boolean> didTxnRollback = ThreadLocal.withInitial(() -> false);
+    private final Map<Handle, BoundLocalTransactionHandler> bound = new ConcurrentHashMap<>();
 
     @Override
     public void begin(Handle handle) {
-        try {
-            if (!localStuff.containsKey(handle)) {
-                boolean initial = handle.getConnection().getAutoCommit();
-                localStuff.putIfAbsent(handle, new LocalStuff(initial));
-                handle.getConnection().setAutoCommit(false);
-            }
-        } catch (SQLException e) {
-            throw new TransactionException("Failed to start transaction", e);
-        }
+        boundFor(handle).begin(handle);
     }
 
     @Override
     public void commit(Handle handle) {
         try {
-            handle.getConnection().commit();
-        } catch (SQLException e) {
-            throw new TransactionException("Failed to commit transaction", e);
+            boundFor(handle).commit(handle);
         } finally {
-            restoreAutoCommitState(handle);
+            bound.remove(handle);
         }
     }
 
     @Override
     public void rollback(Handle handle) {
-        didTxnRollback.set(true);
         try {
-            handle.getConnection().rollback();
-        } catch (SQLException e) {
-            throw new TransactionException("Failed to rollback transaction", e);
+            boundFor(handle).rollback(handle);
         } finally {
-            restoreAutoCommitState(handle);
+            bound.remove(handle);
         }
     }
 
     @Override
     public void savepoint(Handle handle, String name) {
-        @SuppressWarnings("PMD.CloseResource")
-        final Connection conn = handle.getConnection();
-        try {
-            final Savepoint savepoint = conn.setSavepoint(name);
-            localStuff.get(handle).getSavepoints().put(name, savepoint);
-        } catch (SQLException e) {
-            throw new TransactionException(String.format("Unable to create savepoint '%s'", name), e);
-        }
+        boundFor(handle).savepoint(handle, name);
     }
 
     @Override
     public void releaseSavepoint(Handle handle, String name) {
-        @SuppressWarnings("PMD.CloseResource")
-        final Connection conn = handle.getConnection();
-        try {
-            final Savepoint savepoint = localStuff.get(handle).getSavepoints().remove(name);
-            if (savepoint == null) {
-                throw new TransactionException(String.format("Attempt to release non-existent savepoint, '%s'",
-                                                             name));
-            }
-            conn.releaseSavepoint(savepoint);
-        } catch (SQLException e) {
-            throw new TransactionException(String.format("Unable to create savepoint %s", name), e);
-        }
+        boundFor(handle).releaseSavepoint(handle, name);
     }
 
     @Override
     public void rollbackToSavepoint(Handle handle, String name) {
-        @SuppressWarnings("PMD.CloseResource")
-        final Connection conn = handle.getConnection();
-        try {
-            final Savepoint savepoint = localStuff.get(handle).getSavepoints().remove(name);
-            if (savepoint == null) {
-                throw new TransactionException(String.format("Attempt to rollback to non-existent savepoint, '%s'",
-                                                             name));
-            }
-            conn.rollback(savepoint);
-        } catch (SQLException e) {
-            throw new TransactionException(String.format("Unable to create savepoint %s", name), e);
-        }
+        boundFor(handle).rollbackToSavepoint(handle, name);
     }
 
     @Override
     public boolean isInTransaction(Handle handle) {
-        try {
-            return !handle.getConnection().getAutoCommit();
-        } catch (SQLException e) {
-            throw new TransactionException("Failed to test for transaction status", e);
-        }
+        return isAutoCommitOff(handle);
     }
 
     @Override
     public <R, X extends Exception> R inTransaction(Handle handle,
                                                     HandleCallback<R, X> callback) throws X {
-        if (isInTransaction(handle)) {
-            throw new IllegalStateException("Already in transaction");
-        }
-        didTxnRollback.set(false);
-        final R returnValue;
         try {
-            handle.begin();
-            returnValue = callback.withHandle(handle);
-            if (!didTxnRollback.get()) {
-                handle.commit();
-            }
-        } catch (Exception e) {
-            try {
-                handle.rollback();
-            } catch (Exception rollback) {
-                e.addSuppressed(rollback);
-            }
-            throw e;
+            return boundFor(handle).inTransaction(handle, callback);
+        } finally {
+            bound.remove(handle);
         }
-
-        didTxnRollback.remove();
-        return returnValue;
     }
 
     @Override
@@ -161,35 +102,166 @@ public class LocalTransactionHandler implements TransactionHandler {
         }
     }
 
-    private void restoreAutoCommitState(final Handle handle) {
+    @Override
+    public TransactionHandler specialize(Handle handle) {
+        // subclasses may override any method, so only this class can be specialized safely
+        return getClass() == LocalTransactionHandler.class ? new BoundLocalTransactionHandler() : this;
+    }
+
+    private BoundLocalTransactionHandler boundFor(Handle handle) {
+        return bound.computeIfAbsent(handle, h -> new BoundLocalTransactionHandler());
+    }
+
+    private static boolean isAutoCommitOff(Handle handle) {
         try {
-            final LocalStuff stuff = localStuff.remove(handle);
-            if (stuff != null) {
-                handle.getConnection().setAutoCommit(stuff.getInitialAutocommit());
-                stuff.getSavepoints().clear();
-            }
+            return !handle.getConnection().getAutoCommit();
         } catch (SQLException e) {
-            throw new UnableToRestoreAutoCommitStateException(e);
-        } finally {
-            // prevent memory leak if rollback throws an exception
-            localStuff.remove(handle);
+            throw new TransactionException("Failed to test for transaction status", e);
         }
     }
 
-    private static class LocalStuff {
+    /**
+     * Local transaction handler for a single handle.
+     */
+    private static final class BoundLocalTransactionHandler implements TransactionHandler {
         private final Map<String, Savepoint> savepoints = new HashMap<>();
-        private final boolean initialAutocommit;
+        private Boolean initialAutocommit;
+        private boolean didTxnRollback;
+
+        @Override
+        public void begin(Handle handle) {
+            try {
+                if (initialAutocommit == null) {
+                    initialAutocommit = handle.getConnection().getAutoCommit();
+                    handle.getConnection().setAutoCommit(false);
+                }
+            } catch (SQLException e) {
+                throw new TransactionException("Failed to start transaction", e);
+            }
+        }
+
+        @Override
+        public void commit(Handle handle) {
+            try {
+                handle.getConnection().commit();
+            } catch (SQLException e) {
+                throw new TransactionException("Failed to commit transaction", e);
+            } finally {
+                restoreAutoCommitState(handle);
+            }
+        }
 
-        LocalStuff(boolean initial) {
-            this.initialAutocommit = initial;
+        @Override
+        public void rollback(Handle handle) {
+            didTxnRollback = true;
+            try {
+                handle.getConnection().rollback();
+            } catch (SQLException e) {
+                throw new TransactionException("Failed to rollback transaction", e);
+            } finally {
+                restoreAutoCommitState(handle);
+            }
         }
 
-        Map<String, Savepoint> getSavepoints() {
-            return savepoints;
+        @Override
+        public void savepoint(Handle handle, String name) {
+            @SuppressWarnings("PMD.CloseResource")
+            final Connection conn = handle.getConnection();
+            try {
+                final Savepoint savepoint = conn.setSavepoint(name);
+                savepoints.put(name, savepoint);
+            } catch (SQLException e) {
+                throw new TransactionException(String.format("Unable to create savepoint '%s'", name), e);
+            }
         }
 
-        boolean getInitialAutocommit() {
-            return initialAutocommit;
+        @Override
+        public void releaseSavepoint(Handle handle, String name) {
+            @SuppressWarnings("PMD.CloseResource")
+            final Connection conn = handle.getConnection();
+            try {
+                final Savepoint savepoint = savepoints.remove(name);
+                if (savepoint == null) {
+                    throw new TransactionException(String.format("Attempt to release non-existent savepoint, '%s'",
+                                                                 name));
+                }
+                conn.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                throw new TransactionException(String.format("Unable to create savepoint %s", name), e);
+            }
+        }
+
+        @Override
+        public void rollbackToSavepoint(Handle handle, String name) {
+            @SuppressWarnings("PMD.CloseResource")
+            final Connection conn = handle.getConnection();
+            try {
+                final Savepoint savepoint = savepoints.remove(name);
+                if (savepoint == null) {
+                    throw new TransactionException(String.format("Attempt to rollback to non-existent savepoint, '%s'",
+                                                                 name));
+                }
+                conn.rollback(savepoint);
+            } catch (SQLException e) {
+                throw new TransactionException(String.format("Unable to create savepoint %s", name), e);
+            }
+        }
+
+        @Override
+        public boolean isInTransaction(Handle handle) {
+            return isAutoCommitOff(handle);
+        }
+
+        @Override
+        public <R, X extends Exception> R inTransaction(Handle handle,
+                                                        HandleCallback<R, X> callback) throws X {
+            if (isInTransaction(handle)) {
+                throw new IllegalStateException("Already in transaction");
+            }
+            didTxnRollback = false;
+            final R returnValue;
+            try {
+                handle.begin();
+                returnValue = callback.withHandle(handle);
+                if (!didTxnRollback) {
+                    handle.commit();
+                }
+            } catch (Exception e) {
+                try {
+                    handle.rollback();
+                } catch (Exception rollback) {
+                    e.addSuppressed(rollback);
+                }
+                throw e;
+            }
+
+            return returnValue;
+        }
+
+        @Override
+        public <R, X extends Exception> R inTransaction(Handle handle,
+                                                        TransactionIsolationLevel level,
+                                                        HandleCallback<R, X> callback) throws X {
+            final TransactionIsolationLevel initial = handle.getTransactionIsolationLevel();
+            try {
+                handle.setTransactionIsolation(level);
+                return inTransaction(handle, callback);
+            } finally {
+                handle.setTransactionIsolation(initial);
+            }
+        }
+
+        private void restoreAutoCommitState(final Handle handle) {
+            try {
+                if (initialAutocommit != null) {
+                    handle.getConnection().setAutoCommit(initialAutocommit);
+                }
+            } catch (SQLException e) {
+                throw new UnableToRestoreAutoCommitStateException(e);
+            } finally {
+                initialAutocommit = null;
+                savepoints.clear();
+            }
         }
     }
 }
@@ -14,14 +14,24 @@
 package org.jdbi.v3.core.transaction;
 
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.HandleCallback;
 import org.jdbi.v3.core.config.JdbiConfig;
+import org.jdbi.v3.core.internal.JdbiFlightRecorder;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * A TransactionHandler that automatically retries transactions that fail due to
@@ -41,6 +51,16 @@ public class SerializableTransactionRunner extends DelegatingTransactionHandler
         super(delegate);
     }
 
+    @Override
+    public TransactionHandler specialize(Handle handle) {
+        // subclasses may override any method, so only this class can be specialized safely
+        if (getClass() != SerializableTransactionRunner.class) {
+            return this;
+        }
+        TransactionHandler delegate = getDelegate().specialize(handle);
+        return delegate == getDelegate() ? this : new SerializableTransactionRunner(delegate);
+    }
+
     @Override
     @SuppressWarnings("PMD.PreserveStackTrace")
     public <R, X extends Exception> R inTransaction(Handle handle,
@@ -51,6 +71,7 @@ public class SerializableTransactionRunner extends DelegatingTransactionHandler
         Deque<X> failures = new ArrayDeque<>();
         while (true) {
             try {
+                config.counters.attempts.increment();
                 R result = getDelegate().inTransaction(handle, callback);
                 config.onSuccess.accept(new ArrayList<>(failures));
                 return result;
@@ -58,7 +79,7 @@ public class SerializableTransactionRunner extends DelegatingTransactionHandler
                 X x = (X) last;
 
                 // throw immediately if the exception is unexpected
-                if (!isSqlState(config.serializationFailureSqlState, x)) {
+                if (!isRetryable(config, x)) {
                     throw last;
                 }
 
@@ -67,13 +88,17 @@ public class SerializableTransactionRunner extends DelegatingTransactionHandler
 
                 // no more attempts left? Throw ALL the exceptions! \o/
                 attempts -= 1;
-                if (attempts <= 0) {
+                if (attempts <= 0
+                        || config.retryBudget != null && !config.retryBudget.tryAcquire()
+                        || !config.backOff(failures.size(), sqlStateOf(x))) {
+                    config.counters.giveUps.increment();
                     X toThrow = failures.removeLast();
                     while (!failures.isEmpty()) {
                         toThrow.addSuppressed(failures.removeLast());
                     }
                     throw toThrow;
                 }
+                config.counters.retries.increment();
             }
         }
     }
@@ -91,6 +116,11 @@ public class SerializableTransactionRunner extends DelegatingTransactionHandler
         }
     }
 
+    private boolean isRetryable(Configuration config, Throwable throwable) {
+        return isSqlState(config.serializationFailureSqlState, throwable)
+                || config.retryableSqlStates.stream().anyMatch(state -> isSqlState(state, throwable));
+    }
+
     /**
      * @param expectedSqlState the expected SQL state
      * @param throwable the Throwable to test
@@ -112,6 +142,16 @@ public class SerializableTransactionRunner extends DelegatingTransactionHandler
         return false;
     }
 
+    private static String sqlStateOf(Throwable throwable) {
+        Throwable t = throwable;
+        do {
+            if (t instanceof SQLException && ((SQLException) t).getSQLState() != null) {
+                return ((SQLException) t).getSQLState();
+            }
+        } while ((t = t.getCause()) != null);
+        return null;
+    }
+
     /**
      * Configuration for serializable transaction runner
      */
@@ -121,7 +161,13 @@ public class SerializableTransactionRunner extends DelegatingTransactionHandler
 
         private int maxRetries = DEFAULT_MAX_RETRIES;
         private String serializationFailureSqlState = SQLSTATE_TXN_SERIALIZATION_FAILED;
+        private Set<String> retryableSqlStates = Collections.emptySet();
         private Consumer<List<Exception>> onFailure = NOP, onSuccess = NOP;
+        private Duration initialBackoff = Duration.ZERO;
+        private Duration maxBackoff = Duration.ZERO;
+        private boolean jitter = true;
+        private RetryBudget retryBudget;
+        private Counters counters = new Counters();
 
         /**
          * @param maxRetries number of retry attempts before aborting
@@ -145,6 +191,20 @@ public class SerializableTransactionRunner extends DelegatingTransactionHandler
             return this;
         }
 
+        /**
+         * Sets further SQL states, besides the serialization failure state, upon which a transaction is retried, e.g.
+         * {@code 40P01} (deadlock detected) on PostgreSQL. Like the serialization failure state, states match any SQL
+         * state they are a prefix of.
+         *
+         * @param retryableSqlStates the additional SQL states to retry
+         * @return this
+         */
+        @Beta
+        public Configuration setRetryableSqlStates(String... retryableSqlStates) {
+            this.retryableSqlStates = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(retryableSqlStates)));
+            return this;
+        }
+
         /**
          * @param onFailure consumer to handle the list of failures so far (e.g. for logging). Will not be called with an empty list, nor with any exceptions that are not the configured serialization failure — the latter will simply be thrown, aborting the operation.
          * @return this
@@ -163,13 +223,176 @@ public class SerializableTransactionRunner extends DelegatingTransactionHandler
             return this;
         }
 
+        /**
+         * Waits before retrying a failed transaction. The wait doubles with each retry, starting from
+         * {@code initialBackoff}, up to {@code maxBackoff}. By default, and whenever {@code initialBackoff} is zero,
+         * transactions are retried immediately.
+         *
+         * @param initialBackoff the wait before the first retry
+         * @param maxBackoff the longest wait before a retry
+         * @return this
+         * @see #setJitter(boolean)
+         */
+        @Beta
+        public Configuration setBackoff(Duration initialBackoff, Duration maxBackoff) {
+            if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+                throw new IllegalArgumentException("Backoff must be >= 0, and the maximum backoff >= the initial backoff.");
+            }
+
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * @param jitter whether to wait a random time between zero and the backoff before a retry (the default), so
+         *               that transactions failing together do not retry together.
+         * @return this
+         */
+        @Beta
+        public Configuration setJitter(boolean jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Limits the rate of retries across all transactions sharing this configuration, usually all transactions of
+         * a {@code Jdbi}: when the budget is exhausted, failures are thrown without retrying. Unlimited by default.
+         *
+         * @param retryBudget the retry budget, or null for no limit
+         * @return this
+         */
+        @Beta
+        public Configuration setRetryBudget(RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        /**
+         * @return the number of times a transaction was attempted, including retries
+         */
+        @Beta
+        public long getAttemptCount() {
+            return counters.attempts.sum();
+        }
+
+        /**
+         * @return the number of times a failed transaction was retried
+         */
+        @Beta
+        public long getRetryCount() {
+            return counters.retries.sum();
+        }
+
+        /**
+         * @return the number of times a retryable failure was thrown, because retries or the retry budget ran out
+         */
+        @Beta
+        public long getGiveUpCount() {
+            return counters.giveUps.sum();
+        }
+
+        /**
+         * @param retry    the number of the retry, starting from 1
+         * @param sqlState the SQL state of the failure retried
+         * @return false if interrupted while waiting
+         */
+        boolean backOff(int retry, String sqlState) {
+            final JdbiFlightRecorder.FlightEvent event = JdbiFlightRecorder.beginTransactionRetry();
+            if (initialBackoff.isZero()) {
+                JdbiFlightRecorder.transactionRetry(event, retry, sqlState, 0);
+                return true;
+            }
+            int shift = Math.min(retry - 1, Long.SIZE - 1);
+            long initial = initialBackoff.toNanos();
+            long max = maxBackoff.toNanos();
+            // initial << shift would exceed max, or overflow
+            long backoff = initial > (max >> shift) ? max : initial << shift;
+            if (jitter) {
+                backoff = ThreadLocalRandom.current().nextLong(backoff + 1);
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoff);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                JdbiFlightRecorder.transactionRetry(event, retry, sqlState, backoff);
+            }
+        }
+
         @Override
         public Configuration createCopy() {
-            return new Configuration()
+            Configuration copy = new Configuration()
                     .setMaxRetries(maxRetries)
                     .setSerializationFailureSqlState(serializationFailureSqlState)
                     .setOnFailure(onFailure)
-                    .setOnSuccess(onSuccess);
+                    .setOnSuccess(onSuccess)
+                    .setBackoff(initialBackoff, maxBackoff)
+                    .setJitter(jitter)
+                    .setRetryBudget(retryBudget);
+            copy.retryableSqlStates = retryableSqlStates;
+            copy.counters = counters;
+            return copy;
+        }
+    }
+
+    private static class Counters {
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder giveUps = new LongAdder();
+    }
+
+    /**
+     * A token bucket limiting the rate of transaction retries, to keep retries from multiplying the load on a
+     * contended database. Each retry takes a token; tokens are replenished at a fixed rate, up to a maximum.
+     */
+    @Beta
+    public static final class RetryBudget {
+        private final double maxTokens;
+        private final double tokensPerNano;
+        private final Object lock = new Object();
+
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        /**
+         * @param maxTokens       the maximum number of retries in a burst; the bucket starts full
+         * @param tokensPerSecond the sustained number of retries per second
+         */
+        public RetryBudget(int maxTokens, double tokensPerSecond) {
+            if (maxTokens <= 0 || tokensPerSecond < 0) {
+                throw new IllegalArgumentException("maxTokens must be > 0 and tokensPerSecond >= 0");
+            }
+            this.maxTokens = maxTokens;
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = maxTokens;
+        }
+
+        /**
+         * @return whether a retry token was available, and taken
+         */
+        public boolean tryAcquire() {
+            synchronized (lock) {
+                long now = System.nanoTime();
+                tokens = Math.min(maxTokens, tokens + (now - lastRefill) * tokensPerNano);
+                lastRefill = now;
+                if (tokens < 1) {
+                    return false;
+                }
+                tokens -= 1;
+                return true;
+            }
+        }
+
+        /**
+         * @return the number of retries currently available
+         */
+        public int getAvailableTokens() {
+            synchronized (lock) {
+                return (int) Math.min(maxTokens, tokens + (System.nanoTime() - lastRefill) * tokensPerNano);
+            }
         }
     }
 }
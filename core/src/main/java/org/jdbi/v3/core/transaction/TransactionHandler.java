@@ -15,6 +15,7 @@ package org.jdbi.v3.core.transaction;
 
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * Interface which defines callbacks to be used when transaction methods are called on a handle.
@@ -112,4 +113,16 @@ public interface TransactionHandler {
                                              TransactionIsolationLevel level,
                                              HandleCallback<R, X> callback) throws X;
 
+    /**
+     * Returns a transaction handler for the exclusive use of the given handle, which may keep the handle's
+     * transaction state in its own fields rather than in state shared by all handles. Called once, when the handle is
+     * opened. Returns this handler by default.
+     *
+     * @param handle the handle to specialize for
+     * @return a transaction handler for the given handle
+     */
+    @Beta
+    default TransactionHandler specialize(Handle handle) {
+        return this;
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.jdbi.v3.core.argument.Arguments;
+import org.jdbi.v3.core.collector.JdbiCollectors;
+import org.jdbi.v3.core.generic.internal.Reflection;
+import org.jdbi.v3.core.mapper.ColumnMappers;
+import org.jdbi.v3.core.mapper.RowMappers;
+import org.jdbi.v3.core.spi.JdbiPlugin;
+import org.jdbi.v3.core.statement.SqlStatements;
+
+/**
+ * Measures the cost of opening a handle, running a query on it and closing it, without the cost of opening and
+ * closing its connection. Not run as part of the build; run the main method with {@code -Xmx} and warm-up settings of
+ * your choice.
+ */
+public final class HandleOpenBenchmark {
+    private static final int WARMUP = 100_000;
+    private static final int ITERATIONS = 500_000;
+
+    private HandleOpenBenchmark() {}
+
+    public static void main(String[] args) throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID())) {
+            Connection unclosable = Reflection.newProxy(Connection.class, (proxy, method, methodArgs) -> {
+                if ("close".equals(method.getName())) {
+                    return null;
+                }
+                try {
+                    return method.invoke(conn, methodArgs);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+
+            run("eager config copy", jdbi(unclosable, false));
+            run("lazy config copy", jdbi(unclosable, true));
+        }
+    }
+
+    private static Jdbi jdbi(Connection conn, boolean lazyConfigCopy) {
+        Jdbi jdbi = Jdbi.create(() -> conn);
+        jdbi.installPlugin(new JdbiPlugin() {});
+        jdbi.getConfig(Handles.class).setLazyConfigCopy(lazyConfigCopy);
+        // populate the configs a typical application registers
+        jdbi.getConfig(Arguments.class);
+        jdbi.getConfig(RowMappers.class);
+        jdbi.getConfig(ColumnMappers.class);
+        jdbi.getConfig(JdbiCollectors.class);
+        jdbi.getConfig(SqlStatements.class).define("schema", "public");
+        return jdbi;
+    }
+
+    private static void run(String name, Jdbi jdbi) {
+        openAndClose(jdbi, WARMUP);
+        long start = System.nanoTime();
+        openAndClose(jdbi, ITERATIONS);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s %8.1f ns/op%n", name, (double) elapsed / ITERATIONS);
+    }
+
+    private static void openAndClose(Jdbi jdbi, int times) {
+        for (int i = 0; i < times; i++) {
+            try (Handle h = jdbi.open()) {
+                h.createQuery("select 1").mapTo(int.class).findOnly();
+            }
+        }
+    }
+}
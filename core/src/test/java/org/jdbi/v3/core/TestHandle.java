@@ -13,7 +13,14 @@
  */
 package org.jdbi.v3.core;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.extension.ExtensionMethod;
 import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.core.statement.Query;
+import org.jdbi.v3.core.statement.SqlStatements;
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -62,4 +69,147 @@ public class TestHandle {
         final Handle h = dbRule.getSharedHandle();
         h.execute("CREATE TABLE \"\u2603\" (pk int primary key)");
     }
+
+    @Test
+    public void testLazyConfigCopy() {
+        Jdbi jdbi = dbRule.getJdbi();
+        jdbi.getConfig(Handles.class).setLazyConfigCopy(true);
+        jdbi.define("name", "jdbi");
+
+        try (Handle h = jdbi.open()) {
+            jdbi.define("late", "before first use");
+            assertThat(h.getConfig(SqlStatements.class).getAttribute("name")).isEqualTo("jdbi");
+            assertThat(h.getConfig(SqlStatements.class).getAttribute("late")).isEqualTo("before first use");
+
+            jdbi.define("later", "after first use");
+            h.define("name", "handle");
+            assertThat(h.getConfig(SqlStatements.class).getAttribute("later")).isNull();
+            assertThat(jdbi.getConfig(SqlStatements.class).getAttribute("name")).isEqualTo("jdbi");
+
+            assertThat(h.createQuery("select <name>").getContext().getAttribute("name")).isEqualTo("handle");
+        }
+    }
+
+    @Test
+    public void testLazyConfigCopyReadsThroughUntilModified() {
+        ConfigRegistry parent = new ConfigRegistry();
+        SqlStatements parentStatements = parent.get(SqlStatements.class);
+
+        ConfigRegistry lazy = parent.createLazyCopy();
+        assertThat(lazy.read(SqlStatements.class)).isSameAs(parentStatements);
+        assertThat(lazy.createLazyCopy().read(SqlStatements.class)).isSameAs(parentStatements);
+
+        lazy.read(Handles.class);
+        assertThat(parent.createLazyCopy().read(Handles.class)).isNotSameAs(lazy.read(Handles.class));
+
+        SqlStatements copied = lazy.get(SqlStatements.class);
+        assertThat(copied).isNotSameAs(parentStatements);
+        assertThat(lazy.read(SqlStatements.class)).isSameAs(copied);
+    }
+
+    @Test
+    public void testStatementsReadHandleConfig() {
+        Jdbi jdbi = dbRule.getJdbi();
+        jdbi.getConfig(Handles.class).setLazyConfigCopy(true);
+        SqlStatements statements = jdbi.getConfig(SqlStatements.class);
+
+        try (Handle h = jdbi.open()) {
+            Query query = h.createQuery("select 1");
+            assertThat(query.mapTo(int.class).findOnly()).isEqualTo(1);
+            assertThat(query.getConfig().read(SqlStatements.class)).isSameAs(statements);
+
+            Query defined = h.createQuery("select <value>").define("value", 2);
+            assertThat(defined.mapTo(int.class).findOnly()).isEqualTo(2);
+            assertThat(defined.getConfig().read(SqlStatements.class)).isNotSameAs(statements);
+            assertThat(statements.getAttribute("value")).isNull();
+        }
+    }
+
+    @Test
+    public void testCopyOfLazyConfigCopy() {
+        ConfigRegistry parent = new ConfigRegistry();
+        parent.get(SqlStatements.class).define("a", 1);
+
+        ConfigRegistry lazy = parent.createLazyCopy();
+        lazy.get(Handles.class).setForceEndTransactions(false);
+        ConfigRegistry copy = lazy.createCopy();
+
+        assertThat(copy.get(Handles.class).isForceEndTransactions()).isFalse();
+        assertThat(copy.get(SqlStatements.class).getAttribute("a")).isEqualTo(1);
+        assertThat(parent.get(Handles.class).isForceEndTransactions()).isTrue();
+    }
+
+    @Test
+    public void testStatementsSnapshotHandleConfig() {
+        try (Handle h = dbRule.openHandle()) {
+            Query query = h.createQuery("select <x>");
+            h.define("x", "42");
+
+            assertThat(query.getContext().getAttribute("x")).isNull();
+            assertThat(h.createQuery("select <x>").mapTo(int.class).findOnly()).isEqualTo(42);
+        }
+    }
+
+    @Test
+    public void testSharedHandleSeesExtensionBindingOfOtherThread() throws Exception {
+        Handle h = dbRule.getSharedHandle();
+        ConfigRegistry handleConfig = h.getConfig();
+        ExtensionMethod method = new ExtensionMethod(Object.class, Object.class.getMethod("toString"));
+        ConfigRegistry methodConfig = handleConfig.createCopy();
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> call = CompletableFuture.runAsync(() -> {
+            try {
+                ConstantHandleSupplier.of(h).invokeInContext(method, methodConfig, () -> {
+                    entered.countDown();
+                    release.await();
+                    return null;
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        entered.await();
+
+        // the binding is not per thread: this thread sees the extension call made by the other one
+        assertThat(h.getExtensionMethod()).isSameAs(method);
+        assertThat(h.getConfig()).isSameAs(methodConfig);
+
+        release.countDown();
+        call.get();
+        assertThat(h.getExtensionMethod()).isNull();
+        assertThat(h.getConfig()).isSameAs(handleConfig);
+    }
+
+    @Test
+    public void testOnDemandExtensionBindingIsPerThread() throws Exception {
+        Jdbi jdbi = dbRule.getJdbi();
+        ExtensionMethod method = new ExtensionMethod(Object.class, Object.class.getMethod("toString"));
+        ConfigRegistry methodConfig = jdbi.getConfig().createCopy();
+
+        try (LazyHandleSupplier supplier = new LazyHandleSupplier(jdbi, jdbi.getConfig())) {
+            Handle h = supplier.getHandle();
+            CountDownLatch entered = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> call = CompletableFuture.runAsync(() -> {
+                try {
+                    supplier.invokeInContext(method, methodConfig, () -> {
+                        entered.countDown();
+                        release.await();
+                        return null;
+                    });
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            entered.await();
+
+            assertThat(h.getExtensionMethod()).isNull();
+            assertThat(h.getConfig()).isNotSameAs(methodConfig);
+
+            release.countDown();
+            call.get();
+        }
+    }
 }
@@ -20,6 +20,7 @@ import java.sql.Connection;
 
 import org.jdbi.v3.core.rule.H2DatabaseRule;
 import org.jdbi.v3.core.spi.JdbiPlugin;
+import org.jdbi.v3.core.statement.SqlStatements;
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -54,4 +55,34 @@ public class TestPlugins {
 
         assertThat(c).isSameAs(dbRule.getJdbi().open().getConnection());
     }
+
+    @Test
+    public void testInheritedCustomizeHandle() {
+        Handle h = mock(Handle.class);
+
+        abstract class HandlePlugin implements JdbiPlugin {
+            @Override
+            public Handle customizeHandle(Handle handle) {
+                return h;
+            }
+        }
+
+        dbRule.getJdbi().installPlugin(new HandlePlugin() {});
+
+        assertThat(h).isSameAs(dbRule.getJdbi().open());
+    }
+
+    @Test
+    public void testJdbiOnlyPlugin() {
+        dbRule.getJdbi().installPlugin(new JdbiPlugin() {
+            @Override
+            public void customizeJdbi(Jdbi jdbi) {
+                jdbi.define("installed", true);
+            }
+        });
+
+        try (Handle h = dbRule.getJdbi().open()) {
+            assertThat(h.getConfig(SqlStatements.class).getAttribute("installed")).isEqualTo(true);
+        }
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Something;
+import org.jdbi.v3.core.mapper.reflect.BeanMapper;
+import org.jdbi.v3.core.result.ResultSetSnapshot;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryCache {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule();
+
+    private final List<String> executed = new ArrayList<>();
+    private QueryCache cache;
+    private Handle h;
+
+    @Before
+    public void setUp() {
+        cache = new QueryCache(2, Duration.ofMinutes(1));
+        dbRule.getJdbi().installPlugin(new QueryCachePlugin(cache));
+        dbRule.getJdbi().getConfig(SqlStatements.class).setSqlLogger(new SqlLogger() {
+            @Override
+            public void logAfterExecution(StatementContext context) {
+                executed.add(context.getRenderedSql());
+            }
+        });
+
+        h = dbRule.openHandle();
+        h.execute("insert into something (id, name) values (1, 'one')");
+        h.execute("insert into something (id, name) values (2, 'two')");
+        executed.clear();
+    }
+
+    @After
+    public void tearDown() {
+        h.close();
+    }
+
+    private String nameOf(int id) {
+        return h.createQuery("select name from something where id = :id")
+            .cacheResults("something")
+            .bind("id", id)
+            .mapTo(String.class)
+            .findOnly();
+    }
+
+    @Test
+    public void testCachesByParameterValues() {
+        assertThat(nameOf(1)).isEqualTo("one");
+        assertThat(nameOf(1)).isEqualTo("one");
+        assertThat(nameOf(2)).isEqualTo("two");
+        assertThat(nameOf(2)).isEqualTo("two");
+
+        assertThat(executed).hasSize(2);
+        assertThat(cache.getHits()).isEqualTo(2);
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void testMapsEveryHit() {
+        List<Something> first = h.createQuery("select id, name from something order by id")
+            .cacheResults("something")
+            .map(BeanMapper.of(Something.class))
+            .list();
+        List<Something> second = h.createQuery("select id, name from something order by id")
+            .cacheResults("something")
+            .map(BeanMapper.of(Something.class))
+            .list();
+
+        assertThat(second).isEqualTo(first).hasSize(2);
+        assertThat(second.get(0)).isNotSameAs(first.get(0));
+        assertThat(executed).hasSize(1);
+    }
+
+    @Test
+    public void testUncachedQuery() {
+        h.createQuery("select name from something where id = 1").mapTo(String.class).findOnly();
+        h.createQuery("select name from something where id = 1").mapTo(String.class).findOnly();
+
+        assertThat(executed).hasSize(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testUpdateInvalidatesTag() {
+        nameOf(1);
+        h.createUpdate("update SOMETHING set name = 'uno' where id = 1").execute();
+
+        assertThat(nameOf(1)).isEqualTo("uno");
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    public void testBatchInvalidatesTag() {
+        nameOf(1);
+        h.prepareBatch("delete from public.something where id = :id").bind("id", 2).add().execute();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testCommentedUpdateInvalidatesTag() {
+        nameOf(1);
+        h.execute("/* rename */ update something set name = 'uno' where id = 1");
+        nameOf(2);
+        h.execute("-- remove\ndelete from something where id = 2");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testCommonTableExpressionInvalidatesTag() {
+        nameOf(1);
+        cache.invalidateModifiedBy("with stale as (select id from other) delete from something where id in (select id from stale)");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testScriptInvalidatesTag() {
+        h.execute("create table other (id int)");
+        nameOf(1);
+        h.createScript("insert into other (id) values (1);\nupdate something set name = 'uno' where id = 1;").execute();
+
+        assertThat(nameOf(1)).isEqualTo("uno");
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    public void testCallInvalidatesEverything() {
+        nameOf(1);
+        h.execute("call 1");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testQueriesKeepResults() {
+        nameOf(1);
+        h.execute("select count(*) from something where name = 'update something set x = 1'");
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCommentedQueriesKeepResults() {
+        nameOf(1);
+        h.execute("/* count */ (select count(*) from something)");
+        h.execute("-- count\nselect count(*) from something where name = 'one'");
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLockingClausesDoNotInvalidate() {
+        long generation = cache.getGeneration(Collections.singleton("something"));
+        cache.invalidateModifiedBy("select id from something for update of something");
+        cache.invalidateModifiedBy("with locked as (select id from something for update of something) select * from locked");
+        cache.invalidateModifiedBy("with locked as (select id from something for no key update) select * from locked");
+
+        assertThat(cache.getGeneration(Collections.singleton("of"))).isZero();
+        assertThat(cache.getGeneration(Collections.singleton("something"))).isEqualTo(generation);
+    }
+
+    @Test
+    public void testResultsReadBeforeInvalidationAreNotCached() {
+        long generation = cache.getGeneration(Collections.singleton("something"));
+        ResultSetSnapshot result = h.createQuery("select name from something")
+            .scanResultSet((supplier, ctx) -> ResultSetSnapshot.of(supplier.get()));
+        cache.invalidate("SOMETHING");
+
+        assertThat(cache.put("select name from something", Collections.emptyList(), Collections.singleton("something"), result, generation))
+            .isFalse();
+        assertThat(cache.size()).isZero();
+
+        generation = cache.getGeneration(Collections.singleton("something"));
+        cache.invalidate("other");
+        cache.invalidateAll();
+        assertThat(cache.getGeneration(Collections.singleton("something"))).isNotEqualTo(generation);
+    }
+
+    @Test
+    public void testMissRendersAndBindsOnce() {
+        AtomicInteger renders = new AtomicInteger();
+        AtomicInteger applies = new AtomicInteger();
+        h.setTemplateEngine((template, ctx) -> {
+            renders.incrementAndGet();
+            return template;
+        });
+
+        String name = h.createQuery("select name from something where id = :id")
+            .cacheResults("something")
+            .bind("id", (position, statement, ctx) -> {
+                applies.incrementAndGet();
+                statement.setInt(position, 1);
+            })
+            .mapTo(String.class)
+            .findOnly();
+
+        assertThat(name).isEqualTo("one");
+        assertThat(renders).hasValue(1);
+        assertThat(applies).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnrelatedUpdateKeepsResults() {
+        nameOf(1);
+        h.execute("create table other (id int)");
+        h.execute("insert into other (id) values (1)");
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testExplicitInvalidation() {
+        nameOf(1);
+        cache.invalidate("SOMETHING");
+        nameOf(1);
+
+        assertThat(executed).hasSize(2);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        h.execute("insert into something (id, name) values (3, 'three')");
+        nameOf(1);
+        nameOf(2);
+        nameOf(1);
+        nameOf(3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        executed.clear();
+        nameOf(1);
+        nameOf(2);
+        assertThat(executed).hasSize(1);
+    }
+
+    @Test
+    public void testExpires() throws Exception {
+        cache = new QueryCache(10, Duration.ofMillis(1));
+        h.getConfig(QueryCaching.class).setCache(cache);
+
+        nameOf(1);
+        Thread.sleep(5);
+        nameOf(1);
+
+        assertThat(executed).hasSize(2);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.config;
+
+import org.jdbi.v3.core.Handles;
+import org.jdbi.v3.core.mapper.ColumnMapper;
+import org.jdbi.v3.core.mapper.ColumnMappers;
+import org.jdbi.v3.core.mapper.Mappers;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestConfigRegistry {
+    private final ConfigRegistry parent = new ConfigRegistry();
+
+    @Test
+    public void testLazyCopyCopiesEachClassOnWrite() {
+        SqlStatements parentStatements = parent.get(SqlStatements.class);
+        Handles parentHandles = parent.get(Handles.class);
+        ConfigRegistry lazy = parent.createLazyCopy();
+
+        assertThat(lazy.read(SqlStatements.class)).isSameAs(parentStatements);
+        assertThat(lazy.read(Handles.class)).isSameAs(parentHandles);
+
+        SqlStatements copied = lazy.get(SqlStatements.class);
+        copied.define("a", 1);
+
+        assertThat(copied).isNotSameAs(parentStatements);
+        assertThat(lazy.read(SqlStatements.class)).isSameAs(copied);
+        assertThat(lazy.read(Handles.class)).isSameAs(parentHandles);
+        assertThat(parentStatements.getAttribute("a")).isNull();
+    }
+
+    @Test
+    public void testWrittenClassStaysCopiedAfterReadingNewClass() {
+        parent.get(SqlStatements.class);
+        ConfigRegistry lazy = parent.createLazyCopy();
+        SqlStatements copied = lazy.get(SqlStatements.class);
+
+        // neither registry has one, so the copy creates its own
+        TestConfig created = lazy.read(TestConfig.class);
+
+        assertThat(lazy.read(SqlStatements.class)).isSameAs(copied);
+        assertThat(lazy.read(TestConfig.class)).isSameAs(created);
+        assertThat(parent.createLazyCopy().read(TestConfig.class)).isNotSameAs(created);
+    }
+
+    @Test
+    public void testParentChangesVisibleUntilWrite() {
+        ConfigRegistry lazy = parent.createLazyCopy();
+        parent.get(SqlStatements.class).define("a", 1);
+        assertThat(lazy.read(SqlStatements.class).getAttribute("a")).isEqualTo(1);
+
+        lazy.get(SqlStatements.class);
+        parent.get(SqlStatements.class).define("a", 2);
+        assertThat(lazy.read(SqlStatements.class).getAttribute("a")).isEqualTo(1);
+    }
+
+    @Test
+    public void testCopyLinksConfigsToCopies() {
+        ColumnMapper<Object> mapper = (r, i, ctx) -> "mapped";
+        parent.get(Mappers.class);
+        parent.get(ColumnMappers.class).register(TestConfig.class, mapper);
+
+        ConfigRegistry copy = parent.createCopy();
+        copy.get(ColumnMappers.class).register(TestConfigRegistry.class, mapper);
+
+        assertThat(copy.get(Mappers.class).findFor(TestConfig.class)).isPresent();
+        assertThat(copy.get(Mappers.class).findFor(TestConfigRegistry.class)).isPresent();
+        assertThat(parent.get(Mappers.class).findFor(TestConfigRegistry.class)).isEmpty();
+    }
+
+    @Test
+    public void testRegistryAwareConfigBelongsToReadingRegistry() {
+        ColumnMapper<Object> mapper = (r, i, ctx) -> "mapped";
+        Mappers parentMappers = parent.get(Mappers.class);
+        ConfigRegistry lazy = parent.createLazyCopy();
+
+        assertThat(lazy.read(Mappers.class)).isNotSameAs(parentMappers);
+        assertThat(lazy.read(Mappers.class)).isSameAs(lazy.read(Mappers.class));
+
+        lazy.get(ColumnMappers.class).register(TestConfig.class, mapper);
+
+        assertThat(lazy.read(Mappers.class).findFor(TestConfig.class)).isPresent();
+        assertThat(parentMappers.findFor(TestConfig.class)).isEmpty();
+    }
+
+    @Test
+    public void testCopyOfLazyCopy() {
+        parent.get(SqlStatements.class).define("a", 1);
+        ConfigRegistry lazy = parent.createLazyCopy();
+        lazy.get(Handles.class).setForceEndTransactions(false);
+        lazy.read(ColumnMappers.class);
+
+        ConfigRegistry copy = lazy.createCopy();
+
+        assertThat(copy.read(Handles.class).isForceEndTransactions()).isFalse();
+        assertThat(copy.read(Handles.class)).isNotSameAs(lazy.read(Handles.class));
+        assertThat(copy.read(SqlStatements.class).getAttribute("a")).isEqualTo(1);
+        assertThat(copy.read(ColumnMappers.class)).isNotSameAs(lazy.read(ColumnMappers.class));
+
+        copy.get(ColumnMappers.class).register(TestConfig.class, (r, i, ctx) -> "copy");
+        assertThat(lazy.read(ColumnMappers.class).findFor(TestConfig.class)).isEmpty();
+        assertThat(parent.get(Handles.class).isForceEndTransactions()).isTrue();
+    }
+
+    public static class TestConfig implements JdbiConfig<TestConfig> {
+        public TestConfig() {}
+
+        @Override
+        public TestConfig createCopy() {
+            return new TestConfig();
+        }
+    }
+}
@@ -20,6 +20,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.generic.GenericType;
 import org.jdbi.v3.core.rule.H2DatabaseRule;
@@ -127,4 +129,41 @@ public class TestH2SqlArrays {
             .isInstanceOf(LinkedHashSet.class)
             .containsExactly(testUuids);
     }
+
+    @Test
+    public void testPrimitiveArrays() {
+        int[] ints = IntStream.range(0, 10_000).toArray();
+        long[] longs = LongStream.range(0, 10_000).map(l -> l * Integer.MAX_VALUE).toArray();
+        double[] doubles = IntStream.range(0, 10_000).mapToDouble(i -> i / 3.0).toArray();
+
+        h.createUpdate(U_INSERT).bind("u", ints).execute();
+        assertThat(h.createQuery(U_SELECT).mapTo(int[].class).findOnly()).containsExactly(ints);
+
+        h.execute("DELETE FROM uuids");
+        h.createUpdate(U_INSERT).bind("u", longs).execute();
+        assertThat(h.createQuery(U_SELECT).mapTo(long[].class).findOnly()).containsExactly(longs);
+
+        h.execute("DELETE FROM uuids");
+        h.createUpdate(U_INSERT).bind("u", doubles).execute();
+        assertThat(h.createQuery(U_SELECT).mapTo(double[].class).findOnly()).containsExactly(doubles);
+    }
+
+    @Test
+    public void testPrimitiveArrayOfOtherElementType() {
+        h.createUpdate(U_INSERT).bind("u", new int[] {1, 2, 3}).execute();
+
+        assertThat(h.createQuery(U_SELECT).mapTo(long[].class).findOnly()).containsExactly(1L, 2L, 3L);
+        assertThat(h.createQuery(U_SELECT).mapTo(int[].class).findOnly()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testElementMapperIsUsedForOtherTypes() {
+        h.createUpdate(U_INSERT).registerArrayType(String.class, "varchar").bind("u", new String[] {"a", "b"}).execute();
+
+        assertThat(h.createQuery(U_SELECT)
+                .registerColumnMapper(String.class, (r, i, ctx) -> r.getString(i).toUpperCase())
+                .mapTo(String[].class)
+                .findOnly())
+            .containsExactly("A", "B");
+    }
 }
@@ -0,0 +1,151 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.internal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A flight recording, driven by reflection like {@link JdbiEvents}, so the tests compile on JDKs without the
+ * {@code jdk.jfr} API.
+ */
+class JfrRecording implements AutoCloseable {
+    private final Object recording;
+
+    JfrRecording(String... events) throws ReflectiveOperationException {
+        recording = Class.forName("jdk.jfr.Recording").getConstructor().newInstance();
+        for (String event : events) {
+            invoke(recording, "enable", event);
+        }
+        invoke(recording, "start");
+    }
+
+    static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Recording");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    List<RecordedEvent> events(String name) throws Exception {
+        if (invoke(recording, "getState").toString().equals("RUNNING")) {
+            invoke(recording, "stop");
+        }
+        Path dump = Files.createTempFile("jdbi", ".jfr");
+        try {
+            invoke(recording, "dump", dump);
+            List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", Path.class)
+                .invoke(null, dump);
+            return events.stream()
+                .map(RecordedEvent::new)
+                .filter(e -> e.getName().equals(name))
+                .collect(Collectors.toList());
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    @Override
+    public void close() throws ReflectiveOperationException {
+        invoke(recording, "close");
+    }
+
+    private static Object invoke(Object target, String method, Object... args) throws ReflectiveOperationException {
+        for (Method m : target.getClass().getMethods()) {
+            if (m.getName().equals(method) && accepts(m.getParameterTypes(), args)) {
+                try {
+                    return m.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        throw new NoSuchMethodException(method);
+    }
+
+    private static boolean accepts(Class<?>[] types, Object[] args) {
+        if (types.length != args.length) {
+            return false;
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (!types[i].isInstance(args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A recorded event.
+     */
+    static class RecordedEvent {
+        private final Object event;
+
+        RecordedEvent(Object event) {
+            this.event = event;
+        }
+
+        String getName() {
+            try {
+                return (String) invoke(invoke(event, "getEventType"), "getName");
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Duration getDuration() {
+            return (Duration) get("getDuration");
+        }
+
+        String getString(String field) {
+            return (String) getValue(field);
+        }
+
+        int getInt(String field) {
+            return (Integer) getValue(field);
+        }
+
+        long getLong(String field) {
+            return (Long) getValue(field);
+        }
+
+        boolean getBoolean(String field) {
+            return (Boolean) getValue(field);
+        }
+
+        private Object getValue(String field) {
+            try {
+                return event.getClass().getMethod("getValue", String.class).invoke(event, field);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Object get(String method) {
+            try {
+                return invoke(event, method);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
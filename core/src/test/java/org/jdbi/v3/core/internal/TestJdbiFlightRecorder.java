@@ -0,0 +1,162 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.internal;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.internal.JfrRecording.RecordedEvent;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.core.transaction.SerializableTransactionRunner;
+import org.jdbi.v3.core.transaction.SerializableTransactionRunner.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeTrue;
+
+public class TestJdbiFlightRecorder {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule();
+
+    private JfrRecording recording;
+
+    @Before
+    public void startRecording() throws Exception {
+        assumeTrue(JfrRecording.isAvailable());
+        recording = new JfrRecording(
+            "org.jdbi.Statement", "org.jdbi.ResultSet", "org.jdbi.Handle", "org.jdbi.Transaction", "org.jdbi.TransactionRetry");
+    }
+
+    @After
+    public void closeRecording() throws Exception {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Test
+    public void testStatementEvents() throws Exception {
+        Handle h = dbRule.getSharedHandle();
+        h.execute("create table jfr (id int primary key, name varchar)");
+        h.createUpdate("insert into jfr (id, name) values (:id, :name)")
+            .bind("id", 1)
+            .bind("name", "a")
+            .execute();
+        h.execute("insert into jfr (id, name) values (2, 'b')");
+        assertThat(h.createQuery("select name from jfr where id > :id").bind("id", 0).mapTo(String.class).list())
+            .containsExactly("a", "b");
+
+        List<RecordedEvent> statements = events("org.jdbi.Statement");
+        assertThat(statements).extracting(e -> e.getString("sql"))
+            .contains("insert into jfr (id, name) values (?, ?)", "select name from jfr where id > ?");
+        RecordedEvent insert = statements.stream()
+            .filter(e -> e.getString("sql").equals("insert into jfr (id, name) values (?, ?)"))
+            .findFirst()
+            .get();
+        assertThat(insert.getInt("bindCount")).isEqualTo(2);
+        assertThat(insert.getLong("prepareDuration")).isPositive();
+        assertThat(insert.getLong("executeDuration")).isPositive();
+        assertThat(insert.getBoolean("failed")).isFalse();
+        assertThat(insert.getDuration().toNanos())
+            .isGreaterThanOrEqualTo(insert.getLong("prepareDuration") + insert.getLong("executeDuration"));
+
+        List<RecordedEvent> resultSets = events("org.jdbi.ResultSet");
+        assertThat(resultSets).hasSize(1);
+        assertThat(resultSets.get(0).getString("sql")).isEqualTo("select name from jfr where id > ?");
+        assertThat(resultSets.get(0).getLong("rows")).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedStatement() throws Exception {
+        Handle h = dbRule.getSharedHandle();
+        h.execute("create table jfr (id int primary key)");
+        h.execute("insert into jfr (id) values (1)");
+        assertThatThrownBy(() -> h.execute("insert into jfr (id) values (1)"));
+
+        assertThat(events("org.jdbi.Statement"))
+            .filteredOn(e -> e.getBoolean("failed"))
+            .extracting(e -> e.getString("sql"))
+            .containsExactly("insert into jfr (id) values (1)");
+    }
+
+    @Test
+    public void testHandleAndTransactionEvents() throws Exception {
+        Jdbi jdbi = dbRule.getJdbi();
+        jdbi.useTransaction(h -> h.execute("select 1"));
+        assertThatThrownBy(() -> jdbi.useTransaction(h -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(events("org.jdbi.Handle")).extracting(e -> e.getString("action"))
+            .containsExactlyInAnyOrder("open", "close", "open", "close");
+        assertThat(events("org.jdbi.Transaction")).extracting(e -> e.getString("action"))
+            .containsExactlyInAnyOrder("begin", "commit", "begin", "rollback");
+    }
+
+    @Test
+    public void testTransactionRetryEvents() throws Exception {
+        Jdbi jdbi = dbRule.getJdbi();
+        jdbi.setTransactionHandler(new SerializableTransactionRunner());
+        int[] failures = {2};
+        jdbi.useTransaction(h -> {
+            if (failures[0]-- > 0) {
+                throw new SQLException("serialization", "40001");
+            }
+        });
+
+        List<RecordedEvent> retries = events("org.jdbi.TransactionRetry");
+        assertThat(retries).extracting(e -> e.getInt("attempt")).containsExactlyInAnyOrder(1, 2);
+        assertThat(retries).extracting(e -> e.getString("sqlState")).containsOnly("40001");
+    }
+
+    @Test
+    public void testRetryEventLastsForBackoff() throws Exception {
+        Jdbi jdbi = dbRule.getJdbi();
+        jdbi.setTransactionHandler(new SerializableTransactionRunner());
+        jdbi.getConfig(Configuration.class).setBackoff(Duration.ofMillis(20), Duration.ofMillis(20)).setJitter(false);
+        int[] failures = {1};
+        jdbi.useTransaction(h -> {
+            if (failures[0]-- > 0) {
+                throw new SQLException("serialization", "40001");
+            }
+        });
+
+        List<RecordedEvent> retries = events("org.jdbi.TransactionRetry");
+        assertThat(retries).hasSize(1);
+        assertThat(retries.get(0).getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+        assertThat(retries.get(0).getDuration().toNanos()).isGreaterThanOrEqualTo(retries.get(0).getLong("backoff"));
+    }
+
+    @Test
+    public void testNoEventsWithoutRecording() throws Exception {
+        recording.close();
+
+        assertThat(JdbiFlightRecorder.beginStatement()).isNull();
+        assertThat(JdbiFlightRecorder.beginResultSet()).isNull();
+        assertThat(JdbiFlightRecorder.beginHandle()).isNull();
+        assertThat(JdbiFlightRecorder.beginTransaction()).isNull();
+        assertThat(JdbiFlightRecorder.beginTransactionRetry()).isNull();
+    }
+
+    private List<RecordedEvent> events(String name) throws Exception {
+        return recording.events(name);
+    }
+}
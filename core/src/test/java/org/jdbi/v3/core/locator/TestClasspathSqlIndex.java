@@ -0,0 +1,62 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.locator;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestClasspathSqlIndex {
+    private static final String PATH = "org/jdbi/v3/core/locator/TestClasspathSqlLocator/test-colon-in-comment.sql";
+
+    @Test
+    public void testIndexKeepsStrippedSql() {
+        final AtomicInteger loadCount = new AtomicInteger(0);
+        ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public InputStream getResourceAsStream(String s) {
+                loadCount.incrementAndGet();
+                return super.getResourceAsStream(s);
+            }
+        };
+        ClasspathSqlIndex index = new ClasspathSqlIndex();
+
+        String sql = index.getResourceOnClasspath(classLoader, PATH);
+        assertThat(sql).isEqualTo("SELECT 1.007 AS column_name WHERE :left = :right;");
+        assertThat(index.getResourceOnClasspath(classLoader, PATH)).isSameAs(sql);
+        assertThat(loadCount.get()).isEqualTo(1);
+
+        assertThat(index.getResourceCount()).isEqualTo(1);
+        assertThat(index.getSqlLength()).isEqualTo(sql.length());
+
+        index.clear();
+        assertThat(index.getResourceCount()).isZero();
+        assertThat(index.getSqlLength()).isZero();
+
+        index.getResourceOnClasspath(classLoader, PATH);
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFindSqlForType() {
+        ClasspathSqlIndex index = new ClasspathSqlIndex();
+
+        assertThat(index.findSqlOnClasspath(TestClasspathSqlLocator.class, "test-colon-in-comment"))
+            .isEqualTo(ClasspathSqlLocator.findSqlOnClasspath(TestClasspathSqlLocator.class, "test-colon-in-comment"));
+        assertThat(index.getResourceCount()).isEqualTo(1);
+        assertThat(new ClasspathSqlIndex().getResourceCount()).isZero();
+    }
+}
@@ -13,14 +13,21 @@
  */
 package org.jdbi.v3.core.mapper;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Handles;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.Query;
 import org.jdbi.v3.core.rule.SqliteDatabaseRule;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
 public class TestMapMapper {
     @Rule
@@ -63,4 +70,36 @@ public class TestMapMapper {
 
         assertThat(noOne).containsOnlyKeys("ID", "FIRSTNAME");
     }
+
+    @Test
+    public void testCompactRows() {
+        h.execute("insert into Foo(Id, FirstName) values(2, null)");
+        h.getConfig(MapMappers.class).setCompactRows(true);
+
+        List<Map<String, Object>> rows = h.createQuery("select * from Foo order by Id").mapToMap().list();
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsExactly(entry("id", 1), entry("firstname", "No one"));
+        assertThat(rows.get(1)).containsKey("firstname").containsEntry("firstname", null);
+        assertThat(rows.get(1).get("nope")).isNull();
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 1);
+        expected.put("firstname", "No one");
+        assertThat(rows.get(0)).isEqualTo(expected).hasSameHashCodeAs(expected);
+
+        assertThatThrownBy(() -> rows.get(0).put("id", 3)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testMappingDoesNotCopyConfig() {
+        Jdbi jdbi = db.getJdbi();
+        jdbi.getConfig(Handles.class).setLazyConfigCopy(true);
+        MapMappers mapMappers = jdbi.getConfig(MapMappers.class);
+
+        try (Handle handle = jdbi.open(); Query query = handle.createQuery("select 1 as Id")) {
+            assertThat(query.mapToMap().findOnly()).containsOnlyKeys("id");
+            assertThat(query.getConfig().read(MapMappers.class)).isSameAs(mapMappers);
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.result.ColumnarResult.IntColumn;
+import org.jdbi.v3.core.result.ColumnarResult.StringColumn;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestColumnarResult {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule();
+
+    private Handle h;
+
+    @Before
+    public void setUp() {
+        h = dbRule.getSharedHandle();
+        h.execute("create table facts (id bigint primary key, amount double, qty int, region varchar(10), price decimal(10, 2))");
+        PreparedBatch batch = h.prepareBatch("insert into facts values (:id, :amount, :qty, :region, :price)");
+        for (int i = 0; i < 1000; i++) {
+            batch.bind("id", (long) i)
+                .bind("amount", i * 1.5)
+                .bind("qty", i % 7 == 0 ? null : i)
+                .bind("region", i % 5 == 0 ? null : "r" + i % 3)
+                .bind("price", new BigDecimal(i).movePointLeft(2))
+                .add();
+        }
+        batch.execute();
+    }
+
+    @Test
+    public void testReadsColumns() {
+        ColumnarResult result = h.createQuery("select * from facts order by id").mapToColumns();
+
+        assertThat(result.getRowCount()).isEqualTo(1000);
+        assertThat(result.getColumnCount()).isEqualTo(5);
+
+        assertThat(result.getLongColumn("id").toArray()).hasSize(1000).startsWith(0L, 1L, 2L);
+        assertThat(result.getDoubleColumn("AMOUNT").get(10)).isEqualTo(15.0);
+
+        IntColumn qty = result.getIntColumn("qty");
+        assertThat(qty.isNull(0)).isTrue();
+        assertThat(qty.get(0)).isZero();
+        assertThat(qty.getObject(7)).isNull();
+        assertThat(qty.isNull(8)).isFalse();
+        assertThat(qty.get(8)).isEqualTo(8);
+
+        assertThat(result.getObjectColumn("price").get(123)).isEqualTo(new BigDecimal("1.23"));
+        assertThat(result.getColumn("price").getJdbcType()).isEqualTo(Types.DECIMAL);
+    }
+
+    @Test
+    public void testDictionaryEncodesStrings() {
+        StringColumn region = h.createQuery("select region from facts order by id").mapToColumns().getStringColumn("region");
+
+        assertThat(region.getDictionary()).containsExactlyInAnyOrder("r0", "r1", "r2");
+        assertThat(region.get(0)).isNull();
+        assertThat(region.getCode(0)).isEqualTo(-1);
+        assertThat(region.get(1)).isEqualTo("r1");
+        assertThat(region.getDictionary().get(region.getCode(2))).isEqualTo("r2");
+    }
+
+    @Test
+    public void testEmptyResult() {
+        ColumnarResult result = h.createQuery("select id from facts where id < 0").mapToColumns();
+
+        assertThat(result.getRowCount()).isZero();
+        assertThat(result.getLongColumn("id").toArray()).isEmpty();
+    }
+
+    @Test
+    public void testWrongColumnType() {
+        ColumnarResult result = h.createQuery("select id from facts").mapToColumns();
+
+        assertThatThrownBy(() -> result.getIntColumn("id")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> result.getColumn("nope")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -13,6 +13,10 @@
  */
 package org.jdbi.v3.core.result;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import org.jdbi.v3.core.Handle;
@@ -263,4 +267,56 @@ public class TestIterator {
             assertThat(h.isClosed()).isFalse();
         }
     }
+
+    @Test
+    public void testNextChunk() {
+        for (int i = 1; i <= 5; i++) {
+            h.execute("insert into something (id, name) values (?, ?)", i, "name" + i);
+        }
+
+        ResultIterator<Integer> it = h.createQuery("select id from something order by id")
+            .cleanupHandleRollback()
+            .mapTo(Integer.class)
+            .iterator();
+
+        List<Integer> chunk = new ArrayList<>();
+        assertThat(it.nextChunk(chunk, 2)).isEqualTo(2);
+        assertThat(chunk).containsExactly(1, 2);
+
+        assertThat(it.hasNext()).isTrue();
+        assertThat(it.next()).isEqualTo(3);
+
+        chunk.clear();
+        assertThat(it.nextChunk(chunk, 10)).isEqualTo(2);
+        assertThat(chunk).containsExactly(4, 5);
+
+        assertThat(it.nextChunk(chunk, 10)).isZero();
+        assertThat(it.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testForEachChunk() {
+        for (int i = 1; i <= 5; i++) {
+            h.execute("insert into something (id, name) values (?, ?)", i, "name" + i);
+        }
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        h.createQuery("select id from something order by id")
+            .cleanupHandleRollback()
+            .mapTo(Integer.class)
+            .forEachChunk(2, chunk -> chunks.add(new ArrayList<>(chunk)));
+
+        assertThat(chunks).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4), Collections.singletonList(5));
+    }
+
+    @Test
+    public void testForEachChunkEmpty() {
+        List<List<Integer>> chunks = new ArrayList<>();
+        h.createQuery("select id from something order by id")
+            .cleanupHandleRollback()
+            .mapTo(Integer.class)
+            .forEachChunk(2, chunks::add);
+
+        assertThat(chunks).isEmpty();
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Something;
+import org.jdbi.v3.core.mapper.reflect.BeanMapper;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestKeysetPager {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule();
+
+    private final List<String> executed = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        dbRule.getJdbi().getConfig(SqlStatements.class).setSqlLogger(new SqlLogger() {
+            @Override
+            public void logAfterExecution(StatementContext context) {
+                executed.add(context.getRenderedSql());
+            }
+        });
+
+        try (Handle h = dbRule.openHandle()) {
+            PreparedBatch batch = h.prepareBatch("insert into something (id, name, intValue) values (:id, :name, :group)");
+            for (int i = 1; i <= 10; i++) {
+                batch.bind("id", i).bind("name", "name" + i).bind("group", i % 2).add();
+            }
+            batch.execute();
+        }
+        executed.clear();
+    }
+
+    @Test
+    public void testPagesOverJdbi() {
+        List<Something> rows = KeysetPager.over(dbRule.getJdbi(),
+                "select id, name from something where id > :id order by id limit :pageSize",
+                BeanMapper.of(Something.class))
+            .key("id", Something::getId, 0)
+            .pageSize(3)
+            .list();
+
+        assertThat(rows).extracting(Something::getId).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(executed).hasSize(4);
+    }
+
+    @Test
+    public void testFullLastPageQueriesOnceMore() {
+        List<Integer> ids;
+        try (Handle h = dbRule.openHandle()) {
+            ids = KeysetPager.over(h,
+                    "select id from something where id > :id order by id limit :pageSize",
+                    (rs, ctx) -> rs.getInt("id"))
+                .key("id", id -> id, 0)
+                .pageSize(5)
+                .list();
+        }
+
+        assertThat(ids).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(executed).hasSize(3);
+    }
+
+    @Test
+    public void testCompositeKeyAndCustomizer() {
+        List<Something> rows = KeysetPager.over(dbRule.getSharedHandle(),
+                "select id, name, intValue from something "
+                    + "where name <> :excluded and (intValue > :group or (intValue = :group and id > :id)) "
+                    + "order by intValue, id limit :size",
+                BeanMapper.of(Something.class))
+            .key("group", Something::getIntValue, -1)
+            .key("id", Something::getId, 0)
+            .customize(query -> query.bind("excluded", "name3"))
+            .pageSize(2)
+            .pageSizeParameter("size")
+            .list();
+
+        assertThat(rows).extracting(Something::getId).containsExactly(2, 4, 6, 8, 10, 1, 5, 7, 9);
+    }
+
+    @Test
+    public void testStopsEarly() {
+        List<Integer> ids = KeysetPager.over(dbRule.getJdbi(),
+                "select id from something where id > :id order by id limit :pageSize",
+                Integer.class)
+            .key("id", id -> id, 0)
+            .pageSize(2)
+            .stream()
+            .limit(3)
+            .collect(Collectors.toList());
+
+        assertThat(ids).containsExactly(1, 2, 3);
+        assertThat(executed).hasSize(2);
+    }
+
+    @Test
+    public void testRequiresKey() {
+        assertThatThrownBy(() -> KeysetPager.over(dbRule.getJdbi(), "select id from something", Integer.class).iterator())
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.result;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Something;
+import org.jdbi.v3.core.generic.internal.Reflection;
+import org.jdbi.v3.core.mapper.reflect.BeanMapper;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.jdbi.v3.core.statement.Query;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestParallelMapping {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private Handle h;
+
+    @Before
+    public void setUp() {
+        h = dbRule.getSharedHandle();
+        PreparedBatch batch = h.prepareBatch("insert into something (id, name, integerValue, intValue) values (:id, :name, :integerValue, :id)");
+        for (int i = 1; i <= 100; i++) {
+            batch.bind("id", i).bind("name", "name" + i).bind("integerValue", i % 3 == 0 ? null : i).add();
+        }
+        batch.execute();
+
+        h.getConfig(ParallelMapping.class)
+            .setEnabled(true)
+            .setExecutor(executor)
+            .setMaxRowsInFlight(8);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOrderedMatchesSequential() {
+        List<Something> parallel = h.createQuery("select * from something order by id")
+            .map(BeanMapper.of(Something.class))
+            .list();
+
+        h.getConfig(ParallelMapping.class).setEnabled(false);
+        List<Something> sequential = h.createQuery("select * from something order by id")
+            .map(BeanMapper.of(Something.class))
+            .list();
+
+        assertThat(parallel).hasSize(100).isEqualTo(sequential);
+        assertThat(parallel.get(2).getIntegerValue()).isNull();
+        assertThat(parallel.get(3).getIntegerValue()).isEqualTo(4);
+    }
+
+    @Test
+    public void testUnorderedReturnsAllRows() {
+        h.getConfig(ParallelMapping.class).setOrdered(false);
+
+        List<Integer> ids = h.createQuery("select id from something")
+            .map((rs, ctx) -> {
+                if (rs.getInt("ID") % 10 == 0) {
+                    LockSupport.parkNanos(5_000_000);
+                }
+                return rs.getInt(1);
+            })
+            .list();
+
+        assertThat(ids).hasSize(100).doesNotHaveDuplicates().allMatch(id -> id >= 1 && id <= 100);
+    }
+
+    @Test
+    public void testMapsOnExecutor() {
+        Thread caller = Thread.currentThread();
+
+        List<Boolean> onCaller = h.createQuery("select id from something")
+            .map((rs, ctx) -> Thread.currentThread() == caller)
+            .list();
+
+        assertThat(onCaller).hasSize(100).containsOnly(false);
+    }
+
+    @Test
+    public void testMapToMap() {
+        Map<String, Object> row = h.createQuery("select id, name from something where id = 7")
+            .mapToMap()
+            .findOnly();
+
+        assertThat(row).containsEntry("id", 7L).containsEntry("name", "name7");
+    }
+
+    @Test
+    public void testMappingExceptionPropagates() {
+        ResultIterator<Integer> it = h.createQuery("select id from something order by id")
+            .map((rs, ctx) -> {
+                if (rs.getInt(1) == 5) {
+                    throw new IllegalStateException("boom");
+                }
+                return rs.getInt(1);
+            })
+            .iterator();
+
+        assertThatThrownBy(() -> it.forEachRemaining(id -> {}))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("boom");
+        assertThat(it.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testRowsAreNotMappedConcurrentlyWithTheSameContext() {
+        Map<StatementContext, AtomicInteger> inUse = new ConcurrentHashMap<>();
+        Set<StatementContext> contexts = ConcurrentHashMap.newKeySet();
+        AtomicBoolean shared = new AtomicBoolean();
+        AtomicInteger cleaned = new AtomicInteger();
+
+        Query query = h.createQuery("select id from something");
+        List<Integer> ids = query
+            .map((rs, ctx) -> {
+                AtomicInteger users = inUse.computeIfAbsent(ctx, c -> new AtomicInteger());
+                if (users.incrementAndGet() > 1) {
+                    shared.set(true);
+                }
+                if (contexts.add(ctx)) {
+                    ctx.addCleanable(cleaned::incrementAndGet);
+                }
+                LockSupport.parkNanos(100_000);
+                users.decrementAndGet();
+                assertThat(ctx.getRawSql()).isEqualTo("select id from something");
+                return rs.getInt(1);
+            })
+            .list();
+
+        assertThat(ids).hasSize(100);
+        assertThat(shared).isFalse();
+        assertThat(contexts).doesNotContain(query.getContext());
+        assertThat(cleaned).hasValue(contexts.size());
+    }
+
+    @Test
+    public void testReadFailureClosesIterator() {
+        Query query = h.createQuery("select id from something");
+        StatementContext ctx = query.getContext();
+        AtomicBoolean closed = new AtomicBoolean();
+        ctx.addCleanable(() -> closed.set(true));
+
+        ResultSet results = query.execute((supplier, context) -> failingAfter(supplier.get().getResultSet(), 20));
+        ResultIterator<Integer> it = ResultIterable.of(() -> results, (rs, c) -> rs.getInt(1), ctx).iterator();
+
+        assertThatThrownBy(() -> it.forEachRemaining(id -> {}))
+            .isInstanceOf(ResultSetException.class)
+            .hasMessageContaining("advance");
+        assertThat(closed).isTrue();
+        assertThat(it.hasNext()).isFalse();
+    }
+
+    private static ResultSet failingAfter(ResultSet results, int rows) {
+        AtomicInteger read = new AtomicInteger();
+        return Reflection.newProxy(ResultSet.class, (proxy, method, args) -> {
+            if ("next".equals(method.getName()) && read.incrementAndGet() > rows) {
+                throw new SQLException("connection lost");
+            }
+            try {
+                return method.invoke(results, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    @Test
+    public void testEmptyResult() {
+        assertThat(h.createQuery("select id from something where id < 0").mapTo(Integer.class).list()).isEmpty();
+    }
+}
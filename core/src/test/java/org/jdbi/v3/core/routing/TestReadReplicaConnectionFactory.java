@@ -0,0 +1,193 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.routing;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdbi.v3.core.ConnectionFactory;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestReadReplicaConnectionFactory {
+    @Rule
+    public H2DatabaseRule primaryRule = new H2DatabaseRule();
+
+    @Rule
+    public H2DatabaseRule replica1Rule = new H2DatabaseRule();
+
+    @Rule
+    public H2DatabaseRule replica2Rule = new H2DatabaseRule();
+
+    private final AtomicInteger primaryOpened = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        primaryRule.getSharedHandle().execute("insert into something (id, name) values (1, 'primary')");
+        replica1Rule.getSharedHandle().execute("insert into something (id, name) values (1, 'replica1')");
+        replica2Rule.getSharedHandle().execute("insert into something (id, name) values (1, 'replica2')");
+    }
+
+    private Jdbi jdbi(ReplicaSelection selection) {
+        ConnectionFactory primary = () -> {
+            primaryOpened.incrementAndGet();
+            return DriverManager.getConnection(primaryRule.getConnectionString());
+        };
+        return Jdbi.create(new ReadReplicaConnectionFactory(primary, selection,
+            () -> DriverManager.getConnection(replica1Rule.getConnectionString()),
+            () -> DriverManager.getConnection(replica2Rule.getConnectionString())));
+    }
+
+    private static String name(Handle h) {
+        return h.createQuery("select name from something").mapTo(String.class).findOnly();
+    }
+
+    @Test
+    public void testWritesAndReadsGoToPrimaryByDefault() {
+        try (Handle h = jdbi(ReplicaSelection.ROUND_ROBIN).open()) {
+            h.execute("update something set name = 'written'");
+            assertThat(name(h)).isEqualTo("written");
+        }
+        assertThat(primaryRule.getSharedHandle().createQuery("select name from something").mapTo(String.class).findOnly())
+            .isEqualTo("written");
+    }
+
+    @Test
+    public void testReadOnlyHandleReadsFromReplica() {
+        try (Handle h = jdbi(ReplicaSelection.ROUND_ROBIN).open()) {
+            h.setReadOnly(true);
+            assertThat(name(h)).isEqualTo("replica1");
+            assertThat(name(h)).isEqualTo("replica1");
+
+            h.setReadOnly(false);
+            assertThat(name(h)).isEqualTo("primary");
+            assertThat(h.isReadOnly()).isFalse();
+        }
+    }
+
+    @Test
+    public void testTransactionsStayOnPrimary() {
+        try (Handle h = jdbi(ReplicaSelection.ROUND_ROBIN).open()) {
+            h.setReadOnly(true);
+            assertThat(h.inTransaction(Handle::isInTransaction)).isTrue();
+            assertThat(h.inTransaction(TestReadReplicaConnectionFactory::name)).isEqualTo("primary");
+            assertThat(name(h)).isEqualTo("replica1");
+        }
+    }
+
+    @Test
+    public void testRoundRobin() {
+        Jdbi jdbi = jdbi(ReplicaSelection.ROUND_ROBIN);
+        for (String expected : new String[] {"replica1", "replica2", "replica1"}) {
+            try (Handle h = jdbi.open()) {
+                h.setReadOnly(true);
+                assertThat(name(h)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void testLeastOutstanding() {
+        ReadReplicaConnectionFactory factory = new ReadReplicaConnectionFactory(
+            () -> DriverManager.getConnection(primaryRule.getConnectionString()),
+            ReplicaSelection.LEAST_OUTSTANDING,
+            () -> DriverManager.getConnection(replica1Rule.getConnectionString()),
+            () -> DriverManager.getConnection(replica2Rule.getConnectionString()));
+        Jdbi jdbi = Jdbi.create(factory);
+
+        try (Handle first = jdbi.open().setReadOnly(true);
+             Handle second = jdbi.open().setReadOnly(true)) {
+            assertThat(name(first)).isEqualTo("replica1");
+            assertThat(name(second)).isEqualTo("replica2");
+            assertThat(factory.getOutstandingConnections(0)).isEqualTo(1);
+            assertThat(factory.getOutstandingConnections(1)).isEqualTo(1);
+
+            second.close();
+            try (Handle third = jdbi.open().setReadOnly(true)) {
+                // round robin would pick replica1, which still has a connection open
+                assertThat(name(third)).isEqualTo("replica2");
+            }
+        }
+        assertThat(factory.getOutstandingConnections(0)).isZero();
+        assertThat(factory.getOutstandingConnections(1)).isZero();
+    }
+
+    @Test
+    public void testConnectionsAreOpenedLazily() {
+        Jdbi jdbi = jdbi(ReplicaSelection.ROUND_ROBIN);
+        try (Handle h = jdbi.open()) {
+            assertThat(h.isInTransaction()).isFalse();
+        }
+        assertThat(primaryOpened).hasValue(0);
+
+        try (Handle h = jdbi.open()) {
+            h.setReadOnly(true);
+            name(h);
+        }
+        assertThat(primaryOpened).hasValue(0);
+    }
+
+    @Test
+    public void testSessionSettingsApplyToBothConnections() throws SQLException {
+        List<Connection> opened = new ArrayList<>();
+        Jdbi jdbi = Jdbi.create(new ReadReplicaConnectionFactory(
+            () -> open(opened, primaryRule.getConnectionString()),
+            ReplicaSelection.ROUND_ROBIN,
+            () -> open(opened, replica1Rule.getConnectionString())));
+
+        try (Handle h = jdbi.open()) {
+            h.getConnection().setHoldability(ResultSet.CLOSE_CURSORS_AT_COMMIT);
+            assertThat(name(h)).isEqualTo("primary");
+            h.setReadOnly(true);
+            assertThat(name(h)).isEqualTo("replica1");
+
+            assertThat(opened).hasSize(2);
+            for (Connection conn : opened) {
+                assertThat(conn.getHoldability()).isEqualTo(ResultSet.CLOSE_CURSORS_AT_COMMIT);
+            }
+
+            h.getConnection().setHoldability(ResultSet.HOLD_CURSORS_OVER_COMMIT);
+            for (Connection conn : opened) {
+                assertThat(conn.getHoldability()).isEqualTo(ResultSet.HOLD_CURSORS_OVER_COMMIT);
+            }
+        }
+    }
+
+    @Test
+    public void testMetaDataComesFromPrimary() throws SQLException {
+        try (Handle h = jdbi(ReplicaSelection.ROUND_ROBIN).open()) {
+            h.setReadOnly(true);
+            assertThat(name(h)).isEqualTo("replica1");
+
+            assertThat(h.getConnection().getMetaData().getURL()).isEqualTo(primaryRule.getConnectionString());
+        }
+    }
+
+    private static Connection open(List<Connection> opened, String url) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        opened.add(conn);
+        return conn;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.routing;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.core.statement.UnableToCreateStatementException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestShardedJdbi {
+    @Rule
+    public H2DatabaseRule shard0 = new H2DatabaseRule();
+
+    @Rule
+    public H2DatabaseRule shard1 = new H2DatabaseRule();
+
+    private ShardedJdbi sharded;
+
+    @Before
+    public void setUp() {
+        sharded = new ShardedJdbi(Arrays.asList(shard0.getJdbi(), shard1.getJdbi()),
+            (key, shardCount) -> (Integer) key % shardCount);
+    }
+
+    @Test
+    public void testRoutesByKey() {
+        for (int id = 1; id <= 4; id++) {
+            int key = id;
+            sharded.useHandle(key, h -> h.execute("insert into something (id, name) values (?, ?)", key, "n" + key));
+        }
+
+        assertThat(shard0.getSharedHandle().createQuery("select id from something order by id").mapTo(int.class).list())
+            .containsExactly(2, 4);
+        assertThat(shard1.getSharedHandle().createQuery("select id from something order by id").mapTo(int.class).list())
+            .containsExactly(1, 3);
+        String name = sharded.withHandle(3, h -> h.createQuery("select name from something where id = 3")
+            .mapTo(String.class)
+            .findOnly());
+        assertThat(name).isEqualTo("n3");
+        assertThat(sharded.shardFor(6)).isSameAs(shard0.getJdbi());
+    }
+
+    @Test
+    public void testInvalidShard() {
+        ShardedJdbi broken = new ShardedJdbi(Arrays.asList(shard0.getJdbi(), shard1.getJdbi()), (key, count) -> count);
+
+        assertThatThrownBy(() -> broken.shardFor("key")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> sharded.shardFor(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void testHashing() {
+        ShardFunction hashing = ShardFunction.hashing();
+
+        assertThat(hashing.shardFor(-7, 3)).isBetween(0, 2);
+        assertThat(hashing.shardFor("tenant", 3)).isEqualTo(hashing.shardFor("tenant", 3));
+    }
+
+    @Test
+    public void testScatterGather() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            sharded.setExecutor(executor);
+            shard0.getSharedHandle().execute("insert into something (id, name) values (2, 'b'), (4, 'd')");
+            shard1.getSharedHandle().execute("insert into something (id, name) values (1, 'a'), (3, 'c')");
+
+            assertThat(sharded.scatterGather(h -> h.createQuery("select name from something order by id")
+                .mapTo(String.class))
+                .list())
+                .containsExactly("b", "d", "a", "c");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testScatterGatherFailure() {
+        shard1.getSharedHandle().execute("drop table something");
+
+        assertThatThrownBy(() -> sharded.scatterGather(h -> h.createQuery("select name from something")
+            .mapTo(String.class)))
+            .isInstanceOf(UnableToCreateStatementException.class);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestLatencyHistogram {
+    @Test
+    public void testBuckets() {
+        for (long value : new long[] {0, 1, 7, 8, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertThat(LatencyHistogram.upperBoundOf(bucket)).isGreaterThanOrEqualTo(value);
+            assertThat(LatencyHistogram.upperBoundOf(bucket) - value).isLessThanOrEqualTo(value / 8);
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.upperBoundOf(bucket - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(Duration.ZERO);
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(Duration.ofMillis(i).toNanos());
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(1000);
+        assertThat(histogram.getMax()).isEqualTo(Duration.ofMillis(1000));
+        assertThat(histogram.getMean()).isEqualTo(Duration.ofNanos(500_500_000));
+        assertThat(histogram.getValueAtPercentile(50).toNanos())
+            .isBetween(Duration.ofMillis(500).toNanos(), Duration.ofMillis(563).toNanos());
+        assertThat(histogram.getValueAtPercentile(99).toNanos())
+            .isBetween(Duration.ofMillis(990).toNanos(), Duration.ofMillis(1000).toNanos());
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(Duration.ofMillis(1000));
+    }
+
+    @Test
+    public void testCopyAndAdd() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        LatencyHistogram copy = histogram.copy();
+        histogram.record(1000);
+
+        assertThat(copy.getCount()).isEqualTo(1);
+        assertThat(copy.getMax()).isEqualTo(Duration.ofNanos(100));
+
+        copy.add(histogram);
+        assertThat(copy.getCount()).isEqualTo(3);
+        assertThat(copy.getTotal()).isEqualTo(Duration.ofNanos(1200));
+        assertThat(copy.getMax()).isEqualTo(Duration.ofNanos(1000));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Handles;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestRepeatedStatementDetector {
+    private static final String SELECT = "select name from something where id = :id";
+
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule();
+
+    private final List<RepeatedStatementException> reported = new ArrayList<>();
+    private RepeatedStatementDetector detector;
+
+    @Before
+    public void setUp() {
+        detector = new RepeatedStatementDetector(3).setReporter(reported::add);
+        dbRule.getJdbi().getConfig(SqlStatements.class).setRepeatedStatementDetector(detector);
+        // the shared handle was opened before the detector was set
+        dbRule.getSharedHandle().getConfig(SqlStatements.class).setRepeatedStatementDetector(detector);
+        dbRule.getSharedHandle().execute("insert into something (id, name) values (1, 'one'), (2, 'two')");
+    }
+
+    @Test
+    public void testReportsOncePerShape() {
+        Handle h = dbRule.getSharedHandle();
+        for (int i = 0; i < 6; i++) {
+            h.createQuery(SELECT).bind("id", i % 2 + 1).mapTo(String.class).findOnly();
+        }
+
+        assertThat(detector.getExecutions(h, "select name from something where id = ?")).isEqualTo(6);
+        assertThat(reported).hasSize(1);
+        RepeatedStatementException e = reported.get(0);
+        assertThat(e.getShortMessage()).contains("executed 4 times on one handle", "threshold of 3");
+        assertThat(e.getStatementContext().getRawSql()).isEqualTo(SELECT);
+        assertThat(e.getStackTrace()).extracting(StackTraceElement::getMethodName).contains("testReportsOncePerShape");
+    }
+
+    @Test
+    public void testThrowing() {
+        detector.setThrowing(true);
+        Handle h = dbRule.getSharedHandle();
+        for (int i = 0; i < 3; i++) {
+            h.createQuery(SELECT).bind("id", 1).mapTo(String.class).findOnly();
+        }
+
+        assertThatThrownBy(() -> h.createQuery(SELECT).bind("id", 1).mapTo(String.class).findOnly())
+            .isInstanceOf(RepeatedStatementException.class);
+        assertThatThrownBy(() -> h.createQuery(SELECT).bind("id", 1).mapTo(String.class).findOnly())
+            .isInstanceOf(RepeatedStatementException.class);
+        assertThat(reported).isEmpty();
+    }
+
+    @Test
+    public void testCountsPerHandle() {
+        for (int i = 0; i < 3; i++) {
+            dbRule.getJdbi().useHandle(h -> {
+                h.createQuery(SELECT).bind("id", 1).mapTo(String.class).findOnly();
+                h.createQuery(SELECT).bind("id", 2).mapTo(String.class).findOnly();
+            });
+        }
+        assertThat(reported).isEmpty();
+
+        dbRule.getJdbi().useHandle(h -> {
+            for (int i = 0; i < 4; i++) {
+                h.createUpdate("update something set name = name where id = :id").bind("id", i).execute();
+            }
+        });
+        assertThat(reported).hasSize(1);
+    }
+
+    @Test
+    public void testBatchCountsAsOneExecution() {
+        Handle h = dbRule.getSharedHandle();
+        PreparedBatch batch = h.prepareBatch("insert into something (id, name) values (:id, :name)");
+        for (int id = 10; id < 20; id++) {
+            batch.bind("id", id).bind("name", "x").add();
+        }
+        batch.execute();
+
+        assertThat(detector.getExecutions(h, "insert into something (id, name) values (?, ?)")).isEqualTo(1);
+        assertThat(reported).isEmpty();
+    }
+
+    @Test
+    public void testReset() {
+        Handle h = dbRule.getSharedHandle();
+        for (int i = 0; i < 3; i++) {
+            h.createQuery(SELECT).bind("id", 1).mapTo(String.class).findOnly();
+        }
+        detector.reset(h);
+        h.createQuery(SELECT).bind("id", 1).mapTo(String.class).findOnly();
+
+        assertThat(detector.getExecutions(h, "select name from something where id = ?")).isEqualTo(1);
+        assertThat(reported).isEmpty();
+    }
+
+    @Test
+    public void testRecordingDoesNotCopyConfig() {
+        Jdbi jdbi = dbRule.getJdbi();
+        jdbi.getConfig(Handles.class).setLazyConfigCopy(true);
+        SqlStatements statements = jdbi.getConfig(SqlStatements.class);
+
+        try (Handle h = jdbi.open()) {
+            Query query = h.createQuery(SELECT).bind("id", 1);
+            query.mapTo(String.class).findOnly();
+            assertThat(query.getConfig().read(SqlStatements.class)).isSameAs(statements);
+
+            PreparedBatch batch = h.prepareBatch("update something set name = name where id = :id");
+            batch.bind("id", 1).add().execute();
+            assertThat(batch.getConfig().read(SqlStatements.class)).isSameAs(statements);
+
+            assertThat(detector.getExecutions(h, "select name from something where id = ?")).isEqualTo(1);
+        }
+    }
+}
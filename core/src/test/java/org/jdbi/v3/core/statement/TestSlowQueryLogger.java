@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.time.Duration;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestSlowQueryLogger {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule();
+
+    private Handle h;
+
+    @Before
+    public void setUp() {
+        h = dbRule.getSharedHandle();
+        h.execute("insert into something (id, name) values (1, 'one'), (2, 'two')");
+    }
+
+    @Test
+    public void testHistogramsByShape() {
+        SlowQueryLogger logger = new SlowQueryLogger(Duration.ofHours(1));
+        h.setSqlLogger(logger);
+
+        for (int id = 1; id <= 2; id++) {
+            h.createQuery("select name from something where id = :id").bind("id", id).mapTo(String.class).findOnly();
+        }
+        h.createUpdate("update something set name = :name where id = 1").bind("name", "uno").execute();
+
+        assertThat(logger.getHistograms()).hasSize(2);
+        assertThat(logger.getHistogram("select name from something where id = ?").getCount()).isEqualTo(2);
+        assertThat(logger.getHistogram("update something set name = ? where id = 1").getCount()).isEqualTo(1);
+        assertThat(logger.getSlowCount()).isZero();
+
+        logger.reset();
+        assertThat(logger.getHistograms()).isEmpty();
+    }
+
+    @Test
+    public void testSlowest() {
+        SlowQueryLogger logger = new SlowQueryLogger(Duration.ZERO).setSlowestSize(2).setLogEvery(100);
+        h.setSqlLogger(logger);
+
+        for (int i = 0; i < 5; i++) {
+            h.createQuery("select name from something where id = :id").bind("id", 1).mapTo(String.class).findOnly();
+        }
+
+        assertThat(logger.getSlowCount()).isEqualTo(5);
+        assertThat(logger.getSlowest()).hasSize(2);
+        assertThat(logger.getSlowest().get(0).getElapsed())
+            .isGreaterThanOrEqualTo(logger.getSlowest().get(1).getElapsed());
+        assertThat(logger.getSlowest().get(0).getArguments()).contains("id");
+        assertThat(logger.getSlowest().get(0).getShape()).isEqualTo("select name from something where id = ?");
+    }
+
+    @Test
+    public void testFailuresAndMaxShapes() {
+        SlowQueryLogger logger = new SlowQueryLogger(Duration.ofHours(1)).setMaxShapes(1);
+        h.setSqlLogger(logger);
+
+        h.createQuery("select name from something").mapTo(String.class).list();
+        h.createQuery("select id from something").mapTo(int.class).list();
+        assertThatThrownBy(() -> h.execute("insert into something (id, name) values (1, 'again')")).isInstanceOf(StatementException.class);
+
+        assertThat(logger.getHistograms()).containsOnlyKeys("select name from something", SlowQueryLogger.OTHER_SHAPE);
+        assertThat(logger.getHistogram(SlowQueryLogger.OTHER_SHAPE).getCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.result.ResultIterator;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestStreamingQuery {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule();
+
+    private Handle h;
+
+    @Before
+    public void setUp() {
+        h = dbRule.openHandle();
+        PreparedBatch batch = h.prepareBatch("insert into something (id, name) values (:id, :name)");
+        for (int i = 1; i <= 10; i++) {
+            batch.bind("id", i).bind("name", "name" + i).add();
+        }
+        batch.execute();
+    }
+
+    @After
+    public void tearDown() {
+        h.close();
+    }
+
+    @Test
+    public void testStreamingHoldsTransactionUntilClosed() throws SQLException {
+        try (ResultIterator<String> it = h.createQuery("select name from something order by id")
+                .setStreamingFetchSize(3)
+                .mapTo(String.class)
+                .iterator()) {
+            assertThat(h.isInTransaction()).isTrue();
+            assertThat(it.getContext().getStatement().getFetchSize()).isEqualTo(3);
+            assertThat(it.next()).isEqualTo("name1");
+        }
+
+        assertThat(h.isInTransaction()).isFalse();
+        assertThat(h.getConnection().getAutoCommit()).isTrue();
+    }
+
+    @Test
+    public void testStreamingEndsTransactionWhenExhausted() {
+        List<String> names = h.createQuery("select name from something order by id")
+            .setStreamingFetchSize(3)
+            .mapTo(String.class)
+            .list();
+
+        assertThat(names).hasSize(10);
+        assertThat(h.isInTransaction()).isFalse();
+    }
+
+    @Test
+    public void testStreamingConfiguredOnHandle() {
+        h.getConfig(SqlStatements.class).setStreamingFetchSize(5);
+
+        try (Stream<String> stream = h.createQuery("select name from something order by id")
+                .mapTo(String.class)
+                .stream()) {
+            assertThat(h.isInTransaction()).isTrue();
+            assertThat(stream.limit(2).collect(Collectors.toList())).containsExactly("name1", "name2");
+        }
+
+        assertThat(h.isInTransaction()).isFalse();
+    }
+
+    @Test
+    public void testStreamingInsideExistingTransaction() {
+        h.useTransaction(th -> {
+            try (ResultIterator<String> it = th.createQuery("select name from something order by id")
+                    .setStreamingFetchSize(3)
+                    .mapTo(String.class)
+                    .iterator()) {
+                assertThat(it.next()).isEqualTo("name1");
+            }
+
+            assertThat(th.isInTransaction()).isTrue();
+        });
+    }
+
+    @Test
+    public void testStreamingRollsBackWhenExecutionFails() {
+        assertThatThrownBy(() -> h.createQuery("select no_such_column from something")
+                .setStreamingFetchSize(3)
+                .mapTo(String.class)
+                .list())
+            .isInstanceOf(StatementException.class);
+
+        assertThat(h.isInTransaction()).isFalse();
+    }
+
+    @Test
+    public void testInvalidFetchSize() {
+        assertThatThrownBy(() -> h.getConfig(SqlStatements.class).setStreamingFetchSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.core.statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.jdbi.v3.core.locator.ClasspathSqlLocator.getResourceOnClasspath;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestStreamingScript {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFuzzyScript() {
+        Handle h = dbRule.openHandle();
+        long count = h.createScript(new StringReader(getResourceOnClasspath("script/fuzzy-script.sql")))
+            .executeAsSeparateStatements();
+
+        assertThat(count).isEqualTo(10);
+        List<Map<String, Object>> rows = h.select("select id, name from something order by id").mapToMap().list();
+        assertThat(rows).isEqualTo(ImmutableList.of(
+                ImmutableMap.of("id", 1L, "name", "eric"),
+                ImmutableMap.of("id", 2L, "name", "sally;ann"),
+                ImmutableMap.of("id", 3L, "name", "bob"),
+                ImmutableMap.of("id", 12L, "name", "sally;ann;junior")));
+    }
+
+    @Test
+    public void testStatementsMatchScript() {
+        String sql = getResourceOnClasspath("script/insert-with-string-semicolons.sql");
+        Handle h = dbRule.openHandle();
+
+        long count = h.createScript(new StringReader(sql)).setBatchSize(2).execute();
+
+        assertThat(count).isEqualTo(h.createScript(sql).getStatements().size());
+        assertThat(h.select("select * from something").mapToMap()).hasSize(3);
+    }
+
+    @Test
+    public void testLargeScriptFile() throws IOException {
+        Path file = folder.newFile("seed.sql").toPath();
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 10_000; i++) {
+                writer.write("-- row " + i + "\n");
+                writer.write("insert into something (id, name) values (" + i + ", 'name;" + i + "');\n");
+            }
+        }
+
+        Handle h = dbRule.openHandle();
+        long count = h.createScript(file).setBatchSize(100).execute();
+
+        assertThat(count).isEqualTo(10_000);
+        assertThat(h.createQuery("select count(*) from something").mapTo(int.class).findOnly()).isEqualTo(10_000);
+        assertThat(h.createQuery("select name from something where id = 9999").mapTo(String.class).findOnly())
+            .isEqualTo("name;9999");
+    }
+
+    @Test
+    public void testReaderIsReadIncrementally() {
+        CountingReader reader = new CountingReader(10_000);
+        Handle h = dbRule.openHandle();
+
+        assertThatExceptionOfType(StatementException.class)
+            .isThrownBy(() -> h.createScript(reader).setBatchSize(10).execute());
+
+        assertThat(reader.rowsRead).isLessThan(100);
+        // the first batch was executed, H2 executes the rest of the failing batch too
+        assertThat(h.createQuery("select count(*) from something").mapTo(int.class).findOnly()).isBetween(10, 19);
+    }
+
+    @Test
+    public void testLongStatementAcrossBuffers() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            name.append((char) ('a' + i % 26));
+        }
+        Handle h = dbRule.openHandle();
+        h.execute("alter table something alter column name varchar(20000)");
+
+        h.createScript(new StringReader("insert into something (id, name) values (1, '" + name + "');")).execute();
+
+        assertThat(h.createQuery("select name from something").mapTo(String.class).findOnly()).isEqualTo(name.toString());
+    }
+
+    @Test
+    public void testDefinedAttributesApplyToEachBatch() {
+        Handle h = dbRule.openHandle();
+        String script = "insert into <table> (id, name) values (1, 'a');\n"
+            + "insert into <table> (id, name) values (2, 'b');\n"
+            + "insert into <table> (id, name) values (3, 'c');\n";
+
+        long count = h.createScript(new StringReader(script)).setBatchSize(2).define("table", "something").execute();
+
+        assertThat(count).isEqualTo(3);
+        assertThat(h.createQuery("select count(*) from something").mapTo(int.class).findOnly()).isEqualTo(3);
+    }
+
+    @Test
+    public void testConfigurationAppliesToSeparateStatements() {
+        Handle h = dbRule.openHandle();
+        String script = "insert into <table> (id, name) values (1, 'a');\n"
+            + "insert into <table> (id, name) values (2, 'b');\n";
+
+        long count = h.createScript(new StringReader(script))
+            .configure(SqlStatements.class, c -> c.define("table", "something"))
+            .executeAsSeparateStatements();
+
+        assertThat(count).isEqualTo(2);
+        assertThat(h.createQuery("select count(*) from something").mapTo(int.class).findOnly()).isEqualTo(2);
+        assertThat(h.getConfig(SqlStatements.class).getAttribute("table")).isNull();
+    }
+
+    /**
+     * Generates one good insert per row, except for a bad statement after the tenth row.
+     */
+    private static class CountingReader extends Reader {
+        private final int rows;
+        private int rowsRead;
+        private String current = "";
+        private int position;
+
+        CountingReader(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (position == current.length()) {
+                if (rowsRead == rows) {
+                    return -1;
+                }
+                current = rowsRead == 10
+                    ? "insert into nonexistent (id) values (0);\n"
+                    : "insert into something (id, name) values (" + rowsRead + ", 'x');\n";
+                position = 0;
+                rowsRead++;
+            }
+            int read = Math.min(len, current.length() - position);
+            current.getChars(position, position + read, cbuf, off);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -15,6 +15,7 @@ package org.jdbi.v3.core.transaction;
 
 import java.sql.Connection;
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -29,6 +30,9 @@ public class TestLocalTransactionHandler {
     @Rule
     public MockitoRule mockito = MockitoJUnit.rule();
 
+    @Rule
+    public H2DatabaseRule db = new H2DatabaseRule();
+
     @Mock
     Handle h;
 
@@ -68,4 +72,43 @@ public class TestLocalTransactionHandler {
             }))
             .isSameAs(error);
     }
+
+    @Test
+    public void testSpecializedHandlerKeepsState() throws Exception {
+        Mockito.when(c.getAutoCommit()).thenReturn(true);
+        Mockito.when(h.getConnection()).thenReturn(c);
+
+        LocalTransactionHandler handler = new LocalTransactionHandler();
+        TransactionHandler bound = handler.specialize(h);
+        assertThat(bound).isNotSameAs(handler);
+
+        bound.begin(h);
+        bound.begin(h);
+        Mockito.verify(c, Mockito.times(1)).setAutoCommit(false);
+
+        bound.commit(h);
+        Mockito.verify(c).commit();
+        Mockito.verify(c).setAutoCommit(true);
+    }
+
+    @Test
+    public void testSubclassIsNotSpecialized() {
+        LocalTransactionHandler handler = new LocalTransactionHandler() {};
+        assertThat(handler.specialize(h)).isSameAs(handler);
+    }
+
+    @Test
+    public void testUnspecializedRollbackInCallback() {
+        db.getJdbi().setTransactionHandler(new LocalTransactionHandler() {});
+
+        try (Handle handle = db.getJdbi().open()) {
+            handle.useTransaction(th -> {
+                th.execute("insert into something (id, name) values (1, 'one')");
+                th.rollback();
+            });
+
+            assertThat(handle.isInTransaction()).isFalse();
+            assertThat(handle.createQuery("select count(*) from something").mapTo(int.class).findOnly()).isZero();
+        }
+    }
 }
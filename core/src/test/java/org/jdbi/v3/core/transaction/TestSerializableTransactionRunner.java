@@ -14,6 +14,7 @@
 package org.jdbi.v3.core.transaction;
 
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -137,4 +138,91 @@ public class TestSerializableTransactionRunner {
         verifyNoMoreInteractions(onSuccess);
         assertThat(expectedExceptions.get()).isEqualTo(MAX_RETRIES);
     }
+
+    @Test
+    public void testRetriesAdditionalSqlStates() throws Exception {
+        config().setRetryableSqlStates("40P01");
+        final AtomicInteger remaining = new AtomicInteger(2);
+
+        dbRule.getJdbi().open().inTransaction(TransactionIsolationLevel.SERIALIZABLE, conn -> {
+            if (remaining.decrementAndGet() == 0) {
+                return null;
+            }
+            throw new SQLException("deadlock", "40P01");
+        });
+
+        assertThat(remaining.get()).isZero();
+    }
+
+    @Test
+    public void testCounters() {
+        Handle handle = dbRule.getJdbi().open();
+
+        assertThatExceptionOfType(SQLException.class)
+            .isThrownBy(() -> handle.inTransaction(TransactionIsolationLevel.SERIALIZABLE, conn -> {
+                throw new SQLException("serialization", "40001");
+            }));
+
+        assertThat(config().getAttemptCount()).isEqualTo(1 + MAX_RETRIES);
+        assertThat(config().getRetryCount()).isEqualTo(MAX_RETRIES);
+        assertThat(config().getGiveUpCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRetryBudget() {
+        SerializableTransactionRunner.RetryBudget budget = new SerializableTransactionRunner.RetryBudget(2, 0);
+        config().setRetryBudget(budget);
+        final AtomicInteger attempts = new AtomicInteger(0);
+        Handle handle = dbRule.getJdbi().open();
+
+        assertThatExceptionOfType(SQLException.class)
+            .isThrownBy(() -> handle.inTransaction(TransactionIsolationLevel.SERIALIZABLE, conn -> {
+                attempts.incrementAndGet();
+                throw new SQLException("serialization", "40001");
+            }))
+            .satisfies(e -> assertThat(e.getSuppressed()).hasSize(2));
+
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(budget.getAvailableTokens()).isZero();
+        assertThat(config().getGiveUpCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBackoff() {
+        config().setMaxRetries(3).setBackoff(Duration.ofMillis(20), Duration.ofMillis(40)).setJitter(false);
+        Handle handle = dbRule.getJdbi().open();
+
+        long start = System.nanoTime();
+        assertThatExceptionOfType(SQLException.class)
+            .isThrownBy(() -> handle.inTransaction(TransactionIsolationLevel.SERIALIZABLE, conn -> {
+                throw new SQLException("serialization", "40001");
+            }));
+
+        // 20 + 40 + 40 ms
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    public void testZeroInitialBackoffRetriesImmediately() {
+        config().setMaxRetries(3).setBackoff(Duration.ZERO, Duration.ofSeconds(10)).setJitter(false);
+        Handle handle = dbRule.getJdbi().open();
+
+        long start = System.nanoTime();
+        assertThatExceptionOfType(SQLException.class)
+            .isThrownBy(() -> handle.inTransaction(TransactionIsolationLevel.SERIALIZABLE, conn -> {
+                throw new SQLException("serialization", "40001");
+            }));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testNonsenseBackoff() {
+        assertThatThrownBy(() -> config().setBackoff(Duration.ofSeconds(2), Duration.ofSeconds(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SerializableTransactionRunner.Configuration config() {
+        return dbRule.getJdbi().getConfig(SerializableTransactionRunner.Configuration.class);
+    }
 }
@@ -13,12 +13,16 @@
  */
 package org.jdbi.v3.jpa;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Type;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jdbi.v3.core.mapper.ColumnMapper;
 import org.jdbi.v3.core.mapper.NoSuchMapperException;
@@ -32,9 +36,12 @@ import org.jdbi.v3.jpa.internal.JpaMember;
  * @param <C> the type to map
  */
 public class JpaMapper<C> implements RowMapper<C> {
+    // the number of result set shapes a mapper caches the matching members for
+    private static final int MAX_CACHED_SHAPES = 32;
 
     private final Class<C> clazz;
     private final JpaClass<C> jpaClass;
+    private final Map<List<String>, ShapePlan> plans = new ConcurrentHashMap<>();
 
     JpaMapper(Class<C> clazz) {
         this.clazz = clazz;
@@ -43,50 +50,81 @@ public class JpaMapper<C> implements RowMapper<C> {
 
     @Override
     public RowMapper<C> specialize(ResultSet rs, StatementContext ctx) throws SQLException {
-        Constructor<C> constructor;
-        try {
-            constructor = clazz.getDeclaredConstructor();
-        } catch (ReflectiveOperationException e) {
-            throw new EntityMemberAccessException("Unable to get constructor for " + clazz, e);
-        }
-        constructor.setAccessible(true);
-
-        List<MemberSetter<C>> setters = new ArrayList<>();
+        MethodHandle constructor = jpaClass.constructor();
+        ShapePlan plan = planFor(rs.getMetaData());
 
-        for (int colIndex = rs.getMetaData().getColumnCount(); colIndex >= 1; colIndex--) {
-            String columnLabel = rs.getMetaData().getColumnLabel(colIndex);
-            JpaMember member = jpaClass.lookupMember(columnLabel);
-            if (member != null) {
-                Type memberType = member.getType();
-                ColumnMapper<?> columnMapper = ctx.findColumnMapperFor(memberType)
-                        .orElseThrow(() -> new NoSuchMapperException("No column mapper for " + memberType));
-
-                final int columnIndex = colIndex;
-                setters.add(obj -> member.write(obj, columnMapper.map(rs, columnIndex, ctx)));
-            }
+        int size = plan.members.length;
+        ColumnMapper<?>[] columnMappers = new ColumnMapper<?>[size];
+        for (int i = 0; i < size; i++) {
+            Type memberType = plan.members[i].getType();
+            columnMappers[i] = ctx.findColumnMapperFor(memberType)
+                    .orElseThrow(() -> new NoSuchMapperException("No column mapper for " + memberType));
         }
 
         return (r, c) -> {
-            C obj;
-            try {
-                obj = constructor.newInstance();
-            } catch (ReflectiveOperationException e) {
-                throw new EntityMemberAccessException("Unable to invoke " + constructor, e);
-            }
-            for (MemberSetter<C> setter : setters) {
-                setter.mapAndSetMember(obj);
+            C obj = newInstance(constructor);
+            for (int i = 0; i < size; i++) {
+                plan.members[i].write(obj, columnMappers[i].map(r, plan.columnIndexes[i], c));
             }
             return obj;
         };
     }
 
+    private ShapePlan planFor(ResultSetMetaData metadata) throws SQLException {
+        int columnCount = metadata.getColumnCount();
+        String[] columnLabels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnLabels[i] = metadata.getColumnLabel(i + 1);
+        }
+        List<String> key = Arrays.asList(columnLabels);
+
+        ShapePlan plan = plans.get(key);
+        if (plan != null) {
+            return plan;
+        }
+        plan = new ShapePlan(jpaClass, columnLabels);
+        if (plans.size() < MAX_CACHED_SHAPES) {
+            ShapePlan existing = plans.putIfAbsent(key, plan);
+            return existing == null ? plan : existing;
+        }
+        return plan;
+    }
+
+    @SuppressWarnings({"unchecked", "PMD.AvoidRethrowingException"})
+    private C newInstance(MethodHandle constructor) {
+        try {
+            return (C) constructor.invokeExact();
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new EntityMemberAccessException("Unable to invoke constructor of " + clazz, e);
+        }
+    }
+
     @Override
     public C map(ResultSet rs, StatementContext ctx) throws SQLException {
         return specialize(rs, ctx).map(rs, ctx);
     }
 
-    @FunctionalInterface
-    private interface MemberSetter<C> {
-        void mapAndSetMember(C object) throws SQLException;
+    /**
+     * The members written from the columns of one result set shape, last column first.
+     */
+    private static final class ShapePlan {
+        private final JpaMember[] members;
+        private final int[] columnIndexes;
+
+        ShapePlan(JpaClass<?> jpaClass, String[] columnLabels) {
+            List<JpaMember> matched = new ArrayList<>();
+            List<Integer> indexes = new ArrayList<>();
+            for (int colIndex = columnLabels.length; colIndex >= 1; colIndex--) {
+                JpaMember member = jpaClass.lookupMember(columnLabels[colIndex - 1]);
+                if (member != null) {
+                    matched.add(member);
+                    indexes.add(colIndex);
+                }
+            }
+            this.members = matched.toArray(new JpaMember[0]);
+            this.columnIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+        }
     }
 }
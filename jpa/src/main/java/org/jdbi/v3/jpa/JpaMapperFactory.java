@@ -16,7 +16,9 @@ package org.jdbi.v3.jpa;
 import static org.jdbi.v3.core.generic.GenericTypes.getErasedType;
 
 import java.lang.reflect.Type;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.persistence.Entity;
 
@@ -28,11 +30,14 @@ import org.jdbi.v3.core.mapper.RowMapperFactory;
  * Create {@link JpaMapper}s for {@link Entity} annotated classes.
  */
 public class JpaMapperFactory implements RowMapperFactory {
+    // mappers cache the members matching each result set shape, so they are kept for the life of the factory
+    private final Map<Class<?>, JpaMapper<?>> mappers = new ConcurrentHashMap<>();
+
     @Override
     public Optional<RowMapper<?>> build(Type type, ConfigRegistry config) {
         Class<?> clazz = getErasedType(type);
         return clazz.isAnnotationPresent(Entity.class)
-                ? Optional.of(new JpaMapper<>(clazz))
+                ? Optional.of(mappers.computeIfAbsent(clazz, c -> new JpaMapper<>(c)))
                 : Optional.empty();
     }
 }
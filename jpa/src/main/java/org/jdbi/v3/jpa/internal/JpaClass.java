@@ -16,6 +16,10 @@ package org.jdbi.v3.jpa.internal;
 import java.beans.IndexedPropertyDescriptor;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -29,6 +33,7 @@ import java.util.WeakHashMap;
 import java.util.stream.Stream;
 import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
+import org.jdbi.v3.jpa.EntityMemberAccessException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,14 +49,37 @@ public class JpaClass<C> {
         return (JpaClass<C>) CACHE.computeIfAbsent(clazz, JpaClass::new);
     }
 
+    private final Class<C> clazz;
     private final List<JpaMember> members;
+    private final Map<String, JpaMember> membersByColumn = new HashMap<>();
+    private volatile MethodHandle constructor;
 
     private JpaClass(Class<C> clazz) {
+        this.clazz = clazz;
         this.members = unmodifiableList(new ArrayList<>(inspectClass(clazz)));
+        members.forEach(member -> membersByColumn.putIfAbsent(member.getColumnName().toLowerCase(Locale.ROOT), member));
 
         LOGGER.debug("init {}: {} members.", clazz, members.size());
     }
 
+    /**
+     * @return a method handle of type {@code ()Object} invoking the no-arguments constructor of the class
+     */
+    public MethodHandle constructor() {
+        MethodHandle result = constructor;
+        if (result == null) {
+            try {
+                Constructor<C> ctor = clazz.getDeclaredConstructor();
+                ctor.setAccessible(true);
+                result = MethodHandles.lookup().unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+            } catch (ReflectiveOperationException e) {
+                throw new EntityMemberAccessException("Unable to get constructor for " + clazz, e);
+            }
+            constructor = result;
+        }
+        return result;
+    }
+
     private static Collection<JpaMember> inspectClass(Class<?> clazz) {
         Map<String, JpaMember> members = new HashMap<>();
 
@@ -126,11 +154,7 @@ public class JpaClass<C> {
     }
 
     public JpaMember lookupMember(String columnLabel) {
-        String column = columnLabel.toLowerCase(Locale.ROOT);
-        return members.stream()
-                .filter(member -> column.equals(member.getColumnName().toLowerCase(Locale.ROOT)))
-                .findFirst()
-                .orElse(null);
+        return membersByColumn.get(columnLabel.toLowerCase(Locale.ROOT));
     }
 
     public List<JpaMember> members() {
@@ -14,6 +14,9 @@
 package org.jdbi.v3.jpa.internal;
 
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -28,12 +31,22 @@ import static java.util.Objects.requireNonNull;
 
 public class JpaMember {
     private static final Logger LOGGER = LoggerFactory.getLogger(JpaMember.class);
+    private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual(Field.class, "set", WRITER_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     private final Class<?> clazz;
     private final String columnName;
     private final Type type;
     private final Getter accessor;
-    private final Setter mutator;
+    private final MethodHandle writer;
 
     JpaMember(Class<?> clazz, Column column, Field field) {
         this.clazz = requireNonNull(clazz);
@@ -41,7 +54,7 @@ public class JpaMember {
         this.type = field.getGenericType();
         field.setAccessible(true);
         this.accessor = field::get;
-        this.mutator = field::set;
+        this.writer = writerFor(field);
     }
 
     JpaMember(Class<?> clazz, Column column, PropertyDescriptor property) {
@@ -54,7 +67,20 @@ public class JpaMember {
         getter.setAccessible(true);
         setter.setAccessible(true);
         this.accessor = getter::invoke;
-        this.mutator = setter::invoke;
+        try {
+            this.writer = MethodHandles.lookup().unreflect(setter).asType(WRITER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new EntityMemberAccessException("Couldn't access " + setter, e);
+        }
+    }
+
+    private static MethodHandle writerFor(Field field) {
+        try {
+            return MethodHandles.lookup().unreflectSetter(field).asType(WRITER_TYPE);
+        } catch (IllegalAccessException e) {
+            // final fields can only be written reflectively
+            return FIELD_SET.bindTo(field);
+        }
     }
 
     public String getColumnName() {
@@ -69,12 +95,17 @@ public class JpaMember {
         return accessor.get(obj);
     }
 
+    @SuppressWarnings("PMD.AvoidRethrowingException")
     public void write(Object obj, Object value) {
-        LOGGER.debug("write {}/{}/{}/{}", clazz, columnName, type, value);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("write {}/{}/{}/{}", clazz, columnName, type, value);
+        }
 
         try {
-            mutator.set(obj, value);
-        } catch (ReflectiveOperationException e) {
+            writer.invokeExact(obj, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new EntityMemberAccessException("Couldn't set " + clazz + "#" + columnName, e);
         }
     }
@@ -89,8 +120,4 @@ public class JpaMember {
     interface Getter {
         Object get(Object obj) throws IllegalAccessException, InvocationTargetException;
     }
-
-    interface Setter {
-        void set(Object obj, Object value) throws IllegalAccessException, InvocationTargetException;
-    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.jpa;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.mapper.RowMapperFactory;
+import org.jdbi.v3.core.mapper.reflect.BeanMapper;
+import org.jdbi.v3.core.statement.PreparedBatch;
+
+/**
+ * Compares mapping rows with {@link JpaMapper} and {@link BeanMapper}, for short queries, where specializing the
+ * mapper dominates, and long queries, where writing members does. Not run as part of the build; run the main method
+ * with {@code -Xmx} and warm-up settings of your choice.
+ */
+public final class JpaMapperBenchmark {
+    private static final int ROWS = 1_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    private JpaMapperBenchmark() {}
+
+    public static void main(String[] args) throws SQLException {
+        Jdbi jdbi = Jdbi.create("jdbc:h2:mem:" + UUID.randomUUID());
+        try (Handle handle = jdbi.open()) {
+            handle.execute("create table thing (id int primary key, name varchar(50), amount bigint, note varchar(50))");
+            PreparedBatch batch = handle.prepareBatch("insert into thing (id, name, amount, note) values (?, ?, ?, ?)");
+            for (int i = 0; i < ROWS; i++) {
+                batch.add(i, "name" + i, i * 100L, i % 2 == 0 ? null : "note" + i);
+            }
+            batch.execute();
+
+            // the handle keeps the in-memory database open
+            run(jdbi, "jpa", new JpaMapperFactory());
+            run(jdbi, "bean", BeanMapper.factory(Thing.class));
+        }
+    }
+
+    private static void run(Jdbi jdbi, String name, RowMapperFactory factory) {
+        long singleRow;
+        long allRows;
+        try (Handle handle = jdbi.open()) {
+            handle.registerRowMapper(factory);
+            query(handle, 1, WARMUP * ROWS);
+            query(handle, ROWS, WARMUP);
+
+            long start = System.nanoTime();
+            query(handle, 1, ITERATIONS * ROWS);
+            singleRow = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            query(handle, ROWS, ITERATIONS);
+            allRows = System.nanoTime() - start;
+        }
+
+        System.out.printf("%-5s %8.1f us/single row query %8.1f ns/row%n",
+            name, singleRow / 1000.0 / (ITERATIONS * ROWS), (double) allRows / (ITERATIONS * ROWS));
+    }
+
+    private static void query(Handle handle, int rows, int times) {
+        for (int i = 0; i < times; i++) {
+            handle.createQuery("select id, name, amount, note from thing where id < :rows")
+                .bind("rows", rows)
+                .mapTo(Thing.class)
+                .list();
+        }
+    }
+
+    @Entity
+    public static class Thing {
+        @Column
+        private int id;
+        @Column
+        private String name;
+        @Column
+        private long amount;
+        @Column
+        private String note;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+
+        public String getNote() {
+            return note;
+        }
+
+        public void setNote(String note) {
+            this.note = note;
+        }
+    }
+}
@@ -646,6 +646,43 @@ public class JpaTest {
         assertThatThing(rs).containsOnlyOnce(brian, keith);
     }
 
+    @Entity
+    static class FinalFieldThing implements Thing {
+        @Column
+        private final int id;
+        @Column
+        private String name;
+
+        FinalFieldThing() {
+            this(0, null);
+        }
+
+        FinalFieldThing(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Test
+    public void testFinalField() {
+        dbRule.getSharedHandle().execute("insert into something(id, name) values (?, ?)", 1, "Brian");
+
+        List<FinalFieldThing> rs = dbRule.getSharedHandle().createQuery(SELECT_BY_PROPERTY_NAME)
+                .registerRowMapper(new JpaMapperFactory())
+                .mapTo(FinalFieldThing.class)
+                .list();
+
+        assertThatThing(rs).containsOnlyOnce(new FinalFieldThing(1, "Brian"));
+    }
+
     private static <T extends Thing> AbstractListAssert<?, ? extends List<? extends T>, T, ?> assertThatThing(List<T> rs) {
         return assertThat(rs).usingElementComparator((Comparator<T>) (left, right) -> {
             if (left.getId() == right.getId()) {
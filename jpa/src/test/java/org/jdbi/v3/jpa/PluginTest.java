@@ -93,4 +93,22 @@ public class PluginTest {
 
         assertThat(rs).containsOnlyOnce(brian, keith);
     }
+
+    @Test
+    public void testResultSetShapes() {
+        ThingDao dao = dbRule.getSharedHandle().attach(ThingDao.class);
+        dao.insert(new Thing(1, "Brian"));
+        dao.insert(new Thing(2, "Keith"));
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(dbRule.getSharedHandle().createQuery("select id, name from something order by id")
+                    .mapTo(Thing.class)
+                    .list())
+                    .containsExactly(new Thing(1, "Brian"), new Thing(2, "Keith"));
+            assertThat(dbRule.getSharedHandle().createQuery("select name, 'unmapped' as other from something order by id")
+                    .mapTo(Thing.class)
+                    .list())
+                    .containsExactly(new Thing(0, "Brian"), new Thing(0, "Keith"));
+        }
+    }
 }
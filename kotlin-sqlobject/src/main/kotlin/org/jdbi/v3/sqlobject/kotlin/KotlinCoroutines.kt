@@ -0,0 +1,67 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.kotlin
+
+import org.jdbi.v3.core.config.JdbiConfig
+import org.jdbi.v3.meta.Beta
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Configures how `suspend` SQL Object methods run.
+ *
+ * JDBC calls block, so a `suspend` SQL method does not suspend the calling coroutine by default: it runs on the
+ * calling thread. Once an [executor] is configured, the statement runs on the executor, and the calling coroutine
+ * is suspended until the statement completes. A connection is held for every statement running, so a fixed size
+ * executor with one thread per pooled connection keeps coroutines from waiting on the pool while blocking a thread:
+ *
+ * ```
+ * jdbi.configure(KotlinCoroutines::class.java) { it.executor = KotlinCoroutines.jdbcExecutor(poolSize) }
+ * ```
+ */
+@Beta
+class KotlinCoroutines() : JdbiConfig<KotlinCoroutines> {
+    /**
+     * The executor `suspend` SQL methods run on, or null to run them on the calling thread.
+     */
+    var executor: Executor? = null
+
+    private constructor(that: KotlinCoroutines) : this() {
+        executor = that.executor
+    }
+
+    override fun createCopy(): KotlinCoroutines = KotlinCoroutines(this)
+
+    companion object {
+        private val poolNumber = AtomicInteger()
+
+        /**
+         * Creates a fixed size executor of daemon threads, for blocking JDBC calls.
+         *
+         * @param threads the number of threads, usually the size of the connection pool
+         */
+        @JvmStatic
+        fun jdbcExecutor(threads: Int): ExecutorService {
+            require(threads > 0) { "threads must be > 0" }
+            val pool = poolNumber.incrementAndGet()
+            val thread = AtomicInteger()
+            return Executors.newFixedThreadPool(threads, ThreadFactory { r ->
+                Thread(r, "jdbi-jdbc-$pool-${thread.incrementAndGet()}").apply { isDaemon = true }
+            })
+        }
+    }
+}
@@ -15,6 +15,7 @@ package org.jdbi.v3.sqlobject.kotlin
 
 import org.jdbi.v3.core.Jdbi
 import org.jdbi.v3.core.spi.JdbiPlugin
+import org.jdbi.v3.sqlobject.HandlerDecorators
 import org.jdbi.v3.sqlobject.Handlers
 import org.jdbi.v3.sqlobject.SqlObjects
 
@@ -23,5 +24,6 @@ class KotlinSqlObjectPlugin : JdbiPlugin {
     override fun customizeJdbi(jdbi: Jdbi) {
         jdbi.configure(SqlObjects::class.java, { c -> c.defaultParameterCustomizerFactory = KotlinSqlStatementCustomizerFactory() })
         jdbi.configure(Handlers::class.java, { c -> c.register(KotlinDefaultMethodHandlerFactory()) })
+        jdbi.configure(HandlerDecorators::class.java, { c -> c.register(SuspendingHandlerDecorator()) })
     }
 }
@@ -0,0 +1,87 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.kotlin
+
+import org.jdbi.v3.core.extension.ExtensionMethod
+import org.jdbi.v3.meta.Beta
+import org.jdbi.v3.sqlobject.Handler
+import org.jdbi.v3.sqlobject.HandlerDecorator
+import org.jdbi.v3.sqlobject.SqlOperation
+import java.lang.reflect.Method
+import java.util.concurrent.RejectedExecutionException
+import kotlin.coroutines.experimental.Continuation
+import kotlin.coroutines.experimental.ContinuationInterceptor
+import kotlin.coroutines.experimental.intrinsics.COROUTINE_SUSPENDED
+import kotlin.reflect.jvm.kotlinFunction
+
+/**
+ * Runs `suspend` SQL methods, i.e. methods with a SQL operation annotation such as `@SqlQuery`, on the
+ * [KotlinCoroutines.executor], and resumes the calling coroutine with the result through its continuation
+ * interceptor, so the coroutine continues on its own dispatcher rather than on the executor. The handle is kept open
+ * until the statement completes, also for on-demand SQL Objects.
+ *
+ * `suspend` default methods run on the calling thread; the SQL methods they call run on the executor. The handle
+ * of an on-demand SQL Object is closed after its first SQL method completes, so default methods calling several SQL
+ * methods need an attached SQL Object.
+ */
+@Beta
+class SuspendingHandlerDecorator : HandlerDecorator {
+
+    override fun decorateHandler(base: Handler, sqlObjectType: Class<*>, method: Method): Handler {
+        if (!method.isSuspending() || !method.isSqlOperation()) {
+            return base
+        }
+
+        val extensionMethod = ExtensionMethod(sqlObjectType, method)
+        val returnsUnit = method.kotlinFunction?.returnType?.classifier == Unit::class
+
+        return Handler { target, args, handleSupplier ->
+            val executor = handleSupplier.getConfig(KotlinCoroutines::class.java).executor
+            if (executor == null) {
+                val result = base.invoke(target, args, handleSupplier)
+                if (returnsUnit) Unit else result
+            } else {
+                @Suppress("UNCHECKED_CAST")
+                val caller = args.last() as Continuation<Any?>
+                val continuation = caller.context[ContinuationInterceptor]?.interceptContinuation(caller) ?: caller
+                val config = handleSupplier.config
+                val retained = handleSupplier.retainHandle()
+
+                try {
+                    executor.execute {
+                        val result = try {
+                            handleSupplier.invokeInContext(extensionMethod, config) { base.invoke(target, args, handleSupplier) }
+                        } catch (e: Throwable) {
+                            retained.release()
+                            continuation.resumeWithException(e)
+                            return@execute
+                        }
+                        retained.release()
+                        continuation.resume(if (returnsUnit) Unit else result)
+                    }
+                } catch (e: RejectedExecutionException) {
+                    retained.release()
+                    throw e
+                }
+                COROUTINE_SUSPENDED
+            }
+        }
+    }
+
+    private fun Method.isSuspending(): Boolean =
+        parameterTypes.lastOrNull() == Continuation::class.java
+
+    private fun Method.isSqlOperation(): Boolean =
+        annotations.any { it.annotationClass.java.isAnnotationPresent(SqlOperation::class.java) }
+}
@@ -0,0 +1,200 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.kotlin
+
+import org.jdbi.v3.core.JdbiException
+import org.jdbi.v3.core.rule.H2DatabaseRule
+import org.jdbi.v3.core.statement.SqlLogger
+import org.jdbi.v3.core.statement.StatementContext
+import org.jdbi.v3.sqlobject.HandlerDecorators
+import org.jdbi.v3.sqlobject.SqlObjectMetrics
+import org.jdbi.v3.sqlobject.kotlin.KotlinCoroutines
+import org.jdbi.v3.sqlobject.kotlin.attach
+import org.jdbi.v3.sqlobject.kotlin.onDemand
+import org.jdbi.v3.sqlobject.statement.SqlQuery
+import org.jdbi.v3.sqlobject.statement.SqlUpdate
+import org.junit.After
+import org.junit.Rule
+import org.junit.Test
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.coroutines.experimental.AbstractCoroutineContextElement
+import kotlin.coroutines.experimental.Continuation
+import kotlin.coroutines.experimental.ContinuationInterceptor
+import kotlin.coroutines.experimental.CoroutineContext
+import kotlin.coroutines.experimental.EmptyCoroutineContext
+import kotlin.coroutines.experimental.startCoroutine
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class SuspendingSqlObjectTest {
+    @Rule @JvmField
+    val db = H2DatabaseRule().withPlugins()
+
+    private val executor = KotlinCoroutines.jdbcExecutor(2)
+    private val appExecutor = Executors.newSingleThreadExecutor { Thread(it, "app") }
+
+    interface SomethingDao {
+        @SqlUpdate("insert into something (id, name) values (:id, :name)")
+        suspend fun insert(id: Int, name: String)
+
+        @SqlUpdate("update something set name = :name where id = :id")
+        suspend fun rename(id: Int, name: String): Int
+
+        @SqlQuery("select name from something where id = :id")
+        suspend fun findName(id: Int): String
+
+        @SqlQuery("select name from something order by id")
+        suspend fun listNames(): List<String>
+
+        @SqlQuery("select name from nothing")
+        suspend fun broken(): List<String>
+
+        suspend fun insertAndList(id: Int, name: String): List<String> {
+            insert(id, name)
+            return listNames()
+        }
+    }
+
+    @After
+    fun shutdown() {
+        executor.shutdownNow()
+        appExecutor.shutdownNow()
+    }
+
+    private fun useExecutor() {
+        db.jdbi.configure(KotlinCoroutines::class.java) { it.executor = executor }
+        db.sharedHandle.configure(KotlinCoroutines::class.java) { it.executor = executor }
+    }
+
+    private fun <T> runSuspending(context: CoroutineContext = EmptyCoroutineContext, block: suspend () -> T): T {
+        val result = CompletableFuture<T>()
+        block.startCoroutine(object : Continuation<T> {
+            override val context: CoroutineContext = context
+
+            override fun resume(value: T) {
+                result.complete(value)
+            }
+
+            override fun resumeWithException(exception: Throwable) {
+                result.completeExceptionally(exception)
+            }
+        })
+        try {
+            return result.get(10, TimeUnit.SECONDS)
+        } catch (e: ExecutionException) {
+            throw e.cause!!
+        }
+    }
+
+    @Test
+    fun testRunsOnCallingThreadByDefault() {
+        val dao = db.jdbi.onDemand<SomethingDao>()
+        val caller = Thread.currentThread()
+
+        val thread = runSuspending {
+            dao.insert(1, "Brian")
+            Thread.currentThread()
+        }
+
+        assertEquals(caller, thread)
+        assertEquals("Brian", runSuspending { dao.findName(1) })
+    }
+
+    /**
+     * Dispatches the coroutine on an executor, like a coroutine dispatcher.
+     */
+    private class ExecutorInterceptor(private val executor: Executor)
+        : AbstractCoroutineContextElement(ContinuationInterceptor), ContinuationInterceptor {
+        override fun <T> interceptContinuation(continuation: Continuation<T>): Continuation<T> = object : Continuation<T> {
+            override val context: CoroutineContext = continuation.context
+
+            override fun resume(value: T) {
+                executor.execute { continuation.resume(value) }
+            }
+
+            override fun resumeWithException(exception: Throwable) {
+                executor.execute { continuation.resumeWithException(exception) }
+            }
+        }
+    }
+
+    @Test
+    fun testOnDemandRunsOnExecutor() {
+        useExecutor()
+        val statementThreads = CopyOnWriteArrayList<String>()
+        db.jdbi.setSqlLogger(object : SqlLogger {
+            override fun logBeforeExecution(context: StatementContext) {
+                statementThreads.add(Thread.currentThread().name)
+            }
+        })
+        val dao = db.jdbi.onDemand<SomethingDao>()
+
+        val threads = runSuspending(ExecutorInterceptor(appExecutor)) {
+            val before = Thread.currentThread()
+            dao.insert(1, "Brian")
+            val between = Thread.currentThread()
+            dao.insert(2, "Keith")
+            listOf(before, between, Thread.currentThread()).map { it.name }
+        }
+
+        assertEquals(listOf("app", "app", "app"), threads)
+        assertEquals(2, statementThreads.size)
+        assertTrue(statementThreads.all { it.startsWith("jdbi-jdbc-") })
+        assertEquals(1, runSuspending { dao.rename(2, "Keith Richards") })
+        assertEquals("Keith Richards", runSuspending { dao.findName(2) })
+        assertEquals(listOf("Brian", "Keith Richards"), runSuspending { dao.listNames() })
+    }
+
+    @Test
+    fun testAttachedRunsOnExecutor() {
+        useExecutor()
+        val dao = db.sharedHandle.attach<SomethingDao>()
+
+        assertEquals(listOf("Brian", "Keith"), runSuspending {
+            dao.insertAndList(1, "Brian")
+            dao.insertAndList(2, "Keith")
+        })
+        assertFalse(db.sharedHandle.isClosed)
+    }
+
+    @Test
+    fun testFailureResumesWithException() {
+        useExecutor()
+        val dao = db.jdbi.onDemand<SomethingDao>()
+
+        assertFailsWith<JdbiException> { runSuspending { dao.broken() } }
+        assertEquals(emptyList(), runSuspending { dao.listNames() })
+    }
+
+    @Test
+    fun testMetricsSkipSuspendingMethods() {
+        useExecutor()
+        val metrics = SqlObjectMetrics()
+        db.jdbi.configure(HandlerDecorators::class.java) { it.register(metrics) }
+        val dao = db.jdbi.onDemand<SomethingDao>()
+
+        runSuspending { dao.insert(1, "Brian") }
+        assertEquals("Brian", runSuspending { dao.findName(1) })
+
+        assertFalse(metrics.getSnapshot(SomethingDao::class.java, "findName").isPresent)
+        assertTrue(metrics.snapshot.isEmpty())
+    }
+}
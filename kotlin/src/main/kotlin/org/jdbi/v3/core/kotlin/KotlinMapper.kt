@@ -24,8 +24,10 @@ import org.jdbi.v3.core.mapper.reflect.ReflectionMapperUtil.findColumnIndex
 import org.jdbi.v3.core.mapper.reflect.ReflectionMapperUtil.getColumnNames
 import org.jdbi.v3.core.mapper.reflect.ReflectionMappers
 import org.jdbi.v3.core.statement.StatementContext
+import java.lang.reflect.Constructor
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Type
 import java.sql.ResultSet
-import java.util.Optional
 import java.util.OptionalInt
 import java.util.concurrent.ConcurrentHashMap
 import kotlin.reflect.KClass
@@ -36,24 +38,58 @@ import kotlin.reflect.full.findAnnotation
 import kotlin.reflect.full.memberProperties
 import kotlin.reflect.full.primaryConstructor
 import kotlin.reflect.jvm.isAccessible
+import kotlin.reflect.jvm.javaConstructor
 import kotlin.reflect.jvm.javaField
+import kotlin.reflect.jvm.javaSetter
 import kotlin.reflect.jvm.javaType
 import kotlin.reflect.jvm.jvmErasure
 
 private val nullValueRowMapper = RowMapper<Any?> { _, _ -> null }
 
+// the number of result set shapes a mapper caches mapping plans for
+private const val MAX_CACHED_PLANS = 32
+
 class KotlinMapper(clazz: Class<*>, private val prefix: String = "") : RowMapper<Any> {
     private val kClass: KClass<*> = clazz.kotlin
     private val constructor = findConstructor(kClass)
     private val constructorParameters = constructor.parameters
+    private val constructorParameterNames = constructorParameters.associate { it to it.paramName() }
     private val memberProperties = kClass.memberProperties
         .mapNotNull { it as? KMutableProperty1<*, *> }
         .filter { property ->
-            !constructorParameters.any { parameter -> parameter.paramName() == property.propName() }
+            !constructorParameters.any { parameter -> constructorParameterNames[parameter] == property.propName() }
         }
 
     private val nestedMappers = ConcurrentHashMap<KParameter, KotlinMapper>()
     private val nestedPropertyMappers = ConcurrentHashMap<KMutableProperty1<*, *>, KotlinMapper>()
+    private val plans = ConcurrentHashMap<PlanKey, ShapePlan>()
+
+    // the Java constructor, if its parameters correspond to those of the Kotlin constructor
+    private val javaConstructor: Constructor<*>? by lazy {
+        constructor.javaConstructor
+            ?.takeIf { it.parameterCount == constructorParameters.size }
+            ?.also { it.isAccessible = true }
+    }
+
+    // the synthetic constructor the Kotlin compiler generates for constructors with default parameter values:
+    // the constructor parameters, an int bit mask per 32 parameters marking those to default, and a marker
+    private val defaultsConstructor: Constructor<*>? by lazy {
+        javaConstructor?.let { javaConstructor ->
+            val parameterTypes = javaConstructor.parameterTypes.toList()
+            val maskCount = (parameterTypes.size + Integer.SIZE - 1) / Integer.SIZE
+            kClass.java.declaredConstructors.firstOrNull { candidate ->
+                val candidateTypes = candidate.parameterTypes
+                candidateTypes.size == parameterTypes.size + maskCount + 1 &&
+                    candidateTypes.take(parameterTypes.size) == parameterTypes &&
+                    candidateTypes.drop(parameterTypes.size).take(maskCount).all { it == Integer.TYPE } &&
+                    candidateTypes.last().name == "kotlin.jvm.internal.DefaultConstructorMarker"
+            }?.also { it.isAccessible = true }
+        }
+    }
+
+    init {
+        constructor.isAccessible = true
+    }
 
     override fun map(rs: ResultSet, ctx: StatementContext): Any {
         return specialize(rs, ctx).map(rs, ctx)
@@ -61,36 +97,44 @@ class KotlinMapper(clazz: Class<*>, private val prefix: String = "") : RowMapper
 
     override fun specialize(rs: ResultSet, ctx: StatementContext): RowMapper<Any> {
         val columnNames = getColumnNames(rs)
-        val columnNameMatchers = ctx.getConfig(ReflectionMappers::class.java).columnNameMatchers
-        val unmatchedColumns = columnNames.toMutableSet()
+        val reflectionMappers = ctx.getConfig(ReflectionMappers::class.java)
+        val shapePlan = planFor(columnNames, reflectionMappers.columnNameMatchers)
 
-        val mapper = specialize0(ctx, columnNames, columnNameMatchers, unmatchedColumns)
-            .orElseThrow {
-                IllegalArgumentException(
-                    "Mapping Kotlin type ${kClass.simpleName} didn't find any columns matching required, " +
-                        "non-default constructor parameters in result set")
-            }
+        val plan = shapePlan.plan
+            ?: throw IllegalArgumentException(
+                "Mapping Kotlin type ${kClass.simpleName} didn't find any columns matching required, " +
+                    "non-default constructor parameters in result set")
 
-        if (ctx.getConfig(ReflectionMappers::class.java).isStrictMatching &&
-            unmatchedColumns.any { col -> col.startsWith(prefix) }) {
+        if (reflectionMappers.isStrictMatching &&
+            shapePlan.unmatchedColumns.any { col -> col.startsWith(prefix) }) {
 
             throw IllegalArgumentException(
                 "Mapping constructor-injected type ${kClass.simpleName} could not match parameters " +
-                    "for columns: $unmatchedColumns")
+                    "for columns: ${shapePlan.unmatchedColumns}")
         }
 
-        return mapper
+        return plan.bind(ctx)
+    }
+
+    private fun planFor(columnNames: List<String>, columnNameMatchers: List<ColumnNameMatcher>): ShapePlan {
+        val key = PlanKey(columnNames, columnNameMatchers)
+        plans[key]?.let { return it }
+
+        val unmatchedColumns = columnNames.toMutableSet()
+        val plan = ShapePlan(resolve(columnNames, columnNameMatchers, unmatchedColumns), unmatchedColumns)
+        if (plans.size < MAX_CACHED_PLANS) {
+            plans.putIfAbsent(key, plan)
+        }
+        return plan
     }
 
-    private fun specialize0(ctx: StatementContext,
-                            columnNames: List<String>,
-                            columnNameMatchers: List<ColumnNameMatcher>,
-                            unmatchedColumns: MutableSet<String>
-    ): Optional<RowMapper<Any>> {
+    private fun resolve(columnNames: List<String>,
+                        columnNameMatchers: List<ColumnNameMatcher>,
+                        unmatchedColumns: MutableSet<String>
+    ): MappingPlan? {
         val resolvedConstructorParameters = constructorParameters
             .associate { parameter ->
-                parameter to resolveConstructorParameterMapper(
-                    ctx, parameter, columnNames, columnNameMatchers, unmatchedColumns)
+                parameter to resolveConstructorParameter(parameter, columnNames, columnNameMatchers, unmatchedColumns)
             }
 
         val explicitlyMappedConstructorParameters = resolvedConstructorParameters
@@ -102,7 +146,7 @@ class KotlinMapper(clazz: Class<*>, private val prefix: String = "") : RowMapper
         if (unmappedConstructorParameters.isNotEmpty()) {
             if (explicitlyMappedConstructorParameters.isEmpty()) {
                 // at least one constructor parameter is unmapped, and the rest are defaulted or nullable
-                return Optional.empty()
+                return null
             }
             // some constructor parameters explicitly mapped, and some unmapped
             throw IllegalArgumentException(
@@ -112,37 +156,29 @@ class KotlinMapper(clazz: Class<*>, private val prefix: String = "") : RowMapper
             )
         }
 
-        val memberPropertyMappers = memberProperties
-            .associate { property ->
-                property to resolveMemberPropertyMapper(ctx, property, columnNames, columnNameMatchers, unmatchedColumns)
+        val memberPropertyValues = memberProperties
+            .mapNotNull { property ->
+                resolveMemberProperty(property, columnNames, columnNameMatchers, unmatchedColumns)
+                    ?.let { property to it }
             }
-            .filterValues { it != null }
 
-        if (explicitlyMappedConstructorParameters.isEmpty() && memberPropertyMappers.isEmpty()) {
+        if (explicitlyMappedConstructorParameters.isEmpty() && memberPropertyValues.isEmpty()) {
             // no constructor parameters or properties are mapped. nothing for us to do
-            return Optional.empty()
+            return null
         }
 
-        val constructorParameterMappers = resolvedConstructorParameters
-            .mapValues { (_, value) -> value.second }
-            // We filter 'null' mappers to remove parameters with no mappers but a default value
-            .filterValues { it != null }
-
-        return Optional.of(RowMapper { r, c ->
-            val constructorParametersWithValues = constructorParameterMappers
-                .mapValues { it.value?.map(r, c) }
-
-            val memberPropertiesWithValues = memberPropertyMappers
-                .mapValues { it.value?.map(r, c) }
+        // parameters with no value but a default value are left out
+        val constructorParameterValues = resolvedConstructorParameters
+            .mapNotNull { (parameter, resolution) -> resolution.second?.let { parameter to it } }
+        val defaultedParameters = resolvedConstructorParameters
+            .filter { it.value.first == ParamResolution.USE_DEFAULT }
+            .keys
 
-            constructor.isAccessible = true
-            constructor.callBy(constructorParametersWithValues).also { instance ->
-                memberPropertiesWithValues.forEach { (prop, value) ->
-                    prop.isAccessible = true
-                    prop.setter.call(instance, value)
-                }
-            }
-        })
+        return MappingPlan(
+            constructorParameterValues.map { it.second },
+            instantiator(constructorParameterValues.map { it.first }, defaultedParameters),
+            memberPropertyValues.map { it.second },
+            memberPropertyValues.map { setterFor(it.first) })
     }
 
     private enum class ParamResolution {
@@ -152,43 +188,35 @@ class KotlinMapper(clazz: Class<*>, private val prefix: String = "") : RowMapper
         UNMAPPED
     }
 
-    private fun resolveConstructorParameterMapper(ctx: StatementContext,
-                                                  parameter: KParameter,
-                                                  columnNames: List<String>,
-                                                  columnNameMatchers: List<ColumnNameMatcher>,
-                                                  unmatchedColumns: MutableSet<String>
-    ): Pair<ParamResolution, RowMapper<*>?> {
-        val parameterName = parameter.paramName()
+    private fun resolveConstructorParameter(parameter: KParameter,
+                                            columnNames: List<String>,
+                                            columnNameMatchers: List<ColumnNameMatcher>,
+                                            unmatchedColumns: MutableSet<String>
+    ): Pair<ParamResolution, ValuePlan?> {
+        val parameterName = constructorParameterNames[parameter]
 
         val nested = parameter.findAnnotation<Nested>()
         if (nested == null) {
             val columnIndex = findColumnIndex(parameterName, columnNames, columnNameMatchers) { parameter.name }
             if (columnIndex.isPresent) {
                 val type = parameter.type.javaType
-
-                return ctx.findColumnMapperFor(type)
-                    .map { mapper ->
-                        Pair(ParamResolution.MAPPED, SingleColumnMapper(mapper, columnIndex.asInt + 1))
-                    }
-                    .orElseThrow {
-                        IllegalArgumentException(
-                            "Could not find column mapper for type '$type' of parameter " +
-                                "'$parameter' for constructor '$constructor'")
-                    }.also {
-                        unmatchedColumns.remove(columnNames[columnIndex.asInt])
-                    }
+                unmatchedColumns.remove(columnNames[columnIndex.asInt])
+                return Pair(ParamResolution.MAPPED, ValuePlan.Column(columnIndex.asInt, type) {
+                    "Could not find column mapper for type '$type' of parameter " +
+                        "'$parameter' for constructor '$constructor'"
+                })
             }
         } else {
             val nestedPrefix = prefix + nested.value
 
             if (anyColumnsStartWithPrefix(columnNames, nestedPrefix, columnNameMatchers)) {
-                val nestedMapper = nestedMappers
+                val nestedPlan = nestedMappers
                     .computeIfAbsent(parameter) { p ->
                         KotlinMapper(p.type.jvmErasure.java, nestedPrefix)
                     }
-                    .specialize0(ctx, columnNames, columnNameMatchers, unmatchedColumns)
-                if (nestedMapper.isPresent) {
-                    return Pair(ParamResolution.MAPPED, nestedMapper.get())
+                    .resolve(columnNames, columnNameMatchers, unmatchedColumns)
+                if (nestedPlan != null) {
+                    return Pair(ParamResolution.MAPPED, ValuePlan.NestedValue(nestedPlan))
                 }
             }
         }
@@ -199,18 +227,17 @@ class KotlinMapper(clazz: Class<*>, private val prefix: String = "") : RowMapper
         }
 
         if (parameter.type.isMarkedNullable) {
-            return Pair(ParamResolution.USE_NULL, nullValueRowMapper)
+            return Pair(ParamResolution.USE_NULL, ValuePlan.Null)
         }
 
         return Pair(ParamResolution.UNMAPPED, null)
     }
 
-    private fun resolveMemberPropertyMapper(ctx: StatementContext,
-                                            property: KMutableProperty1<*, *>,
-                                            columnNames: List<String>,
-                                            columnNameMatchers: List<ColumnNameMatcher>,
-                                            unmatchedColumns: MutableSet<String>
-    ): RowMapper<*>? {
+    private fun resolveMemberProperty(property: KMutableProperty1<*, *>,
+                                      columnNames: List<String>,
+                                      columnNameMatchers: List<ColumnNameMatcher>,
+                                      unmatchedColumns: MutableSet<String>
+    ): ValuePlan? {
         val propertyName = property.propName()
         val nested = property.javaField?.getAnnotation(Nested::class.java)
 
@@ -227,30 +254,59 @@ class KotlinMapper(clazz: Class<*>, private val prefix: String = "") : RowMapper
             }
 
             val type = property.returnType.javaType
-            return ctx.findColumnMapperFor(type)
-                    .map { mapper -> SingleColumnMapper(mapper, columnIndex + 1) }
-                    .orElseThrow {
-                        IllegalArgumentException(
-                            "Could not find column mapper for type '$type' of property " +
-                                "'${property.name}' for constructor '${kClass.simpleName}'")
-                    }
-                    .also {
-                        unmatchedColumns.remove(columnNames[columnIndex])
-                    }
+            unmatchedColumns.remove(columnNames[columnIndex])
+            return ValuePlan.Column(columnIndex, type) {
+                "Could not find column mapper for type '$type' of property " +
+                    "'${property.name}' for constructor '${kClass.simpleName}'"
+            }
         } else {
             val nestedPrefix = prefix + nested.value
 
             if (anyColumnsStartWithPrefix(columnNames, nestedPrefix, columnNameMatchers)) {
                 return nestedPropertyMappers
                     .computeIfAbsent(property) { p -> KotlinMapper(p.returnType.jvmErasure.java, nestedPrefix) }
-                    .specialize0(ctx, columnNames, columnNameMatchers, unmatchedColumns)
-                    .orElse(null)
+                    .resolve(columnNames, columnNameMatchers, unmatchedColumns)
+                    ?.let { ValuePlan.NestedValue(it) }
             }
         }
 
         return null
     }
 
+    /**
+     * Creates instances from the values of the given parameters, in order, through the Java constructor, or the
+     * synthetic defaults constructor if any parameters are defaulted; `callBy` is only used if neither fits.
+     */
+    private fun instantiator(parameters: List<KParameter>, defaulted: Collection<KParameter>): (Array<Any?>) -> Any {
+        val javaConstructor = javaConstructor
+        val target = if (defaulted.isEmpty()) javaConstructor else defaultsConstructor
+
+        if (javaConstructor == null || target == null) {
+            return { values -> constructor.callBy(parameters.withIndex().associate { (i, p) -> p to values[i] }) }
+        }
+
+        val template = arrayOfNulls<Any?>(target.parameterCount)
+        javaConstructor.parameterTypes.forEachIndexed { i, type -> template[i] = zeroValue(type) }
+        if (defaulted.isNotEmpty()) {
+            val masks = IntArray(template.size - constructorParameters.size - 1)
+            defaulted.forEach { masks[it.index / Integer.SIZE] = masks[it.index / Integer.SIZE] or (1 shl (it.index % Integer.SIZE)) }
+            masks.forEachIndexed { i, mask -> template[constructorParameters.size + i] = mask }
+        }
+        val slots = parameters.map { it.index }.toIntArray()
+
+        return { values ->
+            val args = template.copyOf()
+            for (i in slots.indices) {
+                args[slots[i]] = values[i]
+            }
+            try {
+                target.newInstance(*args)
+            } catch (e: InvocationTargetException) {
+                throw e.targetException
+            }
+        }
+    }
+
     private fun KParameter.paramName(): String? {
         return prefix + (findAnnotation<ColumnName>()?.value ?: name)
     }
@@ -259,6 +315,81 @@ class KotlinMapper(clazz: Class<*>, private val prefix: String = "") : RowMapper
         val annotation = this.javaField?.getAnnotation(ColumnName::class.java)
         return prefix + (annotation?.value ?: name)
     }
+
+    private data class PlanKey(val columnNames: List<String>, val columnNameMatchers: List<ColumnNameMatcher>)
+
+    private class ShapePlan(val plan: MappingPlan?, val unmatchedColumns: Set<String>)
+
+    /**
+     * How a value is read from a result set of a given shape; column mappers are looked up per statement.
+     */
+    private sealed class ValuePlan {
+        class Column(val index: Int, val type: Type, val noMapperMessage: () -> String) : ValuePlan()
+        class NestedValue(val plan: MappingPlan) : ValuePlan()
+        object Null : ValuePlan()
+
+        fun bind(ctx: StatementContext): RowMapper<*> = when (this) {
+            is Column -> ctx.findColumnMapperFor(type)
+                .map { mapper -> SingleColumnMapper(mapper, index + 1) }
+                .orElseThrow { IllegalArgumentException(noMapperMessage()) }
+            is NestedValue -> plan.bind(ctx)
+            is Null -> nullValueRowMapper
+        }
+    }
+
+    /**
+     * How instances are mapped from a result set of a given shape.
+     */
+    private class MappingPlan(val constructorValues: List<ValuePlan>,
+                              val instantiator: (Array<Any?>) -> Any,
+                              val propertyValues: List<ValuePlan>,
+                              val propertySetters: List<(Any, Any?) -> Unit>) {
+        fun bind(ctx: StatementContext): RowMapper<Any> {
+            val constructorMappers = constructorValues.map { it.bind(ctx) }.toTypedArray()
+            val propertyMappers = propertyValues.map { it.bind(ctx) }.toTypedArray()
+            val setters = propertySetters.toTypedArray()
+
+            return RowMapper { r, c ->
+                val values = arrayOfNulls<Any?>(constructorMappers.size)
+                for (i in constructorMappers.indices) {
+                    values[i] = constructorMappers[i].map(r, c)
+                }
+                instantiator(values).also { instance ->
+                    for (i in propertyMappers.indices) {
+                        setters[i](instance, propertyMappers[i].map(r, c))
+                    }
+                }
+            }
+        }
+    }
+}
+
+private fun setterFor(property: KMutableProperty1<*, *>): (Any, Any?) -> Unit {
+    val setter = property.javaSetter
+    if (setter != null) {
+        setter.isAccessible = true
+        return { instance, value ->
+            try {
+                setter.invoke(instance, value)
+            } catch (e: InvocationTargetException) {
+                throw e.targetException
+            }
+        }
+    }
+    property.isAccessible = true
+    return { instance, value -> property.setter.call(instance, value) }
+}
+
+private fun zeroValue(type: Class<*>): Any? = when (type) {
+    java.lang.Boolean.TYPE -> false
+    java.lang.Character.TYPE -> '\u0000'
+    java.lang.Byte.TYPE -> 0.toByte()
+    java.lang.Short.TYPE -> 0.toShort()
+    java.lang.Integer.TYPE -> 0
+    java.lang.Long.TYPE -> 0L
+    java.lang.Float.TYPE -> 0f
+    java.lang.Double.TYPE -> 0.0
+    else -> null
 }
 
 private fun <C : Any> findConstructor(kClass: KClass<C>) : KFunction<C> {
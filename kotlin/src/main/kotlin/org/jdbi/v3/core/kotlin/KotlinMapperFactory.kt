@@ -19,8 +19,11 @@ import org.jdbi.v3.core.mapper.RowMapper
 import org.jdbi.v3.core.mapper.RowMapperFactory
 import java.lang.reflect.Type
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 
 class KotlinMapperFactory : RowMapperFactory {
+    // mappers cache their reflection metadata and mapping plans, so they are kept for the life of the factory
+    private val mappers = ConcurrentHashMap<Class<*>, KotlinMapper>()
 
     override fun build(type: Type, config: ConfigRegistry): Optional<RowMapper<*>> {
         val erasedType = getErasedType(type)
@@ -29,7 +32,7 @@ class KotlinMapperFactory : RowMapperFactory {
         // Switching this might cause issues for users, might be better to do it for a major release
         // See https://github.com/jdbi/jdbi/issues/1218 for more info
         return if (erasedType.isKotlinClass() && !erasedType.isEnum) {
-            Optional.of(KotlinMapper(erasedType))
+            Optional.of(mappers.computeIfAbsent(erasedType) { KotlinMapper(it) })
         } else {
             Optional.empty()
         }
@@ -538,4 +538,103 @@ class KotlinMapperTest {
             .first())
             .isEqualTo(ClassWithNullableNestedProperty(1).also { it.nested = NestedDataClass("foo", "bar") })
     }
+
+    data class DataClassWithDefaults(val id: Int,
+                                     val name: String = "default",
+                                     val count: Long = 7,
+                                     val flag: Boolean = true)
+
+    @Test
+    fun testDataClassWithDefaultParameters() {
+        assertThat(handle.select("select 1 as id")
+            .mapTo<DataClassWithDefaults>()
+            .first())
+            .isEqualTo(DataClassWithDefaults(1))
+
+        assertThat(handle.select("select 1 as id, 'foo' as name, false as flag")
+            .mapTo<DataClassWithDefaults>()
+            .first())
+            .isEqualTo(DataClassWithDefaults(1, "foo", flag = false))
+    }
+
+    data class DataClassWithManyDefaults(
+        val p0: Int = 0,
+        val p1: Int = 1,
+        val p2: Int = 2,
+        val p3: Int = 3,
+        val p4: Int = 4,
+        val p5: Int = 5,
+        val p6: Int = 6,
+        val p7: Int = 7,
+        val p8: Int = 8,
+        val p9: Int = 9,
+        val p10: Int = 10,
+        val p11: Int = 11,
+        val p12: Int = 12,
+        val p13: Int = 13,
+        val p14: Int = 14,
+        val p15: Int = 15,
+        val p16: Int = 16,
+        val p17: Int = 17,
+        val p18: Int = 18,
+        val p19: Int = 19,
+        val p20: Int = 20,
+        val p21: Int = 21,
+        val p22: Int = 22,
+        val p23: Int = 23,
+        val p24: Int = 24,
+        val p25: Int = 25,
+        val p26: Int = 26,
+        val p27: Int = 27,
+        val p28: Int = 28,
+        val p29: Int = 29,
+        val p30: Int = 30,
+        val p31: Int = 31,
+        val p32: Int = 32,
+        val p33: Int = 33)
+
+    @Test
+    fun testDataClassWithMoreThan32DefaultParameters() {
+        val result = handle.select("select 100 as p0, 133 as p33")
+            .mapTo<DataClassWithManyDefaults>()
+            .first()
+
+        assertThat(result).isEqualTo(DataClassWithManyDefaults(p0 = 100, p33 = 133))
+        assertThat(result.p31).isEqualTo(31)
+        assertThat(result.p32).isEqualTo(32)
+    }
+
+    class ClassWithValidation(val id: Int) {
+        init {
+            require(id > 0) { "id must be positive" }
+        }
+    }
+
+    @Test
+    fun testConstructorExceptionIsNotWrapped() {
+        assertThatExceptionOfType(IllegalArgumentException::class.java)
+            .isThrownBy { handle.select("select 0 as id").mapTo<ClassWithValidation>().first() }
+            .withMessage("id must be positive")
+    }
+
+    @Test
+    fun testCachedPlanUsesColumnMappersOfEachStatement() {
+        handle.execute("insert into the_things(id, first) values (1, 'one')")
+
+        assertThat(handle.select("select id, first from the_things")
+            .mapTo<DataClassWithOnlyPrimaryConstructor>()
+            .first())
+            .isEqualTo(DataClassWithOnlyPrimaryConstructor(1, "one"))
+
+        assertThat(handle.select("select id, first from the_things")
+            .registerColumnMapper(String::class.java) { r, i, _ -> r.getString(i).toUpperCase() }
+            .mapTo<DataClassWithOnlyPrimaryConstructor>()
+            .first())
+            .isEqualTo(DataClassWithOnlyPrimaryConstructor(1, "ONE"))
+
+        assertThat(handle.select("select first, id from the_things")
+            .mapTo<DataClassWithOnlyPrimaryConstructor>()
+            .first())
+            .isEqualTo(DataClassWithOnlyPrimaryConstructor(1, "one"))
+    }
 }
@@ -51,6 +51,7 @@ public class PostgresPlugin implements JdbiPlugin {
         db.registerArgument(new InetArgumentFactory());
         db.registerArgument(new HStoreArgumentFactory());
         db.registerArgument(new UUIDArgumentFactory());
+        db.registerArgument(new PrimitiveArrayArgumentFactory());
 
         db.registerArrayType(int.class, "integer");
         db.registerArrayType(Integer.class, "integer");
@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.postgres;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.jdbi.v3.core.argument.Argument;
+import org.jdbi.v3.core.argument.ArgumentFactory;
+import org.jdbi.v3.core.array.SqlArrayArgumentStrategy;
+import org.jdbi.v3.core.array.SqlArrayType;
+import org.jdbi.v3.core.array.SqlArrayTypes;
+import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.generic.GenericTypes;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.postgresql.PGConnection;
+
+/**
+ * Binds {@code int[]}, {@code long[]}, {@code short[]}, {@code float[]}, {@code double[]} and {@code boolean[]}
+ * arguments as SQL arrays without boxing their elements, by handing the primitive array to
+ * {@link PGConnection#createArrayOf(String, Object)}. The SQL type name is that of the {@link SqlArrayType}
+ * registered for the primitive type. Connections which do not wrap a Postgres connection get boxed elements.
+ */
+public class PrimitiveArrayArgumentFactory implements ArgumentFactory {
+    @Override
+    public Optional<Argument> build(Type type, Object value, ConfigRegistry config) {
+        Class<?> erasedType = GenericTypes.getErasedType(type);
+        if (value == null || !isSupported(erasedType)) {
+            return Optional.empty();
+        }
+
+        return config.get(SqlArrayTypes.class).findFor(erasedType.getComponentType())
+                .map(arrayType -> new PrimitiveArrayArgument(arrayType.getTypeName(), value));
+    }
+
+    private static boolean isSupported(Class<?> type) {
+        return type == int[].class
+                || type == long[].class
+                || type == short[].class
+                || type == float[].class
+                || type == double[].class
+                || type == boolean[].class;
+    }
+
+    private static class PrimitiveArrayArgument implements Argument {
+        private final String typeName;
+        private final Object array;
+
+        PrimitiveArrayArgument(String typeName, Object array) {
+            this.typeName = typeName;
+            this.array = array;
+        }
+
+        @Override
+        public void apply(int position, PreparedStatement statement, StatementContext ctx) throws SQLException {
+            SqlArrayArgumentStrategy argumentStyle = ctx.getSqlArrayArgumentStrategy();
+            switch (argumentStyle) {
+                case SQL_ARRAY:
+                    java.sql.Array sqlArray = createArray(statement.getConnection());
+                    ctx.addCleanable(sqlArray::free);
+                    statement.setArray(position, sqlArray);
+                    break;
+                case OBJECT_ARRAY:
+                    statement.setObject(position, boxed());
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Unknown array argument style " + argumentStyle);
+            }
+        }
+
+        private java.sql.Array createArray(Connection conn) throws SQLException {
+            if (conn.isWrapperFor(PGConnection.class)) {
+                return conn.unwrap(PGConnection.class).createArrayOf(typeName, array);
+            }
+            return conn.createArrayOf(typeName, boxed());
+        }
+
+        private Object[] boxed() {
+            Object[] boxed = new Object[Array.getLength(array)];
+            for (int i = 0; i < boxed.length; i++) {
+                boxed[i] = Array.get(array, i);
+            }
+            return boxed;
+        }
+
+        @Override
+        public String toString() {
+            return typeName + "[] - " + Arrays.toString(boxed());
+        }
+    }
+}
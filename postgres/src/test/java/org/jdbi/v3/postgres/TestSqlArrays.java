@@ -23,6 +23,7 @@ import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Something;
@@ -146,6 +147,33 @@ public class TestSqlArrays {
         assertThat(ao.fetchUuidLinkedList()).isNull();
     }
 
+    @Test
+    public void testPrimitiveArrays() {
+        long[] longs = LongStream.range(0, 10_000).map(l -> l * Integer.MAX_VALUE).toArray();
+        double[] doubles = IntStream.range(0, 10_000).mapToDouble(i -> i / 3.0).toArray();
+        h.execute("DROP TABLE IF EXISTS numbers");
+        h.execute("CREATE TABLE numbers (l BIGINT[], d DOUBLE PRECISION[])");
+
+        h.createUpdate("INSERT INTO numbers VALUES (:l, :d)")
+            .bind("l", longs)
+            .bind("d", doubles)
+            .execute();
+
+        assertThat(h.createQuery("SELECT l FROM numbers").mapTo(long[].class).findOnly()).containsExactly(longs);
+        assertThat(h.createQuery("SELECT d FROM numbers").mapTo(double[].class).findOnly()).containsExactly(doubles);
+    }
+
+    @Test
+    public void testLargeIntArrayArgument() {
+        int[] ids = IntStream.range(0, 10_000).map(i -> i * 2).toArray();
+
+        assertThat(h.createQuery("SELECT count(*) FROM generate_series(0, 20000) s WHERE s = ANY(:ids)")
+            .bind("ids", ids)
+            .mapTo(int.class)
+            .findOnly())
+            .isEqualTo(10_000);
+    }
+
     public interface ArrayObject {
         @SqlQuery(U_SELECT)
         @SingleValue
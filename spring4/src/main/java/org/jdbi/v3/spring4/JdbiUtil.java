@@ -13,8 +13,9 @@
  */
 package org.jdbi.v3.spring4;
 
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.Handle;
@@ -25,7 +26,8 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
  * Utility for working with Jdbi and Spring transaction bound resources
  */
 public class JdbiUtil {
-    private static final Set<Handle> TRANSACTIONAL_HANDLES = new HashSet<>();
+    // Handle uses identity equality; a concurrent set needs no lock shared by all request threads
+    private static final Set<Handle> TRANSACTIONAL_HANDLES = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
     private JdbiUtil() {
         throw new UnsupportedOperationException("utility class");
@@ -43,9 +45,9 @@ public class JdbiUtil {
         if (bound == null) {
             bound = jdbi.open();
             if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TRANSACTIONAL_HANDLES.add(bound);
                 TransactionSynchronizationManager.bindResource(jdbi, bound);
                 TransactionSynchronizationManager.registerSynchronization(new Adapter(jdbi, bound));
-                TRANSACTIONAL_HANDLES.add(bound);
             }
         }
         return bound;
@@ -56,11 +58,15 @@ public class JdbiUtil {
      * @param handle the handle to consider closing
      */
     public static void closeIfNeeded(Handle handle) {
-        if (!TRANSACTIONAL_HANDLES.contains(handle)) {
+        if (!isTransactional(handle)) {
             handle.close();
         }
     }
 
+    static boolean isTransactional(Handle handle) {
+        return TRANSACTIONAL_HANDLES.contains(handle);
+    }
+
     private static class Adapter extends TransactionSynchronizationAdapter {
         private final Jdbi db;
         private final Handle handle;
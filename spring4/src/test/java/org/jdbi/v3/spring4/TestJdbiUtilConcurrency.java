@@ -0,0 +1,104 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.spring4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("/org/jdbi/v3/spring4/test-context.xml")
+@TestExecutionListeners(listeners = {DependencyInjectionTestExecutionListener.class})
+public class TestJdbiUtilConcurrency {
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 100;
+
+    private Service service;
+    private Jdbi jdbi;
+
+    @Autowired
+    public void setService(Service service) {
+        this.service = service;
+    }
+
+    @Autowired
+    public void setJdbi(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    @Test
+    public void testConcurrentTransactionalAndPlainHandles() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        inTransaction();
+                        outsideTransaction();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void inTransaction() {
+        Handle[] bound = new Handle[1];
+        service.inPropagationRequired(db -> {
+            Handle h = JdbiUtil.getHandle(db);
+            assertThat(JdbiUtil.getHandle(db)).isSameAs(h);
+            assertThat(JdbiUtil.isTransactional(h)).isTrue();
+
+            JdbiUtil.closeIfNeeded(h);
+            assertThat(h.isClosed()).isFalse();
+            assertThat(h.createQuery("select count(*) from something").mapTo(int.class).findOnly()).isNotNegative();
+            bound[0] = h;
+        });
+        assertThat(JdbiUtil.isTransactional(bound[0])).isFalse();
+    }
+
+    private void outsideTransaction() {
+        Handle h = JdbiUtil.getHandle(jdbi);
+        assertThat(JdbiUtil.isTransactional(h)).isFalse();
+
+        JdbiUtil.closeIfNeeded(h);
+        assertThat(h.isClosed()).isTrue();
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.jdbi.v3.core.internal.DefaultMethods;
 import org.jdbi.v3.core.internal.Throwables;
 
 class BridgeMethodHandlerFactory implements HandlerFactory {
@@ -47,7 +48,7 @@ class BridgeMethodHandlerFactory implements HandlerFactory {
 
     private static MethodHandle unreflect(Class<?> sqlObjectType, Method m) {
         try {
-            return DefaultMethodHandler.lookupFor(sqlObjectType).unreflect(m);
+            return DefaultMethods.lookupFor(sqlObjectType).unreflect(m);
         } catch (IllegalAccessException e) {
             throw new UnableToCreateSqlObjectException("Bridge handler couldn't unreflect " + sqlObjectType + " " + m, e);
         }
@@ -14,86 +14,16 @@
 package org.jdbi.v3.sqlobject;
 
 import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.WeakHashMap;
 import org.jdbi.v3.core.extension.HandleSupplier;
+import org.jdbi.v3.core.internal.DefaultMethods;
 import org.jdbi.v3.core.internal.Throwables;
 
-import static java.util.Collections.synchronizedMap;
-
 class DefaultMethodHandler implements Handler {
-    // MethodHandles.privateLookupIn(Class, Lookup) was added in JDK 9.
-    // JDK 9 allows us to unreflectSpecial() on an interface default method, where JDK 8 did not.
-    private static final Method PRIVATE_LOOKUP_IN = privateLookupIn();
-
-    private static Method privateLookupIn() {
-        try {
-            return MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
-        } catch (NoSuchMethodException ignored) {
-            // Method was added in JDK 9
-            return null;
-        }
-    }
-
-    private static final Map<Class<?>, MethodHandles.Lookup> PRIVATE_LOOKUPS = synchronizedMap(new WeakHashMap<>());
-
-    static MethodHandles.Lookup lookupFor(Class<?> clazz) {
-        if (PRIVATE_LOOKUP_IN != null) {
-            try {
-                return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, clazz, MethodHandles.lookup());
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                String message = String.format(
-                        "Error invoking MethodHandles.privateLookupIn(%s.class, MethodHandles.lookup()) in JDK 9+ runtime",
-                        clazz);
-                throw new RuntimeException(message, e);
-            }
-        }
-
-        // TERRIBLE, HORRIBLE, NO GOOD, VERY BAD HACK
-        // Courtesy of:
-        // https://rmannibucau.wordpress.com/2014/03/27/java-8-default-interface-methods-and-jdk-dynamic-proxies/
-
-        // We can use MethodHandles to look up and invoke the super method, but since this class is not an
-        // implementation of method.getDeclaringClass(), MethodHandles.Lookup will throw an exception since
-        // this class doesn't have access to the super method, according to Java's access rules. This horrible,
-        // awful workaround allows us to directly invoke MethodHandles.Lookup's private constructor, bypassing
-        // the usual access checks.
-
-        // This workaround is only used in JDK 8.x runtimes. JDK 9+ runtimes use MethodHandles.privateLookupIn()
-        // above.
-        return PRIVATE_LOOKUPS.computeIfAbsent(clazz, type -> {
-            try {
-
-                final Constructor<MethodHandles.Lookup> constructor =
-                        MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
-                if (!constructor.isAccessible()) {
-                    constructor.setAccessible(true);
-                }
-                return constructor.newInstance(type,
-                        MethodHandles.Lookup.PUBLIC
-                            | MethodHandles.Lookup.PRIVATE
-                            | MethodHandles.Lookup.PROTECTED
-                            | MethodHandles.Lookup.PACKAGE);
-            } catch (ReflectiveOperationException e) {
-                throw new RuntimeException(e);
-            }
-        });
-    }
-
     private final MethodHandle methodHandle;
 
     DefaultMethodHandler(Method method) {
-        try {
-            Class<?> declaringClass = method.getDeclaringClass();
-
-            methodHandle = lookupFor(declaringClass).unreflectSpecial(method, declaringClass);
-        } catch (ReflectiveOperationException e) {
-            throw new RuntimeException(e);
-        }
+        methodHandle = DefaultMethods.handleFor(method);
     }
 
     @Override
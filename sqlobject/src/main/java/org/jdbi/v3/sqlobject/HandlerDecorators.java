@@ -65,6 +65,10 @@ public class HandlerDecorators implements JdbiConfig<HandlerDecorators> {
         return handler;
     }
 
+    List<HandlerDecorator> getDecorators() {
+        return decorators;
+    }
+
     @Override
     public HandlerDecorators createCopy() {
         return new HandlerDecorators(this);
@@ -57,6 +57,10 @@ public class Handlers implements JdbiConfig<Handlers> {
                 .findFirst();
     }
 
+    List<HandlerFactory> getFactories() {
+        return factories;
+    }
+
     @Override
     public Handlers createCopy() {
         return new Handlers(this);
@@ -19,20 +19,30 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.extension.ExtensionFactory;
 import org.jdbi.v3.core.extension.ExtensionMethod;
 import org.jdbi.v3.core.extension.HandleSupplier;
+import org.jdbi.v3.core.statement.SqlStatement;
 import org.jdbi.v3.sqlobject.config.Configurer;
 import org.jdbi.v3.sqlobject.config.ConfiguringAnnotation;
+import org.jdbi.v3.sqlobject.internal.SqlObjectMetadata;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlCall;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.statement.internal.SqlQueryHandler;
 
 import static java.util.Collections.synchronizedMap;
 
@@ -42,14 +52,14 @@ import static java.util.Collections.synchronizedMap;
 public class SqlObjectFactory implements ExtensionFactory {
     private static final Object[] NO_ARGS = new Object[0];
 
-    private final Map<Class<?>, Map<Method, Handler>> handlersCache = synchronizedMap(new WeakHashMap<>());
+    private final Map<Class<?>, HandlersEntry> handlersCache = synchronizedMap(new WeakHashMap<>());
     private final Map<Class<? extends Configurer>, Configurer> configurers = synchronizedMap(new WeakHashMap<>());
 
     SqlObjectFactory() {}
 
     @Override
     public boolean accepts(Class<?> extensionType) {
-        if (looksLikeSqlObject(extensionType)) {
+        if (SqlObjectMetadata.forType(extensionType).isPresent() || looksLikeSqlObject(extensionType)) {
             if (!extensionType.isInterface()) {
                 throw new IllegalArgumentException("SQL Objects are only supported for interfaces.");
             }
@@ -85,14 +95,7 @@ public class SqlObjectFactory implements ExtensionFactory {
                 handle.getConfig(Handlers.class),
                 handle.getConfig(HandlerDecorators.class));
 
-        ConfigRegistry instanceConfig = handle.getConfig().createCopy();
-
-        for (Class<?> iface : extensionType.getInterfaces()) {
-            forEachConfigurer(iface, (configurer, annotation) ->
-                configurer.configureForType(instanceConfig, annotation, extensionType));
-        }
-        forEachConfigurer(extensionType, (configurer, annotation) ->
-                configurer.configureForType(instanceConfig, annotation, extensionType));
+        ConfigRegistry instanceConfig = configureForType(handle.getConfig(), extensionType);
 
         InvocationHandler invocationHandler = createInvocationHandler(extensionType, instanceConfig, handlers, handle);
         return extensionType.cast(
@@ -102,31 +105,130 @@ public class SqlObjectFactory implements ExtensionFactory {
                         invocationHandler));
     }
 
-    private Map<Method, Handler> methodHandlersFor(Class<?> sqlObjectType, Handlers registry, HandlerDecorators decorators) {
-        return handlersCache.computeIfAbsent(sqlObjectType, type -> {
-            final Map<Method, Handler> handlers = new HashMap<>();
-
-            handlers.putAll(handlerEntry((t, a, h) ->
-                    sqlObjectType.getName() + '@' + Integer.toHexString(t.hashCode()),
-                Object.class, "toString"));
-            handlers.putAll(handlerEntry((t, a, h) -> t == a[0], Object.class, "equals", Object.class));
-            handlers.putAll(handlerEntry((t, a, h) -> System.identityHashCode(t), Object.class, "hashCode"));
-            handlers.putAll(handlerEntry((t, a, h) -> h.getHandle(), SqlObject.class, "getHandle"));
-            try {
-                handlers.putAll(handlerEntry((t, a, h) -> null, sqlObjectType, "finalize"));
-            } catch (IllegalStateException expected) {
-                // optional implementation
+    /**
+     * Builds the handlers of the given sql object type, runs its configurers, locates the SQL of its statement
+     * methods, and looks up the row mappers of its query methods' results in the handle's configuration, which
+     * handles opened later copy. SQL located on the classpath is kept in the
+     * {@link SqlObjects#getClasspathSqlIndex() classpath SQL index}, and used from there even when
+     * {@link SqlObjects#isIndexClasspathSql() indexing} is off. When preparing statements, each statement method's SQL
+     * is also rendered, parsed and prepared, unless it is a script or its template needs attributes only defined when
+     * the method is called.
+     *
+     * @param extensionType     the type of sql object to warm up
+     * @param handle            supplies the handle statements are prepared against
+     * @param prepareStatements whether to prepare statements
+     */
+    @Override
+    public void warmUp(Class<?> extensionType, HandleSupplier handle, boolean prepareStatements) {
+        if (!accepts(extensionType)) {
+            throw new IllegalArgumentException("Not a SQL Object: " + extensionType);
+        }
+
+        Map<Method, Handler> handlers = methodHandlersFor(
+                extensionType,
+                handle.getConfig(Handlers.class),
+                handle.getConfig(HandlerDecorators.class));
+
+        ConfigRegistry instanceConfig = configureForType(handle.getConfig(), extensionType);
+
+        for (Method method : handlers.keySet()) {
+            if (!isStatementMethod(method)) {
+                continue;
+            }
+
+            ConfigRegistry methodConfig = configureForMethod(instanceConfig, extensionType, method);
+            // the index is shared with the handle's configuration, so this only keeps the located SQL
+            methodConfig.get(SqlObjects.class).setIndexClasspathSql(true);
+
+            String sql = methodConfig.get(SqlObjects.class).getSqlLocator().locate(extensionType, method, methodConfig);
+
+            if (method.isAnnotationPresent(SqlQuery.class)) {
+                SqlQueryHandler.warmUpMapper(extensionType, method, handle.getConfig());
+            }
+
+            if (prepareStatements) {
+                prepare(extensionType, method, methodConfig, sql, handle);
             }
+        }
+    }
+
+    private static boolean isStatementMethod(Method method) {
+        return method.isAnnotationPresent(SqlQuery.class)
+                || method.isAnnotationPresent(SqlUpdate.class)
+                || method.isAnnotationPresent(SqlBatch.class)
+                || method.isAnnotationPresent(SqlCall.class);
+    }
 
-            for (Method method : sqlObjectType.getMethods()) {
-                if (Modifier.isStatic(method.getModifiers())) {
-                    continue;
+    @SuppressWarnings("PMD.AvoidRethrowingException")
+    private static void prepare(Class<?> sqlObjectType, Method method, ConfigRegistry methodConfig, String sql, HandleSupplier handle) {
+        try {
+            handle.invokeInContext(new ExtensionMethod(sqlObjectType, method), methodConfig, () -> {
+                Handle h = handle.getHandle();
+                try (SqlStatement<?> stmt = method.isAnnotationPresent(SqlCall.class) ? h.createCall(sql) : h.createQuery(sql)) {
+                    return stmt.warmUp();
                 }
-                handlers.computeIfAbsent(method, m -> buildMethodHandler(sqlObjectType, m, registry, decorators));
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to prepare " + sqlObjectType.getSimpleName() + "." + method.getName(), e);
+        }
+    }
+
+    private ConfigRegistry configureForType(ConfigRegistry config, Class<?> extensionType) {
+        ConfigRegistry instanceConfig = config.createCopy();
+
+        for (Class<?> iface : extensionType.getInterfaces()) {
+            forEachConfigurer(iface, (configurer, annotation) ->
+                configurer.configureForType(instanceConfig, annotation, extensionType));
+        }
+        forEachConfigurer(extensionType, (configurer, annotation) ->
+                configurer.configureForType(instanceConfig, annotation, extensionType));
+
+        return instanceConfig;
+    }
+
+    private ConfigRegistry configureForMethod(ConfigRegistry instanceConfig, Class<?> extensionType, Method method) {
+        ConfigRegistry methodConfig = instanceConfig.createCopy();
+        forEachConfigurer(method, (configurer, annotation) ->
+                configurer.configureForMethod(methodConfig, annotation, extensionType, method));
+        return methodConfig;
+    }
+
+    private Map<Method, Handler> methodHandlersFor(Class<?> sqlObjectType, Handlers registry, HandlerDecorators decorators) {
+        HandlersEntry cached = handlersCache.get(sqlObjectType);
+        if (cached != null && cached.builtWith(registry, decorators)) {
+            return cached.handlers;
+        }
+        // handlers built before handler factories or decorators were registered, e.g. by warming up, are rebuilt
+        HandlersEntry entry = new HandlersEntry(registry, decorators, buildHandlers(sqlObjectType, registry, decorators));
+        handlersCache.put(sqlObjectType, entry);
+        return entry.handlers;
+    }
+
+    private Map<Method, Handler> buildHandlers(Class<?> sqlObjectType, Handlers registry, HandlerDecorators decorators) {
+        final Map<Method, Handler> handlers = new HashMap<>();
+
+        handlers.putAll(handlerEntry((t, a, h) ->
+                sqlObjectType.getName() + '@' + Integer.toHexString(t.hashCode()),
+            Object.class, "toString"));
+        handlers.putAll(handlerEntry((t, a, h) -> t == a[0], Object.class, "equals", Object.class));
+        handlers.putAll(handlerEntry((t, a, h) -> System.identityHashCode(t), Object.class, "hashCode"));
+        handlers.putAll(handlerEntry((t, a, h) -> h.getHandle(), SqlObject.class, "getHandle"));
+        try {
+            handlers.putAll(handlerEntry((t, a, h) -> null, sqlObjectType, "finalize"));
+        } catch (IllegalStateException expected) {
+            // optional implementation
+        }
+
+        for (Method method : sqlObjectType.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
             }
+            handlers.computeIfAbsent(method, m -> buildMethodHandler(sqlObjectType, m, registry, decorators));
+        }
 
-            return handlers;
-        });
+        return handlers;
     }
 
     private Handler buildMethodHandler(Class<?> sqlObjectType, Method method, Handlers handlers, HandlerDecorators decorators) {
@@ -155,9 +257,7 @@ public class SqlObjectFactory implements ExtensionFactory {
         return (proxy, method, args) -> {
             Handler handler = handlers.get(method);
 
-            ConfigRegistry methodConfig = instanceConfig.createCopy();
-            forEachConfigurer(method, (configurer, annotation) ->
-                    configurer.configureForMethod(methodConfig, annotation, sqlObjectType, method));
+            ConfigRegistry methodConfig = configureForMethod(instanceConfig, sqlObjectType, method);
 
             return handle.invokeInContext(new ExtensionMethod(sqlObjectType, method), methodConfig,
                     () -> handler.invoke(proxy, args == null ? NO_ARGS : args, handle));
@@ -184,4 +284,20 @@ public class SqlObjectFactory implements ExtensionFactory {
             }
         });
     }
+
+    private static class HandlersEntry {
+        private final List<HandlerFactory> factories;
+        private final List<HandlerDecorator> decorators;
+        private final Map<Method, Handler> handlers;
+
+        HandlersEntry(Handlers registry, HandlerDecorators decorators, Map<Method, Handler> handlers) {
+            this.factories = new ArrayList<>(registry.getFactories());
+            this.decorators = new ArrayList<>(decorators.getDecorators());
+            this.handlers = handlers;
+        }
+
+        boolean builtWith(Handlers registry, HandlerDecorators decorators) {
+            return factories.equals(registry.getFactories()) && this.decorators.equals(decorators.getDecorators());
+        }
+    }
 }
@@ -0,0 +1,275 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.stream.BaseStream;
+
+import org.jdbi.v3.core.statement.LatencyHistogram;
+import org.jdbi.v3.meta.Beta;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.internal.Continuations;
+
+/**
+ * A {@link HandlerDecorator} which records call counts, error counts, latencies and rows returned per SQL Object
+ * method, to show which methods are hot. The counters of a method are resolved when its handler is decorated, once
+ * per SQL Object type, so calls only update them. Not registered by default:
+ *
+ * <pre>
+ * SqlObjectMetrics metrics = new SqlObjectMetrics();
+ * jdbi.getConfig(HandlerDecorators.class).register(metrics);
+ * ...
+ * metrics.getSnapshot().forEach(System.out::println);
+ * </pre>
+ * <p>
+ * Registered last, this decorator is the outermost, so latencies include the work of all other decorators, e.g.
+ * transactions. Rows are counted for {@link SqlQuery} methods returning a collection, map, array, {@link Optional}
+ * or single value; lazy results such as iterators and streams are not counted.
+ * </p>
+ * <p>
+ * Kotlin {@code suspend} methods are not recorded: they may return as soon as their statement is dispatched, before
+ * it runs, so neither their latency nor their result would be meaningful.
+ * </p>
+ */
+@Beta
+public class SqlObjectMetrics implements HandlerDecorator {
+    private static final Comparator<MethodMetrics> BY_TOTAL_TIME =
+        Comparator.comparing(MethodMetrics::getTotalTime).reversed();
+
+    private final Map<Class<?>, Map<Method, Counters>> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public Handler decorateHandler(Handler base, Class<?> sqlObjectType, Method method) {
+        if (Continuations.isSuspending(method)) {
+            return base;
+        }
+        Counters methodCounters = counters.computeIfAbsent(sqlObjectType, type -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, m -> new Counters(sqlObjectType, m));
+        return (target, args, handle) -> {
+            final long start = System.nanoTime();
+            try {
+                Object result = base.invoke(target, args, handle);
+                methodCounters.success(System.nanoTime() - start, result);
+                return result;
+            } catch (Exception e) {
+                methodCounters.failure(System.nanoTime() - start);
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * @return the metrics of every decorated method called at least once, the methods taking the most total time
+     * first
+     */
+    public List<MethodMetrics> getSnapshot() {
+        List<MethodMetrics> snapshot = new ArrayList<>();
+        counters.values().forEach(methods -> methods.values().forEach(c -> {
+            MethodMetrics metrics = c.snapshot();
+            if (metrics.getCalls() > 0) {
+                snapshot.add(metrics);
+            }
+        }));
+        snapshot.sort(BY_TOTAL_TIME);
+        return snapshot;
+    }
+
+    /**
+     * @param sqlObjectType the SQL Object type
+     * @param methodName    the method name
+     * @return the metrics of the named method of the SQL Object type, summed over overloads of the name, or empty if
+     * no such method was decorated
+     */
+    public Optional<MethodMetrics> getSnapshot(Class<?> sqlObjectType, String methodName) {
+        Map<Method, Counters> methods = counters.get(sqlObjectType);
+        if (methods == null) {
+            return Optional.empty();
+        }
+        return methods.values().stream()
+            .filter(c -> c.method.getName().equals(methodName))
+            .map(Counters::snapshot)
+            .reduce(MethodMetrics::plus);
+    }
+
+    /**
+     * Discards all recorded metrics.
+     */
+    public void reset() {
+        counters.values().forEach(methods -> methods.values().forEach(Counters::reset));
+    }
+
+    private static class Counters {
+        private final Class<?> sqlObjectType;
+        private final Method method;
+        private final ToLongFunction<Object> rowCounter;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private volatile LatencyHistogram latency = new LatencyHistogram();
+
+        Counters(Class<?> sqlObjectType, Method method) {
+            this.sqlObjectType = sqlObjectType;
+            this.method = method;
+            this.rowCounter = rowCounter(method);
+        }
+
+        void success(long nanos, Object result) {
+            calls.increment();
+            latency.record(nanos);
+            if (rowCounter != null) {
+                rows.add(rowCounter.applyAsLong(result));
+            }
+        }
+
+        void failure(long nanos) {
+            calls.increment();
+            errors.increment();
+            latency.record(nanos);
+        }
+
+        MethodMetrics snapshot() {
+            return new MethodMetrics(sqlObjectType, method.getName(), calls.sum(), errors.sum(), rows.sum(), latency.copy());
+        }
+
+        void reset() {
+            latency = new LatencyHistogram();
+            calls.reset();
+            errors.reset();
+            rows.reset();
+        }
+
+        private static ToLongFunction<Object> rowCounter(Method method) {
+            if (!method.isAnnotationPresent(SqlQuery.class)) {
+                return null;
+            }
+            Class<?> type = method.getReturnType();
+            if (Collection.class.isAssignableFrom(type)) {
+                return result -> result == null ? 0 : ((Collection<?>) result).size();
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                return result -> result == null ? 0 : ((Map<?, ?>) result).size();
+            }
+            if (type.isArray()) {
+                return result -> result == null ? 0 : Array.getLength(result);
+            }
+            if (type == Optional.class) {
+                return result -> result != null && ((Optional<?>) result).isPresent() ? 1 : 0;
+            }
+            if (type == void.class
+                || Iterable.class.isAssignableFrom(type)
+                || Iterator.class.isAssignableFrom(type)
+                || BaseStream.class.isAssignableFrom(type)) {
+                return null;
+            }
+            return result -> result == null ? 0 : 1;
+        }
+    }
+
+    /**
+     * The metrics of one SQL Object method, at the time of a {@link SqlObjectMetrics#getSnapshot() snapshot}.
+     */
+    @SuppressWarnings("PMD.DataClass")
+    public static final class MethodMetrics {
+        private final Class<?> sqlObjectType;
+        private final String methodName;
+        private final long calls;
+        private final long errors;
+        private final long rows;
+        private final LatencyHistogram latency;
+
+        MethodMetrics(Class<?> sqlObjectType, String methodName, long calls, long errors, long rows, LatencyHistogram latency) {
+            this.sqlObjectType = sqlObjectType;
+            this.methodName = methodName;
+            this.calls = calls;
+            this.errors = errors;
+            this.rows = rows;
+            this.latency = latency;
+        }
+
+        /**
+         * @return the SQL Object type
+         */
+        public Class<?> getSqlObjectType() {
+            return sqlObjectType;
+        }
+
+        /**
+         * @return the method name
+         */
+        public String getMethodName() {
+            return methodName;
+        }
+
+        /**
+         * @return the number of calls, including failed calls
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * @return the number of calls which threw an exception
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return the number of rows returned by successful calls, if the method's results are counted
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * @return the latencies of all calls
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return the sum of the latencies of all calls
+         */
+        public Duration getTotalTime() {
+            return latency.getTotal();
+        }
+
+        MethodMetrics plus(MethodMetrics that) {
+            LatencyHistogram sum = latency.copy();
+            sum.add(that.latency);
+            return new MethodMetrics(sqlObjectType, methodName,
+                calls + that.calls, errors + that.errors, rows + that.rows, sum);
+        }
+
+        @Override
+        public String toString() {
+            return sqlObjectType.getSimpleName() + "." + methodName + ": " + calls + " calls, " + errors + " errors, "
+                + rows + " rows, total " + getTotalTime().toMillis() + " ms, p99 "
+                + latency.getValueAtPercentile(99).toMillis() + " ms";
+        }
+    }
+}
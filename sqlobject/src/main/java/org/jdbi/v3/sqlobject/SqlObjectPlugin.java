@@ -13,15 +13,40 @@
  */
 package org.jdbi.v3.sqlobject;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.spi.JdbiPlugin;
+import org.jdbi.v3.meta.Beta;
 
 /**
  * Plugin that installs the SqlObject extension.
  */
 public class SqlObjectPlugin implements JdbiPlugin {
+    private final List<Class<?>> warmUpTypes = new ArrayList<>();
+
+    /**
+     * Warm up the given SQL Object types when the plugin is installed, like {@link Jdbi#warmUp(Class[])}; no handle
+     * is opened. Install this plugin after any plugins that register handlers or handler decorators: the handlers of
+     * a warmed up type are built again when it is first used with handlers or decorators registered since.
+     *
+     * @param sqlObjectTypes the SQL Object types to warm up
+     * @return this
+     * @see Jdbi#warmUp(Class[])
+     */
+    @Beta
+    public SqlObjectPlugin warmUp(Class<?>... sqlObjectTypes) {
+        warmUpTypes.addAll(Arrays.asList(sqlObjectTypes));
+        return this;
+    }
+
     @Override
     public void customizeJdbi(Jdbi db) {
         db.registerExtension(new SqlObjectFactory());
+        if (!warmUpTypes.isEmpty()) {
+            db.warmUp(warmUpTypes.toArray(new Class<?>[0]));
+        }
     }
 }
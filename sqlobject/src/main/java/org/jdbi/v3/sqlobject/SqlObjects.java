@@ -16,6 +16,8 @@ package org.jdbi.v3.sqlobject;
 import java.util.Objects;
 
 import org.jdbi.v3.core.config.JdbiConfig;
+import org.jdbi.v3.core.locator.ClasspathSqlIndex;
+import org.jdbi.v3.meta.Beta;
 import org.jdbi.v3.sqlobject.customizer.SqlStatementCustomizerFactory;
 import org.jdbi.v3.sqlobject.locator.AnnotationSqlLocator;
 import org.jdbi.v3.sqlobject.locator.SqlLocator;
@@ -28,15 +30,20 @@ import org.jdbi.v3.sqlobject.statement.ParameterCustomizerFactory;
 public class SqlObjects implements JdbiConfig<SqlObjects> {
     private SqlLocator sqlLocator;
     private ParameterCustomizerFactory defaultParameterCustomizerFactory;
+    private boolean indexClasspathSql;
+    private final ClasspathSqlIndex classpathSqlIndex;
 
     public SqlObjects() {
         sqlLocator = new AnnotationSqlLocator();
         defaultParameterCustomizerFactory = new BindParameterCustomizerFactory();
+        classpathSqlIndex = new ClasspathSqlIndex();
     }
 
     private SqlObjects(SqlObjects that) {
         sqlLocator = that.sqlLocator;
         defaultParameterCustomizerFactory = that.defaultParameterCustomizerFactory;
+        indexClasspathSql = that.indexClasspathSql;
+        classpathSqlIndex = that.classpathSqlIndex;
     }
 
     /**
@@ -80,6 +87,46 @@ public class SqlObjects implements JdbiConfig<SqlObjects> {
         return this;
     }
 
+    /**
+     * Returns whether SQL located on the classpath by {@link org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator} is
+     * kept in the {@link #getClasspathSqlIndex() classpath SQL index}. Defaults to false. SQL which is in the index
+     * already, e.g. because its SQL Object was warmed up, is used from the index either way.
+     *
+     * @return whether classpath SQL is indexed permanently.
+     */
+    @Beta
+    public boolean isIndexClasspathSql() {
+        return indexClasspathSql;
+    }
+
+    /**
+     * Configures SqlObject to keep SQL located on the classpath by
+     * {@link org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator} in the {@link #getClasspathSqlIndex() classpath
+     * SQL index}, instead of the expiring cache of {@link org.jdbi.v3.core.locator.ClasspathSqlLocator}, so it is
+     * never read and parsed again. {@link org.jdbi.v3.core.Jdbi#warmUp(Class[])} indexes the SQL of the warmed up types
+     * regardless of this setting.
+     *
+     * @param indexClasspathSql whether to index classpath SQL permanently.
+     * @return this {@link SqlObjects}.
+     */
+    @Beta
+    public SqlObjects setIndexClasspathSql(boolean indexClasspathSql) {
+        this.indexClasspathSql = indexClasspathSql;
+        return this;
+    }
+
+    /**
+     * Returns the index classpath SQL is kept in if {@link #isIndexClasspathSql()} is set. The index is shared by
+     * all copies of this configuration, so there is one index per {@code Jdbi}, which reports the memory it uses,
+     * and is released with the {@code Jdbi}.
+     *
+     * @return the classpath SQL index.
+     */
+    @Beta
+    public ClasspathSqlIndex getClasspathSqlIndex() {
+        return classpathSqlIndex;
+    }
+
     @Override
     public SqlObjects createCopy() {
         return new SqlObjects(this);
@@ -0,0 +1,37 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.customizer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.jdbi.v3.meta.Beta;
+import org.jdbi.v3.sqlobject.customizer.internal.CacheResultsFactory;
+
+/**
+ * Cache the results of the query in the query cache installed by the
+ * {@link org.jdbi.v3.core.cache.QueryCachePlugin}. The values are the tags invalidating the cached results, typically
+ * the names of the tables the query reads. May be used on a {@code @SqlQuery} method, or on a type to cache all of its
+ * queries.
+ * @see org.jdbi.v3.core.statement.Query#cacheResults(String...)
+ */
+@Beta
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@SqlStatementCustomizingAnnotation(CacheResultsFactory.class)
+public @interface CacheResults {
+    String[] value() default {};
+}
@@ -34,7 +34,7 @@ public final class BindBeanListFactory implements SqlStatementCustomizerFactory
                                                               int index,
                                                               Type type) {
         final BindBeanList bindBeanList = (BindBeanList) annotation;
-        final String name = ParameterUtil.findParameterName(bindBeanList.value(), param)
+        final String name = ParameterUtil.findParameterName(bindBeanList.value(), sqlObjectType, param)
                 .orElseThrow(() -> new UnsupportedOperationException("A @BindBeanList parameter was not given a name, "
                         + "and parameter name data is not present in the class file, for: "
                         + param.getDeclaringExecutable() + "::" + param));
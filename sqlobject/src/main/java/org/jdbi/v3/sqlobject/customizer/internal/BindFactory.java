@@ -34,7 +34,7 @@ public class BindFactory implements SqlStatementCustomizerFactory {
                                                               Type type) {
         Bind b = (Bind) annotation;
         String nameFromAnnotation = b == null ? Bind.NO_VALUE : b.value();
-        Optional<String> name = ParameterUtil.findParameterName(nameFromAnnotation, param);
+        Optional<String> name = ParameterUtil.findParameterName(nameFromAnnotation, sqlObjectType, param);
 
         return (stmt, arg) -> {
             stmt.bindByType(index, arg, type);
@@ -35,7 +35,7 @@ public final class BindListFactory implements SqlStatementCustomizerFactory {
                                                               int index,
                                                               Type type) {
         final BindList bindList = (BindList) annotation;
-        final String name = ParameterUtil.findParameterName(bindList.value(), param)
+        final String name = ParameterUtil.findParameterName(bindList.value(), sqlObjectType, param)
                 .orElseThrow(() -> new UnsupportedOperationException("A @BindList parameter was not given a name, "
                         + "and parameter name data is not present in the class file, for: "
                         + param.getDeclaringExecutable() + "::" + param));
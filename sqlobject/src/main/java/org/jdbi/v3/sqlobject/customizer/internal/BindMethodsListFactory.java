@@ -34,7 +34,7 @@ public final class BindMethodsListFactory implements SqlStatementCustomizerFacto
                                                               int index,
                                                               Type paramType) {
         final BindMethodsList bindMethodsList = (BindMethodsList) annotation;
-        final String name = ParameterUtil.findParameterName(bindMethodsList.value(), param)
+        final String name = ParameterUtil.findParameterName(bindMethodsList.value(), sqlObjectType, param)
             .orElseThrow(() -> new UnsupportedOperationException("A @BindMethodsList parameter was not given a name, "
                 + "and parameter name data is not present in the class file, for: "
                 + param.getDeclaringExecutable() + "::" + param));
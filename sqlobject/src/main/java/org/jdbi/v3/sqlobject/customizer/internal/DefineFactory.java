@@ -33,7 +33,7 @@ public class DefineFactory implements SqlStatementCustomizerFactory {
                                                               Type type) {
         Define define = (Define) annotation;
 
-        final String name = ParameterUtil.findParameterName(define.value(), param)
+        final String name = ParameterUtil.findParameterName(define.value(), sqlObjectType, param)
                 .orElseThrow(() -> new UnsupportedOperationException("A @Define parameter was not given a name, "
                         + "and parameter name data is not present in the class file, for: "
                         + param.getDeclaringExecutable() + "::" + param));
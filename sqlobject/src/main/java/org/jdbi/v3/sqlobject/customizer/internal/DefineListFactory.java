@@ -35,7 +35,7 @@ public final class DefineListFactory implements SqlStatementCustomizerFactory {
                                                               int index,
                                                               Type type) {
         final DefineList d = (DefineList) annotation;
-        final String name = ParameterUtil.findParameterName(d.value(), param)
+        final String name = ParameterUtil.findParameterName(d.value(), sqlObjectType, param)
                 .orElseThrow(() -> new UnsupportedOperationException("A @DefineList parameter was not given a name, "
                         + "and parameter name data is not present in the class file, for: "
                         + param.getDeclaringExecutable() + "::" + param));
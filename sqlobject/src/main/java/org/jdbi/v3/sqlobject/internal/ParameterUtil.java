@@ -23,11 +23,17 @@ public class ParameterUtil {
 
     public static Optional<String> findParameterName(String nameFromAnnotation,
                                                      Parameter parameter) {
+        return findParameterName(nameFromAnnotation, parameter.getDeclaringExecutable().getDeclaringClass(), parameter);
+    }
+
+    public static Optional<String> findParameterName(String nameFromAnnotation,
+                                                     Class<?> sqlObjectType,
+                                                     Parameter parameter) {
         if (!nameFromAnnotation.isEmpty()) {
             return Optional.of(nameFromAnnotation);
         }
         return parameter.isNamePresent()
                 ? Optional.of(parameter.getName())
-                : Optional.empty();
+                : SqlObjectMetadata.findParameterName(sqlObjectType, parameter);
     }
 }
@@ -0,0 +1,266 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jdbi.v3.core.generic.internal.Types;
+
+/**
+ * SqlObject metadata generated at compile time by {@link org.jdbi.v3.sqlobject.processor.SqlObjectProcessor}, read
+ * from a class path resource named after the SqlObject interface. The metadata of an interface covers the methods
+ * it inherits, too.
+ */
+public final class SqlObjectMetadata {
+    /** Key suffix of the comma separated parameter names of a method. */
+    public static final String PARAMETERS = ".parameters";
+    /** Key suffix of the return type of a method, resolved against the SqlObject type. */
+    public static final String RETURN_TYPE = ".returnType";
+    /** Key suffix of the SQL on the statement annotation of a method. */
+    public static final String SQL = ".sql";
+
+    private static final String RESOURCE_PREFIX = "META-INF/jdbi3/sqlobject/";
+
+    private static final Map<String, Class<?>> PRIMITIVES = Stream.of(
+            boolean.class, byte.class, short.class, int.class, long.class, char.class, float.class, double.class, void.class)
+            .collect(Collectors.toMap(Class::getName, type -> type));
+
+    private static final ClassValue<Optional<SqlObjectMetadata>> METADATA = new ClassValue<Optional<SqlObjectMetadata>>() {
+        @Override
+        protected Optional<SqlObjectMetadata> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Map<String, String> properties;
+
+    private SqlObjectMetadata(Class<?> type, Map<String, String> properties) {
+        this.type = type;
+        this.properties = properties;
+    }
+
+    /**
+     * @param type the type
+     * @return the generated metadata of the given SqlObject type, if any
+     */
+    public static Optional<SqlObjectMetadata> forType(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    /**
+     * Returns the source name of the given parameter, as recorded at compile time, regardless of whether the class was
+     * compiled with {@code -parameters}.
+     *
+     * @param sqlObjectType the SqlObject type the parameter's method was found on
+     * @param parameter     the parameter
+     * @return the parameter name, if recorded
+     */
+    public static Optional<String> findParameterName(Class<?> sqlObjectType, Parameter parameter) {
+        Executable executable = parameter.getDeclaringExecutable();
+        if (!(executable instanceof Method)) {
+            return Optional.empty();
+        }
+        int index = Arrays.asList(executable.getParameters()).indexOf(parameter);
+        return find(sqlObjectType, (Method) executable, PARAMETERS)
+                .map(names -> names.isEmpty() ? Collections.<String>emptyList() : Arrays.asList(names.split(",")))
+                .filter(names -> index < names.size())
+                .map(names -> names.get(index));
+    }
+
+    /**
+     * Returns the return type of the given method, resolved against the SqlObject type at compile time.
+     *
+     * @param sqlObjectType the SqlObject type
+     * @param method        the method
+     * @return the resolved return type, if recorded and all its classes are visible to the SqlObject type
+     */
+    public static Optional<Type> findReturnType(Class<?> sqlObjectType, Method method) {
+        return forType(sqlObjectType)
+                .flatMap(metadata -> metadata.get(method, RETURN_TYPE).flatMap(metadata::parseType));
+    }
+
+    /**
+     * Returns the SQL of the statement annotation on the given method, as located by
+     * {@link org.jdbi.v3.sqlobject.locator.AnnotationSqlLocator}.
+     *
+     * @param sqlObjectType the SqlObject type
+     * @param method        the method
+     * @return the SQL, if recorded
+     */
+    public static Optional<String> findSql(Class<?> sqlObjectType, Method method) {
+        return find(sqlObjectType, method, SQL);
+    }
+
+    /**
+     * @param binaryName the binary name of a SqlObject type
+     * @return the name of the type's metadata resource
+     */
+    public static String resourceName(String binaryName) {
+        return RESOURCE_PREFIX + binaryName + ".properties";
+    }
+
+    /**
+     * @param methodName     the method name
+     * @param parameterTypes the canonical names of the erased parameter types
+     * @return the key of the method in a metadata resource
+     */
+    public static String methodKey(String methodName, Stream<String> parameterTypes) {
+        return parameterTypes.collect(Collectors.joining(",", methodName + "(", ")"));
+    }
+
+    private static Optional<String> find(Class<?> sqlObjectType, Method method, String suffix) {
+        Optional<String> value = Optional.ofNullable(sqlObjectType)
+                .flatMap(SqlObjectMetadata::forType)
+                .flatMap(metadata -> metadata.get(method, suffix));
+        if (value.isPresent() || sqlObjectType == method.getDeclaringClass()) {
+            return value;
+        }
+        return forType(method.getDeclaringClass()).flatMap(metadata -> metadata.get(method, suffix));
+    }
+
+    private Optional<String> get(Method method, String suffix) {
+        String key = methodKey(method.getName(), Stream.of(method.getParameterTypes()).map(Class::getCanonicalName));
+        return Optional.ofNullable(properties.get(key + suffix));
+    }
+
+    private Optional<Type> parseType(String typeName) {
+        try {
+            TypeParser parser = new TypeParser(typeName, type.getClassLoader());
+            Type parsed = parser.type();
+            return parser.atEnd() ? Optional.of(parsed) : Optional.empty();
+        } catch (ClassNotFoundException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<SqlObjectMetadata> load(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+        if (!type.isInterface() || classLoader == null) {
+            return Optional.empty();
+        }
+        try (InputStream in = classLoader.getResourceAsStream(resourceName(type.getName()))) {
+            if (in == null) {
+                return Optional.empty();
+            }
+            Properties properties = new Properties();
+            properties.load(in);
+
+            Map<String, String> values = new HashMap<>();
+            properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+            return Optional.of(new SqlObjectMetadata(type, values));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read SqlObject metadata of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Reads types written by the processor: binary class names, optionally followed by type arguments in angle
+     * brackets, wildcards, and array brackets.
+     */
+    private static class TypeParser {
+        private final String text;
+        private final ClassLoader classLoader;
+        private int position;
+
+        TypeParser(String text, ClassLoader classLoader) {
+            this.text = text;
+            this.classLoader = classLoader;
+        }
+
+        boolean atEnd() {
+            return position == text.length();
+        }
+
+        Type type() throws ClassNotFoundException {
+            int start = position;
+            while (!atEnd() && "<>,[]".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String name = text.substring(start, position);
+            Class<?> rawType = PRIMITIVES.containsKey(name)
+                    ? PRIMITIVES.get(name)
+                    : Class.forName(name, false, classLoader);
+
+            Type result = rawType;
+            if (accept('<')) {
+                List<Type> arguments = new ArrayList<>();
+                do {
+                    arguments.add(argument());
+                } while (accept(','));
+                expect('>');
+                result = Types.newParameterizedType(rawType, arguments.toArray(new Type[0]));
+            }
+            while (accept('[')) {
+                expect(']');
+                result = result instanceof Class
+                        ? Array.newInstance((Class<?>) result, 0).getClass()
+                        : Types.newArrayType(result);
+            }
+            return result;
+        }
+
+        private Type argument() throws ClassNotFoundException {
+            if (accept("? extends ")) {
+                return Types.subtypeOf(type());
+            }
+            if (accept("? super ")) {
+                return Types.supertypeOf(type());
+            }
+            if (accept('?')) {
+                return Types.subtypeOf(Object.class);
+            }
+            return type();
+        }
+
+        private boolean accept(char c) {
+            if (!atEnd() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean accept(String token) {
+            if (text.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!accept(c)) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + position + " of " + text);
+            }
+        }
+    }
+}
@@ -16,15 +16,20 @@ package org.jdbi.v3.sqlobject.locator;
 import java.lang.reflect.Method;
 
 import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.internal.JdbiOptionals;
 import org.jdbi.v3.sqlobject.internal.SqlAnnotations;
+import org.jdbi.v3.sqlobject.internal.SqlObjectMetadata;
 
 /**
  * Locates SQL on the SQL method annotations like <code>@SqlQuery("foo")</code>. This is the default SqlLocator.
+ * Uses the SQL recorded by {@link org.jdbi.v3.sqlobject.processor.SqlObjectProcessor}, when present.
  */
 public class AnnotationSqlLocator implements SqlLocator {
     @Override
     public String locate(Class<?> sqlObjectType, Method method, ConfigRegistry config) {
-        return SqlAnnotations.getAnnotationValue(method, sql -> sql)
+        return JdbiOptionals.findFirstPresent(
+                () -> SqlObjectMetadata.findSql(sqlObjectType, method),
+                () -> SqlAnnotations.getAnnotationValue(method, sql -> sql))
                 .orElseThrow(() -> new IllegalStateException("Sql annotation missing query"));
     }
 }
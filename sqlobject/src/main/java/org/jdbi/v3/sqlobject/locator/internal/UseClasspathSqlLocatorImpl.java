@@ -25,8 +25,13 @@ import org.jdbi.v3.sqlobject.locator.SqlLocator;
 
 public class UseClasspathSqlLocatorImpl implements Configurer {
     private static final SqlLocator SQL_LOCATOR = (sqlObjectType, method, config) -> {
+        SqlObjects sqlObjects = config.get(SqlObjects.class);
         return SqlAnnotations.getAnnotationValue(method,
-                name -> ClasspathSqlLocator.findSqlOnClasspath(sqlObjectType, defaultName(name, method))).orElseGet(method::getName);
+                name -> sqlObjects.isIndexClasspathSql()
+                    ? sqlObjects.getClasspathSqlIndex().findSqlOnClasspath(sqlObjectType, defaultName(name, method))
+                    : sqlObjects.getClasspathSqlIndex().findIndexedSql(sqlObjectType, defaultName(name, method))
+                        .orElseGet(() -> ClasspathSqlLocator.findSqlOnClasspath(sqlObjectType, defaultName(name, method))))
+                .orElseGet(method::getName);
     };
 
     @Override
@@ -0,0 +1,324 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.jdbi.v3.meta.Beta;
+import org.jdbi.v3.sqlobject.SqlObject;
+import org.jdbi.v3.sqlobject.SqlOperation;
+import org.jdbi.v3.sqlobject.internal.SqlObjectMetadata;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlCall;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlScript;
+import org.jdbi.v3.sqlobject.statement.SqlScripts;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+/**
+ * Annotation processor which records SqlObject metadata at compile time: which interfaces are SqlObjects, and for
+ * each of their methods, including inherited ones, the source names of the parameters, the return type resolved
+ * against the interface, and the SQL given on the method's statement annotation.
+ * {@link org.jdbi.v3.sqlobject.SqlObjectFactory} uses the metadata, when present, to recognize SqlObject types
+ * without scanning their methods' annotations, to bind parameters by name even when the interface was compiled
+ * without {@code -parameters}, to skip resolving generic return types, and
+ * {@link org.jdbi.v3.sqlobject.locator.AnnotationSqlLocator} to skip reading the statement annotations.
+ * <p>
+ * Return types are only recorded when they do not depend on a type variable, and parameter names only for methods
+ * declared in the sources being compiled; everything else is still found reflectively at runtime.
+ * </p>
+ * <p>
+ * The processor is not registered as a service, so it only runs when enabled explicitly, e.g. with
+ * {@code javac -processor org.jdbi.v3.sqlobject.processor.SqlObjectProcessor}, or through the
+ * {@code annotationProcessors} setting of the maven compiler plugin.
+ * </p>
+ */
+@Beta
+public class SqlObjectProcessor extends AbstractProcessor {
+    private final Set<String> written = new HashSet<>();
+    private final Set<String> sources = new HashSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = ElementFilter.typesIn(roundEnv.getRootElements());
+        types.forEach(this::addSource);
+        types.forEach(this::processType);
+        return false;
+    }
+
+    private void addSource(TypeElement type) {
+        sources.add(type.getQualifiedName().toString());
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(this::addSource);
+    }
+
+    private void processType(TypeElement type) {
+        if (type.getKind() == ElementKind.INTERFACE && isSqlObject(type)) {
+            writeMetadata(type);
+        }
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(this::processType);
+    }
+
+    private boolean isSqlObject(TypeElement type) {
+        TypeElement sqlObject = processingEnv.getElementUtils().getTypeElement(SqlObject.class.getName());
+        if (processingEnv.getTypeUtils().isAssignable(type.asType(), processingEnv.getTypeUtils().erasure(sqlObject.asType()))) {
+            return true;
+        }
+        return ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type)).stream()
+                .flatMap(method -> method.getAnnotationMirrors().stream())
+                .anyMatch(annotation -> annotation.getAnnotationType().asElement().getAnnotation(SqlOperation.class) != null);
+    }
+
+    private void writeMetadata(TypeElement type) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        if (!written.add(binaryName)) {
+            return;
+        }
+
+        Map<String, String> metadata = new TreeMap<>();
+        Set<String> keys = new HashSet<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+            if (method.getModifiers().contains(Modifier.STATIC) || declaringType.getKind() != ElementKind.INTERFACE) {
+                continue;
+            }
+            String key = SqlObjectMetadata.methodKey(method.getSimpleName().toString(),
+                    method.getParameters().stream().map(parameter -> erasedName(parameter.asType())));
+            if (!keys.add(key)) {
+                continue;
+            }
+
+            if (sources.contains(declaringType.getQualifiedName().toString())) {
+                metadata.put(key + SqlObjectMetadata.PARAMETERS, method.getParameters().stream()
+                        .map(parameter -> parameter.getSimpleName().toString())
+                        .collect(Collectors.joining(",")));
+            }
+            ExecutableType memberType = (ExecutableType) processingEnv.getTypeUtils()
+                    .asMemberOf((DeclaredType) type.asType(), method);
+            typeName(memberType.getReturnType())
+                    .ifPresent(returnType -> metadata.put(key + SqlObjectMetadata.RETURN_TYPE, returnType));
+            annotationSql(method)
+                    .ifPresent(sql -> metadata.put(key + SqlObjectMetadata.SQL, sql));
+        }
+
+        StringBuilder text = new StringBuilder()
+                .append("# SqlObject metadata of ").append(binaryName).append(", generated by ")
+                .append(getClass().getName()).append('\n');
+        metadata.forEach((key, value) -> text.append(escape(key, true)).append('=').append(escape(value, false)).append('\n'));
+
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", SqlObjectMetadata.resourceName(binaryName), type);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.ISO_8859_1)) {
+                writer.write(text.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write SqlObject metadata: " + e, type);
+        }
+    }
+
+    /**
+     * Returns the SQL {@link org.jdbi.v3.sqlobject.locator.AnnotationSqlLocator} locates for the given method.
+     */
+    private Optional<String> annotationSql(ExecutableElement method) {
+        for (Class<?> annotationType : new Class<?>[] {SqlBatch.class, SqlCall.class, SqlQuery.class, SqlUpdate.class}) {
+            Optional<String> sql = findAnnotation(method, annotationType)
+                    .map(annotation -> (String) annotationValue(annotation).getValue())
+                    .filter(value -> !value.isEmpty());
+            if (sql.isPresent()) {
+                return sql;
+            }
+        }
+
+        Optional<AnnotationMirror> scripts = findAnnotation(method, SqlScripts.class);
+        if (scripts.isPresent()) {
+            @SuppressWarnings("unchecked")
+            List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) annotationValue(scripts.get()).getValue();
+            return Optional.of(values.stream()
+                    .map(value -> scriptSql(method, (AnnotationMirror) value.getValue()))
+                    .collect(Collectors.joining(" ; ")));
+        }
+        return findAnnotation(method, SqlScript.class).map(script -> scriptSql(method, script));
+    }
+
+    private String scriptSql(ExecutableElement method, AnnotationMirror script) {
+        String value = (String) annotationValue(script).getValue();
+        return value.isEmpty() ? method.getSimpleName().toString() : value;
+    }
+
+    private static Optional<AnnotationMirror> findAnnotation(Element element, Class<?> annotationType) {
+        return element.getAnnotationMirrors().stream()
+                .filter(annotation -> ((TypeElement) annotation.getAnnotationType().asElement())
+                        .getQualifiedName().contentEquals(annotationType.getCanonicalName()))
+                .<AnnotationMirror>map(annotation -> annotation)
+                .findFirst();
+    }
+
+    private AnnotationValue annotationValue(AnnotationMirror annotation) {
+        return processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet().stream()
+                .filter(entry -> entry.getKey().getSimpleName().contentEquals("value"))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No value on " + annotation));
+    }
+
+    /**
+     * @return the name of the erasure of the given type, matching {@link Class#getCanonicalName()}
+     */
+    private String erasedName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        switch (erased.getKind()) {
+            case ARRAY:
+                return erasedName(((ArrayType) erased).getComponentType()) + "[]";
+            case DECLARED:
+                Element element = ((DeclaredType) erased).asElement();
+                return ((TypeElement) element).getQualifiedName().toString();
+            default:
+                return erased.getKind().name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * @return the given type as read by {@link SqlObjectMetadata}, using binary class names; empty if the type
+     * depends on a type variable
+     */
+    private Optional<String> typeName(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return typeName(((ArrayType) type).getComponentType()).map(component -> component + "[]");
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                String rawName = processingEnv.getElementUtils().getBinaryName((TypeElement) declared.asElement()).toString();
+                if (declared.getTypeArguments().isEmpty()) {
+                    return Optional.of(rawName);
+                }
+                List<String> arguments = new ArrayList<>();
+                for (TypeMirror argument : declared.getTypeArguments()) {
+                    Optional<String> argumentName = typeName(argument);
+                    if (!argumentName.isPresent()) {
+                        return Optional.empty();
+                    }
+                    arguments.add(argumentName.get());
+                }
+                return Optional.of(arguments.stream().collect(Collectors.joining(",", rawName + "<", ">")));
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) {
+                    return typeName(wildcard.getExtendsBound()).map(bound -> "? extends " + bound);
+                }
+                if (wildcard.getSuperBound() != null) {
+                    return typeName(wildcard.getSuperBound()).map(bound -> "? super " + bound);
+                }
+                return Optional.of("?");
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+            case VOID:
+                return Optional.of(type.getKind().name().toLowerCase(Locale.ROOT));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    /**
+     * Escapes the given text like {@link java.util.Properties#store(Writer, String)}, without the timestamp comment
+     * that method writes, so the generated resources do not change between builds.
+     */
+    private static String escape(String text, boolean key) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    escaped.append('\\').append(c);
+                    break;
+                case ' ':
+                    escaped.append(key || i == 0 ? "\\ " : " ");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\f':
+                    escaped.append("\\f");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                    break;
+            }
+        }
+        return escaped.toString();
+    }
+}
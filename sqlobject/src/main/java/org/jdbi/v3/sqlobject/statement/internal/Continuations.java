@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.statement.internal;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+
+import org.jdbi.v3.core.generic.GenericTypes;
+import org.jdbi.v3.sqlobject.internal.SqlObjectMetadata;
+
+/**
+ * Kotlin {@code suspend} methods compile to methods with a trailing {@code Continuation} parameter, which receives
+ * the result, and an {@code Object} return type. SQL method handlers unwrap the declared result type from the
+ * continuation parameter, and do not bind the parameter.
+ */
+public final class Continuations {
+    private static final String EXPERIMENTAL_CONTINUATION = "kotlin.coroutines.experimental.Continuation";
+    private static final String CONTINUATION = "kotlin.coroutines.Continuation";
+    private static final String UNIT = "kotlin.Unit";
+
+    private Continuations() {
+        throw new UnsupportedOperationException("utility class");
+    }
+
+    static boolean isContinuation(Class<?> type) {
+        return EXPERIMENTAL_CONTINUATION.equals(type.getName()) || CONTINUATION.equals(type.getName());
+    }
+
+    /**
+     * @param method a method
+     * @return whether the method is a Kotlin {@code suspend} method
+     */
+    public static boolean isSuspending(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        return parameterTypes.length > 0 && isContinuation(parameterTypes[parameterTypes.length - 1]);
+    }
+
+    /**
+     * @return the type the method returns, or resumes its continuation with; {@code void} for {@code Unit}
+     */
+    static Type returnType(Class<?> sqlObjectType, Method method) {
+        if (isSuspending(method)) {
+            return resolvedReturnType(sqlObjectType, method);
+        }
+        return SqlObjectMetadata.findReturnType(sqlObjectType, method)
+                .orElseGet(() -> resolvedReturnType(sqlObjectType, method));
+    }
+
+    private static Type resolvedReturnType(Class<?> sqlObjectType, Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (isSuspending(method)) {
+            Type[] parameterTypes = method.getGenericParameterTypes();
+            Type continuationType = parameterTypes[parameterTypes.length - 1];
+            if (continuationType instanceof ParameterizedType) {
+                returnType = resultType(((ParameterizedType) continuationType).getActualTypeArguments()[0]);
+            }
+        }
+        return GenericTypes.resolveType(returnType, sqlObjectType);
+    }
+
+    static Class<?> returnClass(Class<?> sqlObjectType, Method method) {
+        return GenericTypes.getErasedType(returnType(sqlObjectType, method));
+    }
+
+    private static Type resultType(Type type) {
+        Type result = type;
+        if (result instanceof WildcardType) {
+            Type[] lowerBounds = ((WildcardType) result).getLowerBounds();
+            result = lowerBounds.length == 0 ? Object.class : lowerBounds[0];
+        }
+        if (result instanceof Class && UNIT.equals(((Class<?>) result).getName())) {
+            return void.class;
+        }
+        return result;
+    }
+}
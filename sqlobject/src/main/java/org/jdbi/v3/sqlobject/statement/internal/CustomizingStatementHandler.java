@@ -102,8 +102,12 @@ abstract class CustomizingStatementHandler<StatementType extends SqlStatement<St
             return customizers.stream();
         }
 
+        if (Continuations.isContinuation(parameter.getType())) {
+            return Stream.empty();
+        }
+
         if (parameter.getType() == Consumer.class) {
-            if (method.getReturnType() != Void.TYPE) {
+            if (Continuations.returnClass(type, method) != Void.TYPE) {
                 throw new IllegalStateException(
                   "SQL Object methods with a Consumer parameter must have void return type.");
             }
@@ -20,6 +20,8 @@ import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
+import org.jdbi.v3.core.collector.JdbiCollectors;
+import org.jdbi.v3.core.config.ConfigRegistry;
 import org.jdbi.v3.core.generic.GenericTypes;
 import org.jdbi.v3.core.result.ResultIterable;
 import org.jdbi.v3.core.result.ResultIterator;
@@ -41,7 +43,7 @@ abstract class ResultReturner {
      * @return
      */
     static ResultReturner forOptionalReturn(Class<?> extensionType, Method method) {
-        if (method.getReturnType() == void.class) {
+        if (Continuations.returnClass(extensionType, method) == void.class) {
             return new VoidReturner();
         }
         return forMethod(extensionType, method);
@@ -55,7 +57,7 @@ abstract class ResultReturner {
      * @return an instance that takes a ResultIterable and constructs the return value
      */
     static ResultReturner forMethod(Class<?> extensionType, Method method) {
-        Type returnType = GenericTypes.resolveType(method.getGenericReturnType(), extensionType);
+        Type returnType = Continuations.returnType(extensionType, method);
         Class<?> returnClass = getErasedType(returnType);
         if (Void.TYPE.equals(returnClass)) {
             return findConsumer(extensionType, method)
@@ -97,7 +99,7 @@ abstract class ResultReturner {
     protected abstract Object mappedResult(ResultIterable<?> iterable, StatementContext ctx);
     protected abstract Object reducedResult(Stream<?> stream, StatementContext ctx);
 
-    protected abstract Type elementType(StatementContext ctx);
+    protected abstract Type elementType(ConfigRegistry config);
 
     private static Object checkResult(Object result, Type type) {
         if (result == null && getErasedType(type).isPrimitive()) {
@@ -119,7 +121,7 @@ abstract class ResultReturner {
         }
 
         @Override
-        protected Type elementType(StatementContext ctx) {
+        protected Type elementType(ConfigRegistry config) {
             return null;
         }
     }
@@ -146,7 +148,7 @@ abstract class ResultReturner {
         }
 
         @Override
-        protected Type elementType(StatementContext ctx) {
+        protected Type elementType(ConfigRegistry config) {
             return elementType;
         }
     }
@@ -171,7 +173,7 @@ abstract class ResultReturner {
         }
 
         @Override
-        protected Type elementType(StatementContext ctx) {
+        protected Type elementType(ConfigRegistry config) {
             return elementType;
         }
     }
@@ -196,7 +198,7 @@ abstract class ResultReturner {
         }
 
         @Override
-        protected Type elementType(StatementContext ctx) {
+        protected Type elementType(ConfigRegistry config) {
             return elementType;
         }
     }
@@ -221,7 +223,7 @@ abstract class ResultReturner {
         }
 
         @Override
-        protected Type elementType(StatementContext ctx) {
+        protected Type elementType(ConfigRegistry config) {
             return elementType;
         }
     }
@@ -244,7 +246,7 @@ abstract class ResultReturner {
         }
 
         @Override
-        protected Type elementType(StatementContext ctx) {
+        protected Type elementType(ConfigRegistry config) {
             return returnType;
         }
     }
@@ -276,9 +278,9 @@ abstract class ResultReturner {
         }
 
         @Override
-        protected Type elementType(StatementContext ctx) {
+        protected Type elementType(ConfigRegistry config) {
             // if returnType is not supported by a collector factory, assume it to be a single-value return type.
-            return ctx.findElementTypeFor(returnType).orElse(returnType);
+            return config.read(JdbiCollectors.class).findElementTypeFor(returnType).orElse(returnType);
         }
     }
 
@@ -310,7 +312,7 @@ abstract class ResultReturner {
         }
 
         @Override
-        protected Type elementType(StatementContext ctx) {
+        protected Type elementType(ConfigRegistry config) {
             return elementType;
         }
     }
@@ -80,7 +80,7 @@ public class SqlBatchHandler extends CustomizingStatementHandler<PreparedBatch>
                         .iterator();
             } else {
                 batchIntermediate = batch -> batch.executeAndReturnGeneratedKeys(columnNames)
-                        .mapTo(magic.elementType(batch.getContext()))
+                        .mapTo(magic.elementType(batch.getConfig()))
                         .iterator();
             }
         }
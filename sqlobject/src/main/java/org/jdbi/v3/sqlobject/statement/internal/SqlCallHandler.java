@@ -14,10 +14,8 @@
 package org.jdbi.v3.sqlobject.statement.internal;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Type;
 
 import org.jdbi.v3.core.Handle;
-import org.jdbi.v3.core.generic.GenericTypes;
 import org.jdbi.v3.core.statement.Call;
 import org.jdbi.v3.core.statement.OutParameters;
 
@@ -27,8 +25,7 @@ public class SqlCallHandler extends CustomizingStatementHandler<Call> {
     public SqlCallHandler(Class<?> sqlObjectType, Method method) {
         super(sqlObjectType, method);
 
-        Type returnType = GenericTypes.resolveType(method.getGenericReturnType(), sqlObjectType);
-        Class<?> returnClass = GenericTypes.getErasedType(returnType);
+        Class<?> returnClass = Continuations.returnClass(sqlObjectType, method);
         if (Void.TYPE.equals(returnClass)) {
             returnOutParams = false;
         } else if (OutParameters.class.isAssignableFrom(returnClass)) {
@@ -17,6 +17,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.config.ConfigRegistry;
+import org.jdbi.v3.core.mapper.Mappers;
 import org.jdbi.v3.core.result.ResultIterable;
 import org.jdbi.v3.core.statement.Query;
 import org.jdbi.v3.core.statement.StatementContext;
@@ -31,6 +33,24 @@ public class SqlQueryHandler extends CustomizingStatementHandler<Query> {
         this.magic = ResultReturner.forMethod(sqlObjectType, method);
     }
 
+    /**
+     * Looks up the mapper of the results of the given query method in the given configuration, which caches it,
+     * unless the method uses its own row mapper or reducer.
+     *
+     * @param sqlObjectType the SQL object type
+     * @param method        the query method
+     * @param config        the configuration to look the mapper up in
+     */
+    public static void warmUpMapper(Class<?> sqlObjectType, Method method, ConfigRegistry config) {
+        if (method.isAnnotationPresent(UseRowMapper.class) || method.isAnnotationPresent(UseRowReducer.class)) {
+            return;
+        }
+        Type elementType = ResultReturner.forMethod(sqlObjectType, method).elementType(config);
+        if (elementType != null) {
+            config.get(Mappers.class).findFor(elementType);
+        }
+    }
+
     @Override
     void configureReturner(Query q, SqlObjectStatementConfiguration cfg) {
         UseRowMapper useRowMapper = getMethod().getAnnotation(UseRowMapper.class);
@@ -42,7 +62,7 @@ public class SqlQueryHandler extends CustomizingStatementHandler<Query> {
 
         cfg.setReturner(() -> {
             StatementContext ctx = q.getContext();
-            Type elementType = magic.elementType(ctx);
+            Type elementType = magic.elementType(ctx.getConfig());
 
             if (useRowReducer != null) {
                 return magic.reducedResult(q.reduceRows(rowReducerFor(useRowReducer)), ctx);
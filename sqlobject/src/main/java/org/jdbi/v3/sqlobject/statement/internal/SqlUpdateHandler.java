@@ -39,7 +39,8 @@ public class SqlUpdateHandler extends CustomizingStatementHandler<Update> {
 
         boolean isGetGeneratedKeys = method.isAnnotationPresent(GetGeneratedKeys.class);
 
-        Type returnType = GenericTypes.resolveType(method.getGenericReturnType(), sqlObjectType);
+        Type returnType = Continuations.returnType(sqlObjectType, method);
+        Class<?> returnClass = GenericTypes.getErasedType(returnType);
         if (isGetGeneratedKeys) {
             ResultReturner magic = ResultReturner.forMethod(sqlObjectType, method);
 
@@ -55,9 +56,9 @@ public class SqlUpdateHandler extends CustomizingStatementHandler<Update> {
 
                 return magic.mappedResult(iterable, update.getContext());
             };
-        } else if (isNumeric(method.getReturnType())) {
+        } else if (isNumeric(returnClass)) {
             this.returner = update -> update.execute();
-        } else if (isBoolean(method.getReturnType())) {
+        } else if (isBoolean(returnClass)) {
             this.returner = update -> update.execute() > 0;
         } else {
             throw new UnableToCreateSqlObjectException(invalidReturnTypeMessage(method, returnType));
@@ -0,0 +1,37 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.transaction;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.jdbi.v3.meta.Beta;
+import org.jdbi.v3.sqlobject.SqlMethodDecoratingAnnotation;
+import org.jdbi.v3.sqlobject.transaction.internal.ReadReplicaDecorator;
+
+/**
+ * Sets the handle read only while the annotated method runs outside a transaction, and restores it before the
+ * method returns. With a {@link org.jdbi.v3.core.routing.ReadReplicaConnectionFactory}, the method's statements
+ * are executed on a read replica; in a transaction, the method runs unchanged, on the primary. A returned
+ * {@link org.jdbi.v3.core.result.ResultIterable} is set read only the same way each time it is iterated.
+ *
+ * @see SqlQueryReadReplicaDecorator
+ */
+@Beta
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+@SqlMethodDecoratingAnnotation(ReadReplicaDecorator.class)
+public @interface ReadReplica {}
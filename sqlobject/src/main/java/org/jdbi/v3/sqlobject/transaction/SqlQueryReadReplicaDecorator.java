@@ -0,0 +1,44 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.transaction;
+
+import java.lang.reflect.Method;
+
+import org.jdbi.v3.meta.Beta;
+import org.jdbi.v3.sqlobject.Handler;
+import org.jdbi.v3.sqlobject.HandlerDecorator;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.transaction.internal.ReadReplicaDecorator;
+
+/**
+ * Treats every {@link SqlQuery} method as if it were annotated {@link ReadReplica}, so queries run outside a
+ * transaction are executed on a read replica by a {@link org.jdbi.v3.core.routing.ReadReplicaConnectionFactory}.
+ * Not registered by default:
+ *
+ * <pre>
+ * jdbi.getConfig(HandlerDecorators.class).register(new SqlQueryReadReplicaDecorator());
+ * </pre>
+ */
+@Beta
+public class SqlQueryReadReplicaDecorator implements HandlerDecorator {
+    private final ReadReplicaDecorator delegate = new ReadReplicaDecorator();
+
+    @Override
+    public Handler decorateHandler(Handler base, Class<?> sqlObjectType, Method method) {
+        if (!method.isAnnotationPresent(SqlQuery.class) || method.isAnnotationPresent(ReadReplica.class)) {
+            return base;
+        }
+        return delegate.decorateHandler(base, sqlObjectType, method);
+    }
+}
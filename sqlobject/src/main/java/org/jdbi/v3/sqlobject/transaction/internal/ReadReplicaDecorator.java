@@ -0,0 +1,51 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.transaction.internal;
+
+import java.lang.reflect.Method;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.result.ResultIterable;
+import org.jdbi.v3.sqlobject.Handler;
+import org.jdbi.v3.sqlobject.HandlerDecorator;
+
+public class ReadReplicaDecorator implements HandlerDecorator {
+    @Override
+    @SuppressWarnings("unchecked")
+    public Handler decorateHandler(Handler base, Class<?> sqlObjectType, Method method) {
+        return (target, args, handle) -> {
+            Handle h = handle.getHandle();
+            Object result = readOnly(h, unused -> base.invoke(target, args, handle));
+            if (result instanceof ResultIterable) {
+                // the query runs each time the results are iterated, which is after the method returned
+                ResultIterable<Object> iterable = (ResultIterable<Object>) result;
+                return (ResultIterable<Object>) () -> readOnly(h, unused -> iterable.iterator());
+            }
+            return result;
+        };
+    }
+
+    private static <T, X extends Exception> T readOnly(Handle h, HandleCallback<T, X> callback) throws X {
+        if (h.isInTransaction() || h.isReadOnly()) {
+            return callback.withHandle(h);
+        }
+        h.setReadOnly(true);
+        try {
+            return callback.withHandle(h);
+        } finally {
+            h.setReadOnly(false);
+        }
+    }
+}
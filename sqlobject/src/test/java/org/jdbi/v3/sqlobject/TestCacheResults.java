@@ -0,0 +1,77 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject;
+
+import java.time.Duration;
+import org.jdbi.v3.core.cache.QueryCache;
+import org.jdbi.v3.core.cache.QueryCachePlugin;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.CacheResults;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestCacheResults {
+    private final QueryCache cache = new QueryCache(100, Duration.ofMinutes(1));
+
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule().withPlugin(new SqlObjectPlugin()).withPlugin(new QueryCachePlugin(cache));
+
+    private Dao dao;
+
+    @Before
+    public void setUp() {
+        dao = dbRule.getSharedHandle().attach(Dao.class);
+        dao.insert(1, "one");
+    }
+
+    @Test
+    public void testCachesAnnotatedQuery() {
+        assertThat(dao.cachedName(1)).isEqualTo("one");
+        assertThat(dao.cachedName(1)).isEqualTo("one");
+        assertThat(dao.name(1)).isEqualTo("one");
+
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUpdateInvalidates() {
+        dao.cachedName(1);
+        dao.rename(1, "uno");
+
+        assertThat(dao.cachedName(1)).isEqualTo("uno");
+    }
+
+    public interface Dao {
+        @SqlUpdate("insert into something (id, name) values (:id, :name)")
+        void insert(@Bind("id") int id, @Bind("name") String name);
+
+        @SqlUpdate("update something set name = :name where id = :id")
+        void rename(@Bind("id") int id, @Bind("name") String name);
+
+        @SqlQuery("select name from something where id = :id")
+        @CacheResults("something")
+        String cachedName(@Bind("id") int id);
+
+        @SqlQuery("select name from something where id = :id")
+        String name(@Bind("id") int id);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject;
+
+import java.sql.DriverManager;
+import java.util.stream.Stream;
+
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.result.ResultIterable;
+import org.jdbi.v3.core.routing.ReadReplicaConnectionFactory;
+import org.jdbi.v3.core.routing.ReplicaSelection;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.ReadReplica;
+import org.jdbi.v3.sqlobject.transaction.SqlQueryReadReplicaDecorator;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestReadReplica {
+    @Rule
+    public H2DatabaseRule primaryRule = new H2DatabaseRule();
+
+    @Rule
+    public H2DatabaseRule replicaRule = new H2DatabaseRule();
+
+    private Jdbi jdbi;
+
+    @Before
+    public void setUp() {
+        primaryRule.getSharedHandle().execute("insert into something (id, name) values (1, 'primary')");
+        replicaRule.getSharedHandle().execute("insert into something (id, name) values (1, 'replica')");
+
+        jdbi = Jdbi.create(new ReadReplicaConnectionFactory(
+            () -> DriverManager.getConnection(primaryRule.getConnectionString()),
+            ReplicaSelection.ROUND_ROBIN,
+            () -> DriverManager.getConnection(replicaRule.getConnectionString())));
+        jdbi.installPlugin(new SqlObjectPlugin());
+    }
+
+    @Test
+    public void testAnnotatedMethodReadsFromReplica() {
+        Dao dao = jdbi.onDemand(Dao.class);
+
+        assertThat(dao.replicaName()).isEqualTo("replica");
+        assertThat(dao.name()).isEqualTo("primary");
+        assertThat(dao.replicaNameInTransaction()).isEqualTo("primary");
+    }
+
+    @Test
+    public void testReadOnlyIsRestored() {
+        jdbi.useHandle(h -> {
+            Dao dao = h.attach(Dao.class);
+
+            assertThat(dao.replicaName()).isEqualTo("replica");
+            assertThat(h.isReadOnly()).isFalse();
+
+            dao.rename("renamed");
+            assertThat(dao.name()).isEqualTo("renamed");
+        });
+    }
+
+    @Test
+    public void testSqlQueryDecorator() {
+        jdbi.getConfig(HandlerDecorators.class).register(new SqlQueryReadReplicaDecorator());
+        Dao dao = jdbi.onDemand(Dao.class);
+
+        assertThat(dao.name()).isEqualTo("replica");
+        assertThat(dao.nameInTransaction()).isEqualTo("primary");
+
+        dao.rename("renamed");
+        assertThat(dao.nameInTransaction()).isEqualTo("renamed");
+        assertThat(dao.name()).isEqualTo("replica");
+    }
+
+    @Test
+    public void testLazyResultsReadFromReplica() {
+        jdbi.useHandle(h -> {
+            Dao dao = h.attach(Dao.class);
+
+            ResultIterable<String> names = dao.replicaNames();
+            assertThat(h.isReadOnly()).isFalse();
+            assertThat(names.findOnly()).isEqualTo("replica");
+            assertThat(h.isReadOnly()).isFalse();
+
+            try (Stream<String> stream = dao.replicaNameStream()) {
+                dao.rename("renamed");
+                assertThat(stream).containsExactly("replica");
+            }
+            assertThat(dao.name()).isEqualTo("renamed");
+        });
+    }
+
+    public interface Dao {
+        @SqlQuery("select name from something")
+        String name();
+
+        @ReadReplica
+        @SqlQuery("select name from something")
+        String replicaName();
+
+        @ReadReplica
+        @SqlQuery("select name from something")
+        ResultIterable<String> replicaNames();
+
+        @ReadReplica
+        @SqlQuery("select name from something")
+        Stream<String> replicaNameStream();
+
+        @Transaction
+        @SqlQuery("select name from something")
+        String nameInTransaction();
+
+        @Transaction
+        default String replicaNameInTransaction() {
+            return replicaName();
+        }
+
+        @SqlUpdate("update something set name = :name")
+        void rename(String name);
+    }
+}
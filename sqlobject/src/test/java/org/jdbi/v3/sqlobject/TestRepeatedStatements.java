@@ -0,0 +1,77 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.core.statement.RepeatedStatementDetector;
+import org.jdbi.v3.core.statement.RepeatedStatementException;
+import org.jdbi.v3.core.statement.SqlStatements;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestRepeatedStatements {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule().withPlugin(new SqlObjectPlugin());
+
+    private Dao dao;
+
+    @Before
+    public void setUp() {
+        dbRule.getJdbi().getConfig(SqlStatements.class)
+            .setRepeatedStatementDetector(new RepeatedStatementDetector(2).setThrowing(true));
+        dao = dbRule.getJdbi().onDemand(Dao.class);
+        dao.insert(1, "one");
+        dao.insert(2, "two");
+        dao.insert(3, "three");
+    }
+
+    @Test
+    public void testOnDemandCallsAreCountedSeparately() {
+        assertThat(dao.findName(1)).isEqualTo("one");
+        assertThat(dao.findName(2)).isEqualTo("two");
+        assertThat(dao.findName(3)).isEqualTo("three");
+    }
+
+    @Test
+    public void testQueryPerRowInOneCall() {
+        assertThatThrownBy(() -> dao.findNames())
+            .isInstanceOf(RepeatedStatementException.class)
+            .hasMessageContaining("executed 3 times on one handle by Dao.findName");
+    }
+
+    public interface Dao {
+        @SqlUpdate("insert into something (id, name) values (:id, :name)")
+        void insert(@Bind("id") int id, @Bind("name") String name);
+
+        @SqlQuery("select name from something where id = :id")
+        String findName(@Bind("id") int id);
+
+        @SqlQuery("select id from something order by id")
+        List<Integer> findIds();
+
+        default List<String> findNames() {
+            return findIds().stream().map(this::findName).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject;
+
+import java.util.Arrays;
+
+import org.jdbi.v3.core.routing.ShardKey;
+import org.jdbi.v3.core.routing.ShardedJdbi;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestShardedSqlObject {
+    @Rule
+    public H2DatabaseRule shard0 = new H2DatabaseRule().withPlugin(new SqlObjectPlugin());
+
+    @Rule
+    public H2DatabaseRule shard1 = new H2DatabaseRule().withPlugin(new SqlObjectPlugin());
+
+    private Dao dao;
+
+    @Before
+    public void setUp() {
+        ShardedJdbi sharded = new ShardedJdbi(Arrays.asList(shard0.getJdbi(), shard1.getJdbi()),
+            (key, shardCount) -> (Integer) key % shardCount);
+        dao = sharded.onDemand(Dao.class);
+    }
+
+    @Test
+    public void testRoutesByShardKey() {
+        dao.insert(1, "one");
+        dao.insert(2, "two");
+
+        assertThat(dao.findName(1)).isEqualTo("one");
+        assertThat(dao.findName(2)).isEqualTo("two");
+        assertThat(shard0.getSharedHandle().createQuery("select name from something").mapTo(String.class).list())
+            .containsExactly("two");
+        assertThat(dao.toString()).startsWith("ShardedDao@");
+    }
+
+    @Test
+    public void testMethodWithoutShardKey() {
+        assertThatThrownBy(() -> dao.count())
+            .isInstanceOf(UnsupportedOperationException.class)
+            .hasMessageContaining("No @ShardKey parameter");
+    }
+
+    @Test
+    public void testDefaultMethodRoutesItsCalls() {
+        dao.insert(1, "one");
+        dao.insert(2, "two");
+
+        assertThat(dao.findNames(1, 2)).isEqualTo("one, two");
+    }
+
+    @Test
+    public void testHandleMethodsRejected() {
+        assertThatThrownBy(() -> dao.getHandle()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> dao.withHandle(h -> h.select("select 1").mapTo(int.class).findOnly()))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testNullShardKey() {
+        assertThatThrownBy(() -> dao.findNameOrNull(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public interface Dao extends SqlObject {
+        @SqlUpdate("insert into something (id, name) values (:id, :name)")
+        void insert(@ShardKey @Bind("id") int id, @Bind("name") String name);
+
+        @SqlQuery("select name from something where id = :id")
+        String findName(@ShardKey @Bind("id") int id);
+
+        @SqlQuery("select count(*) from something")
+        int count();
+
+        @SqlQuery("select name from something where id = :id")
+        String findNameOrNull(@ShardKey @Bind("id") Integer id);
+
+        default String findNames(int first, int second) {
+            return findName(first) + ", " + findName(second);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.sqlobject.SqlObjectMetrics.MethodMetrics;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestSqlObjectMetrics {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule().withPlugin(new SqlObjectPlugin());
+
+    private final SqlObjectMetrics metrics = new SqlObjectMetrics();
+    private Dao dao;
+
+    @Before
+    public void setUp() {
+        dbRule.getJdbi().getConfig(HandlerDecorators.class).register(metrics);
+        dao = dbRule.getJdbi().onDemand(Dao.class);
+        dao.insert(1, "one");
+        dao.insert(2, "two");
+    }
+
+    @Test
+    public void testCallsAndRows() {
+        assertThat(dao.list()).hasSize(2);
+        assertThat(dao.list()).hasSize(2);
+        assertThat(dao.find(1)).contains("one");
+        assertThat(dao.find(3)).isEmpty();
+        dbRule.getJdbi().useExtension(Dao.class, attached -> {
+            try (Stream<String> names = attached.stream()) {
+                assertThat(names).hasSize(2);
+            }
+        });
+
+        MethodMetrics insert = metrics.getSnapshot(Dao.class, "insert").get();
+        assertThat(insert.getCalls()).isEqualTo(2);
+        assertThat(insert.getRows()).isZero();
+
+        MethodMetrics list = metrics.getSnapshot(Dao.class, "list").get();
+        assertThat(list.getCalls()).isEqualTo(2);
+        assertThat(list.getErrors()).isZero();
+        assertThat(list.getRows()).isEqualTo(4);
+        assertThat(list.getLatency().getCount()).isEqualTo(2);
+        assertThat(list.getTotalTime()).isGreaterThan(Duration.ZERO);
+
+        assertThat(metrics.getSnapshot(Dao.class, "find").get().getRows()).isEqualTo(1);
+        assertThat(metrics.getSnapshot(Dao.class, "stream").get().getRows()).isZero();
+        assertThat(metrics.getSnapshot(Dao.class, "missing")).isEmpty();
+
+        assertThat(metrics.getSnapshot()).extracting(MethodMetrics::getMethodName)
+            .containsExactlyInAnyOrder("insert", "list", "find", "stream");
+    }
+
+    @Test
+    public void testErrors() {
+        assertThatThrownBy(() -> dao.insert(1, "again"));
+
+        MethodMetrics insert = metrics.getSnapshot(Dao.class, "insert").get();
+        assertThat(insert.getCalls()).isEqualTo(3);
+        assertThat(insert.getErrors()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSnapshotIsNotLive() {
+        dao.list();
+        MethodMetrics list = metrics.getSnapshot(Dao.class, "list").get();
+        dao.list();
+
+        assertThat(list.getCalls()).isEqualTo(1);
+        assertThat(list.getLatency().getCount()).isEqualTo(1);
+
+        metrics.reset();
+        assertThat(metrics.getSnapshot()).isEmpty();
+    }
+
+    public interface Dao {
+        @SqlUpdate("insert into something (id, name) values (:id, :name)")
+        void insert(@Bind("id") int id, @Bind("name") String name);
+
+        @SqlQuery("select name from something order by id")
+        List<String> list();
+
+        @SqlQuery("select name from something where id = :id")
+        Optional<String> find(@Bind("id") int id);
+
+        @SqlQuery("select name from something order by id")
+        Stream<String> stream();
+    }
+}
@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.jdbi.v3.core.rule.H2DatabaseRule;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Something;
+import org.jdbi.v3.core.locator.ClasspathSqlIndex;
 import org.jdbi.v3.core.mapper.SomethingMapper;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
@@ -61,6 +62,21 @@ public class TestUseClasspathSqlLocator {
         assertThat(s.getName()).isEqualTo("overridden");
     }
 
+    @Test
+    public void testIndexOnWarmUp() {
+        ClasspathSqlIndex index = dbRule.getJdbi().getConfig(SqlObjects.class)
+            .setIndexClasspathSql(true)
+            .getClasspathSqlIndex();
+
+        dbRule.getJdbi().warmUp(Cromulence.class);
+        assertThat(index.getResourceCount()).isEqualTo(1);
+
+        Something s = dbRule.getJdbi().withExtension(Cromulence.class, dao -> dao.findById(6L));
+        assertThat(s.getName()).isEqualTo("Martin");
+        assertThat(index.getResourceCount()).isEqualTo(1);
+        assertThat(new SqlObjects().getClasspathSqlIndex().getResourceCount()).isZero();
+    }
+
     @UseClasspathSqlLocator
     @RegisterRowMapper(SomethingMapper.class)
     public interface Cromulence {
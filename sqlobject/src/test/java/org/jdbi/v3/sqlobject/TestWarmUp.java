@@ -0,0 +1,212 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.extension.NoSuchExtensionException;
+import org.jdbi.v3.core.mapper.RowMapperFactory;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.core.statement.DefaultStatementBuilder;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.UnableToCreateStatementException;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestWarmUp {
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule().withPlugin(new SqlObjectPlugin());
+
+    private final List<String> prepared = new ArrayList<>();
+
+    private Jdbi db;
+
+    @Before
+    public void setUp() {
+        db = dbRule.getJdbi();
+        db.setStatementBuilderFactory(c -> new DefaultStatementBuilder() {
+            @Override
+            public PreparedStatement create(Connection conn, String sql, StatementContext ctx) throws SQLException {
+                prepared.add(sql);
+                return super.create(conn, sql, ctx);
+            }
+        });
+    }
+
+    @Test
+    public void testWarmUpWithoutPreparing() {
+        Map<Class<?>, Duration> timings = db.warmUp(Dao.class);
+
+        assertThat(timings).containsOnlyKeys(Dao.class);
+        assertThat(timings.get(Dao.class)).isGreaterThanOrEqualTo(Duration.ZERO);
+        assertThat(prepared).isEmpty();
+    }
+
+    @Test
+    public void testWarmUpPreparesRenderableStatements() {
+        db.warmUp(true, Dao.class);
+
+        assertThat(prepared).containsExactlyInAnyOrder(
+            "insert into something (id, name) values (?, ?)",
+            "select name from something where id = ?");
+    }
+
+    @Test
+    public void testWarmUpReportsInvalidStatements() {
+        assertThatThrownBy(() -> db.warmUp(true, BrokenDao.class))
+            .isInstanceOf(UnableToCreateStatementException.class);
+    }
+
+    @Test
+    public void testWarmUpReportsMissingHandlers() {
+        assertThatThrownBy(() -> db.warmUp(MissingAnnotationDao.class))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("must be default or be annotated");
+    }
+
+    @Test
+    public void testWarmUpRejectsUnknownTypes() {
+        assertThatThrownBy(() -> db.warmUp(Runnable.class))
+            .isInstanceOf(NoSuchExtensionException.class);
+    }
+
+    @Test
+    public void testPluginWarmsUpTypes() {
+        assertThatThrownBy(() -> Jdbi.create("jdbc:h2:mem:" + getClass().getSimpleName())
+                .installPlugin(new SqlObjectPlugin().warmUp(Dao.class, MissingAnnotationDao.class)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("must be default or be annotated");
+    }
+
+    @Test
+    public void testDecoratorsRegisteredAfterWarmUpApply() {
+        Jdbi jdbi = Jdbi.create("jdbc:h2:mem:" + getClass().getSimpleName() + "Decorators")
+            .installPlugin(new SqlObjectPlugin().warmUp(Dao.class));
+        List<String> decorated = new ArrayList<>();
+        jdbi.getConfig(HandlerDecorators.class).register((base, sqlObjectType, method) -> (target, args, handle) -> {
+            decorated.add(method.getName());
+            return base.invoke(target, args, handle);
+        });
+
+        try (Handle h = jdbi.open()) {
+            h.execute("create table something (id int primary key, name varchar(50))");
+            h.attach(Dao.class).insert(1, "one");
+        }
+
+        assertThat(decorated).containsExactly("insert");
+    }
+
+    @Test
+    public void testWarmUpLooksUpMappers() {
+        AtomicInteger lookups = new AtomicInteger();
+        db.registerRowMapper((RowMapperFactory) (type, config) -> {
+            if (type != Name.class) {
+                return Optional.empty();
+            }
+            lookups.incrementAndGet();
+            return Optional.of((rs, ctx) -> new Name(rs.getString("name")));
+        });
+
+        db.warmUp(NameDao.class);
+        assertThat(lookups).hasValue(1);
+
+        db.useExtension(Dao.class, dao -> dao.insert(1, "one"));
+        assertThat(db.withExtension(NameDao.class, NameDao::names)).extracting(name -> name.value).containsExactly("one");
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    public void testWarmUpIndexesClasspathSql() {
+        SqlObjects sqlObjects = db.getConfig(SqlObjects.class);
+        assertThat(sqlObjects.isIndexClasspathSql()).isFalse();
+
+        db.warmUp(ClasspathDao.class);
+
+        assertThat(sqlObjects.getClasspathSqlIndex().findIndexedSql(ClasspathDao.class, "count"))
+            .hasValueSatisfying(sql -> assertThat(sql).contains("select count(*) from something"));
+        assertThat(sqlObjects.isIndexClasspathSql()).isFalse();
+        assertThat(db.withExtension(ClasspathDao.class, ClasspathDao::count)).isZero();
+    }
+
+    @Test
+    public void testWarmedUpDaoWorks() {
+        db.warmUp(true, Dao.class);
+
+        Dao dao = db.onDemand(Dao.class);
+        dao.insert(1, "one");
+
+        assertThat(dao.name(1)).isEqualTo("one");
+    }
+
+    public interface Dao {
+        @SqlUpdate("insert into something (id, name) values (:id, :name)")
+        void insert(@Bind("id") int id, @Bind("name") String name);
+
+        @SqlQuery("select name from something where id = :id")
+        String name(@Bind("id") int id);
+
+        @SqlQuery("select <column> from something")
+        List<String> column(@Define("column") String column);
+
+        default String upperName(int id) {
+            return name(id).toUpperCase();
+        }
+    }
+
+    public interface NameDao {
+        @SqlQuery("select name from something order by id")
+        List<Name> names();
+    }
+
+    @UseClasspathSqlLocator
+    public interface ClasspathDao {
+        @SqlQuery
+        int count();
+    }
+
+    public static class Name {
+        final String value;
+
+        Name(String value) {
+            this.value = value;
+        }
+    }
+
+    public interface BrokenDao {
+        @SqlQuery("select nope from nowhere")
+        String broken();
+    }
+
+    public interface MissingAnnotationDao extends SqlObject {
+        String unannotated();
+    }
+}
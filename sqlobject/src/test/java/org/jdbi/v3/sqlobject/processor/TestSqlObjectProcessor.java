@@ -0,0 +1,221 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbi.v3.sqlobject.processor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.generic.GenericType;
+import org.jdbi.v3.core.rule.H2DatabaseRule;
+import org.jdbi.v3.sqlobject.SqlObject;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.jdbi.v3.sqlobject.internal.SqlObjectMetadata;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeNotNull;
+
+public class TestSqlObjectProcessor {
+    private static final String DAO_NAME = "org.jdbi.v3.sqlobject.processor.generated.Dao";
+    private static final String DAO_SOURCE = String.join("\n",
+        "package org.jdbi.v3.sqlobject.processor.generated;",
+        "import java.util.List;",
+        "import org.jdbi.v3.sqlobject.customizer.BindList;",
+        "import org.jdbi.v3.sqlobject.statement.SqlQuery;",
+        "import org.jdbi.v3.sqlobject.statement.SqlUpdate;",
+        "public interface Dao extends Base<String> {",
+        "@SqlUpdate(\"insert into something (id, name) values (:id, :name)\")",
+        "void insert(int id, String name);",
+        "@SqlQuery(\"select name from something where id = :id\")",
+        "String name(int id);",
+        "@SqlQuery(\"select name from something where id in (<ids>) order by id\")",
+        "List<String> names(@BindList int... ids);",
+        "@SqlQuery(\"select '\u03bb: ' || name from something where id = :id\")",
+        "String lambda(int id);",
+        "interface Nested {",
+        "@SqlQuery(\"select count(*) from something\")",
+        "int count();",
+        "}",
+        "interface NotASqlObject {",
+        "int count();",
+        "}",
+        "}",
+        "interface Base<T> {",
+        "@SqlQuery(\"select name from something order by id\")",
+        "List<T> all();",
+        "@SqlQuery(\"select name from something where id = :id\")",
+        "T byId(int id);",
+        "}");
+
+    @Rule
+    public H2DatabaseRule dbRule = new H2DatabaseRule().withPlugin(new SqlObjectPlugin());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Handle handle;
+
+    @Before
+    public void setUp() {
+        assumeNotNull(ToolProvider.getSystemJavaCompiler());
+        handle = dbRule.getSharedHandle();
+    }
+
+    @Test
+    public void testGeneratesMetadata() throws Exception {
+        File classes = compile(true);
+
+        Properties metadata = new Properties();
+        try (InputStream in = new FileInputStream(new File(classes, SqlObjectMetadata.resourceName(DAO_NAME)))) {
+            metadata.load(in);
+        }
+
+        assertThat(metadata)
+            .containsEntry("insert(int,java.lang.String).parameters", "id,name")
+            .containsEntry("insert(int,java.lang.String).returnType", "void")
+            .containsEntry("insert(int,java.lang.String).sql", "insert into something (id, name) values (:id, :name)")
+            .containsEntry("name(int).parameters", "id")
+            .containsEntry("names(int[]).parameters", "ids")
+            .containsEntry("names(int[]).returnType", "java.util.List<java.lang.String>")
+            .containsEntry("lambda(int).sql", "select '\u03bb: ' || name from something where id = :id")
+            .containsEntry("all().returnType", "java.util.List<java.lang.String>")
+            .containsEntry("all().sql", "select name from something order by id")
+            .containsEntry("byId(int).parameters", "id")
+            .containsEntry("byId(int).returnType", "java.lang.String")
+            .doesNotContainKey("count().sql");
+        assertThat(new File(classes, SqlObjectMetadata.resourceName(DAO_NAME + "$Nested"))).exists();
+        assertThat(new File(classes, SqlObjectMetadata.resourceName(DAO_NAME + "$NotASqlObject"))).doesNotExist();
+    }
+
+    @Test
+    public void testBindsParameterNamesWithoutParametersFlag() throws Exception {
+        try (URLClassLoader loader = load(compile(true))) {
+            Class<?> daoType = loader.loadClass(DAO_NAME);
+            Object dao = handle.attach(daoType);
+
+            assertThat(SqlObjectMetadata.forType(daoType)).isPresent();
+            assertThat(daoType.getMethod("name", int.class).getParameters()[0].isNamePresent()).isFalse();
+
+            daoType.getMethod("insert", int.class, String.class).invoke(dao, 1, "one");
+            daoType.getMethod("insert", int.class, String.class).invoke(dao, 2, "two");
+
+            assertThat(daoType.getMethod("name", int.class).invoke(dao, 1)).isEqualTo("one");
+            assertThat(daoType.getMethod("names", int[].class).invoke(dao, (Object) new int[] {1, 2}))
+                .isEqualTo(Arrays.asList("one", "two"));
+            assertThat(daoType.getMethod("lambda", int.class).invoke(dao, 2)).isEqualTo("\u03bb: two");
+        }
+    }
+
+    @Test
+    public void testInheritedMethods() throws Exception {
+        try (URLClassLoader loader = load(compile(true))) {
+            Class<?> daoType = loader.loadClass(DAO_NAME);
+            Method all = daoType.getMethod("all");
+            Method byId = daoType.getMethod("byId", int.class);
+            Object dao = handle.attach(daoType);
+            // declared by the package private Base interface
+            all.setAccessible(true);
+            byId.setAccessible(true);
+
+            assertThat(all.getDeclaringClass()).isNotEqualTo(daoType);
+            assertThat(SqlObjectMetadata.findReturnType(daoType, all))
+                .contains(new GenericType<List<String>>() {}.getType());
+            assertThat(SqlObjectMetadata.findReturnType(daoType, byId)).contains(String.class);
+            assertThat(SqlObjectMetadata.findSql(daoType, all)).contains("select name from something order by id");
+            assertThat(SqlObjectMetadata.findParameterName(daoType, byId.getParameters()[0])).contains("id");
+
+            daoType.getMethod("insert", int.class, String.class).invoke(dao, 1, "one");
+            daoType.getMethod("insert", int.class, String.class).invoke(dao, 2, "two");
+
+            assertThat(all.invoke(dao)).isEqualTo(Arrays.asList("one", "two"));
+            assertThat(byId.invoke(dao, 2)).isEqualTo("two");
+        }
+    }
+
+    @Test
+    public void testWithoutMetadata() throws Exception {
+        try (URLClassLoader loader = load(compile(false))) {
+            Class<?> daoType = loader.loadClass(DAO_NAME);
+
+            assertThat(SqlObjectMetadata.forType(daoType)).isEmpty();
+            assertThatThrownBy(() -> handle.attach(daoType))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageContaining("parameter was not given a name");
+        }
+    }
+
+    private File compile(boolean process) throws IOException {
+        File sources = folder.newFolder();
+        File classes = folder.newFolder();
+        File source = new File(sources, DAO_NAME.replace('.', File.separatorChar) + ".java");
+        Files.createDirectories(source.getParentFile().toPath());
+        Files.write(source.toPath(), DAO_SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        String classpath = Stream.of(SqlObject.class, Jdbi.class)
+            .map(type -> type.getProtectionDomain().getCodeSource().getLocation())
+            .map(this::toPath)
+            .collect(Collectors.joining(File.pathSeparator));
+        List<String> options = new ArrayList<>(Arrays.asList("-classpath", classpath, "-d", classes.getPath()));
+        if (process) {
+            options.addAll(Arrays.asList("-processor", SqlObjectProcessor.class.getName()));
+        } else {
+            options.add("-proc:none");
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter diagnostics = new StringWriter();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            boolean compiled = compiler.getTask(diagnostics, files, null, options, null,
+                files.getJavaFileObjectsFromFiles(Collections.singletonList(source))).call();
+            assertThat(compiled).describedAs(diagnostics.toString()).isTrue();
+        }
+        return classes;
+    }
+
+    private String toPath(URL url) {
+        try {
+            return new File(url.toURI()).getPath();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URLClassLoader load(File classes) throws IOException {
+        return new URLClassLoader(new URL[] {classes.toURI().toURL()}, getClass().getClassLoader());
+    }
+}